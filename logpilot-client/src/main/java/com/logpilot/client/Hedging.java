@@ -0,0 +1,82 @@
+package com.logpilot.client;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged calls for idempotent requests: when the first attempt has not answered within the hedge delay, a second
+ * identical attempt is started and whichever succeeds first wins. The slower attempt is left to finish on its own;
+ * only use this for requests the server deduplicates.
+ */
+public final class Hedging {
+
+    private Hedging() {
+    }
+
+    /**
+     * @param hedgeDelayMillis 0 or less to make a single attempt on the calling thread
+     * @throws Exception the failure of the last attempt when every attempt fails
+     */
+    public static <T> T call(Callable<T> attempt, long hedgeDelayMillis, Executor executor) throws Exception {
+        if (hedgeDelayMillis <= 0) {
+            return attempt.call();
+        }
+
+        CompletableFuture<T> first = CompletableFuture.supplyAsync(() -> invoke(attempt), executor);
+        try {
+            return first.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 첫 시도가 느리면 같은 요청을 한 번 더 보냅니다.
+            // The first attempt is slow; send the same request once more.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(() -> invoke(attempt), executor);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> hedge : List.of(first, second)) {
+            hedge.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+
+        try {
+            return winner.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static <T> T invoke(Callable<T> attempt) {
+        try {
+            return attempt.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        throw (Error) cause;
+    }
+}
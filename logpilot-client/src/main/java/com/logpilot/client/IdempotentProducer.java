@@ -0,0 +1,34 @@
+package com.logpilot.client;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Producer identity of one client: a random producer id and one sequence number per entry sent.
+ * Sequences are taken when a request is built, so every retry and hedge of that request carries the same ones and
+ * the server stores each entry once.
+ */
+public final class IdempotentProducer {
+
+    private final String producerId;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public IdempotentProducer() {
+        this(UUID.randomUUID().toString());
+    }
+
+    public IdempotentProducer(String producerId) {
+        this.producerId = producerId;
+    }
+
+    public String getProducerId() {
+        return producerId;
+    }
+
+    /**
+     * Reserve count consecutive sequences and return the first of them
+     */
+    public long reserve(int count) {
+        return nextSequence.getAndAdd(count);
+    }
+}
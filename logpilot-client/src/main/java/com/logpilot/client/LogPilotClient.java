@@ -2,12 +2,17 @@ package com.logpilot.client;
 
 import com.logpilot.client.grpc.LogPilotGrpcClient;
 import com.logpilot.client.rest.LogPilotRestClient;
+import com.logpilot.client.cluster.ClusterAwareLogPilotClient;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 public interface LogPilotClient extends AutoCloseable {
 
@@ -29,6 +34,25 @@ public interface LogPilotClient extends AutoCloseable {
 
     List<LogEntry> getLogs(String channel, String consumerId, int limit);
 
+    List<LogEntry> getLogs(String channel, int partition, String consumerId, int limit);
+
+    /**
+     * Long-poll fetch: when the consumer has nothing to read, the server waits up to waitMillis for new entries
+     */
+    List<LogEntry> getLogs(String channel, String consumerId, int limit, long waitMillis);
+
+    /**
+     * Streamed fetch: entries are handed to consumer as they arrive instead of being collected into a list, so a
+     * large limit needs no more memory than a small one. The offset is committed up to what was received.
+     *
+     * @return the number of entries received
+     */
+    default int streamLogs(String channel, String consumerId, int limit, Consumer<LogEntry> consumer) {
+        List<LogEntry> logEntries = getLogs(channel, consumerId, limit);
+        logEntries.forEach(consumer);
+        return logEntries.size();
+    }
+
     List<LogEntry> getAllLogs(int limit);
 
     void seekToBeginning(String channel, String consumerId);
@@ -37,6 +61,34 @@ public interface LogPilotClient extends AutoCloseable {
 
     void seekToId(String channel, String consumerId, long logId);
 
+    ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId);
+
+    ConsumerGroupAssignment heartbeat(String groupId, String memberId);
+
+    void leaveGroup(String groupId, String memberId);
+
+    /**
+     * Fetch for a group member. The fetch is refused once generation is stale, i.e. after a rebalance the member
+     * has not picked up with heartbeat yet, so it cannot commit partitions that moved to another member.
+     */
+    List<LogEntry> getGroupLogs(String groupId, String memberId, long generation, int limit);
+
+    /**
+     * Fetch for a group member without naming a generation; only partitions the member still owns are committed
+     */
+    default List<LogEntry> getGroupLogs(String groupId, String memberId, int limit) {
+        return getGroupLogs(groupId, memberId, 0, limit);
+    }
+
+    /**
+     * Push-based subscription: entries are delivered as soon as they are stored and committed under consumerId
+     * once handed to the transport, not once processed, so delivery is at-most-once; entries in flight when the
+     * subscription drops are skipped. startPosition is COMMITTED (default), EARLIEST or LATEST.
+     */
+    Flow.Publisher<LogEntry> subscribe(String channel, String consumerId, String startPosition);
+
+    RoutingTable getRoutingTable();
+
     @Override
     void close();
 
@@ -54,6 +106,11 @@ public interface LogPilotClient extends AutoCloseable {
         private int batchSize = 100;
         private long flushIntervalMillis = 5000;
         private String apiKey;
+        private boolean clusterAware = false;
+        private boolean compression = false;
+        private int compressionThresholdBytes = LogPilotRestClient.DEFAULT_COMPRESSION_THRESHOLD_BYTES;
+        private boolean idempotence = true;
+        private long hedgeDelayMillis = 0;
 
         public Builder serverUrl(String serverUrl) {
             this.serverUrl = serverUrl;
@@ -95,15 +152,66 @@ public interface LogPilotClient extends AutoCloseable {
             return this;
         }
 
+        /**
+         * Fetch the cluster routing table from the server URL and send each channel straight to its owner
+         */
+        public Builder clusterAware(boolean clusterAware) {
+            this.clusterAware = clusterAware;
+            return this;
+        }
+
+        /**
+         * gzip request bodies and gRPC messages of at least compressionThresholdBytes and accept compressed
+         * responses. Off by default; REST servers that predate Content-Encoding support reject gzip bodies.
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        public Builder compressionThresholdBytes(int compressionThresholdBytes) {
+            this.compressionThresholdBytes = compressionThresholdBytes;
+            return this;
+        }
+
+        /**
+         * Tag every entry with this client's producer id and a sequence number so the server drops replays, and
+         * bound each ingest attempt by timeout. Retries and hedges then cannot store an entry twice, which allows
+         * short timeouts. On by default.
+         */
+        public Builder idempotence(boolean idempotence) {
+            this.idempotence = idempotence;
+            return this;
+        }
+
+        /**
+         * With idempotence, send a second identical ingest request when the first has not answered after this long
+         * and take whichever succeeds first. 0 (the default) disables hedging.
+         */
+        public Builder hedgeDelayMillis(long hedgeDelayMillis) {
+            this.hedgeDelayMillis = hedgeDelayMillis;
+            return this;
+        }
+
         public LogPilotClient build() {
             if (serverUrl == null || serverUrl.trim().isEmpty()) {
                 throw new IllegalArgumentException("Server URL is required");
             }
 
+            if (clusterAware) {
+                return new ClusterAwareLogPilotClient(createClient(serverUrl), node -> createClient(
+                        clientType == ClientType.GRPC ? node.getGrpcAddress() : node.getRestAddress()));
+            }
+            return createClient(serverUrl);
+        }
+
+        private LogPilotClient createClient(String url) {
             return switch (clientType) {
-                case REST -> new LogPilotRestClient(serverUrl, timeout, maxRetries, enableBatching, batchSize,
-                        flushIntervalMillis, apiKey);
-                case GRPC -> new LogPilotGrpcClient(serverUrl, timeout, maxRetries, apiKey);
+                case REST -> new LogPilotRestClient(url, timeout, maxRetries, enableBatching, batchSize,
+                        flushIntervalMillis, apiKey, compression, compressionThresholdBytes, idempotence,
+                        hedgeDelayMillis);
+                case GRPC -> new LogPilotGrpcClient(url, timeout, maxRetries, apiKey, enableBatching, batchSize,
+                        flushIntervalMillis, compression, compressionThresholdBytes, idempotence, hedgeDelayMillis);
             };
         }
     }
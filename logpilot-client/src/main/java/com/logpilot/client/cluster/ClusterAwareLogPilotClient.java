@@ -0,0 +1,233 @@
+package com.logpilot.client.cluster;
+
+import com.logpilot.client.LogPilotClient;
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.cluster.ConsistentHashRing;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.model.ConsumerGroupAssignment;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Client for a sharded LogPilot cluster. It loads the routing table from a seed server,
+ * builds the same consistent-hash ring as the servers and talks to each channel's owner directly,
+ * which saves the extra hop through a forwarding node. Against a standalone server every call
+ * goes to the seed.
+ */
+public class ClusterAwareLogPilotClient implements LogPilotClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterAwareLogPilotClient.class);
+
+    private final LogPilotClient seedClient;
+    private final Function<ClusterNode, LogPilotClient> clientFactory;
+    private final Map<ClusterNode, LogPilotClient> nodeClients = new ConcurrentHashMap<>();
+    private final Map<String, String> groupChannels = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile ConsistentHashRing ring;
+
+    public ClusterAwareLogPilotClient(LogPilotClient seedClient, Function<ClusterNode, LogPilotClient> clientFactory) {
+        this.seedClient = seedClient;
+        this.clientFactory = clientFactory;
+        refreshRoutingTable();
+    }
+
+    /**
+     * Reload the routing table from the seed server
+     */
+    public void refreshRoutingTable() {
+        // 네트워크 호출 동안 모니터를 잡으면 가상 스레드가 캐리어에 고정되므로 ReentrantLock을 사용합니다.
+        // A monitor held across the network call would pin a virtual thread to its carrier, so use a lock.
+        refreshLock.lock();
+        try {
+            RoutingTable routingTable = seedClient.getRoutingTable();
+            this.ring = routingTable.hasNodes() ? ConsistentHashRing.of(routingTable) : null;
+            logger.info("Loaded routing table with {} nodes", routingTable.getNodes().size());
+        } catch (Exception e) {
+            // 라우팅 테이블을 받을 수 없으면 시드 서버로 모든 요청을 보냅니다 (서버 측 전달에 의존).
+            // Without a routing table every call goes to the seed, relying on server-side forwarding.
+            logger.warn("Failed to load routing table, sending all requests to the seed server: {}",
+                    e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private LogPilotClient clientFor(String channel) {
+        ConsistentHashRing current = ring;
+        if (current == null || channel == null) {
+            return seedClient;
+        }
+        return nodeClients.computeIfAbsent(current.ownerOf(channel), clientFactory);
+    }
+
+    private <T> T withOwner(String channel, Function<LogPilotClient, T> call) {
+        try {
+            return call.apply(clientFor(channel));
+        } catch (RuntimeException e) {
+            if (ring == null) {
+                throw e;
+            }
+            // 토폴로지가 바뀌었을 수 있으므로 라우팅 테이블을 갱신하고 한 번 재시도합니다.
+            // The topology may have changed; refresh the routing table and retry once.
+            refreshRoutingTable();
+            return call.apply(clientFor(channel));
+        }
+    }
+
+    private Map<LogPilotClient, List<LogEntry>> groupByOwner(List<LogEntry> logEntries) {
+        Map<LogPilotClient, List<LogEntry>> grouped = new LinkedHashMap<>();
+        for (LogEntry logEntry : logEntries) {
+            grouped.computeIfAbsent(clientFor(logEntry.getChannel()), c -> new ArrayList<>()).add(logEntry);
+        }
+        return grouped;
+    }
+
+    @Override
+    public void log(String channel, LogLevel level, String message) {
+        log(new LogEntry(channel, level, message));
+    }
+
+    @Override
+    public void log(String channel, LogLevel level, String message, Map<String, Object> meta) {
+        log(new LogEntry(channel, level, message, meta));
+    }
+
+    @Override
+    public void log(LogEntry logEntry) {
+        withOwner(logEntry.getChannel(), client -> {
+            client.log(logEntry);
+            return null;
+        });
+    }
+
+    @Override
+    public void logBatch(List<LogEntry> logEntries) {
+        groupByOwner(logEntries).forEach((client, entries) -> client.logBatch(entries));
+    }
+
+    @Override
+    public CompletableFuture<Void> logAsync(String channel, LogLevel level, String message) {
+        return logAsync(new LogEntry(channel, level, message));
+    }
+
+    @Override
+    public CompletableFuture<Void> logAsync(String channel, LogLevel level, String message, Map<String, Object> meta) {
+        return logAsync(new LogEntry(channel, level, message, meta));
+    }
+
+    @Override
+    public CompletableFuture<Void> logAsync(LogEntry logEntry) {
+        return clientFor(logEntry.getChannel()).logAsync(logEntry);
+    }
+
+    @Override
+    public CompletableFuture<Void> logBatchAsync(List<LogEntry> logEntries) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        groupByOwner(logEntries).forEach((client, entries) -> futures.add(client.logBatchAsync(entries)));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, String consumerId, int limit) {
+        return withOwner(channel, client -> client.getLogs(channel, consumerId, limit));
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, int partition, String consumerId, int limit) {
+        return withOwner(channel, client -> client.getLogs(channel, partition, consumerId, limit));
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, String consumerId, int limit, long waitMillis) {
+        return withOwner(channel, client -> client.getLogs(channel, consumerId, limit, waitMillis));
+    }
+
+    @Override
+    public int streamLogs(String channel, String consumerId, int limit, Consumer<LogEntry> consumer) {
+        return withOwner(channel, client -> client.streamLogs(channel, consumerId, limit, consumer));
+    }
+
+    @Override
+    public List<LogEntry> getAllLogs(int limit) {
+        return seedClient.getAllLogs(limit);
+    }
+
+    @Override
+    public void seekToBeginning(String channel, String consumerId) {
+        withOwner(channel, client -> {
+            client.seekToBeginning(channel, consumerId);
+            return null;
+        });
+    }
+
+    @Override
+    public void seekToEnd(String channel, String consumerId) {
+        withOwner(channel, client -> {
+            client.seekToEnd(channel, consumerId);
+            return null;
+        });
+    }
+
+    @Override
+    public void seekToId(String channel, String consumerId, long logId) {
+        withOwner(channel, client -> {
+            client.seekToId(channel, consumerId, logId);
+            return null;
+        });
+    }
+
+    @Override
+    public ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId) {
+        groupChannels.put(groupId, channel);
+        return withOwner(channel, client -> client.joinGroup(groupId, channel, memberId));
+    }
+
+    @Override
+    public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+        return withOwner(groupChannels.get(groupId), client -> client.heartbeat(groupId, memberId));
+    }
+
+    @Override
+    public void leaveGroup(String groupId, String memberId) {
+        withOwner(groupChannels.remove(groupId), client -> {
+            client.leaveGroup(groupId, memberId);
+            return null;
+        });
+    }
+
+    @Override
+    public List<LogEntry> getGroupLogs(String groupId, String memberId, long generation, int limit) {
+        return withOwner(groupChannels.get(groupId),
+                client -> client.getGroupLogs(groupId, memberId, generation, limit));
+    }
+
+    @Override
+    public Flow.Publisher<LogEntry> subscribe(String channel, String consumerId, String startPosition) {
+        return clientFor(channel).subscribe(channel, consumerId, startPosition);
+    }
+
+    @Override
+    public RoutingTable getRoutingTable() {
+        return seedClient.getRoutingTable();
+    }
+
+    @Override
+    public void close() {
+        nodeClients.values().forEach(LogPilotClient::close);
+        nodeClients.clear();
+        seedClient.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.logpilot.client.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.MethodDescriptor;
+
+/**
+ * Sends gRPC request messages gzip-compressed once they reach a size threshold.
+ * Smaller messages, such as single log entries or fetch requests, go out uncompressed on the same call.
+ * Responses are compressed by the server, which sees gzip in the grpc-accept-encoding header.
+ */
+class CompressionClientInterceptor implements ClientInterceptor {
+
+    static final String GZIP = "gzip";
+
+    private final int minMessageBytes;
+
+    CompressionClientInterceptor(int minMessageBytes) {
+        this.minMessageBytes = minMessageBytes;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(
+                next.newCall(method, callOptions.withCompression(GZIP))) {
+            @Override
+            public void sendMessage(ReqT message) {
+                setMessageCompression(!(message instanceof MessageLite messageLite)
+                        || messageLite.getSerializedSize() >= minMessageBytes);
+                super.sendMessage(message);
+            }
+        };
+    }
+}
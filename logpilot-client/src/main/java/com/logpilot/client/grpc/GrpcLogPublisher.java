@@ -0,0 +1,182 @@
+package com.logpilot.client.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.grpc.proto.LogPilotProto.SubscribeRequest;
+import com.logpilot.grpc.proto.LogPilotProto.SubscribeResponse;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Flow.Publisher over the Subscribe RPC.
+ * Subscriber demand drives gRPC flow control: a pushed message is only requested from the server once the
+ * previous one has been handed to the subscriber and there is outstanding demand.
+ */
+class GrpcLogPublisher implements Flow.Publisher<LogEntry> {
+
+    private final LogServiceGrpc.LogServiceStub asyncStub;
+    private final SubscribeRequest request;
+    private final Function<LogPilotProto.LogEntry, LogEntry> converter;
+
+    GrpcLogPublisher(LogServiceGrpc.LogServiceStub asyncStub, SubscribeRequest request,
+            Function<LogPilotProto.LogEntry, LogEntry> converter) {
+        this.asyncStub = asyncStub;
+        this.request = request;
+        this.converter = converter;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LogEntry> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        SubscriptionBridge bridge = new SubscriptionBridge(subscriber);
+        asyncStub.subscribe(request, bridge);
+        subscriber.onSubscribe(bridge);
+        bridge.markSubscribed();
+    }
+
+    private class SubscriptionBridge
+            implements ClientResponseObserver<SubscribeRequest, SubscribeResponse>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super LogEntry> subscriber;
+        private final Deque<LogEntry> buffer = new ArrayDeque<>();
+        private ClientCallStreamObserver<SubscribeRequest> call;
+        private long demand;
+        private boolean subscribed;
+        private boolean messageRequested;
+        private boolean draining;
+        private boolean done;
+        private boolean cancelled;
+        private Throwable error;
+
+        private SubscriptionBridge(Flow.Subscriber<? super LogEntry> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<SubscribeRequest> requestStream) {
+            this.call = requestStream;
+            // 구독자가 요청하기 전에는 서버 메시지를 받지 않습니다.
+            // Do not take server messages before the subscriber asks for them.
+            requestStream.disableAutoRequestWithInitial(0);
+        }
+
+        @Override
+        public void onNext(SubscribeResponse response) {
+            synchronized (this) {
+                messageRequested = false;
+                for (LogPilotProto.LogEntry protoEntry : response.getLogsList()) {
+                    buffer.add(converter.apply(protoEntry));
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                error = t;
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Demand must be positive: " + n));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                buffer.clear();
+            }
+            call.cancel("Subscriber cancelled", null);
+        }
+
+        private void markSubscribed() {
+            synchronized (this) {
+                subscribed = true;
+            }
+            drain();
+        }
+
+        /**
+         * Single-threaded delivery loop; concurrent callers leave the work to the thread already draining
+         */
+        private void drain() {
+            synchronized (this) {
+                if (draining || !subscribed) {
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                LogEntry next = null;
+                boolean requestMessage = false;
+                boolean finished = false;
+                Throwable failure = null;
+
+                synchronized (this) {
+                    if (cancelled) {
+                        draining = false;
+                        return;
+                    }
+                    if (demand > 0 && !buffer.isEmpty()) {
+                        next = buffer.poll();
+                        demand--;
+                    } else if (buffer.isEmpty() && done) {
+                        cancelled = true;
+                        finished = true;
+                        failure = error;
+                    } else if (buffer.isEmpty() && demand > 0 && !messageRequested) {
+                        messageRequested = true;
+                        requestMessage = true;
+                    } else {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                if (next != null) {
+                    subscriber.onNext(next);
+                } else if (finished) {
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                } else if (requestMessage) {
+                    call.request(1);
+                }
+            }
+        }
+    }
+}
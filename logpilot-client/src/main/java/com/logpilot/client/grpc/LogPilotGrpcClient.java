@@ -1,40 +1,72 @@
 package com.logpilot.client.grpc;
 
+import com.logpilot.client.Hedging;
+import com.logpilot.client.IdempotentProducer;
 import com.logpilot.client.LogPilotClient;
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.concurrent.VirtualThreads;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import com.logpilot.grpc.proto.LogPilotProto.LogRequest;
 import com.logpilot.grpc.proto.LogPilotProto.LogResponse;
 import com.logpilot.grpc.proto.LogPilotProto.SendLogsRequest;
 import com.logpilot.grpc.proto.LogPilotProto.SendLogsResponse;
+import com.logpilot.grpc.proto.LogPilotProto.SubscribeRequest;
 import com.logpilot.grpc.proto.LogPilotProto.FetchLogsRequest;
 import com.logpilot.grpc.proto.LogPilotProto.FetchLogsResponse;
+import com.logpilot.grpc.proto.LogPilotProto.FetchGroupLogsRequest;
+import com.logpilot.grpc.proto.LogPilotProto.GroupAssignmentResponse;
+import com.logpilot.grpc.proto.LogPilotProto.HeartbeatRequest;
+import com.logpilot.grpc.proto.LogPilotProto.JoinGroupRequest;
+import com.logpilot.grpc.proto.LogPilotProto.LeaveGroupRequest;
+import com.logpilot.grpc.proto.LogPilotProto.LeaveGroupResponse;
+import com.logpilot.grpc.proto.LogPilotProto.RoutingTableRequest;
+import com.logpilot.grpc.proto.LogPilotProto.RoutingTableResponse;
 import com.logpilot.grpc.proto.LogServiceGrpc;
+import io.grpc.Context;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
+import io.grpc.Status;
 import io.grpc.stub.MetadataUtils;
 import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class LogPilotGrpcClient implements LogPilotClient {
 
     private static final Logger logger = LoggerFactory.getLogger(LogPilotGrpcClient.class);
+    // logAsync 작업을 가상 스레드에서 실행합니다 (Java 21+, -Dlogpilot.client.virtual-threads=true).
+    // Run logAsync work on virtual threads (Java 21+, -Dlogpilot.client.virtual-threads=true).
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("logpilot.client.virtual-threads");
     private final ManagedChannel channel;
     private final LogServiceGrpc.LogServiceBlockingStub blockingStub;
+    private final LogServiceGrpc.LogServiceStub asyncStub;
     private final ExecutorService executorService;
     private final int maxRetries;
+    private final LogStreamSender streamSender;
+    private final IdempotentProducer producer;
+    private final long ingestDeadlineMillis;
+    private final long hedgeDelayMillis;
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 1024;
 
     private static final Metadata.Key<String> API_KEY_METADATA_KEY = Metadata.Key.of("X-API-KEY",
             Metadata.ASCII_STRING_MARSHALLER);
@@ -44,7 +76,38 @@ public class LogPilotGrpcClient implements LogPilotClient {
     }
 
     public LogPilotGrpcClient(String serverUrl, int timeout, int maxRetries, String apiKey) {
+        this(serverUrl, timeout, maxRetries, apiKey, false, 100, 5000);
+    }
+
+    public LogPilotGrpcClient(String serverUrl, int timeout, int maxRetries, String apiKey, boolean enableBatching,
+            int batchSize, long flushIntervalMs) {
+        this(serverUrl, timeout, maxRetries, apiKey, enableBatching, batchSize, flushIntervalMs, true,
+                DEFAULT_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * @param compressionThresholdBytes request messages at least this large are sent gzip-compressed
+     */
+    public LogPilotGrpcClient(String serverUrl, int timeout, int maxRetries, String apiKey, boolean enableBatching,
+            int batchSize, long flushIntervalMs, boolean compression, int compressionThresholdBytes) {
+        this(serverUrl, timeout, maxRetries, apiKey, enableBatching, batchSize, flushIntervalMs, compression,
+                compressionThresholdBytes, true, 0);
+    }
+
+    /**
+     * @param idempotence      send a producer id and per-entry sequences with every entry and give each SendLog and
+     *                         SendLogs attempt a deadline of timeout; the server drops replays, so retries cannot
+     *                         store duplicates
+     * @param hedgeDelayMillis with idempotence, start a second identical SendLog/SendLogs attempt when the first has
+     *                         not answered after this long (0 disables hedging)
+     */
+    public LogPilotGrpcClient(String serverUrl, int timeout, int maxRetries, String apiKey, boolean enableBatching,
+            int batchSize, long flushIntervalMs, boolean compression, int compressionThresholdBytes,
+            boolean idempotence, long hedgeDelayMillis) {
         this.maxRetries = maxRetries;
+        this.producer = idempotence ? new IdempotentProducer() : null;
+        this.ingestDeadlineMillis = idempotence ? timeout : 0;
+        this.hedgeDelayMillis = idempotence ? hedgeDelayMillis : 0;
 
         String[] parts = serverUrl.replace("http://", "").replace("https://", "").split(":");
         String host = parts[0];
@@ -58,17 +121,32 @@ public class LogPilotGrpcClient implements LogPilotClient {
                 .build();
 
         LogServiceGrpc.LogServiceBlockingStub stub = LogServiceGrpc.newBlockingStub(channel);
+        LogServiceGrpc.LogServiceStub asyncStub = LogServiceGrpc.newStub(channel);
+        if (compression) {
+            CompressionClientInterceptor compressionInterceptor =
+                    new CompressionClientInterceptor(compressionThresholdBytes);
+            stub = stub.withInterceptors(compressionInterceptor);
+            asyncStub = asyncStub.withInterceptors(compressionInterceptor);
+        }
 
         if (apiKey != null && !apiKey.trim().isEmpty()) {
             Metadata metadata = new Metadata();
             metadata.put(API_KEY_METADATA_KEY, apiKey);
             io.grpc.ClientInterceptor interceptor = MetadataUtils.newAttachHeadersInterceptor(metadata);
             this.blockingStub = stub.withInterceptors(interceptor);
+            this.asyncStub = asyncStub.withInterceptors(interceptor);
         } else {
             this.blockingStub = stub;
+            this.asyncStub = asyncStub;
         }
 
-        this.executorService = Executors.newCachedThreadPool();
+        // 배치 모드에서는 하나의 StreamLogs 스트림으로 로그를 묶어 보냅니다.
+        // In batching mode logs are coalesced onto a single StreamLogs stream.
+        this.streamSender = enableBatching
+                ? new LogStreamSender(asyncStub, this::toLogRequest, batchSize, flushIntervalMs)
+                : null;
+
+        this.executorService = VirtualThreads.newTaskExecutor(VIRTUAL_THREADS, "logpilot-client-");
     }
 
     // Constructor for testing
@@ -76,8 +154,13 @@ public class LogPilotGrpcClient implements LogPilotClient {
             int maxRetries) {
         this.channel = channel;
         this.blockingStub = blockingStub;
+        this.asyncStub = LogServiceGrpc.newStub(channel);
         this.maxRetries = maxRetries;
-        this.executorService = Executors.newCachedThreadPool();
+        this.streamSender = null;
+        this.producer = new IdempotentProducer();
+        this.ingestDeadlineMillis = 0;
+        this.hedgeDelayMillis = 0;
+        this.executorService = VirtualThreads.newTaskExecutor(VIRTUAL_THREADS, "logpilot-client-");
     }
 
     @Override
@@ -92,24 +175,24 @@ public class LogPilotGrpcClient implements LogPilotClient {
 
     @Override
     public void log(LogEntry logEntry) {
+        if (streamSender != null) {
+            streamSender.submit(Collections.singletonList(logEntry)).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    logger.error("Failed to stream log entry via gRPC", e);
+                }
+            });
+            return;
+        }
         try {
-            LogRequest request = LogRequest.newBuilder()
-                    .setChannel(logEntry.getChannel())
-                    .setLevel(logEntry.getLevel().toString())
-                    .setMessage(logEntry.getMessage())
-                    .putAllMeta(convertMetaToStringMap(logEntry.getMeta()))
-                    // NOTE: 기본 저장소로 SQLite를 사용합니다.
-                    // Use SQLite as default storage.
-                    .setStorage("sqlite")
-                    .build();
+            LogRequest request = toLogRequest(logEntry);
 
-            executeWithRetry(() -> {
-                LogResponse response = blockingStub.sendLog(request);
+            executeWithRetry(() -> hedged(() -> {
+                LogResponse response = ingestStub().sendLog(request);
                 if (!"success".equals(response.getStatus())) {
                     throw new RuntimeException("Failed to store log: " + response.getMessage());
                 }
                 return null;
-            });
+            }));
 
             logger.debug("Sent log entry via gRPC for channel: {}", logEntry.getChannel());
         } catch (Exception e) {
@@ -120,30 +203,34 @@ public class LogPilotGrpcClient implements LogPilotClient {
 
     @Override
     public void logBatch(List<LogEntry> logEntries) {
+        if (streamSender != null) {
+            try {
+                streamSender.submit(logEntries).get();
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while streaming batch log entries via gRPC", e);
+            } catch (ExecutionException e) {
+                logger.error("Failed to stream batch log entries via gRPC", e.getCause());
+                throw new RuntimeException("Failed to stream batch log entries via gRPC", e.getCause());
+            }
+        }
         try {
             List<LogRequest> logRequests = logEntries.stream()
-                    .map(logEntry -> LogRequest.newBuilder()
-                            .setChannel(logEntry.getChannel())
-                            .setLevel(logEntry.getLevel().toString())
-                            .setMessage(logEntry.getMessage())
-                            .putAllMeta(convertMetaToStringMap(logEntry.getMeta()))
-                            // NOTE: 기본 저장소로 SQLite를 사용합니다.
-                            // Use SQLite as default storage.
-                            .setStorage("sqlite")
-                            .build())
+                    .map(this::toLogRequest)
                     .collect(Collectors.toList());
 
             SendLogsRequest request = SendLogsRequest.newBuilder()
                     .addAllLogRequests(logRequests)
                     .build();
 
-            executeWithRetry(() -> {
-                SendLogsResponse response = blockingStub.sendLogs(request);
+            executeWithRetry(() -> hedged(() -> {
+                SendLogsResponse response = ingestStub().sendLogs(request);
                 if (!"success".equals(response.getStatus())) {
                     throw new RuntimeException("Failed to store logs: " + response.getMessage());
                 }
                 return null;
-            });
+            }));
 
             logger.debug("Sent {} log entries via gRPC", logEntries.size());
         } catch (Exception e) {
@@ -164,26 +251,52 @@ public class LogPilotGrpcClient implements LogPilotClient {
 
     @Override
     public CompletableFuture<Void> logAsync(LogEntry logEntry) {
+        if (streamSender != null) {
+            return streamSender.submit(Collections.singletonList(logEntry));
+        }
         return CompletableFuture.runAsync(() -> log(logEntry), executorService);
     }
 
     @Override
     public CompletableFuture<Void> logBatchAsync(List<LogEntry> logEntries) {
+        if (streamSender != null) {
+            return streamSender.submit(logEntries);
+        }
         return CompletableFuture.runAsync(() -> logBatch(logEntries), executorService);
     }
 
     @Override
     public List<LogEntry> getLogs(String channel, String consumerId, int limit) {
+        return fetchLogs(channel, null, consumerId, limit, 0);
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, int partition, String consumerId, int limit) {
+        return fetchLogs(channel, partition, consumerId, limit, 0);
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, String consumerId, int limit, long waitMillis) {
+        return fetchLogs(channel, null, consumerId, limit, waitMillis);
+    }
+
+    private List<LogEntry> fetchLogs(String channel, Integer partition, String consumerId, int limit,
+            long waitMillis) {
         try {
-            FetchLogsRequest request = FetchLogsRequest.newBuilder()
+            FetchLogsRequest.Builder requestBuilder = FetchLogsRequest.newBuilder()
                     .setSince(consumerId != null ? consumerId : "")
                     .setChannel(channel)
                     .setLimit(limit)
-                    .setLimit(limit)
                     // NOTE: 기본 저장소로 SQLite를 사용합니다.
                     // Use SQLite as default storage.
-                    .setStorage("sqlite")
-                    .build();
+                    .setStorage("sqlite");
+            if (partition != null) {
+                requestBuilder.setPartition(partition);
+            }
+            if (waitMillis > 0) {
+                requestBuilder.setWaitMs(waitMillis);
+            }
+            FetchLogsRequest request = requestBuilder.build();
 
             return executeWithRetry(() -> {
                 FetchLogsResponse response = blockingStub.fetchLogs(request);
@@ -197,6 +310,38 @@ public class LogPilotGrpcClient implements LogPilotClient {
         }
     }
 
+    @Override
+    public int streamLogs(String channel, String consumerId, int limit, Consumer<LogEntry> consumer) {
+        FetchLogsRequest request = FetchLogsRequest.newBuilder()
+                .setChannel(channel)
+                .setConsumerId(consumerId)
+                .setLimit(limit)
+                .build();
+
+        // 소비자가 중간에 실패하면 컨텍스트를 취소해 서버 스트림도 멈춥니다.
+        // If the consumer fails midway, cancelling the context stops the server stream too.
+        Context.CancellableContext context = Context.current().withCancellation();
+        try {
+            return context.call(() -> {
+                int received = 0;
+                Iterator<FetchLogsResponse> pages = blockingStub.fetchLogsStream(request);
+                while (pages.hasNext()) {
+                    for (com.logpilot.grpc.proto.LogPilotProto.LogEntry protoLogEntry : pages.next().getLogsList()) {
+                        consumer.accept(convertProtoLogEntryToLogEntry(protoLogEntry));
+                        received++;
+                    }
+                }
+                logger.debug("Streamed {} log entries via gRPC for channel: {}", received, channel);
+                return received;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to stream logs via gRPC", e);
+            throw new RuntimeException("Failed to stream logs via gRPC", e);
+        } finally {
+            context.cancel(null);
+        }
+    }
+
     @Override
     public List<LogEntry> getAllLogs(int limit) {
         try {
@@ -261,6 +406,139 @@ public class LogPilotGrpcClient implements LogPilotClient {
         }
     }
 
+    @Override
+    public Flow.Publisher<LogEntry> subscribe(String channel, String consumerId, String startPosition) {
+        SubscribeRequest request = SubscribeRequest.newBuilder()
+                .setChannel(channel)
+                .setConsumerId(consumerId)
+                .setStartPosition(startPosition != null ? startPosition : "")
+                .build();
+        return new GrpcLogPublisher(asyncStub, request, this::convertProtoLogEntryToLogEntry);
+    }
+
+    @Override
+    public ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId) {
+        try {
+            JoinGroupRequest request = JoinGroupRequest.newBuilder()
+                    .setGroupId(groupId)
+                    .setChannel(channel)
+                    .setMemberId(memberId)
+                    .build();
+
+            return executeWithRetry(() -> toGroupAssignment(blockingStub.joinGroup(request)));
+        } catch (Exception e) {
+            logger.error("Failed to join group via gRPC", e);
+            throw new RuntimeException("Failed to join group via gRPC", e);
+        }
+    }
+
+    @Override
+    public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+        try {
+            HeartbeatRequest request = HeartbeatRequest.newBuilder()
+                    .setGroupId(groupId)
+                    .setMemberId(memberId)
+                    .build();
+
+            return executeWithRetry(() -> toGroupAssignment(blockingStub.heartbeat(request)));
+        } catch (Exception e) {
+            logger.error("Failed to send group heartbeat via gRPC", e);
+            throw new RuntimeException("Failed to send group heartbeat via gRPC", e);
+        }
+    }
+
+    @Override
+    public void leaveGroup(String groupId, String memberId) {
+        try {
+            LeaveGroupRequest request = LeaveGroupRequest.newBuilder()
+                    .setGroupId(groupId)
+                    .setMemberId(memberId)
+                    .build();
+
+            executeWithRetry(() -> {
+                LeaveGroupResponse response = blockingStub.leaveGroup(request);
+                if (!"success".equals(response.getStatus())) {
+                    throw new RuntimeException("Failed to leave group: " + response.getMessage());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to leave group via gRPC", e);
+            throw new RuntimeException("Failed to leave group via gRPC", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> getGroupLogs(String groupId, String memberId, long generation, int limit) {
+        try {
+            FetchGroupLogsRequest request = FetchGroupLogsRequest.newBuilder()
+                    .setGroupId(groupId)
+                    .setMemberId(memberId)
+                    .setGeneration(generation)
+                    .setLimit(limit)
+                    .build();
+
+            return executeWithRetry(() -> {
+                FetchLogsResponse response = blockingStub.fetchGroupLogs(request);
+                return response.getLogsList().stream()
+                        .map(this::convertProtoLogEntryToLogEntry)
+                        .collect(Collectors.toList());
+            });
+        } catch (Exception e) {
+            logger.error("Failed to get group logs via gRPC", e);
+            throw new RuntimeException("Failed to get group logs via gRPC", e);
+        }
+    }
+
+    @Override
+    public RoutingTable getRoutingTable() {
+        try {
+            RoutingTableResponse response = executeWithRetry(
+                    () -> blockingStub.getRoutingTable(RoutingTableRequest.getDefaultInstance()));
+
+            List<ClusterNode> nodes = response.getNodesList().stream()
+                    .map(node -> new ClusterNode(node.getNodeId(), node.getGrpcAddress(), node.getRestAddress()))
+                    .collect(Collectors.toList());
+            return new RoutingTable(response.getNodeId(), response.getVirtualNodes(), nodes);
+        } catch (Exception e) {
+            logger.error("Failed to get routing table via gRPC", e);
+            throw new RuntimeException("Failed to get routing table via gRPC", e);
+        }
+    }
+
+    private ConsumerGroupAssignment toGroupAssignment(GroupAssignmentResponse response) {
+        if (!"success".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        return new ConsumerGroupAssignment(response.getGroupId(), response.getChannel(), response.getMemberId(),
+                response.getGeneration(), new ArrayList<>(response.getPartitionsList()),
+                response.getHeartbeatIntervalMillis());
+    }
+
+    private LogRequest toLogRequest(LogEntry logEntry) {
+        LogRequest.Builder builder = LogRequest.newBuilder()
+                .setChannel(logEntry.getChannel())
+                .setLevel(logEntry.getLevel().toString())
+                .setMessage(logEntry.getMessage())
+                .putAllMeta(convertMetaToStringMap(logEntry.getMeta()))
+                // NOTE: 기본 저장소로 SQLite를 사용합니다.
+                // Use SQLite as default storage.
+                .setStorage("sqlite");
+        if (logEntry.getPartition() != null) {
+            builder.setPartition(logEntry.getPartition());
+        }
+        if (logEntry.getPartitionKey() != null) {
+            builder.setPartitionKey(logEntry.getPartitionKey());
+        }
+        if (producer != null) {
+            // 요청을 만들 때 시퀀스를 정하므로 재시도와 헤지 요청은 같은 시퀀스를 보냅니다.
+            // The sequence is fixed when the request is built, so retries and hedges resend the same one.
+            builder.setProducerId(producer.getProducerId())
+                    .setSequence(producer.reserve(1));
+        }
+        return builder.build();
+    }
+
     private Map<String, String> convertMetaToStringMap(Map<String, Object> meta) {
         if (meta == null) {
             return new HashMap<>();
@@ -281,6 +559,10 @@ public class LogPilotGrpcClient implements LogPilotClient {
             logEntry.setId(protoLogEntry.getId());
         }
 
+        if (protoLogEntry.hasPartition()) {
+            logEntry.setPartition(protoLogEntry.getPartition());
+        }
+
         if (!protoLogEntry.getMetaMap().isEmpty()) {
             Map<String, Object> meta = new HashMap<>(protoLogEntry.getMetaMap());
             logEntry.setMeta(meta);
@@ -314,6 +596,30 @@ public class LogPilotGrpcClient implements LogPilotClient {
         }
     }
 
+    private LogServiceGrpc.LogServiceBlockingStub ingestStub() {
+        if (ingestDeadlineMillis <= 0) {
+            return blockingStub;
+        }
+        return blockingStub.withDeadlineAfter(ingestDeadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run an idempotent ingest attempt, hedged when a hedge delay is set
+     */
+    private <T> T hedged(RetryableOperation<T> attempt) {
+        try {
+            return Hedging.call(attempt::execute, hedgeDelayMillis, executorService);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Status.CANCELLED.withDescription("Interrupted while sending logs").withCause(e)
+                    .asRuntimeException();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected checked exception from gRPC call", e);
+        }
+    }
+
     private <T> T executeWithRetry(RetryableOperation<T> operation) throws Exception {
         Exception lastException = null;
 
@@ -335,6 +641,9 @@ public class LogPilotGrpcClient implements LogPilotClient {
     @Override
     public void close() {
         try {
+            if (streamSender != null) {
+                streamSender.close();
+            }
             executorService.shutdown();
             channel.shutdown();
             if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -0,0 +1,231 @@
+package com.logpilot.client.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.grpc.proto.LogPilotProto.LogRequest;
+import com.logpilot.grpc.proto.LogPilotProto.StreamLogsAck;
+import com.logpilot.grpc.proto.LogPilotProto.StreamLogsRequest;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Batching sender on top of the StreamLogs RPC.
+ * Entries are queued, coalesced into chunks of up to batchSize and written to one long-lived stream
+ * while the transport is ready. Each submission completes when the server acknowledges its sequence.
+ */
+class LogStreamSender implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStreamSender.class);
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private final LogServiceGrpc.LogServiceStub asyncStub;
+    private final Function<LogEntry, LogRequest> converter;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<Submission> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> unacknowledged = new ConcurrentSkipListMap<>();
+    private final Object readyLock = new Object();
+    private final Thread senderThread;
+
+    private volatile boolean running = true;
+    private volatile ClientCallStreamObserver<StreamLogsRequest> requestStream;
+    private long nextSequence;
+
+    LogStreamSender(LogServiceGrpc.LogServiceStub asyncStub, Function<LogEntry, LogRequest> converter,
+            int batchSize, long flushIntervalMillis) {
+        this.asyncStub = asyncStub;
+        this.converter = converter;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.senderThread = new Thread(this::sendLoop, "logpilot-grpc-stream");
+        this.senderThread.setDaemon(true);
+        this.senderThread.start();
+    }
+
+    /**
+     * Queue entries for the stream. Blocks while the queue is full, which pushes back on producers.
+     */
+    CompletableFuture<Void> submit(List<LogEntry> logEntries) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (logEntries.isEmpty()) {
+            future.complete(null);
+            return future;
+        }
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("Log stream sender is closed"));
+            return future;
+        }
+        try {
+            queue.put(new Submission(logEntries, future));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void sendLoop() {
+        List<Submission> chunk = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                chunk.add(first);
+                int size = first.logEntries.size();
+                Submission next;
+                while (size < batchSize && (next = queue.peek()) != null
+                        && size + next.logEntries.size() <= batchSize) {
+                    chunk.add(queue.poll());
+                    size += next.logEntries.size();
+                }
+                write(chunk, size);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Failed to write log stream chunk", e);
+                chunk.forEach(submission -> submission.future.completeExceptionally(e));
+            } finally {
+                chunk.clear();
+            }
+        }
+        ClientCallStreamObserver<StreamLogsRequest> stream = requestStream;
+        if (stream != null) {
+            stream.onCompleted();
+        }
+    }
+
+    private void write(List<Submission> chunk, int size) throws InterruptedException {
+        ClientCallStreamObserver<StreamLogsRequest> stream = openStreamIfNeeded();
+
+        // 전송 계층이 준비될 때까지 기다려 클라이언트 쪽 버퍼가 무한히 쌓이지 않게 합니다.
+        // Wait for the transport to be ready so client-side buffers cannot grow without bound.
+        synchronized (readyLock) {
+            while (!stream.isReady() && stream == requestStream) {
+                readyLock.wait(flushIntervalMillis);
+            }
+        }
+        if (stream != requestStream) {
+            throw new IllegalStateException("Log stream closed before the chunk could be sent");
+        }
+
+        StreamLogsRequest.Builder request = StreamLogsRequest.newBuilder();
+        for (Submission submission : chunk) {
+            for (LogEntry logEntry : submission.logEntries) {
+                request.addLogRequests(converter.apply(logEntry));
+            }
+            nextSequence += submission.logEntries.size();
+            unacknowledged.put(nextSequence, submission.future);
+        }
+        request.setSequence(nextSequence);
+        stream.onNext(request.build());
+        if (stream != requestStream) {
+            // 전송 중에 스트림이 끊겼다면 이 청크는 확인받을 수 없습니다.
+            // The stream broke while writing, so this chunk can never be acknowledged.
+            IllegalStateException cause = new IllegalStateException("Log stream closed while sending");
+            chunk.forEach(submission -> submission.future.completeExceptionally(cause));
+        }
+        logger.debug("Streamed {} log entries (sequence={})", size, nextSequence);
+    }
+
+    private ClientCallStreamObserver<StreamLogsRequest> openStreamIfNeeded() {
+        ClientCallStreamObserver<StreamLogsRequest> stream = requestStream;
+        if (stream != null) {
+            return stream;
+        }
+        asyncStub.streamLogs(new AckObserver());
+        stream = requestStream;
+        if (stream == null) {
+            throw new IllegalStateException("Log stream could not be opened");
+        }
+        return stream;
+    }
+
+    private void acknowledge(long sequence) {
+        Map<Long, CompletableFuture<Void>> acknowledged = unacknowledged.headMap(sequence, true);
+        acknowledged.values().forEach(future -> future.complete(null));
+        acknowledged.clear();
+    }
+
+    private void failUnacknowledged(ClientCallStreamObserver<StreamLogsRequest> stream, Throwable cause) {
+        synchronized (readyLock) {
+            if (requestStream == stream) {
+                requestStream = null;
+            }
+            readyLock.notifyAll();
+        }
+        unacknowledged.values().forEach(future -> future.completeExceptionally(cause));
+        unacknowledged.clear();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            senderThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senderThread.interrupt();
+    }
+
+    private class AckObserver implements ClientResponseObserver<StreamLogsRequest, StreamLogsAck> {
+
+        private ClientCallStreamObserver<StreamLogsRequest> stream;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<StreamLogsRequest> requestStream) {
+            this.stream = requestStream;
+            LogStreamSender.this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(() -> {
+                synchronized (readyLock) {
+                    readyLock.notifyAll();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(StreamLogsAck ack) {
+            acknowledge(ack.getSequence());
+            if (!"success".equals(ack.getStatus())) {
+                logger.error("Log stream rejected by server: {}", ack.getMessage());
+                failUnacknowledged(stream, new RuntimeException("Failed to store logs: " + ack.getMessage()));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.warn("Log stream failed, reopening on next send: {}", t.getMessage());
+            failUnacknowledged(stream, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            failUnacknowledged(stream, new IllegalStateException("Log stream completed by server"));
+        }
+    }
+
+    private static class Submission {
+        private final List<LogEntry> logEntries;
+        private final CompletableFuture<Void> future;
+
+        private Submission(List<LogEntry> logEntries, CompletableFuture<Void> future) {
+            this.logEntries = logEntries;
+            this.future = future;
+        }
+    }
+}
@@ -2,27 +2,49 @@ package com.logpilot.client.rest;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.logpilot.client.Hedging;
+import com.logpilot.client.IdempotentProducer;
 import com.logpilot.client.LogPilotClient;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.concurrent.VirtualThreads;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class LogPilotRestClient implements LogPilotClient {
 
     private static final Logger logger = LoggerFactory.getLogger(LogPilotRestClient.class);
+    // logAsync 작업을 가상 스레드에서 실행합니다 (Java 21+, -Dlogpilot.client.virtual-threads=true).
+    // Run logAsync work on virtual threads (Java 21+, -Dlogpilot.client.virtual-threads=true).
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("logpilot.client.virtual-threads");
+    public static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 1024;
+    private static final String GZIP = "gzip";
     private final String serverUrl;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
@@ -33,20 +55,54 @@ public class LogPilotRestClient implements LogPilotClient {
     private final int batchSize;
     private final int maxRetries;
     private final String apiKey;
+    private final boolean compression;
+    private final int compressionThresholdBytes;
+    private final IdempotentProducer producer;
+    private final Duration ingestTimeout;
+    private final long hedgeDelayMillis;
+    private final ReentrantLock flushLock = new ReentrantLock();
 
     public LogPilotRestClient(String serverUrl, int timeout, int maxRetries, boolean enableBatching, int batchSize,
             long flushIntervalMillis, String apiKey) {
+        this(serverUrl, timeout, maxRetries, enableBatching, batchSize, flushIntervalMillis, apiKey, false,
+                DEFAULT_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * @param compression gzip request bodies of at least compressionThresholdBytes and accept gzip responses;
+     *                    needs a server that inflates Content-Encoding: gzip
+     */
+    public LogPilotRestClient(String serverUrl, int timeout, int maxRetries, boolean enableBatching, int batchSize,
+            long flushIntervalMillis, String apiKey, boolean compression, int compressionThresholdBytes) {
+        this(serverUrl, timeout, maxRetries, enableBatching, batchSize, flushIntervalMillis, apiKey, compression,
+                compressionThresholdBytes, true, 0);
+    }
+
+    /**
+     * @param idempotence      send a producer id and per-entry sequences with ingest requests and bound each ingest
+     *                         attempt by timeout; the server then drops replays, so retries cannot store duplicates
+     * @param hedgeDelayMillis with idempotence, start a second identical ingest attempt when the first has not
+     *                         answered after this long (0 disables hedging)
+     */
+    public LogPilotRestClient(String serverUrl, int timeout, int maxRetries, boolean enableBatching, int batchSize,
+            long flushIntervalMillis, String apiKey, boolean compression, int compressionThresholdBytes,
+            boolean idempotence, long hedgeDelayMillis) {
+        this.compression = compression;
+        this.compressionThresholdBytes = compressionThresholdBytes;
         this.serverUrl = serverUrl.endsWith("/") ? serverUrl.substring(0, serverUrl.length() - 1) : serverUrl;
         this.maxRetries = maxRetries;
         this.enableBatching = enableBatching;
         this.batchSize = batchSize;
         this.apiKey = apiKey;
+        this.producer = idempotence ? new IdempotentProducer() : null;
+        this.ingestTimeout = idempotence ? Duration.ofMillis(timeout) : null;
+        this.hedgeDelayMillis = idempotence ? hedgeDelayMillis : 0;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofMillis(timeout))
                 .build();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
-        this.executorService = Executors.newCachedThreadPool();
+        this.executorService = VirtualThreads.newTaskExecutor(VIRTUAL_THREADS, "logpilot-client-");
 
         if (enableBatching) {
             this.logQueue = new LinkedBlockingQueue<>();
@@ -63,7 +119,17 @@ public class LogPilotRestClient implements LogPilotClient {
     // Constructor for scheduling and flush testing.
     LogPilotRestClient(String serverUrl, HttpClient httpClient, ScheduledExecutorService scheduler,
             boolean enableBatching, int batchSize, int maxRetries) {
+        this(serverUrl, httpClient, scheduler, enableBatching, batchSize, maxRetries, false);
+    }
+
+    LogPilotRestClient(String serverUrl, HttpClient httpClient, ScheduledExecutorService scheduler,
+            boolean enableBatching, int batchSize, int maxRetries, boolean compression) {
         this.apiKey = null;
+        this.compression = compression;
+        this.compressionThresholdBytes = DEFAULT_COMPRESSION_THRESHOLD_BYTES;
+        this.producer = new IdempotentProducer();
+        this.ingestTimeout = null;
+        this.hedgeDelayMillis = 0;
         this.serverUrl = serverUrl.endsWith("/") ? serverUrl.substring(0, serverUrl.length() - 1) : serverUrl;
         this.httpClient = httpClient;
         this.scheduler = scheduler;
@@ -72,7 +138,7 @@ public class LogPilotRestClient implements LogPilotClient {
         this.maxRetries = maxRetries;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
-        this.executorService = Executors.newCachedThreadPool();
+        this.executorService = VirtualThreads.newTaskExecutor(VIRTUAL_THREADS, "logpilot-client-");
         this.logQueue = enableBatching ? new LinkedBlockingQueue<>() : null;
     }
 
@@ -138,20 +204,28 @@ public class LogPilotRestClient implements LogPilotClient {
         }
     }
 
-    private synchronized void flush() {
-        if (logQueue.isEmpty()) {
-            return;
-        }
+    /**
+     * Guarded by a ReentrantLock: a monitor held across the HTTP call would pin a virtual thread's carrier
+     */
+    private void flush() {
+        flushLock.lock();
+        try {
+            if (logQueue.isEmpty()) {
+                return;
+            }
 
-        List<LogEntry> batch = new ArrayList<>();
-        logQueue.drainTo(batch, batchSize);
+            List<LogEntry> batch = new ArrayList<>();
+            logQueue.drainTo(batch, batchSize);
 
-        if (!batch.isEmpty()) {
-            try {
-                sendBatchLogRequest(batch);
-            } catch (Exception e) {
-                logger.error("Failed to send batch log entries during flush", e);
+            if (!batch.isEmpty()) {
+                try {
+                    sendBatchLogRequest(batch);
+                } catch (Exception e) {
+                    logger.error("Failed to send batch log entries during flush", e);
+                }
             }
+        } finally {
+            flushLock.unlock();
         }
     }
 
@@ -172,6 +246,75 @@ public class LogPilotRestClient implements LogPilotClient {
         }
     }
 
+    @Override
+    public List<LogEntry> getLogs(String channel, int partition, String consumerId, int limit) {
+        try {
+            String url = String.format("%s/api/logs/%s?consumerId=%s&limit=%d&partition=%d",
+                    serverUrl, channel, consumerId, limit, partition);
+            return sendGetRequest(url);
+        } catch (Exception e) {
+            logger.error("Failed to get logs", e);
+            throw new RuntimeException("Failed to get logs", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> getLogs(String channel, String consumerId, int limit, long waitMillis) {
+        try {
+            String url = String.format("%s/api/logs/%s?consumerId=%s&limit=%d&waitMs=%d",
+                    serverUrl, channel, consumerId, limit, waitMillis);
+            return sendGetRequest(url);
+        } catch (Exception e) {
+            logger.error("Failed to get logs", e);
+            throw new RuntimeException("Failed to get logs", e);
+        }
+    }
+
+    @Override
+    public int streamLogs(String channel, String consumerId, int limit, Consumer<LogEntry> consumer) {
+        String url = String.format("%s/api/logs/%s?consumerId=%s&limit=%d", serverUrl, channel, consumerId, limit);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Accept", "application/x-ndjson")
+                .GET();
+        if (apiKey != null) {
+            builder.header("X-API-KEY", apiKey);
+        }
+        if (compression) {
+            builder.header("Accept-Encoding", GZIP);
+        }
+
+        try {
+            HttpResponse<InputStream> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            InputStream body = response.body();
+            if (response.headers().firstValue("Content-Encoding").map(GZIP::equalsIgnoreCase).orElse(false)) {
+                body = new GZIPInputStream(body);
+            }
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                if (response.statusCode() >= 400) {
+                    throw new RuntimeException("HTTP " + response.statusCode() + ": " + lines.readLine());
+                }
+                int received = 0;
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        consumer.accept(objectMapper.readValue(line, LogEntry.class));
+                        received++;
+                    }
+                }
+                logger.debug("Streamed {} log entries from {}", received, url);
+                return received;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while streaming logs", e);
+        } catch (IOException e) {
+            logger.error("Failed to stream logs", e);
+            throw new RuntimeException("Failed to stream logs", e);
+        }
+    }
+
     @Override
     public List<LogEntry> getAllLogs(int limit) {
         try {
@@ -210,46 +353,155 @@ public class LogPilotRestClient implements LogPilotClient {
         }
     }
 
+    @Override
+    public ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of("channel", channel, "memberId", memberId));
+            String body = makeRequest(json, serverUrl + "/api/groups/" + groupId + "/join");
+            return objectMapper.readValue(body, ConsumerGroupAssignment.class);
+        } catch (Exception e) {
+            logger.error("Failed to join group", e);
+            throw new RuntimeException("Failed to join group", e);
+        }
+    }
+
+    @Override
+    public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of("memberId", memberId));
+            String body = makeRequest(json, serverUrl + "/api/groups/" + groupId + "/heartbeat");
+            return objectMapper.readValue(body, ConsumerGroupAssignment.class);
+        } catch (Exception e) {
+            logger.error("Failed to send group heartbeat", e);
+            throw new RuntimeException("Failed to send group heartbeat", e);
+        }
+    }
+
+    @Override
+    public void leaveGroup(String groupId, String memberId) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of("memberId", memberId));
+            makeRequest(json, serverUrl + "/api/groups/" + groupId + "/leave");
+        } catch (Exception e) {
+            logger.error("Failed to leave group", e);
+            throw new RuntimeException("Failed to leave group", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> getGroupLogs(String groupId, String memberId, long generation, int limit) {
+        try {
+            String url = String.format("%s/api/groups/%s/logs?memberId=%s&generation=%d&limit=%d",
+                    serverUrl, groupId, memberId, generation, limit);
+            return sendGetRequest(url);
+        } catch (Exception e) {
+            logger.error("Failed to get group logs", e);
+            throw new RuntimeException("Failed to get group logs", e);
+        }
+    }
+
+    @Override
+    public Flow.Publisher<LogEntry> subscribe(String channel, String consumerId, String startPosition) {
+        return new LongPollLogPublisher(this, executorService, channel, consumerId, startPosition);
+    }
+
+    @Override
+    public RoutingTable getRoutingTable() {
+        try {
+            return objectMapper.readValue(sendGet(serverUrl + "/api/cluster/routing"), RoutingTable.class);
+        } catch (Exception e) {
+            logger.error("Failed to get routing table", e);
+            throw new RuntimeException("Failed to get routing table", e);
+        }
+    }
+
     private void sendLogRequest(LogEntry logEntry) throws Exception {
-        String json = objectMapper.writeValueAsString(logEntry);
+        String json;
+        if (producer != null) {
+            json = objectMapper.writeValueAsString(stamp(logEntry, producer.reserve(1)));
+        } else {
+            json = objectMapper.writeValueAsString(logEntry);
+        }
         String url = serverUrl + "/api/logs";
 
-        makeRequest(json, url);
+        makeRequest(json, url, producer != null);
 
         logger.debug("Sent log entry to {}", url);
     }
 
     private void sendBatchLogRequest(List<LogEntry> logEntries) throws Exception {
-        String json = objectMapper.writeValueAsString(logEntries);
+        String json;
+        if (producer != null) {
+            ArrayNode stamped = objectMapper.createArrayNode();
+            long sequence = producer.reserve(logEntries.size());
+            for (LogEntry logEntry : logEntries) {
+                stamped.add(stamp(logEntry, sequence++));
+            }
+            json = objectMapper.writeValueAsString(stamped);
+        } else {
+            json = objectMapper.writeValueAsString(logEntries);
+        }
         String url = serverUrl + "/api/logs/batch";
 
-        makeRequest(json, url);
+        makeRequest(json, url, producer != null);
 
         logger.debug("Sent {} log entries to {}", logEntries.size(), url);
     }
 
-    private void makeRequest(String json, String url) throws Exception {
+    // 호출자의 LogEntry를 바꾸지 않도록 직렬화된 사본에 프로듀서 ID와 시퀀스를 붙입니다.
+    // Stamp the producer id and sequence onto a serialized copy so the caller's LogEntry is left untouched.
+    private ObjectNode stamp(LogEntry logEntry, long sequence) {
+        ObjectNode node = objectMapper.valueToTree(logEntry);
+        node.put("producerId", producer.getProducerId());
+        node.put("sequence", sequence);
+        return node;
+    }
+
+    private String makeRequest(String json, String url) throws Exception {
+        return makeRequest(json, url, false);
+    }
+
+    /**
+     * @param idempotent the server deduplicates this request, so it may be bounded by the ingest timeout and hedged
+     */
+    private String makeRequest(String json, String url, boolean idempotent) throws Exception {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json));
+                .header("Content-Type", "application/json");
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        if (compression && body.length >= compressionThresholdBytes) {
+            builder.header("Content-Encoding", GZIP)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body)));
+        } else {
+            builder.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        }
 
         if (apiKey != null) {
             builder.header("X-API-KEY", apiKey);
         }
 
+        if (idempotent && ingestTimeout != null) {
+            builder.timeout(ingestTimeout);
+        }
+
         HttpRequest request = builder.build();
 
-        executeWithRetry(() -> {
+        return executeWithRetry(() -> Hedging.call(() -> {
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() >= 400) {
                 throw new RuntimeException("HTTP " + response.statusCode() + ": " + response.body());
             }
-            return null;
-        });
+            return response.body();
+        }, idempotent ? hedgeDelayMillis : 0, executorService));
     }
 
     private List<LogEntry> sendGetRequest(String url) throws Exception {
+        return objectMapper.readValue(sendGet(url), new TypeReference<List<LogEntry>>() {
+        });
+    }
+
+    private String sendGet(String url) throws Exception {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .header("Accept", "application/json")
@@ -258,19 +510,48 @@ public class LogPilotRestClient implements LogPilotClient {
         if (apiKey != null) {
             builder.header("X-API-KEY", apiKey);
         }
+        if (compression) {
+            builder.header("Accept-Encoding", GZIP);
+        }
 
         HttpRequest request = builder.build();
 
         return executeWithRetry(() -> {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            String body = decodeBody(response);
             if (response.statusCode() >= 400) {
-                throw new RuntimeException("HTTP " + response.statusCode() + ": " + response.body());
+                throw new RuntimeException("HTTP " + response.statusCode() + ": " + body);
             }
-            return objectMapper.readValue(response.body(), new TypeReference<List<LogEntry>>() {
-            });
+            return body;
         });
     }
 
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    // HttpClient는 응답 압축을 자동으로 풀지 않습니다.
+    // HttpClient does not inflate compressed responses by itself.
+    private static String decodeBody(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body();
+        if (body == null) {
+            return null;
+        }
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .map(GZIP::equalsIgnoreCase)
+                .orElse(false);
+        if (!gzipped) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
     private <T> T executeWithRetry(RetryableOperation<T> operation) throws Exception {
         Exception lastException = null;
 
@@ -308,6 +589,6 @@ public class LogPilotRestClient implements LogPilotClient {
 
     @FunctionalInterface
     private interface RetryableOperation<T> {
-        T execute() throws IOException, InterruptedException;
+        T execute() throws Exception;
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.logpilot.client.rest;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Flow.Publisher over the long-poll fetch endpoint.
+ * Each subscription runs one poll loop that only fetches while the subscriber has outstanding demand, and never
+ * more entries than it asked for. Fetched entries are committed by the server, as with the gRPC Subscribe call.
+ */
+class LongPollLogPublisher implements Flow.Publisher<LogEntry> {
+
+    static final int MAX_BATCH_SIZE = 100;
+    static final long WAIT_MILLIS = 10_000;
+
+    private final LogPilotRestClient client;
+    private final ExecutorService executor;
+    private final String channel;
+    private final String consumerId;
+    private final String startPosition;
+
+    LongPollLogPublisher(LogPilotRestClient client, ExecutorService executor, String channel, String consumerId,
+            String startPosition) {
+        this.client = client;
+        this.executor = executor;
+        this.channel = channel;
+        this.consumerId = consumerId;
+        this.startPosition = startPosition != null ? startPosition : "";
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LogEntry> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        PollSubscription subscription = new PollSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription::run);
+        } catch (RejectedExecutionException e) {
+            subscription.fail(new IllegalStateException("Client is closed", e));
+        }
+    }
+
+    private class PollSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super LogEntry> subscriber;
+        private long demand;
+        private boolean cancelled;
+
+        private PollSubscription(Flow.Subscriber<? super LogEntry> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                notifyAll();
+                subscriber.onError(new IllegalArgumentException("Demand must be positive: " + n));
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        private void run() {
+            try {
+                switch (startPosition) {
+                    case "", "COMMITTED" -> {
+                        // 커밋된 오프셋부터 이어서 받습니다.
+                        // Resume from the committed offset.
+                    }
+                    case "EARLIEST" -> client.seekToBeginning(channel, consumerId);
+                    case "LATEST" -> client.seekToEnd(channel, consumerId);
+                    default -> throw new IllegalArgumentException("Unknown start position: " + startPosition);
+                }
+
+                while (true) {
+                    int limit = awaitDemand();
+                    if (limit == 0) {
+                        return;
+                    }
+                    // 요청된 만큼만 가져오므로 받은 엔트리는 버퍼 없이 모두 전달할 수 있습니다.
+                    // Only what was requested is fetched, so every fetched entry can be delivered without a buffer.
+                    List<LogEntry> logEntries = client.getLogs(channel, consumerId, limit, WAIT_MILLIS);
+                    for (LogEntry logEntry : logEntries) {
+                        synchronized (this) {
+                            if (cancelled) {
+                                return;
+                            }
+                            demand--;
+                        }
+                        subscriber.onNext(logEntry);
+                    }
+                }
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Wait until the subscriber has demand
+         *
+         * @return entries to fetch next, or 0 once cancelled or the client is closed
+         */
+        private synchronized int awaitDemand() throws InterruptedException {
+            while (!cancelled && demand == 0 && !executor.isShutdown()) {
+                wait(WAIT_MILLIS);
+            }
+            if (cancelled || executor.isShutdown()) {
+                return 0;
+            }
+            return (int) Math.min(demand, MAX_BATCH_SIZE);
+        }
+
+        private void fail(Throwable error) {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            subscriber.onError(error);
+        }
+    }
+}
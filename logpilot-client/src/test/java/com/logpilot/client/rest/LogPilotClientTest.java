@@ -1,5 +1,6 @@
 package com.logpilot.client.rest;
 
+import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +13,12 @@ import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.concurrent.ScheduledExecutorService;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -115,4 +120,66 @@ class LogPilotClientTest {
         HttpRequest request = captor.getValue();
         assert request.uri().toString().endsWith("/api/logs/seek");
     }
+
+    @Test
+    void testLargeBatchIsGzipped() throws IOException, InterruptedException {
+        client = new LogPilotRestClient(serverUrl, httpClient, scheduler, false, 10, 3, true);
+        List<LogEntry> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new LogEntry("orders", LogLevel.INFO, "order " + i + " placed"));
+        }
+
+        client.logBatch(batch);
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals("gzip", captor.getValue().headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    @Test
+    void testLargeBatchIsNotGzippedByDefault() throws IOException, InterruptedException {
+        client = new LogPilotRestClient(serverUrl, httpClient, scheduler, false, 10, 3);
+        List<LogEntry> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new LogEntry("orders", LogLevel.INFO, "order " + i + " placed"));
+        }
+
+        client.logBatch(batch);
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        assertTrue(captor.getValue().headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    @Test
+    void testSmallRequestIsNotCompressed() throws IOException, InterruptedException {
+        client = new LogPilotRestClient(serverUrl, httpClient, scheduler, false, 10, 3, true);
+
+        client.log("orders", LogLevel.INFO, "placed");
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        assertTrue(captor.getValue().headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    @Test
+    void testSubscribeLongPollsForOutstandingDemand() throws IOException, InterruptedException {
+        lenient().when(httpResponse.body()).thenReturn("[]");
+        client = new LogPilotRestClient(serverUrl, httpClient, scheduler, false, 10, 3);
+
+        client.subscribe("orders", "billing", "COMMITTED").subscribe(new Flow.Subscriber<>() {
+            public void onSubscribe(Flow.Subscription subscription) { subscription.request(2); }
+            public void onNext(LogEntry logEntry) { }
+            public void onError(Throwable throwable) { }
+            public void onComplete() { }
+        });
+
+        // 구독자가 요청한 수만큼만 롱 폴링으로 가져와야 합니다.
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, timeout(2000).atLeastOnce()).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        client.close();
+
+        String uri = captor.getAllValues().get(0).uri().toString();
+        assertTrue(uri.contains("/api/logs/orders?consumerId=billing&limit=2&waitMs="), uri);
+    }
 }
@@ -0,0 +1,72 @@
+package com.logpilot.core.cluster;
+
+import java.util.Objects;
+
+/**
+ * A LogPilot node of a sharded cluster and the addresses it serves on
+ */
+public class ClusterNode {
+
+    private String nodeId;
+    private String grpcAddress;
+    private String restAddress;
+
+    public ClusterNode() {
+    }
+
+    public ClusterNode(String nodeId, String grpcAddress, String restAddress) {
+        this.nodeId = nodeId;
+        this.grpcAddress = grpcAddress;
+        this.restAddress = restAddress;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getGrpcAddress() {
+        return grpcAddress;
+    }
+
+    public void setGrpcAddress(String grpcAddress) {
+        this.grpcAddress = grpcAddress;
+    }
+
+    public String getRestAddress() {
+        return restAddress;
+    }
+
+    public void setRestAddress(String restAddress) {
+        this.restAddress = restAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ClusterNode that = (ClusterNode) o;
+        return Objects.equals(nodeId, that.nodeId) &&
+                Objects.equals(grpcAddress, that.grpcAddress) &&
+                Objects.equals(restAddress, that.restAddress);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nodeId, grpcAddress, restAddress);
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterNode{" +
+                "nodeId='" + nodeId + '\'' +
+                ", grpcAddress='" + grpcAddress + '\'' +
+                ", restAddress='" + restAddress + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.logpilot.core.cluster;
+
+import com.logpilot.core.partition.ChannelPartitions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring that places channels on cluster nodes.
+ * Each node owns several virtual points so channels spread evenly, and adding or removing
+ * a node only moves the channels next to its points. Servers and clients share this class,
+ * so they always agree on the owner of a channel.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, ClusterNode> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<ClusterNode> nodes, int virtualNodes) {
+        for (ClusterNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node.getNodeId() + "-" + i), node);
+            }
+        }
+    }
+
+    public static ConsistentHashRing of(RoutingTable routingTable) {
+        return new ConsistentHashRing(routingTable.getNodes(), routingTable.getVirtualNodes());
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    /**
+     * Owner of a channel. All partitions of a channel live on the same node.
+     */
+    public ClusterNode ownerOf(String channel) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, ClusterNode> entry = ring.ceilingEntry(hash(ChannelPartitions.channelOf(channel)));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.logpilot.core.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster membership as published to clients. Clients build the same {@link ConsistentHashRing}
+ * from it and send each channel straight to its owner.
+ */
+public class RoutingTable {
+
+    private String nodeId;
+    private int virtualNodes;
+    private List<ClusterNode> nodes = new ArrayList<>();
+
+    public RoutingTable() {
+    }
+
+    public RoutingTable(String nodeId, int virtualNodes, List<ClusterNode> nodes) {
+        this.nodeId = nodeId;
+        this.virtualNodes = virtualNodes;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Whether the server runs in cluster mode; a standalone server publishes no nodes
+     */
+    public boolean hasNodes() {
+        return nodes != null && !nodes.isEmpty();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public List<ClusterNode> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<ClusterNode> nodes) {
+        this.nodes = nodes;
+    }
+}
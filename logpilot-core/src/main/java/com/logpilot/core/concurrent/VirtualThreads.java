@@ -0,0 +1,75 @@
+package com.logpilot.core.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads from code compiled for Java 17.
+ * The Java 21 API is looked up reflectively, so the same artifact uses virtual threads on a Java 21+
+ * runtime and falls back to platform threads elsewhere.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Class<?> BUILDER = loadClass("java.lang.Thread$Builder");
+    private static final Method BUILDER_NAME = BUILDER != null ? lookup(BUILDER, "name", String.class, long.class)
+            : null;
+    private static final Method BUILDER_FACTORY = BUILDER != null ? lookup(BUILDER, "factory") : null;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = lookup(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null
+                && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Executor that starts one virtual thread per task, named namePrefix0, namePrefix1, ...
+     *
+     * @throws UnsupportedOperationException below Java 21
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads require Java 21+, running on " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Virtual-thread executor when requested and available, otherwise a cached platform thread pool
+     */
+    public static ExecutorService newTaskExecutor(boolean preferVirtual, String namePrefix) {
+        if (preferVirtual && isSupported()) {
+            return newThreadPerTaskExecutor(namePrefix);
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.logpilot.core.config;
 
+import com.logpilot.core.model.LogLevel;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "logpilot")
 
 public class LogPilotProperties {
@@ -9,6 +15,20 @@ public class LogPilotProperties {
     private Storage storage = new Storage();
     private Server server = new Server();
     private Grpc grpc = new Grpc();
+    private Replication replication = new Replication();
+    private Partitioning partitioning = new Partitioning();
+    private ConsumerGroups consumerGroups = new ConsumerGroups();
+    private Cluster cluster = new Cluster();
+    private LiveTail liveTail = new LiveTail();
+    private Ingest ingest = new Ingest();
+    private Metrics metrics = new Metrics();
+    private Admission admission = new Admission();
+    private Compression compression = new Compression();
+    private Idempotence idempotence = new Idempotence();
+    private Pipeline pipeline = new Pipeline();
+    private Sampling sampling = new Sampling();
+    private Collapse collapse = new Collapse();
+    private Rollup rollup = new Rollup();
 
     public Storage getStorage() {
         return storage;
@@ -34,6 +54,118 @@ public class LogPilotProperties {
         this.grpc = grpc;
     }
 
+    public Replication getReplication() {
+        return replication;
+    }
+
+    public void setReplication(Replication replication) {
+        this.replication = replication;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public void setPartitioning(Partitioning partitioning) {
+        this.partitioning = partitioning;
+    }
+
+    public ConsumerGroups getConsumerGroups() {
+        return consumerGroups;
+    }
+
+    public void setConsumerGroups(ConsumerGroups consumerGroups) {
+        this.consumerGroups = consumerGroups;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(Cluster cluster) {
+        this.cluster = cluster;
+    }
+
+    public LiveTail getLiveTail() {
+        return liveTail;
+    }
+
+    public void setLiveTail(LiveTail liveTail) {
+        this.liveTail = liveTail;
+    }
+
+    public Ingest getIngest() {
+        return ingest;
+    }
+
+    public void setIngest(Ingest ingest) {
+        this.ingest = ingest;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(Admission admission) {
+        this.admission = admission;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public Idempotence getIdempotence() {
+        return idempotence;
+    }
+
+    public void setIdempotence(Idempotence idempotence) {
+        this.idempotence = idempotence;
+    }
+
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    public void setSampling(Sampling sampling) {
+        this.sampling = sampling;
+    }
+
+    public Collapse getCollapse() {
+        return collapse;
+    }
+
+    public void setCollapse(Collapse collapse) {
+        this.collapse = collapse;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public void setRollup(Rollup rollup) {
+        this.rollup = rollup;
+    }
+
     public static class Storage {
         private StorageType type = StorageType.SQLITE;
         private String directory = "./data/logs";
@@ -126,6 +258,13 @@ public class LogPilotProperties {
 
     public static class Server {
         private int port = 8080;
+        private long maxFetchWaitMillis = 30000;
+        // 스트리밍 조회가 저장소에서 한 번에 읽는 엔트리 수.
+        // Entries a streamed fetch reads from storage at a time.
+        private int fetchPageSize = 500;
+        // 대기 중인 롱 폴링의 준비 확인과 만료 시 조회를 실행하는 스레드 수.
+        // Threads that run readiness checks and expiry fetches for parked long polls.
+        private int fetchWaitThreads = 4;
 
         public int getPort() {
             return port;
@@ -134,10 +273,39 @@ public class LogPilotProperties {
         public void setPort(int port) {
             this.port = port;
         }
+
+        public long getMaxFetchWaitMillis() {
+            return maxFetchWaitMillis;
+        }
+
+        public void setMaxFetchWaitMillis(long maxFetchWaitMillis) {
+            this.maxFetchWaitMillis = maxFetchWaitMillis;
+        }
+
+        public int getFetchPageSize() {
+            return fetchPageSize;
+        }
+
+        public void setFetchPageSize(int fetchPageSize) {
+            this.fetchPageSize = fetchPageSize;
+        }
+
+        public int getFetchWaitThreads() {
+            return fetchWaitThreads;
+        }
+
+        public void setFetchWaitThreads(int fetchWaitThreads) {
+            this.fetchWaitThreads = fetchWaitThreads;
+        }
     }
 
     public static class Grpc {
         private int port = 50051;
+        private int streamBatchSize = 500;
+        private long streamFlushIntervalMillis = 50;
+        private int streamFlushThreads = 2;
+        private int streamWindow = 16;
+        private int subscriptionThreads = 4;
 
         public int getPort() {
             return port;
@@ -146,6 +314,833 @@ public class LogPilotProperties {
         public void setPort(int port) {
             this.port = port;
         }
+
+        public int getStreamBatchSize() {
+            return streamBatchSize;
+        }
+
+        public void setStreamBatchSize(int streamBatchSize) {
+            this.streamBatchSize = streamBatchSize;
+        }
+
+        public long getStreamFlushIntervalMillis() {
+            return streamFlushIntervalMillis;
+        }
+
+        public void setStreamFlushIntervalMillis(long streamFlushIntervalMillis) {
+            this.streamFlushIntervalMillis = streamFlushIntervalMillis;
+        }
+
+        public int getStreamWindow() {
+            return streamWindow;
+        }
+
+        public void setStreamWindow(int streamWindow) {
+            this.streamWindow = streamWindow;
+        }
+
+        public int getStreamFlushThreads() {
+            return streamFlushThreads;
+        }
+
+        public void setStreamFlushThreads(int streamFlushThreads) {
+            this.streamFlushThreads = streamFlushThreads;
+        }
+
+        public int getSubscriptionThreads() {
+            return subscriptionThreads;
+        }
+
+        public void setSubscriptionThreads(int subscriptionThreads) {
+            this.subscriptionThreads = subscriptionThreads;
+        }
+    }
+
+    public static class Replication {
+        private ReplicationRole role = ReplicationRole.LEADER;
+        private String leaderAddress = "localhost:50051";
+        private String leaderApiKey;
+        private int batchSize = 500;
+        private long pollIntervalMillis = 200;
+        private long channelRefreshIntervalMillis = 10000;
+
+        public ReplicationRole getRole() {
+            return role;
+        }
+
+        public void setRole(ReplicationRole role) {
+            this.role = role;
+        }
+
+        public String getLeaderAddress() {
+            return leaderAddress;
+        }
+
+        public void setLeaderAddress(String leaderAddress) {
+            this.leaderAddress = leaderAddress;
+        }
+
+        public String getLeaderApiKey() {
+            return leaderApiKey;
+        }
+
+        public void setLeaderApiKey(String leaderApiKey) {
+            this.leaderApiKey = leaderApiKey;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getChannelRefreshIntervalMillis() {
+            return channelRefreshIntervalMillis;
+        }
+
+        public void setChannelRefreshIntervalMillis(long channelRefreshIntervalMillis) {
+            this.channelRefreshIntervalMillis = channelRefreshIntervalMillis;
+        }
+    }
+
+    public static class Partitioning {
+        // 채널별 파티션 수 (예: orders: 8). 등록되지 않은 채널은 파티션되지 않습니다.
+        // Partition count per channel (e.g. orders: 8). Unlisted channels are not partitioned.
+        private Map<String, Integer> channels = new HashMap<>();
+        // 파티션 키로 사용할 meta 필드 (예: userId). 없으면 라운드 로빈으로 분배합니다.
+        // Meta field used as partition key (e.g. userId). Round-robin when absent.
+        private String keyField;
+        private String registryPath = "./data/channels.json";
+
+        public Map<String, Integer> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(Map<String, Integer> channels) {
+            this.channels = channels;
+        }
+
+        public String getKeyField() {
+            return keyField;
+        }
+
+        public void setKeyField(String keyField) {
+            this.keyField = keyField;
+        }
+
+        public String getRegistryPath() {
+            return registryPath;
+        }
+
+        public void setRegistryPath(String registryPath) {
+            this.registryPath = registryPath;
+        }
+    }
+
+    public static class ConsumerGroups {
+        // 이 시간 동안 하트비트가 없는 멤버는 그룹에서 제거되고 리밸런스됩니다.
+        // Members without a heartbeat for this long are removed and the group is rebalanced.
+        private long sessionTimeoutMillis = 10000;
+        private long heartbeatIntervalMillis = 3000;
+
+        public long getSessionTimeoutMillis() {
+            return sessionTimeoutMillis;
+        }
+
+        public void setSessionTimeoutMillis(long sessionTimeoutMillis) {
+            this.sessionTimeoutMillis = sessionTimeoutMillis;
+        }
+
+        public long getHeartbeatIntervalMillis() {
+            return heartbeatIntervalMillis;
+        }
+
+        public void setHeartbeatIntervalMillis(long heartbeatIntervalMillis) {
+            this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        }
+    }
+
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId = "node-1";
+        // 노드 ID별 주소. nodesFile이 지정되면 파일 내용이 우선합니다.
+        // Addresses per node ID. When nodesFile is set, the file takes precedence.
+        private Map<String, Node> nodes = new HashMap<>();
+        private String nodesFile;
+        private int virtualNodes = 128;
+        private int forwardBatchSize = 500;
+        private long forwardTimeoutMillis = 5000;
+        // 노드 간 호출을 인증하는 공유 비밀. 비어 있으면 다른 노드가 전달한 배치를 받지 않습니다.
+        // Shared secret authenticating node-to-node calls. When empty, batches forwarded by other nodes are refused.
+        private String clusterKey;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public Map<String, Node> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(Map<String, Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        public String getNodesFile() {
+            return nodesFile;
+        }
+
+        public void setNodesFile(String nodesFile) {
+            this.nodesFile = nodesFile;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public int getForwardBatchSize() {
+            return forwardBatchSize;
+        }
+
+        public void setForwardBatchSize(int forwardBatchSize) {
+            this.forwardBatchSize = forwardBatchSize;
+        }
+
+        public long getForwardTimeoutMillis() {
+            return forwardTimeoutMillis;
+        }
+
+        public void setForwardTimeoutMillis(long forwardTimeoutMillis) {
+            this.forwardTimeoutMillis = forwardTimeoutMillis;
+        }
+
+        public String getClusterKey() {
+            return clusterKey;
+        }
+
+        public void setClusterKey(String clusterKey) {
+            this.clusterKey = clusterKey;
+        }
+
+        public static class Node {
+            private String grpcAddress;
+            private String restAddress;
+
+            public String getGrpcAddress() {
+                return grpcAddress;
+            }
+
+            public void setGrpcAddress(String grpcAddress) {
+                this.grpcAddress = grpcAddress;
+            }
+
+            public String getRestAddress() {
+                return restAddress;
+            }
+
+            public void setRestAddress(String restAddress) {
+                this.restAddress = restAddress;
+            }
+        }
+    }
+
+    public static class LiveTail {
+        // 구독자별 대기열 크기. 가득 차면 새 엔트리는 버려지고 개수만 보고됩니다.
+        // Per-subscriber queue size. When full, new entries are dropped and only counted.
+        private int bufferSize = 1000;
+        private long slowSubscriberTimeoutMillis = 10000;
+        // 모든 구독자의 전달을 나눠 맡는 고정 스레드 수.
+        // Fixed number of threads delivering to all subscribers.
+        private int deliveryThreads = 4;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public long getSlowSubscriberTimeoutMillis() {
+            return slowSubscriberTimeoutMillis;
+        }
+
+        public void setSlowSubscriberTimeoutMillis(long slowSubscriberTimeoutMillis) {
+            this.slowSubscriberTimeoutMillis = slowSubscriberTimeoutMillis;
+        }
+
+        public int getDeliveryThreads() {
+            return deliveryThreads;
+        }
+
+        public void setDeliveryThreads(int deliveryThreads) {
+            this.deliveryThreads = deliveryThreads;
+        }
+    }
+
+    public static class Ingest {
+        // 동시에 들어온 단건 쓰기를 모아 한 번의 storeLogs로 저장합니다.
+        // Single-entry writes from concurrent requests are collected into one storeLogs call.
+        private boolean batchingEnabled = true;
+        private int batchMaxEntries = 500;
+        private long batchMaxBytes = 1024 * 1024;
+        private long batchMaxWaitMicros = 500;
+
+        public boolean isBatchingEnabled() {
+            return batchingEnabled;
+        }
+
+        public void setBatchingEnabled(boolean batchingEnabled) {
+            this.batchingEnabled = batchingEnabled;
+        }
+
+        public int getBatchMaxEntries() {
+            return batchMaxEntries;
+        }
+
+        public void setBatchMaxEntries(int batchMaxEntries) {
+            this.batchMaxEntries = batchMaxEntries;
+        }
+
+        public long getBatchMaxBytes() {
+            return batchMaxBytes;
+        }
+
+        public void setBatchMaxBytes(long batchMaxBytes) {
+            this.batchMaxBytes = batchMaxBytes;
+        }
+
+        public long getBatchMaxWaitMicros() {
+            return batchMaxWaitMicros;
+        }
+
+        public void setBatchMaxWaitMicros(long batchMaxWaitMicros) {
+            this.batchMaxWaitMicros = batchMaxWaitMicros;
+        }
+    }
+
+    public static class Metrics {
+        // 채널 태그 수 상한. 넘어서는 채널은 "other" 태그로 집계됩니다.
+        // Cap on channel tag values; channels beyond it are counted under "other".
+        private int maxChannelTags = 100;
+        // 저장소 호출별 지연 시간 히스토그램. 끄면 저장소를 감싸지 않습니다.
+        // Latency histograms per storage call; when off, the storage is not wrapped at all.
+        private boolean storageEnabled = true;
+        // 컨슈머 지연 게이지를 메모리 상태에서 다시 계산하는 주기(초). 0이면 게이지를 내보내지 않습니다.
+        // How often (seconds) consumer lag gauges are recomputed from in-memory state; 0 disables them.
+        private long lagRefreshSeconds = 15;
+        // 이 시간(초) 동안 읽기, 커밋, 탐색이 없는 컨슈머는 시계열에서 빠집니다.
+        // Consumers without a fetch, commit or seek for this many seconds are dropped from the series.
+        private long consumerIdleSeconds = 3600;
+        // 컨슈머 시계열(채널, 파티션, 컨슈머 조합) 수 상한.
+        // Cap on consumer series (channel, partition, consumer combinations).
+        private int maxConsumerSeries = 1000;
+
+        public int getMaxChannelTags() {
+            return maxChannelTags;
+        }
+
+        public void setMaxChannelTags(int maxChannelTags) {
+            this.maxChannelTags = maxChannelTags;
+        }
+
+        public boolean isStorageEnabled() {
+            return storageEnabled;
+        }
+
+        public void setStorageEnabled(boolean storageEnabled) {
+            this.storageEnabled = storageEnabled;
+        }
+
+        public long getLagRefreshSeconds() {
+            return lagRefreshSeconds;
+        }
+
+        public void setLagRefreshSeconds(long lagRefreshSeconds) {
+            this.lagRefreshSeconds = lagRefreshSeconds;
+        }
+
+        public long getConsumerIdleSeconds() {
+            return consumerIdleSeconds;
+        }
+
+        public void setConsumerIdleSeconds(long consumerIdleSeconds) {
+            this.consumerIdleSeconds = consumerIdleSeconds;
+        }
+
+        public int getMaxConsumerSeries() {
+            return maxConsumerSeries;
+        }
+
+        public void setMaxConsumerSeries(int maxConsumerSeries) {
+            this.maxConsumerSeries = maxConsumerSeries;
+        }
+    }
+
+    public static class Admission {
+        // 워터마크를 넘으면 본문을 읽기 전에 수집 요청을 거절합니다 (REST 429, gRPC RESOURCE_EXHAUSTED).
+        // Past either watermark, ingest requests are rejected before their body is read (REST 429, gRPC RESOURCE_EXHAUSTED).
+        private boolean enabled = true;
+        private long maxInFlightBytes = 64L * 1024 * 1024;
+        private int maxQueueDepth = 3000;
+        // 부하가 워터마크의 shedDebugAt 비율을 넘으면 DEBUG 엔트리를 먼저 버립니다.
+        // Once load passes shedDebugAt of a watermark, DEBUG entries are dropped first.
+        private boolean shedDebug = false;
+        private double shedDebugAt = 0.8;
+        private long retryAfterSeconds = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxInFlightBytes() {
+            return maxInFlightBytes;
+        }
+
+        public void setMaxInFlightBytes(long maxInFlightBytes) {
+            this.maxInFlightBytes = maxInFlightBytes;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public void setMaxQueueDepth(int maxQueueDepth) {
+            this.maxQueueDepth = maxQueueDepth;
+        }
+
+        public boolean isShedDebug() {
+            return shedDebug;
+        }
+
+        public void setShedDebug(boolean shedDebug) {
+            this.shedDebug = shedDebug;
+        }
+
+        public double getShedDebugAt() {
+            return shedDebugAt;
+        }
+
+        public void setShedDebugAt(double shedDebugAt) {
+            this.shedDebugAt = shedDebugAt;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    public static class Compression {
+        // gzip 요청 본문(Content-Encoding: gzip)을 풀고, gRPC 응답을 압축합니다.
+        // Inflates gzip request bodies (Content-Encoding: gzip) and compresses gRPC responses.
+        private boolean enabled = true;
+        // 이 크기보다 작은 gRPC 메시지는 압축하지 않습니다.
+        // gRPC messages smaller than this are sent uncompressed.
+        private int grpcMinMessageBytes = 1024;
+        // 압축 해제된 요청 본문의 상한 (압축 폭탄 방지).
+        // Upper bound on an inflated request body, guarding against compression bombs.
+        private long maxInflatedRequestBytes = 256L * 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getGrpcMinMessageBytes() {
+            return grpcMinMessageBytes;
+        }
+
+        public void setGrpcMinMessageBytes(int grpcMinMessageBytes) {
+            this.grpcMinMessageBytes = grpcMinMessageBytes;
+        }
+
+        public long getMaxInflatedRequestBytes() {
+            return maxInflatedRequestBytes;
+        }
+
+        public void setMaxInflatedRequestBytes(long maxInflatedRequestBytes) {
+            this.maxInflatedRequestBytes = maxInflatedRequestBytes;
+        }
+    }
+
+    public static class Idempotence {
+        // producerId와 sequence가 있는 엔트리 중 이미 저장된 시퀀스는 버립니다.
+        // Entries with a producerId and sequence are dropped when that sequence was already stored.
+        private boolean enabled = true;
+        // 프로듀서마다 최고 시퀀스 아래로 이만큼의 시퀀스를 기억합니다 (시퀀스당 1비트).
+        // Sequences remembered per producer below its highest one (one bit per sequence).
+        private int windowSize = 4096;
+        private long maxProducers = 10_000;
+        private long producerIdleSeconds = 600;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public long getMaxProducers() {
+            return maxProducers;
+        }
+
+        public void setMaxProducers(long maxProducers) {
+            this.maxProducers = maxProducers;
+        }
+
+        public long getProducerIdleSeconds() {
+            return producerIdleSeconds;
+        }
+
+        public void setProducerIdleSeconds(long producerIdleSeconds) {
+            this.producerIdleSeconds = producerIdleSeconds;
+        }
+    }
+
+    public static class Collapse {
+        // 같은 채널에서 같은 레벨, 메시지 템플릿, 선택한 메타 값을 가진 반복 엔트리를 한 엔트리로 합칩니다.
+        // Collapses repeats with the same channel, level, message template and selected meta values into one entry.
+        private boolean enabled = false;
+        // 첫 엔트리 이후 이 시간 동안의 반복이 합쳐집니다.
+        // Repeats within this long after the first entry are collapsed.
+        private long windowMillis = 1000;
+        // 최근 지문을 담는 슬롯 수 (2의 거듭제곱으로 올림).
+        // Slots holding recent fingerprints (rounded up to a power of two).
+        private int tableSize = 1024;
+        // 적용할 채널 (정확한 이름 또는 "app-*" 같은 접두사). 비어 있으면 모든 채널입니다.
+        // Channels to collapse (exact names or prefixes such as "app-*"). Empty means every channel.
+        private List<String> channels = new ArrayList<>();
+        // 지문에 포함할 메타 키입니다. 나머지 메타는 비교하지 않습니다.
+        // Meta keys that are part of the fingerprint. Other meta values are not compared.
+        private List<String> metaKeys = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowMillis() {
+            return windowMillis;
+        }
+
+        public void setWindowMillis(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        public int getTableSize() {
+            return tableSize;
+        }
+
+        public void setTableSize(int tableSize) {
+            this.tableSize = tableSize;
+        }
+
+        public List<String> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(List<String> channels) {
+            this.channels = channels;
+        }
+
+        public List<String> getMetaKeys() {
+            return metaKeys;
+        }
+
+        public void setMetaKeys(List<String> metaKeys) {
+            this.metaKeys = metaKeys;
+        }
+    }
+
+    public static class Rollup {
+        // 채널별 레벨 건수를 분 단위 버킷으로 집계합니다. 끄면 집계 API는 빈 결과를 돌려줍니다.
+        // Per-channel level counts in one-minute buckets; when off, the rollup API returns no buckets.
+        private boolean enabled = true;
+        // 분 단위 버킷을 유지하는 시간(분). 더 오래된 버킷은 시간 단위 버킷으로 합쳐집니다.
+        // How long (minutes) minute buckets are kept before they are compacted into hour buckets.
+        private long minuteRetentionMinutes = 1440;
+        // 시간 단위 버킷을 유지하는 시간(시간).
+        // How long (hours) hour buckets are kept.
+        private long hourRetentionHours = 720;
+        // 값별로 건수를 셀 메타 키입니다.
+        // Meta keys whose values are counted as well.
+        private List<String> metaKeys = new ArrayList<>();
+        // 버킷마다 메타 키별로 세는 값 수 상한. 넘어서는 값은 "_other"로 집계됩니다.
+        // Cap on values counted per meta key and bucket; further values are counted under "_other".
+        private int maxMetaValues = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMinuteRetentionMinutes() {
+            return minuteRetentionMinutes;
+        }
+
+        public void setMinuteRetentionMinutes(long minuteRetentionMinutes) {
+            this.minuteRetentionMinutes = minuteRetentionMinutes;
+        }
+
+        public long getHourRetentionHours() {
+            return hourRetentionHours;
+        }
+
+        public void setHourRetentionHours(long hourRetentionHours) {
+            this.hourRetentionHours = hourRetentionHours;
+        }
+
+        public List<String> getMetaKeys() {
+            return metaKeys;
+        }
+
+        public void setMetaKeys(List<String> metaKeys) {
+            this.metaKeys = metaKeys;
+        }
+
+        public int getMaxMetaValues() {
+            return maxMetaValues;
+        }
+
+        public void setMaxMetaValues(int maxMetaValues) {
+            this.maxMetaValues = maxMetaValues;
+        }
+    }
+
+    public static class Pipeline {
+        // 저장 전에 수신 노드에서 순서대로 실행되는 단계입니다. 비어 있으면 엔트리가 그대로 저장됩니다.
+        // Stages run in order on the receiving node before storage. When empty, entries are stored as sent.
+        private List<PipelineStage> stages = new ArrayList<>();
+
+        public List<PipelineStage> getStages() {
+            return stages;
+        }
+
+        public void setStages(List<PipelineStage> stages) {
+            this.stages = stages;
+        }
+    }
+
+    public static class PipelineStage {
+        private PipelineStageType type;
+        // 이 단계를 적용할 채널 (정확한 이름 또는 "app-*" 같은 접두사). 비어 있으면 모든 채널입니다.
+        // Channels the stage applies to (exact names or prefixes such as "app-*"). Empty means every channel.
+        private List<String> channels = new ArrayList<>();
+        // LEVEL_FILTER: 이 레벨보다 낮은 엔트리를 버립니다.
+        // LEVEL_FILTER: entries below this level are dropped.
+        private LogLevel minLevel;
+        // META_ALLOWLIST: 남길 meta 키입니다.
+        // META_ALLOWLIST: meta keys to keep.
+        private List<String> metaKeys = new ArrayList<>();
+        // TRUNCATE: 메시지와 meta 값의 최대 길이입니다 (0이면 자르지 않음).
+        // TRUNCATE: longest message and meta value kept (0 leaves them alone).
+        private int maxMessageLength;
+        private int maxMetaValueLength;
+        // ENRICH: 비어 있는 meta 키에 추가할 값입니다.
+        // ENRICH: meta values added where the key is not already set.
+        private Map<String, String> meta = new HashMap<>();
+        // ROUTE: 조건(minLevel, matchMetaKey/matchMetaValue)에 맞는 엔트리를 targetChannel로 보냅니다.
+        // ROUTE: entries matching minLevel and matchMetaKey/matchMetaValue are moved to targetChannel.
+        private String matchMetaKey;
+        private String matchMetaValue;
+        private String targetChannel;
+
+        public PipelineStageType getType() {
+            return type;
+        }
+
+        public void setType(PipelineStageType type) {
+            this.type = type;
+        }
+
+        public List<String> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(List<String> channels) {
+            this.channels = channels;
+        }
+
+        public LogLevel getMinLevel() {
+            return minLevel;
+        }
+
+        public void setMinLevel(LogLevel minLevel) {
+            this.minLevel = minLevel;
+        }
+
+        public List<String> getMetaKeys() {
+            return metaKeys;
+        }
+
+        public void setMetaKeys(List<String> metaKeys) {
+            this.metaKeys = metaKeys;
+        }
+
+        public int getMaxMessageLength() {
+            return maxMessageLength;
+        }
+
+        public void setMaxMessageLength(int maxMessageLength) {
+            this.maxMessageLength = maxMessageLength;
+        }
+
+        public int getMaxMetaValueLength() {
+            return maxMetaValueLength;
+        }
+
+        public void setMaxMetaValueLength(int maxMetaValueLength) {
+            this.maxMetaValueLength = maxMetaValueLength;
+        }
+
+        public Map<String, String> getMeta() {
+            return meta;
+        }
+
+        public void setMeta(Map<String, String> meta) {
+            this.meta = meta;
+        }
+
+        public String getMatchMetaKey() {
+            return matchMetaKey;
+        }
+
+        public void setMatchMetaKey(String matchMetaKey) {
+            this.matchMetaKey = matchMetaKey;
+        }
+
+        public String getMatchMetaValue() {
+            return matchMetaValue;
+        }
+
+        public void setMatchMetaValue(String matchMetaValue) {
+            this.matchMetaValue = matchMetaValue;
+        }
+
+        public String getTargetChannel() {
+            return targetChannel;
+        }
+
+        public void setTargetChannel(String targetChannel) {
+            this.targetChannel = targetChannel;
+        }
+    }
+
+    public static class Sampling {
+        // 시작 시 적용할 채널별 샘플링 정책입니다. "*"는 정책이 없는 채널에 적용됩니다.
+        // Per-channel sampling policies applied at startup; "*" applies to channels without their own policy.
+        // 실행 중에는 /api/admin/sampling으로 변경합니다.
+        // Changed at runtime through /api/admin/sampling.
+        private Map<String, SamplingPolicy> channels = new HashMap<>();
+
+        public Map<String, SamplingPolicy> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(Map<String, SamplingPolicy> channels) {
+            this.channels = channels;
+        }
+    }
+
+    public static class SamplingPolicy {
+        // 이 레벨보다 낮은 엔트리는 모두 버립니다.
+        // Entries below this level are all dropped.
+        private LogLevel minLevel;
+        // 레벨별로 남길 비율 (0.0 ~ 1.0). 없는 레벨은 모두 남깁니다.
+        // Fraction of entries kept per level (0.0 to 1.0). Levels not listed are all kept.
+        private Map<LogLevel, Double> sampleRates = new HashMap<>();
+        // 레벨별 초당 최대 엔트리 수 (토큰 버킷). 없는 레벨은 제한하지 않습니다.
+        // Most entries per second per level (token bucket). Levels not listed are not capped.
+        private Map<LogLevel, Long> maxPerSecond = new HashMap<>();
+
+        public LogLevel getMinLevel() {
+            return minLevel;
+        }
+
+        public void setMinLevel(LogLevel minLevel) {
+            this.minLevel = minLevel;
+        }
+
+        public Map<LogLevel, Double> getSampleRates() {
+            return sampleRates;
+        }
+
+        public void setSampleRates(Map<LogLevel, Double> sampleRates) {
+            this.sampleRates = sampleRates;
+        }
+
+        public Map<LogLevel, Long> getMaxPerSecond() {
+            return maxPerSecond;
+        }
+
+        public void setMaxPerSecond(Map<LogLevel, Long> maxPerSecond) {
+            this.maxPerSecond = maxPerSecond;
+        }
+    }
+
+    public enum PipelineStageType {
+        LEVEL_FILTER,
+        META_ALLOWLIST,
+        TRUNCATE,
+        ENRICH,
+        ROUTE
+    }
+
+    public enum ReplicationRole {
+        LEADER,
+        FOLLOWER
     }
 
     public enum StorageType {
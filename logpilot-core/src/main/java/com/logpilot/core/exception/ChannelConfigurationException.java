@@ -0,0 +1,8 @@
+package com.logpilot.core.exception;
+
+public class ChannelConfigurationException extends LogPilotException {
+
+    public ChannelConfigurationException(String message) {
+        super("INVALID_CHANNEL", message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.logpilot.core.exception;
+
+public class ConsumerGroupException extends LogPilotException {
+
+    public ConsumerGroupException(String message) {
+        super("CONSUMER_GROUP_ERROR", message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.logpilot.core.exception;
+
+public class InvalidLogPayloadException extends LogPilotException {
+
+    public InvalidLogPayloadException(String message) {
+        super("INVALID_PAYLOAD", message);
+    }
+}
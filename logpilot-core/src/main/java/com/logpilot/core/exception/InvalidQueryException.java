@@ -0,0 +1,8 @@
+package com.logpilot.core.exception;
+
+public class InvalidQueryException extends LogPilotException {
+
+    public InvalidQueryException(String message) {
+        super("INVALID_QUERY", message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.logpilot.core.exception;
+
+public class NotChannelOwnerException extends LogPilotException {
+
+    public NotChannelOwnerException(String channel, String ownerNodeId, String ownerAddress) {
+        super("NOT_CHANNEL_OWNER", "Channel " + channel + " is owned by node " + ownerNodeId + " (" + ownerAddress
+                + ")");
+    }
+}
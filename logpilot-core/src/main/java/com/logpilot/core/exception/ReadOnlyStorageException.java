@@ -0,0 +1,8 @@
+package com.logpilot.core.exception;
+
+public class ReadOnlyStorageException extends LogPilotException {
+
+    public ReadOnlyStorageException(String message) {
+        super("READ_ONLY_REPLICA", message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.logpilot.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Partitions of a channel assigned to one member of a consumer group.
+ * The generation increases on every rebalance of the group.
+ */
+public class ConsumerGroupAssignment {
+
+    private String groupId;
+    private String channel;
+    private String memberId;
+    private long generation;
+    private List<Integer> partitions = new ArrayList<>();
+    private long heartbeatIntervalMillis;
+
+    public ConsumerGroupAssignment() {
+    }
+
+    public ConsumerGroupAssignment(String groupId, String channel, String memberId, long generation,
+            List<Integer> partitions, long heartbeatIntervalMillis) {
+        this.groupId = groupId;
+        this.channel = channel;
+        this.memberId = memberId;
+        this.generation = generation;
+        this.partitions = partitions;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(String memberId) {
+        this.memberId = memberId;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    public List<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<Integer> partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getHeartbeatIntervalMillis() {
+        return heartbeatIntervalMillis;
+    }
+
+    public void setHeartbeatIntervalMillis(long heartbeatIntervalMillis) {
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConsumerGroupAssignment that = (ConsumerGroupAssignment) o;
+        return generation == that.generation &&
+                Objects.equals(groupId, that.groupId) &&
+                Objects.equals(channel, that.channel) &&
+                Objects.equals(memberId, that.memberId) &&
+                Objects.equals(partitions, that.partitions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, channel, memberId, generation, partitions);
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumerGroupAssignment{" +
+                "groupId='" + groupId + '\'' +
+                ", channel='" + channel + '\'' +
+                ", memberId='" + memberId + '\'' +
+                ", generation=" + generation +
+                ", partitions=" + partitions +
+                '}';
+    }
+}
@@ -25,6 +25,18 @@ public class LogEntry {
 
     private LocalDateTime timestamp;
 
+    private Integer partition;
+
+    // 파티션 선택에만 사용되며 저장되지 않습니다.
+    // Only used to pick a partition; it is not stored.
+    private String partitionKey;
+
+    // 멱등 프로듀서가 붙이는 값으로, 재전송을 걸러내는 데만 사용되며 저장되지 않습니다.
+    // Set by idempotent producers and only used to drop replays; they are not stored.
+    private String producerId;
+
+    private Long sequence;
+
     public LogEntry() {
         this.timestamp = LocalDateTime.now();
     }
@@ -89,6 +101,38 @@ public class LogEntry {
         this.timestamp = timestamp;
     }
 
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+
+    public void setPartitionKey(String partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+
+    public String getProducerId() {
+        return producerId;
+    }
+
+    public void setProducerId(String producerId) {
+        this.producerId = producerId;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -101,12 +145,13 @@ public class LogEntry {
                 Objects.equals(message, logEntry.message) &&
                 Objects.equals(meta, logEntry.meta) &&
                 Objects.equals(id, logEntry.id) &&
-                Objects.equals(timestamp, logEntry.timestamp);
+                Objects.equals(timestamp, logEntry.timestamp) &&
+                Objects.equals(partition, logEntry.partition);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(channel, level, message, meta, id, timestamp);
+        return Objects.hash(channel, level, message, meta, id, timestamp, partition);
     }
 
     @Override
@@ -118,6 +163,7 @@ public class LogEntry {
                 ", meta=" + meta +
                 ", id=" + id +
                 ", timestamp=" + timestamp +
+                ", partition=" + partition +
                 '}';
     }
 
@@ -131,6 +177,10 @@ public class LogEntry {
         private String message;
         private Map<String, Object> meta;
         private LocalDateTime timestamp;
+        private Integer partition;
+        private String partitionKey;
+        private String producerId;
+        private Long sequence;
 
         public Builder channel(String channel) {
             this.channel = channel;
@@ -157,12 +207,36 @@ public class LogEntry {
             return this;
         }
 
+        public Builder partition(Integer partition) {
+            this.partition = partition;
+            return this;
+        }
+
+        public Builder partitionKey(String partitionKey) {
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        public Builder producerId(String producerId) {
+            this.producerId = producerId;
+            return this;
+        }
+
+        public Builder sequence(Long sequence) {
+            this.sequence = sequence;
+            return this;
+        }
+
         public LogEntry build() {
             LogEntry logEntry = new LogEntry();
             logEntry.setChannel(this.channel);
             logEntry.setLevel(this.level);
             logEntry.setMessage(this.message);
             logEntry.setMeta(this.meta);
+            logEntry.setPartition(this.partition);
+            logEntry.setPartitionKey(this.partitionKey);
+            logEntry.setProducerId(this.producerId);
+            logEntry.setSequence(this.sequence);
             if (this.timestamp != null) {
                 logEntry.setTimestamp(this.timestamp);
             }
@@ -0,0 +1,101 @@
+package com.logpilot.core.partition;
+
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.model.LogEntry;
+
+/**
+ * Naming and hashing rules for partitioned channels.
+ * Partition P of channel C is stored as its own stream named "C#P", which gives it
+ * a separate file (or ordered channel key in SQLite) and separate consumer offsets.
+ */
+public final class ChannelPartitions {
+
+    public static final char SEPARATOR = '#';
+
+    private ChannelPartitions() {
+    }
+
+    /**
+     * Reject channel names containing the separator, which would address a partition stream of another channel
+     *
+     * @throws ChannelConfigurationException if the name contains the separator
+     */
+    public static void requireChannelName(String channel) {
+        if (channel != null && channel.indexOf(SEPARATOR) >= 0) {
+            throw new ChannelConfigurationException("Channel name must not contain '" + SEPARATOR + "': " + channel);
+        }
+    }
+
+    /**
+     * Storage stream name for a channel partition; unpartitioned entries use the channel itself
+     */
+    public static String streamName(String channel, Integer partition) {
+        if (partition == null) {
+            return channel;
+        }
+        return channel + SEPARATOR + partition;
+    }
+
+    /**
+     * Storage stream name for a log entry
+     */
+    public static String streamName(LogEntry logEntry) {
+        return streamName(logEntry.getChannel(), logEntry.getPartition());
+    }
+
+    /**
+     * Partition encoded in a stream name, or null if the stream is not a partition
+     */
+    public static Integer partitionOf(String streamName) {
+        int index = separatorIndex(streamName);
+        return index < 0 ? null : Integer.valueOf(streamName.substring(index + 1));
+    }
+
+    /**
+     * Logical channel of a stream name
+     */
+    public static String channelOf(String streamName) {
+        int index = separatorIndex(streamName);
+        return index < 0 ? streamName : streamName.substring(0, index);
+    }
+
+    /**
+     * Restore the logical channel and partition of an entry read back from a stream
+     */
+    public static LogEntry applyStreamName(LogEntry logEntry, String streamName) {
+        logEntry.setChannel(channelOf(streamName));
+        logEntry.setPartition(partitionOf(streamName));
+        return logEntry;
+    }
+
+    /**
+     * Pick a partition for a key. The hash only depends on String.hashCode,
+     * so producers and servers on any JVM agree on the result.
+     */
+    public static int partitionForKey(String key, int partitions) {
+        int hash = key.hashCode();
+        // murmur3 finalizer: spreads similar keys (user-1, user-2, ...) across partitions
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, partitions);
+    }
+
+    private static int separatorIndex(String streamName) {
+        if (streamName == null) {
+            return -1;
+        }
+        int index = streamName.lastIndexOf(SEPARATOR);
+        if (index <= 0 || index == streamName.length() - 1 || streamName.length() - index > 10) {
+            return -1;
+        }
+        for (int i = index + 1; i < streamName.length(); i++) {
+            if (!Character.isDigit(streamName.charAt(i))) {
+                return -1;
+            }
+        }
+        return index;
+    }
+}
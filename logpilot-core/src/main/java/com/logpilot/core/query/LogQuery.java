@@ -0,0 +1,272 @@
+package com.logpilot.core.query;
+
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Predicates and projection of a log query.
+ * An entry matches when its level is one of levels, its timestamp lies in [from, to), every meta predicate equals
+ * the entry's meta value as a string and its message contains messageContains; unset predicates match everything.
+ * Storage backends push the predicates into their own reads and may use matches() for whatever they cannot
+ * express. The projection only shapes the returned entries: fields lists the entry fields to keep ("id",
+ * "channel", "partition", "level", "message", "timestamp", "meta" or single meta keys as "meta.key").
+ */
+public final class LogQuery {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_CHANNEL = "channel";
+    public static final String FIELD_PARTITION = "partition";
+    public static final String FIELD_LEVEL = "level";
+    public static final String FIELD_MESSAGE = "message";
+    public static final String FIELD_TIMESTAMP = "timestamp";
+    public static final String FIELD_META = "meta";
+    public static final String META_PREFIX = "meta.";
+
+    private static final Set<String> FIELDS = Set.of(FIELD_ID, FIELD_CHANNEL, FIELD_PARTITION, FIELD_LEVEL,
+            FIELD_MESSAGE, FIELD_TIMESTAMP, FIELD_META);
+    private static final LogQuery ALL = builder().build();
+
+    private final Set<LogLevel> levels;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Map<String, String> meta;
+    private final String messageContains;
+    private final Set<String> fields;
+    private final Set<String> metaFields;
+
+    private LogQuery(Builder builder) {
+        this.levels = builder.levels.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(builder.levels));
+        this.from = builder.from;
+        this.to = builder.to;
+        this.meta = Collections.unmodifiableMap(new LinkedHashMap<>(builder.meta));
+        this.messageContains = builder.messageContains;
+        Set<String> entryFields = new LinkedHashSet<>();
+        Set<String> metaKeys = new LinkedHashSet<>();
+        for (String field : builder.fields) {
+            if (field.startsWith(META_PREFIX) && field.length() > META_PREFIX.length()) {
+                metaKeys.add(field.substring(META_PREFIX.length()));
+            } else {
+                entryFields.add(field);
+            }
+        }
+        this.fields = Collections.unmodifiableSet(entryFields);
+        this.metaFields = Collections.unmodifiableSet(metaKeys);
+    }
+
+    /**
+     * Query without predicates or projection
+     */
+    public static LogQuery all() {
+        return ALL;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Levels to match; empty for any level
+     */
+    public Set<LogLevel> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Inclusive lower bound on the timestamp, or null
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Exclusive upper bound on the timestamp, or null
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Meta values to match exactly, by key
+     */
+    public Map<String, String> getMeta() {
+        return meta;
+    }
+
+    /**
+     * Case-sensitive substring of the message, or null
+     */
+    public String getMessageContains() {
+        return messageContains;
+    }
+
+    public boolean isProjected() {
+        return !fields.isEmpty() || !metaFields.isEmpty();
+    }
+
+    public boolean matches(LogEntry logEntry) {
+        if (logEntry == null) {
+            return false;
+        }
+        if (!levels.isEmpty() && !levels.contains(logEntry.getLevel())) {
+            return false;
+        }
+        LocalDateTime timestamp = logEntry.getTimestamp();
+        if (from != null && (timestamp == null || timestamp.isBefore(from))) {
+            return false;
+        }
+        if (to != null && (timestamp == null || !timestamp.isBefore(to))) {
+            return false;
+        }
+        if (messageContains != null
+                && (logEntry.getMessage() == null || !logEntry.getMessage().contains(messageContains))) {
+            return false;
+        }
+        if (meta.isEmpty()) {
+            return true;
+        }
+        Map<String, Object> entryMeta = logEntry.getMeta();
+        if (entryMeta == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> expected : meta.entrySet()) {
+            Object actual = entryMeta.get(expected.getKey());
+            if (actual == null || !Objects.equals(String.valueOf(actual), expected.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy of the entry holding only the selected fields; the entry itself when nothing is projected
+     */
+    public LogEntry project(LogEntry logEntry) {
+        if (!isProjected()) {
+            return logEntry;
+        }
+        LogEntry projected = new LogEntry();
+        projected.setTimestamp(fields.contains(FIELD_TIMESTAMP) ? logEntry.getTimestamp() : null);
+        if (fields.contains(FIELD_ID)) {
+            projected.setId(logEntry.getId());
+        }
+        if (fields.contains(FIELD_CHANNEL)) {
+            projected.setChannel(logEntry.getChannel());
+        }
+        if (fields.contains(FIELD_PARTITION)) {
+            projected.setPartition(logEntry.getPartition());
+        }
+        if (fields.contains(FIELD_LEVEL)) {
+            projected.setLevel(logEntry.getLevel());
+        }
+        if (fields.contains(FIELD_MESSAGE)) {
+            projected.setMessage(logEntry.getMessage());
+        }
+        if (fields.contains(FIELD_META)) {
+            projected.setMeta(logEntry.getMeta());
+        } else if (!metaFields.isEmpty() && logEntry.getMeta() != null) {
+            Map<String, Object> selected = new LinkedHashMap<>();
+            for (String key : metaFields) {
+                Object value = logEntry.getMeta().get(key);
+                if (value != null) {
+                    selected.put(key, value);
+                }
+            }
+            projected.setMeta(selected.isEmpty() ? null : selected);
+        }
+        return projected;
+    }
+
+    public static final class Builder {
+
+        private final Set<LogLevel> levels = EnumSet.noneOf(LogLevel.class);
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private final Map<String, String> meta = new LinkedHashMap<>();
+        private String messageContains;
+        private final Set<String> fields = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder level(LogLevel level) {
+            if (level != null) {
+                this.levels.add(level);
+            }
+            return this;
+        }
+
+        public Builder levels(Collection<LogLevel> levels) {
+            if (levels != null) {
+                levels.forEach(this::level);
+            }
+            return this;
+        }
+
+        public Builder from(LocalDateTime from) {
+            this.from = from;
+            return this;
+        }
+
+        public Builder to(LocalDateTime to) {
+            this.to = to;
+            return this;
+        }
+
+        public Builder meta(String key, String value) {
+            if (key == null || key.isBlank() || value == null) {
+                throw new InvalidQueryException("Meta predicates need a key and a value");
+            }
+            this.meta.put(key, value);
+            return this;
+        }
+
+        public Builder messageContains(String messageContains) {
+            this.messageContains = messageContains == null || messageContains.isEmpty() ? null : messageContains;
+            return this;
+        }
+
+        public Builder field(String field) {
+            if (field == null || field.isBlank()) {
+                return this;
+            }
+            String name = field.trim();
+            if (!FIELDS.contains(name) && !(name.startsWith(META_PREFIX) && name.length() > META_PREFIX.length())) {
+                throw new InvalidQueryException("Unknown field: " + name);
+            }
+            this.fields.add(name);
+            return this;
+        }
+
+        public Builder fields(Collection<String> fields) {
+            if (fields != null) {
+                fields.forEach(this::field);
+            }
+            return this;
+        }
+
+        /**
+         * @throws InvalidQueryException if the time range is empty
+         */
+        public LogQuery build() {
+            if (from != null && to != null && !from.isBefore(to)) {
+                throw new InvalidQueryException("Query time range is empty: from " + from + " is not before to " + to);
+            }
+            return new LogQuery(this);
+        }
+    }
+}
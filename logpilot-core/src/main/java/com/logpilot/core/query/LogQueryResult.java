@@ -0,0 +1,33 @@
+package com.logpilot.core.query;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.List;
+
+/**
+ * One page of query results
+ */
+public class LogQueryResult {
+
+    private final List<LogEntry> logs;
+    private final String nextCursor;
+
+    public LogQueryResult(List<LogEntry> logs, String nextCursor) {
+        this.logs = logs;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Matching entries in ID order per channel or partition, merged by timestamp across partitions
+     */
+    public List<LogEntry> getLogs() {
+        return logs;
+    }
+
+    /**
+     * Opaque position after this page to pass as the next cursor, or null when no more entries matched
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -1,8 +1,14 @@
 package com.logpilot.core.service;
 
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface LogService {
 
@@ -28,11 +34,42 @@ public interface LogService {
         return getLogsForConsumer(channel, consumerId, limit);
     }
 
+    /**
+     * Streaming variant of getLogsForConsumer: entries are handed to pageSink at most pageSize at a time as they
+     * are read, so a large limit is never materialized. Implementations without paged reads deliver one page.
+     *
+     * @return the number of entries handed to the sink
+     */
+    default int streamLogsForConsumer(String channel, String consumerId, int limit, boolean autoCommit, int pageSize,
+            Consumer<List<LogEntry>> pageSink) {
+        List<LogEntry> logEntries = getLogsForConsumer(channel, consumerId, limit, autoCommit);
+        if (!logEntries.isEmpty()) {
+            pageSink.accept(logEntries);
+        }
+        return logEntries.size();
+    }
+
+    /**
+     * Long-poll variant of getLogsForConsumer: completes once minRecords entries are available or
+     * waitMillis expires. Implementations without wake-up support answer immediately.
+     */
+    default CompletableFuture<List<LogEntry>> awaitLogsForConsumer(String channel, String consumerId, int limit,
+            boolean autoCommit, long waitMillis, int minRecords) {
+        return CompletableFuture.completedFuture(getLogsForConsumer(channel, consumerId, limit, autoCommit));
+    }
+
     /**
      * Retrieve logs for a specific channel (without consumer offset)
      */
     List<LogEntry> getLogsByChannel(String channel, int limit);
 
+    /**
+     * One page of entries of a channel (or one partition) that match the query, without touching consumer offsets
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    LogQueryResult queryLogs(String channel, LogQuery query, int limit, String cursor);
+
     /**
      * Commit offset for a consumer
      */
@@ -53,4 +90,60 @@ public interface LogService {
      */
     void seekToId(String channel, String consumerId, long logId);
 
-}
\ No newline at end of file
+    /**
+     * List channels that currently hold logs
+     */
+    List<String> getChannels();
+
+    /**
+     * Get the highest log ID stored for a channel
+     */
+    long getLastLogId(String channel);
+
+    /**
+     * Retrieve logs after a given ID without touching consumer offsets (used by replication)
+     */
+    List<LogEntry> getLogsAfter(String channel, long afterId, int limit);
+
+    /**
+     * Create a channel with the given number of partitions
+     */
+    void createChannel(String channel, int partitions);
+
+    /**
+     * Join a consumer group on a channel and get this member's partitions
+     */
+    ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId);
+
+    /**
+     * Keep a group member alive and get its current partitions
+     */
+    ConsumerGroupAssignment heartbeat(String groupId, String memberId);
+
+    /**
+     * Leave a consumer group so its partitions are reassigned immediately
+     */
+    void leaveGroup(String groupId, String memberId);
+
+    /**
+     * Retrieve logs from the partitions assigned to a group member, using the group's offsets.
+     * A non-zero generation must be the group's current one, otherwise the fetch is refused.
+     */
+    List<LogEntry> getLogsForGroupMember(String groupId, String memberId, long generation, int limit,
+            boolean autoCommit);
+
+    /**
+     * Commit the group's offset of one partition on behalf of the member it is assigned to in the given generation
+     */
+    void commitGroupOffset(String groupId, String memberId, long generation, int partition, long lastLogId);
+
+    /**
+     * Store entries forwarded by another cluster node; they are stored locally without re-routing
+     */
+    void storeForwardedLogs(List<LogEntry> logEntries);
+
+    /**
+     * Cluster membership clients use to send channels straight to their owner
+     */
+    RoutingTable getRoutingTable();
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Stream;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class FileLogStorage implements LogStorage {
@@ -27,8 +30,12 @@ public class FileLogStorage implements LogStorage {
     private final String storageDirectory;
     private final ObjectMapper objectMapper;
     private final Map<String, Long> consumerOffsets;
+    // 스트림별 라인 수(= 마지막 ID)로, 쓰기 잠금 아래에서 처음 쓸 때 한 번 세고 이후에는 쓴 만큼 더합니다.
+    // Lines (= last ID) per stream, counted once on the first write under the write lock and advanced by each write.
+    private final Map<String, Long> lineCounts = new ConcurrentHashMap<>();
     private final ReentrantReadWriteLock lock;
     private final Path offsetDir;
+    private volatile StorageObserver storageObserver = StorageObserver.NONE;
 
     public FileLogStorage(String storageDirectory) {
         this.storageDirectory = storageDirectory;
@@ -40,6 +47,11 @@ public class FileLogStorage implements LogStorage {
         initialize();
     }
 
+    @Override
+    public void setStorageObserver(StorageObserver storageObserver) {
+        this.storageObserver = storageObserver != null ? storageObserver : StorageObserver.NONE;
+    }
+
     @Override
     public void initialize() {
         try {
@@ -57,18 +69,24 @@ public class FileLogStorage implements LogStorage {
 
     @Override
     public void store(LogEntry logEntry) {
-        lock.writeLock().lock();
+        lockWrite();
         try {
-            Path logFile = getLogFilePath(logEntry.getChannel());
+            String stream = ChannelPartitions.streamName(logEntry);
+            Path logFile = getLogFilePath(stream);
+            long id = lineCount(stream, logFile) + 1;
 
             String logLine = formatLogEntry(logEntry);
 
-            Files.write(logFile, (logLine + System.lineSeparator()).getBytes(),
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            byte[] bytes = (logLine + System.lineSeparator()).getBytes();
+            Files.write(logFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            storageObserver.bytesWritten(bytes.length);
+            lineCounts.put(stream, id);
+            logEntry.setId(id);
 
             logger.debug("Stored log entry to file: {} for channel: {}",
                     logFile.getFileName(), logEntry.getChannel());
         } catch (IOException e) {
+            lineCounts.clear();
             logger.error("Failed to store log entry to file", e);
             throw new RuntimeException("Failed to store log entry to file", e);
         } finally {
@@ -82,13 +100,13 @@ public class FileLogStorage implements LogStorage {
             return;
         }
 
-        lock.writeLock().lock();
+        lockWrite();
         try {
-            // 채널별로 로그 엔트리들을 그룹화합니다.
-            // Group log entries by channel.
+            // 채널(파티션)별로 로그 엔트리들을 그룹화합니다.
+            // Group log entries by channel (partition stream).
             Map<String, List<LogEntry>> entriesByChannel = new HashMap<>();
             for (LogEntry logEntry : logEntries) {
-                entriesByChannel.computeIfAbsent(logEntry.getChannel(), k -> new ArrayList<>())
+                entriesByChannel.computeIfAbsent(ChannelPartitions.streamName(logEntry), k -> new ArrayList<>())
                         .add(logEntry);
             }
 
@@ -99,6 +117,7 @@ public class FileLogStorage implements LogStorage {
                 List<LogEntry> channelEntries = channelEntry.getValue();
 
                 Path logFile = getLogFilePath(channel);
+                long lastId = lineCount(channel, logFile);
 
                 // 모든 로그 라인을 미리 생성합니다.
                 // Pre-generate all log lines.
@@ -110,8 +129,13 @@ public class FileLogStorage implements LogStorage {
 
                 // 한 번의 파일 쓰기로 배치를 저장합니다.
                 // Save batch with a single file write.
-                Files.write(logFile, batchContent.toString().getBytes(),
-                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                byte[] bytes = batchContent.toString().getBytes();
+                Files.write(logFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                storageObserver.bytesWritten(bytes.length);
+                for (LogEntry logEntry : channelEntries) {
+                    logEntry.setId(++lastId);
+                }
+                lineCounts.put(channel, lastId);
 
                 logger.debug("Stored {} log entries to file: {} for channel: {}",
                         channelEntries.size(), logFile.getFileName(), channel);
@@ -120,6 +144,9 @@ public class FileLogStorage implements LogStorage {
             logger.debug("Stored total {} log entries across {} channels",
                     logEntries.size(), entriesByChannel.size());
         } catch (IOException e) {
+            // 일부만 기록되었을 수 있으므로 다음 쓰기에서 라인 수를 다시 셉니다.
+            // A write may have been partial, so lines are counted again on the next write.
+            lineCounts.clear();
             logger.error("Failed to store log entries to files", e);
             throw new RuntimeException("Failed to store log entries to files", e);
         } finally {
@@ -134,7 +161,7 @@ public class FileLogStorage implements LogStorage {
 
     @Override
     public List<LogEntry> retrieve(String channel, int limit) {
-        lock.readLock().lock();
+        lockRead();
         try {
             Path logFile = getLogFilePath(channel);
             if (!Files.exists(logFile)) {
@@ -169,7 +196,7 @@ public class FileLogStorage implements LogStorage {
 
     @Override
     public List<LogEntry> retrieve(String channel, String consumerId, int limit, boolean autoCommit) {
-        lock.readLock().lock();
+        lockRead();
         try {
             Path logFile = getLogFilePath(channel);
             if (!Files.exists(logFile)) {
@@ -179,51 +206,189 @@ public class FileLogStorage implements LogStorage {
             String offsetKey = consumerId + ":" + channel;
             long lastLineNumber = consumerOffsets.getOrDefault(offsetKey, 0L);
 
-            List<String> allLines = Files.readAllLines(logFile);
-            List<LogEntry> entries = new ArrayList<>();
+            List<LogEntry> entries = readEntriesAfter(logFile, lastLineNumber, limit);
+            long maxLineNumber = entries.isEmpty() ? lastLineNumber : entries.get(entries.size() - 1).getId();
 
-            long currentLineNumber = 0;
-            long maxLineNumber = lastLineNumber;
+            if (autoCommit && maxLineNumber > lastLineNumber) {
+                consumerOffsets.put(offsetKey, maxLineNumber);
+                saveConsumerOffset(offsetKey, maxLineNumber);
+            }
 
-            for (String line : allLines) {
-                currentLineNumber++;
+            logger.debug("Retrieved {} log entries for channel: {} and consumer: {} (autoCommit={})",
+                    entries.size(), channel, consumerId, autoCommit);
+            return entries;
 
-                if (currentLineNumber <= lastLineNumber) {
-                    continue;
-                }
+        } catch (IOException e) {
+            logger.error("Failed to retrieve log entries from file", e);
+            throw new RuntimeException("Failed to retrieve log entries from file", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-                if (entries.size() >= limit) {
-                    break;
+    @Override
+    public List<LogEntry> retrieveAfter(String channel, long afterId, int limit) {
+        lockRead();
+        try {
+            Path logFile = getLogFilePath(channel);
+            if (!Files.exists(logFile)) {
+                return new ArrayList<>();
+            }
+            return readEntriesAfter(logFile, afterId, limit);
+        } catch (IOException e) {
+            logger.error("Failed to retrieve log entries after ID {} for channel: {}", afterId, channel, e);
+            throw new RuntimeException("Failed to retrieve log entries from file for channel: " + channel, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LogEntry> query(String channel, LogQuery query, long afterId, int limit) {
+        lockRead();
+        try {
+            Path logFile = getLogFilePath(channel);
+            if (!Files.exists(logFile)) {
+                return new ArrayList<>();
+            }
+            // JSON 이스케이프 없이 라인에 그대로 나타나는 값만 파싱 전 검사에 씁니다.
+            // Only values that appear verbatim in the JSON line are used to skip lines before parsing.
+            List<String> needles = new ArrayList<>();
+            if (query.getMessageContains() != null && isVerbatimInJson(query.getMessageContains())) {
+                needles.add(query.getMessageContains());
+            }
+            for (String value : query.getMeta().values()) {
+                if (isVerbatimInJson(value)) {
+                    needles.add(value);
                 }
+            }
 
-                try {
+            List<LogEntry> entries = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(logFile)) {
+                String line;
+                long currentLineNumber = 0;
+                while (entries.size() < limit && (line = reader.readLine()) != null) {
+                    currentLineNumber++;
+                    if (currentLineNumber <= afterId || !containsAll(line, needles)) {
+                        continue;
+                    }
                     LogEntry entry = parseLogEntry(line, currentLineNumber);
-                    if (entry != null) {
+                    if (query.matches(entry)) {
                         entries.add(entry);
-                        maxLineNumber = currentLineNumber;
                     }
-                } catch (Exception e) {
-                    logger.warn("Failed to parse log line {}: {}", currentLineNumber, line, e);
                 }
             }
+            logger.debug("Queried {} log entries for channel: {} after ID {}", entries.size(), channel, afterId);
+            return entries;
+        } catch (IOException e) {
+            logger.error("Failed to query log entries for channel: {}", channel, e);
+            throw new RuntimeException("Failed to query log entries from file for channel: " + channel, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            if (autoCommit && maxLineNumber > lastLineNumber) {
-                consumerOffsets.put(offsetKey, maxLineNumber);
-                saveConsumerOffset(offsetKey, maxLineNumber);
+    @Override
+    public List<String> getChannels() {
+        try (Stream<Path> paths = Files.list(Paths.get(storageDirectory))) {
+            return paths
+                    .map(path -> path.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(LOG_FILE_EXTENSION))
+                    .map(fileName -> fileName.substring(0, fileName.length() - LOG_FILE_EXTENSION.length()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            logger.error("Failed to list channels in directory: {}", storageDirectory, e);
+            throw new RuntimeException("Failed to list channels", e);
+        }
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
+        lockRead();
+        try {
+            Long lineCount = lineCounts.get(channel);
+            return lineCount != null ? lineCount : countLines(getLogFilePath(channel));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void storeReplicated(List<LogEntry> logEntries) {
+        if (logEntries == null || logEntries.isEmpty()) {
+            return;
+        }
+
+        lockWrite();
+        try {
+            Map<String, List<LogEntry>> entriesByChannel = new HashMap<>();
+            for (LogEntry logEntry : logEntries) {
+                if (logEntry.getId() == null) {
+                    logger.warn("Skipping replicated log entry without ID for channel: {}", logEntry.getChannel());
+                    continue;
+                }
+                entriesByChannel.computeIfAbsent(ChannelPartitions.streamName(logEntry), k -> new ArrayList<>())
+                        .add(logEntry);
             }
 
-            logger.debug("Retrieved {} log entries for channel: {} and consumer: {} (autoCommit={})",
-                    entries.size(), channel, consumerId, autoCommit);
-            return entries;
+            for (Map.Entry<String, List<LogEntry>> channelEntry : entriesByChannel.entrySet()) {
+                Path logFile = getLogFilePath(channelEntry.getKey());
+                List<LogEntry> channelEntries = new ArrayList<>(channelEntry.getValue());
+                channelEntries.sort(Comparator.comparing(LogEntry::getId));
+
+                long lastLineNumber = lineCount(channelEntry.getKey(), logFile);
+                StringBuilder batchContent = new StringBuilder();
+                for (LogEntry logEntry : channelEntries) {
+                    if (logEntry.getId() <= lastLineNumber) {
+                        continue;
+                    }
+                    // 리더에서 건너뛴 라인은 빈 라인으로 채워 라인 번호(ID)를 리더와 맞춥니다.
+                    // Pad lines skipped on the leader with blank lines so line numbers (IDs) match the leader.
+                    while (lastLineNumber < logEntry.getId() - 1) {
+                        batchContent.append(System.lineSeparator());
+                        lastLineNumber++;
+                    }
+                    batchContent.append(formatLogEntry(logEntry)).append(System.lineSeparator());
+                    lastLineNumber++;
+                }
 
+                if (batchContent.length() > 0) {
+                    byte[] bytes = batchContent.toString().getBytes();
+                    Files.write(logFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    storageObserver.bytesWritten(bytes.length);
+                    lineCounts.put(channelEntry.getKey(), lastLineNumber);
+                }
+            }
+
+            logger.debug("Stored {} replicated log entries across {} channels",
+                    logEntries.size(), entriesByChannel.size());
         } catch (IOException e) {
-            logger.error("Failed to retrieve log entries from file", e);
-            throw new RuntimeException("Failed to retrieve log entries from file", e);
+            lineCounts.clear();
+            logger.error("Failed to store replicated log entries to files", e);
+            throw new RuntimeException("Failed to store replicated log entries to files", e);
         } finally {
-            lock.readLock().unlock();
+            lock.writeLock().unlock();
         }
     }
 
+    @Override
+    public long getConsumerOffset(String channel, String consumerId) {
+        return consumerOffsets.getOrDefault(consumerId + ":" + channel, 0L);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerOffsets(String channel) {
+        String suffix = ":" + channel;
+        Map<String, Long> offsets = new TreeMap<>();
+        consumerOffsets.forEach((offsetKey, offset) -> {
+            if (offsetKey.endsWith(suffix)) {
+                offsets.put(offsetKey.substring(0, offsetKey.length() - suffix.length()), offset);
+            }
+        });
+        return offsets;
+    }
+
     @Override
     public void commitOffset(String channel, String consumerId, long lastLogId) {
         String offsetKey = consumerId + ":" + channel;
@@ -243,16 +408,7 @@ public class FileLogStorage implements LogStorage {
 
     @Override
     public void seekToEnd(String channel, String consumerId) {
-        Path logFile = getLogFilePath(channel);
-        long lineCount = 0;
-        if (Files.exists(logFile)) {
-            try (Stream<String> lines = Files.lines(logFile)) {
-                lineCount = lines.count();
-            } catch (IOException e) {
-                logger.error("Failed to count lines in file: {}", logFile, e);
-                throw new RuntimeException("Failed to seek to end", e);
-            }
-        }
+        long lineCount = getLastLogId(channel);
         String offsetKey = consumerId + ":" + channel;
         consumerOffsets.put(offsetKey, lineCount);
         saveConsumerOffset(offsetKey, lineCount);
@@ -271,10 +427,69 @@ public class FileLogStorage implements LogStorage {
     }
 
     private Path getLogFilePath(String channel) {
-        String sanitizedChannel = channel.replaceAll("[^a-zA-Z0-9._-]", "_");
+        String sanitizedChannel = channel.replaceAll("[^a-zA-Z0-9._#-]", "_");
         return Paths.get(storageDirectory, sanitizedChannel + LOG_FILE_EXTENSION);
     }
 
+    private List<LogEntry> readEntriesAfter(Path logFile, long afterLineNumber, int limit) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile)) {
+            String line;
+            long currentLineNumber = 0;
+            while (entries.size() < limit && (line = reader.readLine()) != null) {
+                currentLineNumber++;
+                if (currentLineNumber <= afterLineNumber) {
+                    continue;
+                }
+
+                LogEntry entry = parseLogEntry(line, currentLineNumber);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isVerbatimInJson(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    private static boolean containsAll(String line, List<String> needles) {
+        for (String needle : needles) {
+            if (!line.contains(needle)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lines in a stream's file; callers hold the write lock
+     */
+    private long lineCount(String stream, Path logFile) {
+        Long lineCount = lineCounts.get(stream);
+        return lineCount != null ? lineCount : countLines(logFile);
+    }
+
+    private long countLines(Path logFile) {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        try (Stream<String> lines = Files.lines(logFile)) {
+            return lines.count();
+        } catch (IOException e) {
+            logger.error("Failed to count lines in file: {}", logFile, e);
+            throw new RuntimeException("Failed to count lines in file: " + logFile, e);
+        }
+    }
+
     private String formatLogEntry(LogEntry logEntry) {
         try {
             Map<String, Object> logData = new HashMap<>();
@@ -287,6 +502,10 @@ public class FileLogStorage implements LogStorage {
                 logData.put("meta", logEntry.getMeta());
             }
 
+            if (logEntry.getPartition() != null) {
+                logData.put("partition", logEntry.getPartition());
+            }
+
             return objectMapper.writeValueAsString(logData);
         } catch (JsonProcessingException e) {
             logger.error("Failed to format log entry", e);
@@ -319,8 +538,8 @@ public class FileLogStorage implements LogStorage {
                 entry.setMeta(meta);
             }
 
-            if (meta != null) {
-                entry.setMeta(meta);
+            if (logData.get("partition") instanceof Number partition) {
+                entry.setPartition(partition.intValue());
             }
 
             // Set the ID (using line number as ID for File storage)
@@ -368,7 +587,7 @@ public class FileLogStorage implements LogStorage {
 
     private void saveConsumerOffset(String offsetKey, long offset) {
         try {
-            String sanitizedKey = offsetKey.replaceAll("[^a-zA-Z0-9._:-]", "_");
+            String sanitizedKey = offsetKey.replaceAll("[^a-zA-Z0-9._:#-]", "_");
             Path offsetFile = offsetDir.resolve(sanitizedKey + OFFSET_FILE_EXTENSION);
 
             Files.write(offsetFile, String.valueOf(offset).getBytes(),
@@ -380,6 +599,31 @@ public class FileLogStorage implements LogStorage {
         }
     }
 
+    private void lockRead() {
+        acquire(lock.readLock(), false);
+    }
+
+    private void lockWrite() {
+        acquire(lock.writeLock(), true);
+    }
+
+    private void acquire(Lock target, boolean write) {
+        StorageObserver observer = storageObserver;
+        if (observer == StorageObserver.NONE) {
+            target.lock();
+            return;
+        }
+        // 경합이 없으면 시계를 읽지 않고 대기 시간 0으로 기록합니다.
+        // Uncontended acquisitions are recorded as zero wait without reading the clock.
+        if (target.tryLock()) {
+            observer.lockWaited(write, 0);
+            return;
+        }
+        long start = System.nanoTime();
+        target.lock();
+        observer.lockWaited(write, System.nanoTime() - start);
+    }
+
     @Override
     public void close() {
         lock.writeLock().lock();
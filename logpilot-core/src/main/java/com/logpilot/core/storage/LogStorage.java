@@ -1,8 +1,13 @@
 package com.logpilot.core.storage;
 
 import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface LogStorage extends AutoCloseable {
 
@@ -24,6 +29,52 @@ public interface LogStorage extends AutoCloseable {
         return retrieve(channel, consumerId, limit);
     }
 
+    /**
+     * Hand up to limit entries after the consumer's offset to pageSink, reading at most pageSize entries at a
+     * time so the result is never held in memory as a whole. With autoCommit the offset is committed once at
+     * the end, up to the last page the sink accepted; if the sink throws, that page stays uncommitted.
+     *
+     * @return the number of entries handed to the sink
+     */
+    default int retrievePages(String channel, String consumerId, int limit, boolean autoCommit, int pageSize,
+            Consumer<List<LogEntry>> pageSink) {
+        long committedId = getConsumerOffset(channel, consumerId);
+        long afterId = committedId;
+        int delivered = 0;
+        try {
+            while (delivered < limit) {
+                int requested = Math.min(Math.max(1, pageSize), limit - delivered);
+                List<LogEntry> page = retrieveAfter(channel, afterId, requested);
+                if (page.isEmpty()) {
+                    break;
+                }
+                pageSink.accept(page);
+                delivered += page.size();
+                afterId = page.get(page.size() - 1).getId();
+                if (page.size() < requested) {
+                    break;
+                }
+            }
+        } finally {
+            if (autoCommit && afterId > committedId) {
+                commitOffset(channel, consumerId, afterId);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Last log ID committed by a consumer on a channel, or 0 if it has not committed yet
+     */
+    long getConsumerOffset(String channel, String consumerId);
+
+    /**
+     * Last log ID committed on a channel, by consumer. Backends that cannot list consumers return an empty map.
+     */
+    default Map<String, Long> getConsumerOffsets(String channel) {
+        return Collections.emptyMap();
+    }
+
     /**
      * Manually commit the offset for a consumer
      */
@@ -44,6 +95,71 @@ public interface LogStorage extends AutoCloseable {
      */
     void seekToId(String channel, String consumerId, long logId);
 
+    /**
+     * List all channels that currently hold logs
+     */
+    List<String> getChannels();
+
+    /**
+     * Get the highest log ID stored for a channel, or 0 if the channel is empty.
+     * store and storeLogs set the ID of every entry they write, so callers can follow it without asking.
+     */
+    long getLastLogId(String channel);
+
+    /**
+     * Retrieve logs with an ID greater than afterId in ascending order, without touching consumer offsets
+     */
+    List<LogEntry> retrieveAfter(String channel, long afterId, int limit);
+
+    /**
+     * Up to limit entries with an ID greater than afterId that match the query, in ascending ID order, without
+     * touching consumer offsets. Backends push the predicates into their reads; this default filters pages of
+     * retrieveAfter, so only one page is held at a time. The query's projection is not applied here.
+     */
+    default List<LogEntry> query(String channel, LogQuery query, long afterId, int limit) {
+        List<LogEntry> matches = new ArrayList<>();
+        // 조건에 맞는 엔트리가 드물 수 있으므로 요청 수보다 큰 페이지로 읽습니다.
+        // Matches may be sparse, so pages larger than the request are read.
+        int pageSize = Math.max(limit, 100);
+        long position = afterId;
+        while (matches.size() < limit) {
+            List<LogEntry> page = retrieveAfter(channel, position, pageSize);
+            for (LogEntry logEntry : page) {
+                if (query.matches(logEntry)) {
+                    matches.add(logEntry);
+                    if (matches.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            position = page.get(page.size() - 1).getId();
+        }
+        return matches;
+    }
+
+    /**
+     * Store logs replicated from a leader, preserving their original IDs.
+     * Entries whose ID is already present are skipped.
+     */
+    void storeReplicated(List<LogEntry> logEntries);
+
+    /**
+     * Report backend-specific measurements (lock waits, bytes written) to an observer.
+     * Backends that have nothing to report ignore it.
+     */
+    default void setStorageObserver(StorageObserver storageObserver) {
+    }
+
+    /**
+     * The backend behind any decorators (read-only, metrics, offset tracking); the storage itself for a backend
+     */
+    default LogStorage unwrap() {
+        return this;
+    }
+
     void initialize();
 
     @Override
@@ -0,0 +1,128 @@
+package com.logpilot.core.storage;
+
+import com.logpilot.core.exception.ReadOnlyStorageException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage decorator used on follower servers.
+ * Client writes are rejected, while reads, consumer offsets and replicated writes pass through.
+ */
+public class ReadOnlyLogStorage implements LogStorage {
+
+    private final LogStorage delegate;
+
+    public ReadOnlyLogStorage(LogStorage delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate storage cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    public LogStorage getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public LogStorage unwrap() {
+        return delegate.unwrap();
+    }
+
+    @Override
+    public void store(LogEntry logEntry) {
+        throw new ReadOnlyStorageException("This server is a read-only follower; send logs to the leader");
+    }
+
+    @Override
+    public void storeLogs(List<LogEntry> logEntries) {
+        throw new ReadOnlyStorageException("This server is a read-only follower; send logs to the leader");
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit) {
+        return delegate.retrieve(channel, consumerId, limit);
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, int limit) {
+        return delegate.retrieve(channel, limit);
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit, boolean autoCommit) {
+        return delegate.retrieve(channel, consumerId, limit, autoCommit);
+    }
+
+    @Override
+    public long getConsumerOffset(String channel, String consumerId) {
+        return delegate.getConsumerOffset(channel, consumerId);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerOffsets(String channel) {
+        return delegate.getConsumerOffsets(channel);
+    }
+
+    @Override
+    public void commitOffset(String channel, String consumerId, long lastLogId) {
+        delegate.commitOffset(channel, consumerId, lastLogId);
+    }
+
+    @Override
+    public void seekToBeginning(String channel, String consumerId) {
+        delegate.seekToBeginning(channel, consumerId);
+    }
+
+    @Override
+    public void seekToEnd(String channel, String consumerId) {
+        delegate.seekToEnd(channel, consumerId);
+    }
+
+    @Override
+    public void seekToId(String channel, String consumerId, long logId) {
+        delegate.seekToId(channel, consumerId, logId);
+    }
+
+    @Override
+    public List<String> getChannels() {
+        return delegate.getChannels();
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
+        return delegate.getLastLogId(channel);
+    }
+
+    @Override
+    public List<LogEntry> retrieveAfter(String channel, long afterId, int limit) {
+        return delegate.retrieveAfter(channel, afterId, limit);
+    }
+
+    @Override
+    public List<LogEntry> query(String channel, LogQuery query, long afterId, int limit) {
+        return delegate.query(channel, query, afterId, limit);
+    }
+
+    @Override
+    public void storeReplicated(List<LogEntry> logEntries) {
+        delegate.storeReplicated(logEntries);
+    }
+
+    @Override
+    public void setStorageObserver(StorageObserver storageObserver) {
+        delegate.setStorageObserver(storageObserver);
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
 import com.logpilot.core.exception.StorageException;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -15,6 +17,8 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -88,10 +92,16 @@ public class SqliteLogStorage implements LogStorage {
         // Add index for Seek(LATEST) performance optimization
         String createLogsChannelIndex = "CREATE INDEX IF NOT EXISTS idx_logs_channel ON logs(channel);";
 
+        // 시간 범위 조회가 채널 전체를 훑지 않도록 하는 인덱스
+        // Index so time-range queries do not scan the whole channel
+        String createLogsTimestampIndex =
+                "CREATE INDEX IF NOT EXISTS idx_logs_channel_timestamp ON logs(channel, timestamp);";
+
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(createLogsTable);
             stmt.execute(createConsumerOffsetsTable);
             stmt.execute(createLogsChannelIndex);
+            stmt.execute(createLogsTimestampIndex);
         }
     }
 
@@ -101,7 +111,7 @@ public class SqliteLogStorage implements LogStorage {
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, logEntry.getChannel());
+            stmt.setString(1, ChannelPartitions.streamName(logEntry));
             stmt.setString(2, logEntry.getLevel().name());
             stmt.setString(3, logEntry.getMessage());
 
@@ -114,6 +124,7 @@ public class SqliteLogStorage implements LogStorage {
             stmt.setTimestamp(5, Timestamp.valueOf(logEntry.getTimestamp()));
 
             stmt.executeUpdate();
+            logEntry.setId(lastInsertId(conn));
             logger.debug("Stored log entry for channel: {}", logEntry.getChannel());
         } catch (SQLException | JsonProcessingException e) {
             logger.error("Failed to store log entry", e);
@@ -134,7 +145,7 @@ public class SqliteLogStorage implements LogStorage {
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 for (LogEntry logEntry : logEntries) {
-                    stmt.setString(1, logEntry.getChannel());
+                    stmt.setString(1, ChannelPartitions.streamName(logEntry));
                     stmt.setString(2, logEntry.getLevel().name());
                     stmt.setString(3, logEntry.getMessage());
 
@@ -149,7 +160,13 @@ public class SqliteLogStorage implements LogStorage {
                 }
 
                 stmt.executeBatch();
+                // SQLite는 쓰기 트랜잭션을 하나씩만 허용하므로 한 트랜잭션의 ID는 연속됩니다.
+                // SQLite runs one write transaction at a time, so the IDs of one transaction are consecutive.
+                long firstId = lastInsertId(conn) - logEntries.size() + 1;
                 conn.commit();
+                for (int i = 0; i < logEntries.size(); i++) {
+                    logEntries.get(i).setId(firstId + i);
+                }
                 logger.debug("Stored {} log entries in batch", logEntries.size());
             } catch (SQLException | JsonProcessingException e) {
                 try {
@@ -178,39 +195,109 @@ public class SqliteLogStorage implements LogStorage {
 
     @Override
     public List<LogEntry> retrieve(String channel, String consumerId, int limit, boolean autoCommit) {
-        long lastLogId = getConsumerOffset(consumerId, channel);
+        long lastLogId = readConsumerOffset(consumerId, channel);
+
+        List<LogEntry> entries = retrieveAfter(channel, lastLogId, limit);
+        long maxLogId = entries.isEmpty() ? lastLogId : entries.get(entries.size() - 1).getId();
+
+        if (autoCommit && maxLogId > lastLogId) {
+            updateConsumerOffset(consumerId, channel, maxLogId);
+        }
+
+        logger.debug("Retrieved {} log entries for channel: {} and consumer: {} (autoCommit={})",
+                entries.size(), channel, consumerId, autoCommit);
+        return entries;
+    }
 
+    @Override
+    public List<LogEntry> retrieveAfter(String channel, long afterId, int limit) {
         String sql = "SELECT id, channel, level, message, meta, timestamp FROM logs " +
                 "WHERE channel = ? AND id > ? ORDER BY id ASC LIMIT ?";
 
         List<LogEntry> entries = new ArrayList<>();
-        long maxLogId = lastLogId;
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, channel);
-            pstmt.setLong(2, lastLogId);
+            pstmt.setLong(2, afterId);
             pstmt.setInt(3, limit);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    LogEntry entry = mapResultSetToLogEntry(rs);
-                    entries.add(entry);
-                    maxLogId = rs.getLong("id");
+                    entries.add(mapResultSetToLogEntry(rs));
                 }
             }
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve log entries", e);
+            throw new StorageException("Failed to retrieve log entries", e);
+        }
 
-            if (autoCommit && maxLogId > lastLogId) {
-                updateConsumerOffset(consumerId, channel, maxLogId);
+        return entries;
+    }
+
+    @Override
+    public List<LogEntry> query(String channel, LogQuery query, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, channel, level, message, meta, timestamp FROM logs "
+                + "WHERE channel = ? AND id > ?");
+        List<Object> parameters = new ArrayList<>(List.of(channel, afterId));
+
+        if (!query.getLevels().isEmpty()) {
+            sql.append(" AND level IN (").append(String.join(", ", Collections.nCopies(query.getLevels().size(), "?")))
+                    .append(')');
+            query.getLevels().forEach(level -> parameters.add(level.name()));
+        }
+        if (query.getFrom() != null) {
+            sql.append(" AND timestamp >= ?");
+            parameters.add(Timestamp.valueOf(query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND timestamp < ?");
+            parameters.add(Timestamp.valueOf(query.getTo()));
+        }
+        if (query.getMessageContains() != null) {
+            // LIKE는 대소문자를 구분하지 않고 와일드카드 이스케이프가 필요하므로 instr을 씁니다.
+            // instr rather than LIKE, which ignores case and would need its wildcards escaped.
+            sql.append(" AND instr(message, ?) > 0");
+            parameters.add(query.getMessageContains());
+        }
+        for (Map.Entry<String, String> predicate : query.getMeta().entrySet()) {
+            if (predicate.getKey().indexOf('"') >= 0) {
+                // JSON 경로로 표현할 수 없는 키는 아래의 matches에서만 확인합니다.
+                // Keys that cannot be written as a JSON path are only checked by matches below.
+                continue;
             }
+            // 숫자와 불리언도 자바의 String.valueOf와 같은 문자열로 비교합니다.
+            // Numbers and booleans are compared as the same strings Java's String.valueOf gives.
+            String path = "$.\"" + predicate.getKey() + "\"";
+            sql.append(" AND (CASE json_type(meta, ?) WHEN 'true' THEN 'true' WHEN 'false' THEN 'false'"
+                    + " ELSE CAST(json_extract(meta, ?) AS TEXT) END) = ?");
+            parameters.add(path);
+            parameters.add(path);
+            parameters.add(predicate.getValue());
+        }
+        sql.append(" ORDER BY id ASC LIMIT ?");
+        parameters.add(limit);
 
-            logger.debug("Retrieved {} log entries for channel: {} and consumer: {} (autoCommit={})",
-                    entries.size(), channel, consumerId, autoCommit);
+        List<LogEntry> entries = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                pstmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    LogEntry entry = mapResultSetToLogEntry(rs);
+                    if (query.matches(entry)) {
+                        entries.add(entry);
+                    }
+                }
+            }
         } catch (SQLException e) {
-            logger.error("Failed to retrieve log entries", e);
-            throw new StorageException("Failed to retrieve log entries", e);
+            logger.error("Failed to query log entries for channel: {}", channel, e);
+            throw new StorageException("Failed to query log entries for channel: " + channel, e);
         }
 
+        logger.debug("Queried {} log entries for channel: {} after ID {}", entries.size(), channel, afterId);
         return entries;
     }
 
@@ -241,6 +328,30 @@ public class SqliteLogStorage implements LogStorage {
         return entries;
     }
 
+    @Override
+    public long getConsumerOffset(String channel, String consumerId) {
+        return readConsumerOffset(consumerId, channel);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerOffsets(String channel) {
+        String sql = "SELECT consumer_id, last_log_id FROM consumer_offsets WHERE channel = ? ORDER BY consumer_id";
+        Map<String, Long> offsets = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, channel);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    offsets.put(rs.getString("consumer_id"), rs.getLong("last_log_id"));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to get consumer offsets for channel: {}", channel, e);
+            throw new StorageException("Failed to get consumer offsets", e);
+        }
+        return offsets;
+    }
+
     @Override
     public void commitOffset(String channel, String consumerId, long lastLogId) {
         updateConsumerOffset(consumerId, channel, lastLogId);
@@ -256,35 +367,119 @@ public class SqliteLogStorage implements LogStorage {
 
     @Override
     public void seekToEnd(String channel, String consumerId) {
+        long maxId = getLastLogId(channel);
+        updateConsumerOffset(consumerId, channel, maxId);
+        logger.info("Seek to end for consumer: {} on channel: {} (maxId: {})", consumerId, channel, maxId);
+    }
+
+    @Override
+    public void seekToId(String channel, String consumerId, long logId) {
+        // 다음 조회 시 해당 ID부터 시작하도록 오프셋을 ID - 1로 설정합니다.
+        // Set offset to logId - 1 so that the next retrieve returns logId.
+        updateConsumerOffset(consumerId, channel, logId - 1);
+        logger.info("Seek to ID {} for consumer: {} on channel: {}", logId, consumerId, channel);
+    }
+
+    @Override
+    public List<String> getChannels() {
+        String sql = "SELECT DISTINCT channel FROM logs ORDER BY channel";
+        List<String> channels = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                channels.add(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to list channels", e);
+            throw new StorageException("Failed to list channels", e);
+        }
+
+        return channels;
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
         String sql = "SELECT MAX(id) FROM logs WHERE channel = ?";
-        long maxId = 0;
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, channel);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    maxId = rs.getLong(1);
+                    return rs.getLong(1);
                 }
             }
         } catch (SQLException e) {
-            logger.error("Failed to seek to end for channel: {}", channel, e);
-            throw new StorageException("Failed to seek to end", e);
+            logger.error("Failed to get last log ID for channel: {}", channel, e);
+            throw new StorageException("Failed to get last log ID", e);
         }
-        updateConsumerOffset(consumerId, channel, maxId);
-        logger.info("Seek to end for consumer: {} on channel: {} (maxId: {})", consumerId, channel, maxId);
+        return 0;
     }
 
     @Override
-    public void seekToId(String channel, String consumerId, long logId) {
-        // 다음 조회 시 해당 ID부터 시작하도록 오프셋을 ID - 1로 설정합니다.
-        // Set offset to logId - 1 so that the next retrieve returns logId.
-        updateConsumerOffset(consumerId, channel, logId - 1);
-        logger.info("Seek to ID {} for consumer: {} on channel: {}", logId, consumerId, channel);
+    public void storeReplicated(List<LogEntry> logEntries) {
+        if (logEntries == null || logEntries.isEmpty()) {
+            return;
+        }
+
+        // 리더의 ID를 그대로 사용하므로 이미 적용된 엔트리는 무시됩니다.
+        // Leader IDs are kept as-is, so entries that were already applied are ignored.
+        String sql = "INSERT OR IGNORE INTO logs (id, channel, level, message, meta, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (LogEntry logEntry : logEntries) {
+                    if (logEntry.getId() == null) {
+                        logger.warn("Skipping replicated log entry without ID for channel: {}",
+                                logEntry.getChannel());
+                        continue;
+                    }
+                    stmt.setLong(1, logEntry.getId());
+                    stmt.setString(2, ChannelPartitions.streamName(logEntry));
+                    stmt.setString(3, logEntry.getLevel().name());
+                    stmt.setString(4, logEntry.getMessage());
+
+                    if (logEntry.getMeta() != null && !logEntry.getMeta().isEmpty()) {
+                        stmt.setString(5, objectMapper.writeValueAsString(logEntry.getMeta()));
+                    } else {
+                        stmt.setNull(5, Types.VARCHAR);
+                    }
+
+                    stmt.setTimestamp(6, Timestamp.valueOf(logEntry.getTimestamp()));
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+                conn.commit();
+                logger.debug("Stored {} replicated log entries in batch", logEntries.size());
+            } catch (SQLException | JsonProcessingException e) {
+                try {
+                    conn.rollback();
+                    logger.error("Transaction rolled back due to error in replicated batch insert", e);
+                } catch (SQLException rollbackException) {
+                    logger.error("Failed to rollback transaction", rollbackException);
+                }
+                throw new StorageException("Failed to store replicated log entries", e);
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.error("Failed to reset auto-commit", e);
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to obtain connection for replicated batch insert", e);
+        }
     }
 
     private LogEntry mapResultSetToLogEntry(ResultSet rs) throws SQLException {
         LogEntry entry = new LogEntry();
-        entry.setChannel(rs.getString("channel"));
+        // 파티션 스트림 이름(channel#partition)을 논리 채널과 파티션으로 복원합니다.
+        // Restore the logical channel and partition from the stream name (channel#partition).
+        ChannelPartitions.applyStreamName(entry, rs.getString("channel"));
         entry.setLevel(LogLevel.valueOf(rs.getString("level")));
         entry.setMessage(rs.getString("message"));
         entry.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
@@ -307,7 +502,17 @@ public class SqliteLogStorage implements LogStorage {
         return entry;
     }
 
-    private Long getConsumerOffset(String consumerId, String channel) {
+    /**
+     * ID of the last row inserted on this connection
+     */
+    private long lastInsertId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private Long readConsumerOffset(String consumerId, String channel) {
         String sql = "SELECT last_log_id FROM consumer_offsets WHERE consumer_id = ? AND channel = ?";
 
         try (Connection conn = dataSource.getConnection();
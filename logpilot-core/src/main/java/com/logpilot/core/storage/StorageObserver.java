@@ -0,0 +1,23 @@
+package com.logpilot.core.storage;
+
+/**
+ * Callbacks for measurements only a storage backend can take, such as time spent waiting for its lock.
+ * Backends call these on their hot paths, so implementations must be cheap and must not throw.
+ */
+public interface StorageObserver {
+
+    StorageObserver NONE = new StorageObserver() {
+    };
+
+    /**
+     * Time a caller waited to acquire the backend's read or write lock
+     */
+    default void lockWaited(boolean write, long nanos) {
+    }
+
+    /**
+     * Bytes appended to the backing files by one write
+     */
+    default void bytesWritten(long bytes) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.logpilot.core.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final ClusterNode NODE_1 = new ClusterNode("node-1", "localhost:50051", "http://localhost:8080");
+    private static final ClusterNode NODE_2 = new ClusterNode("node-2", "localhost:50052", "http://localhost:8090");
+    private static final ClusterNode NODE_3 = new ClusterNode("node-3", "localhost:50053", "http://localhost:8100");
+
+    @Test
+    void ownerOf_ShouldBeStableAcrossRingInstances() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+        ConsistentHashRing second = new ConsistentHashRing(List.of(NODE_3, NODE_1, NODE_2), 128);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.ownerOf("channel-" + i), second.ownerOf("channel-" + i));
+        }
+    }
+
+    @Test
+    void ownerOf_PartitionStream_ShouldMatchChannelOwner() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+
+        assertEquals(ring.ownerOf("orders"), ring.ownerOf("orders#3"));
+    }
+
+    @Test
+    void ownerOf_ShouldSpreadChannelsAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(ring.ownerOf("channel-" + i).getNodeId(), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 600, "Uneven distribution: " + counts));
+    }
+
+    @Test
+    void addingNode_ShouldOnlyMoveChannelsToNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(NODE_1, NODE_2), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            String channel = "channel-" + i;
+            ClusterNode owner = after.ownerOf(channel);
+            if (!owner.equals(NODE_3)) {
+                assertEquals(before.ownerOf(channel), owner);
+            }
+        }
+    }
+
+    @Test
+    void ownerOf_WithEmptyRing_ShouldThrow() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 128);
+
+        assertTrue(ring.isEmpty());
+        assertThrows(IllegalStateException.class, () -> ring.ownerOf("orders"));
+    }
+}
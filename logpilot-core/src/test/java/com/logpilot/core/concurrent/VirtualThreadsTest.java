@@ -0,0 +1,43 @@
+package com.logpilot.core.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsTest {
+
+    @Test
+    void isSupported_ShouldMatchRuntimeVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    @Test
+    void newTaskExecutor_ShouldRunTasksInEitherMode() throws Exception {
+        for (boolean preferVirtual : new boolean[] { false, true }) {
+            ExecutorService executor = VirtualThreads.newTaskExecutor(preferVirtual, "test-");
+            try {
+                assertEquals("done", executor.submit(() -> "done").get(1, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void newThreadPerTaskExecutor_ShouldUseNamedThreadsOrRejectOldRuntimes() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-"));
+            return;
+        }
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            String threadName = executor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS);
+            assertTrue(threadName.startsWith("test-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.logpilot.core.service;
 
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 import com.logpilot.core.storage.LogStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -211,5 +215,67 @@ public class LogServiceTest {
         public void seekToId(String channel, String consumerId, long logId) {
             logStorage.seekToId(channel, consumerId, logId);
         }
+
+        @Override
+        public List<String> getChannels() {
+            return logStorage.getChannels();
+        }
+
+        @Override
+        public long getLastLogId(String channel) {
+            return logStorage.getLastLogId(channel);
+        }
+
+        @Override
+        public List<LogEntry> getLogsAfter(String channel, long afterId, int limit) {
+            return logStorage.retrieveAfter(channel, afterId, limit);
+        }
+
+        @Override
+        public void createChannel(String channel, int partitions) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public void leaveGroup(String groupId, String memberId) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public List<LogEntry> getLogsForGroupMember(String groupId, String memberId, long generation, int limit,
+                boolean autoCommit) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public void commitGroupOffset(String groupId, String memberId, long generation, int partition,
+                long lastLogId) {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public void storeForwardedLogs(List<LogEntry> logEntries) {
+            logStorage.storeLogs(logEntries);
+        }
+
+        @Override
+        public RoutingTable getRoutingTable() {
+            throw new UnsupportedOperationException("Not used in these tests");
+        }
+
+        @Override
+        public LogQueryResult queryLogs(String channel, LogQuery query, int limit, String cursor) {
+            return new LogQueryResult(logStorage.query(channel, query, 0, limit), null);
+        }
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.logpilot.core.storage;
 
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.query.LogQuery;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -312,7 +313,97 @@ public class FileLogStorageTest {
         }
     }
 
+    @Test
+    void retrieveAfter_ShouldReturnEntriesWithoutCommittingOffset() {
+        storage.storeLogs(Arrays.asList(
+                createTestLogEntry("test-channel", LogLevel.INFO, "Message 1"),
+                createTestLogEntry("test-channel", LogLevel.INFO, "Message 2"),
+                createTestLogEntry("test-channel", LogLevel.INFO, "Message 3")));
+
+        List<LogEntry> entries = storage.retrieveAfter("test-channel", 1, 10);
+
+        assertEquals(2, entries.size());
+        assertEquals(2L, entries.get(0).getId());
+        assertEquals(3L, storage.getLastLogId("test-channel"));
+        assertEquals(3, storage.retrieve("test-channel", "consumer1", 10).size());
+    }
+
+    @Test
+    void storeReplicated_ShouldPreserveLeaderIdsAndSkipDuplicates() {
+        LogEntry first = createTestLogEntry("replica-channel", LogLevel.INFO, "Message 1");
+        first.setId(1L);
+        LogEntry third = createTestLogEntry("replica-channel", LogLevel.INFO, "Message 3");
+        third.setId(3L);
+
+        storage.storeReplicated(Arrays.asList(first, third));
+        storage.storeReplicated(List.of(third));
+
+        List<LogEntry> entries = storage.retrieveAfter("replica-channel", 0, 10);
+        assertEquals(2, entries.size());
+        assertEquals(1L, entries.get(0).getId());
+        assertEquals(3L, entries.get(1).getId());
+        assertEquals(3L, storage.getLastLogId("replica-channel"));
+        assertEquals(List.of("replica-channel"), storage.getChannels());
+    }
+
+    @Test
+    void storeLogs_ShouldSetIdsOfStoredEntries() {
+        storage.store(createTestLogEntry("id-channel", LogLevel.INFO, "Message 1"));
+        List<LogEntry> entries = Arrays.asList(
+                createTestLogEntry("id-channel", LogLevel.INFO, "Message 2"),
+                createTestLogEntry("other-channel", LogLevel.INFO, "Message 1"),
+                createTestLogEntry("id-channel", LogLevel.INFO, "Message 3"));
+
+        storage.storeLogs(entries);
+
+        assertEquals(Arrays.asList(2L, 1L, 3L), entries.stream().map(LogEntry::getId).toList());
+        assertEquals(3L, storage.getLastLogId("id-channel"));
+        assertEquals("Message 3", storage.retrieveAfter("id-channel", 2, 1).get(0).getMessage());
+    }
+
+    @Test
+    void getConsumerOffsets_ShouldListConsumersOfChannel() {
+        storage.commitOffset("orders", "billing", 5);
+        storage.commitOffset("orders", "group:shipping", 7);
+        storage.commitOffset("payments", "billing", 1);
+
+        assertEquals(Map.of("billing", 5L, "group:shipping", 7L), storage.getConsumerOffsets("orders"));
+    }
+
+    @Test
+    void query_ShouldApplyPredicatesAfterId() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            LogEntry logEntry = new LogEntry("query-channel", i % 2 == 0 ? LogLevel.ERROR : LogLevel.INFO,
+                    "request " + i, Map.of("region", i < 3 ? "eu" : "us", "retry", i % 3 == 0));
+            logEntry.setTimestamp(start.plusMinutes(i));
+            entries.add(logEntry);
+        }
+        storage.storeLogs(entries);
+
+        LogQuery errors = LogQuery.builder().level(LogLevel.ERROR).build();
+        assertEquals(List.of("request 0", "request 2", "request 4"),
+                messages(storage.query("query-channel", errors, 0, 10)));
+        assertEquals(List.of("request 4"),
+                messages(storage.query("query-channel", errors, entries.get(2).getId(), 10)));
+
+        LogQuery window = LogQuery.builder().from(start.plusMinutes(1)).to(start.plusMinutes(4)).build();
+        assertEquals(List.of("request 1", "request 2"), messages(storage.query("query-channel", window, 0, 2)));
+
+        LogQuery meta = LogQuery.builder().meta("region", "us").meta("retry", "true").build();
+        assertEquals(List.of("request 3"), messages(storage.query("query-channel", meta, 0, 10)));
+
+        LogQuery contains = LogQuery.builder().messageContains("st 5").build();
+        assertEquals(List.of("request 5"), messages(storage.query("query-channel", contains, 0, 10)));
+        assertTrue(storage.query("other-channel", LogQuery.all(), 0, 10).isEmpty());
+    }
+
     private LogEntry createTestLogEntry(String channel, LogLevel level, String message) {
         return new LogEntry(channel, level, message);
     }
-}
\ No newline at end of file
+
+    private List<String> messages(List<LogEntry> logEntries) {
+        return logEntries.stream().map(LogEntry::getMessage).toList();
+    }
+}
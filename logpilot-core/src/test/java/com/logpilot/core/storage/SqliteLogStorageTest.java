@@ -2,6 +2,7 @@ package com.logpilot.core.storage;
 
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.query.LogQuery;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -236,7 +237,120 @@ public class SqliteLogStorageTest {
         assertEquals(specificTime, storedEntry.getTimestamp());
     }
 
+    @Test
+    void storeReplicated_ShouldPreserveLeaderIdsAndSkipDuplicates() {
+        LogEntry first = createTestLogEntry("replica-channel", LogLevel.INFO, "Message 1");
+        first.setId(10L);
+        LogEntry second = createTestLogEntry("replica-channel", LogLevel.WARN, "Message 2");
+        second.setId(42L);
+
+        storage.storeReplicated(Arrays.asList(first, second));
+        storage.storeReplicated(List.of(second));
+
+        List<LogEntry> entries = storage.retrieveAfter("replica-channel", 0, 10);
+        assertEquals(2, entries.size());
+        assertEquals(10L, entries.get(0).getId());
+        assertEquals(42L, entries.get(1).getId());
+        assertEquals(42L, storage.getLastLogId("replica-channel"));
+        assertTrue(storage.getChannels().contains("replica-channel"));
+    }
+
+    @Test
+    void retrievePages_ShouldDeliverInPagesAndCommitOnce() {
+        for (int i = 1; i <= 5; i++) {
+            storage.store(createTestLogEntry("paged", LogLevel.INFO, "entry " + i));
+        }
+        List<Integer> pageSizes = new ArrayList<>();
+
+        int delivered = storage.retrievePages("paged", "consumer1", 10, true, 2,
+                page -> pageSizes.add(page.size()));
+
+        assertEquals(5, delivered);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+        assertEquals(5, storage.getConsumerOffset("paged", "consumer1"));
+        assertTrue(storage.retrieve("paged", "consumer1", 10).isEmpty());
+    }
+
+    @Test
+    void retrievePages_WhenSinkFails_ShouldCommitOnlyAcceptedPages() {
+        for (int i = 1; i <= 5; i++) {
+            storage.store(createTestLogEntry("paged", LogLevel.INFO, "entry " + i));
+        }
+        List<List<LogEntry>> accepted = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> storage.retrievePages("paged", "consumer1", 10, true, 2,
+                page -> {
+                    if (!accepted.isEmpty()) {
+                        throw new IllegalStateException("client went away");
+                    }
+                    accepted.add(page);
+                }));
+
+        assertEquals(2, storage.getConsumerOffset("paged", "consumer1"));
+        assertEquals("entry 3", storage.retrieve("paged", "consumer1", 1).get(0).getMessage());
+    }
+
+    @Test
+    void storeLogs_ShouldSetIdsOfStoredEntries() {
+        LogEntry single = createTestLogEntry("id-channel", LogLevel.INFO, "Message 1");
+        storage.store(single);
+        List<LogEntry> entries = Arrays.asList(
+                createTestLogEntry("id-channel", LogLevel.INFO, "Message 2"),
+                createTestLogEntry("other-channel", LogLevel.INFO, "Message 1"),
+                createTestLogEntry("id-channel", LogLevel.INFO, "Message 3"));
+
+        storage.storeLogs(entries);
+
+        long first = single.getId();
+        assertEquals(Arrays.asList(first + 1, first + 2, first + 3),
+                entries.stream().map(LogEntry::getId).toList());
+        assertEquals(first + 3, storage.getLastLogId("id-channel"));
+        assertEquals("Message 2", storage.retrieveAfter("id-channel", first, 1).get(0).getMessage());
+    }
+
+    @Test
+    void getConsumerOffsets_ShouldListConsumersOfChannel() {
+        storage.commitOffset("orders", "billing", 5);
+        storage.commitOffset("orders", "group:shipping", 7);
+        storage.commitOffset("payments", "billing", 1);
+
+        assertEquals(Map.of("billing", 5L, "group:shipping", 7L), storage.getConsumerOffsets("orders"));
+    }
+
+    @Test
+    void query_ShouldApplyPredicatesAfterId() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            LogEntry logEntry = new LogEntry("query-channel", i % 2 == 0 ? LogLevel.ERROR : LogLevel.INFO,
+                    "request " + i, Map.of("region", i < 3 ? "eu" : "us", "retry", i % 3 == 0));
+            logEntry.setTimestamp(start.plusMinutes(i));
+            entries.add(logEntry);
+        }
+        storage.storeLogs(entries);
+
+        LogQuery errors = LogQuery.builder().level(LogLevel.ERROR).build();
+        assertEquals(List.of("request 0", "request 2", "request 4"),
+                messages(storage.query("query-channel", errors, 0, 10)));
+        assertEquals(List.of("request 4"),
+                messages(storage.query("query-channel", errors, entries.get(2).getId(), 10)));
+
+        LogQuery window = LogQuery.builder().from(start.plusMinutes(1)).to(start.plusMinutes(4)).build();
+        assertEquals(List.of("request 1", "request 2"), messages(storage.query("query-channel", window, 0, 2)));
+
+        LogQuery meta = LogQuery.builder().meta("region", "us").meta("retry", "true").build();
+        assertEquals(List.of("request 3"), messages(storage.query("query-channel", meta, 0, 10)));
+
+        LogQuery contains = LogQuery.builder().messageContains("st 5").build();
+        assertEquals(List.of("request 5"), messages(storage.query("query-channel", contains, 0, 10)));
+        assertTrue(storage.query("other-channel", LogQuery.all(), 0, 10).isEmpty());
+    }
+
     private LogEntry createTestLogEntry(String channel, LogLevel level, String message) {
         return new LogEntry(channel, level, message);
     }
-}
\ No newline at end of file
+
+    private List<String> messages(List<LogEntry> logEntries) {
+        return logEntries.stream().map(LogEntry::getMessage).toList();
+    }
+}
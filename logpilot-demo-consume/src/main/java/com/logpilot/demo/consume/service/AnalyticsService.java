@@ -1,6 +1,7 @@
 package com.logpilot.demo.consume.service;
 
 import com.logpilot.client.LogPilotClient;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import org.slf4j.Logger;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PreDestroy;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -19,20 +21,31 @@ import java.util.concurrent.atomic.AtomicLong;
 public class AnalyticsService {
     private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
 
+    private static final String CHANNEL = "demo-app";
+    private static final int FETCH_LIMIT = 100;
+
     private final LogPilotClient logPilotClient;
+    private final String groupId;
+    private final String memberId;
     private final Map<String, AtomicLong> jobViewCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> jobApplicationCounts = new ConcurrentHashMap<>();
     private final AtomicLong errorCount = new AtomicLong(0);
+    private final AtomicLong processedCount = new AtomicLong(0);
 
-    private String lastLogId = "";
+    private volatile ConsumerGroupAssignment assignment;
 
     public AnalyticsService(@Value("${logpilot.server-url}") String serverUrl,
-            @Value("${logpilot.api-key:logpilot-secret-key-123}") String apiKey) {
+            @Value("${logpilot.api-key:logpilot-secret-key-123}") String apiKey,
+            @Value("${logpilot.consumer.group-id:analytics}") String groupId) {
         this.logPilotClient = LogPilotClient.builder()
                 .serverUrl(serverUrl)
                 .apiKey(apiKey)
                 .clientType(LogPilotClient.ClientType.GRPC)
                 .build();
+        this.groupId = groupId;
+        // 레플리카마다 고유한 멤버 ID를 사용합니다.
+        // Each replica uses its own member ID.
+        this.memberId = "analytics-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
     @Scheduled(fixedRate = 1000)
@@ -40,28 +53,46 @@ public class AnalyticsService {
     // Poll every 1 second.
     public void fetchLogs() {
         try {
-            List<LogEntry> logs = logPilotClient.getLogs("demo-app", lastLogId, 100);
-
-            if (logs.isEmpty()) {
-                return;
+            if (assignment == null) {
+                assignment = logPilotClient.joinGroup(groupId, CHANNEL, memberId);
+                log.info("Joined group {} as {} with partitions {}", groupId, memberId, assignment.getPartitions());
             }
 
-            for (LogEntry entry : logs) {
-                processLogEntry(entry);
-                if (entry.getId() != null) {
-                    // 최신 로그 ID로 오프셋을 업데이트합니다.
-                    // Update offset to the latest log ID.
-                    lastLogId = String.valueOf(entry.getId());
-                }
-            }
+            // 할당된 파티션의 밀린 로그를 모두 처리합니다. 오프셋은 그룹 단위로 서버에 저장되고,
+            // 리밸런스 뒤 이전 세대로 가져오면 거절되어 다음 폴링에서 다시 참여합니다.
+            // Drain the backlog of the assigned partitions. Offsets are stored per group on the server, and a fetch
+            // for a generation a rebalance has replaced is refused, so the next poll rejoins.
+            long generation = assignment.getGeneration();
+            List<LogEntry> logs;
+            do {
+                logs = logPilotClient.getGroupLogs(groupId, memberId, generation, FETCH_LIMIT);
+                logs.forEach(this::processLogEntry);
+                processedCount.addAndGet(logs.size());
+            } while (logs.size() == FETCH_LIMIT);
 
-            // NOTE: gRPC 응답의 로그 ID를 사용하여 페이징 처리합니다.
-            // Now we have proper pagination using the Log ID directly from gRPC response.
-            // 다음 폴링은 'lastLogId' 이후부터 시작됩니다.
-            // The next poll will start after 'lastLogId'.
+        } catch (Exception e) {
+            log.error("Failed to fetch logs, rejoining group on next poll", e);
+            assignment = null;
+        }
+    }
 
+    @Scheduled(fixedRate = 3000)
+    // 하트비트로 그룹 멤버십을 유지하고 리밸런스 결과를 받아옵니다.
+    // Heartbeat keeps the group membership alive and picks up rebalances.
+    public void heartbeat() {
+        if (assignment == null) {
+            return;
+        }
+        try {
+            ConsumerGroupAssignment current = logPilotClient.heartbeat(groupId, memberId);
+            if (current.getGeneration() != assignment.getGeneration()) {
+                log.info("Group {} rebalanced (generation {}), now consuming partitions {}", groupId,
+                        current.getGeneration(), current.getPartitions());
+            }
+            assignment = current;
         } catch (Exception e) {
-            log.error("Failed to fetch logs", e);
+            log.warn("Heartbeat failed, rejoining group: {}", e.getMessage());
+            assignment = null;
         }
     }
 
@@ -93,11 +124,21 @@ public class AnalyticsService {
                 "totalViews", totalViews,
                 "totalApplications", totalApplications,
                 "conversionRate", String.format("%.2f%%", conversionRate),
-                "errorCount", errorCount.get());
+                "errorCount", errorCount.get(),
+                "processedCount", processedCount.get(),
+                "memberId", memberId,
+                "partitions", assignment != null ? assignment.getPartitions() : List.of());
     }
 
     @PreDestroy
     public void close() {
+        try {
+            // 그룹을 떠나 남은 레플리카가 즉시 파티션을 넘겨받도록 합니다.
+            // Leave the group so the remaining replicas take over the partitions right away.
+            logPilotClient.leaveGroup(groupId, memberId);
+        } catch (Exception e) {
+            log.warn("Failed to leave group {}: {}", groupId, e.getMessage());
+        }
         logPilotClient.close();
     }
 }
@@ -0,0 +1,75 @@
+package com.logpilot.server.cluster;
+
+import com.logpilot.core.config.LogPilotProperties;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authenticates node-to-node gRPC calls with the shared cluster key sent in X-CLUSTER-KEY.
+ * The API key only proves a client may use the server; privileges reserved to cluster nodes, such as storing a
+ * forwarded batch without admission, pipeline or rate limits, require the cluster key. Without a configured key no
+ * call is treated as coming from a node.
+ */
+@Component
+public class ClusterAuthentication {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterAuthentication.class);
+
+    public static final Metadata.Key<String> CLUSTER_KEY_METADATA_KEY = Metadata.Key.of("X-CLUSTER-KEY",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Context.Key<Boolean> PEER_CALL = Context.key("logpilot-cluster-peer");
+
+    private final byte[] clusterKey;
+
+    @Autowired
+    public ClusterAuthentication(LogPilotProperties properties) {
+        this(properties.getCluster().getClusterKey());
+        if (properties.getCluster().isEnabled() && clusterKey == null) {
+            logger.warn("Cluster sharding is enabled without logpilot.cluster.cluster-key; "
+                    + "batches forwarded by other nodes will be refused");
+        }
+    }
+
+    public ClusterAuthentication(String clusterKey) {
+        this.clusterKey = clusterKey == null || clusterKey.isBlank()
+                ? null
+                : clusterKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean isConfigured() {
+        return clusterKey != null;
+    }
+
+    /**
+     * Whether the call carries the cluster key
+     */
+    public boolean isPeer(Metadata headers) {
+        String presented = headers.get(CLUSTER_KEY_METADATA_KEY);
+        // 키 비교 시간이 일치 길이를 드러내지 않도록 상수 시간으로 비교합니다.
+        // Compared in constant time so the comparison does not reveal how much of the key matched.
+        return clusterKey != null && presented != null
+                && MessageDigest.isEqual(clusterKey, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Context in which isPeerCall() holds
+     */
+    public static Context asPeerCall(Context context) {
+        return context.withValue(PEER_CALL, Boolean.TRUE);
+    }
+
+    /**
+     * Whether the current gRPC call was authenticated as coming from another cluster node
+     */
+    public static boolean isPeerCall() {
+        return Boolean.TRUE.equals(PEER_CALL.get());
+    }
+}
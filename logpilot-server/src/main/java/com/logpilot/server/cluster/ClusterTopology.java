@@ -0,0 +1,142 @@
+package com.logpilot.server.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.cluster.ConsistentHashRing;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.config.LogPilotProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster membership and channel placement.
+ * Nodes come from static configuration or from a shared JSON file, which is re-read when it changes
+ * so nodes can be added without restarting the cluster.
+ */
+@Component
+public class ClusterTopology {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterTopology.class);
+    private static final long FILE_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final LogPilotProperties.Cluster config;
+    private final Path nodesFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile List<ClusterNode> nodes = List.of();
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+    private volatile long nodesFileModified = -1;
+    private volatile long lastFileCheckMillis;
+
+    @Autowired
+    public ClusterTopology(LogPilotProperties properties) {
+        this(properties.getCluster());
+    }
+
+    public ClusterTopology(LogPilotProperties.Cluster config) {
+        this.config = config;
+        this.nodesFile = config.getNodesFile() != null && !config.getNodesFile().isBlank()
+                ? Paths.get(config.getNodesFile())
+                : null;
+        if (config.isEnabled()) {
+            if (nodesFile != null) {
+                reloadNodesFile();
+            } else {
+                applyNodes(toClusterNodes(config.getNodes()));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public String getLocalNodeId() {
+        return config.getNodeId();
+    }
+
+    /**
+     * Owner of a channel, or null when clustering is disabled
+     */
+    public ClusterNode ownerOf(String channel) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        refreshIfStale();
+        ConsistentHashRing current = ring;
+        return current.isEmpty() ? null : current.ownerOf(channel);
+    }
+
+    public boolean isLocal(ClusterNode node) {
+        return node == null || config.getNodeId().equals(node.getNodeId());
+    }
+
+    public RoutingTable getRoutingTable() {
+        if (!config.isEnabled()) {
+            return new RoutingTable(config.getNodeId(), config.getVirtualNodes(), new ArrayList<>());
+        }
+        refreshIfStale();
+        return new RoutingTable(config.getNodeId(), config.getVirtualNodes(), new ArrayList<>(nodes));
+    }
+
+    private void refreshIfStale() {
+        if (nodesFile == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastFileCheckMillis < FILE_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        lastFileCheckMillis = now;
+        reloadNodesFile();
+    }
+
+    private synchronized void reloadNodesFile() {
+        try {
+            long modified = Files.getLastModifiedTime(nodesFile).toMillis();
+            if (modified == nodesFileModified) {
+                return;
+            }
+            Map<String, LogPilotProperties.Cluster.Node> fileNodes = objectMapper.readValue(nodesFile.toFile(),
+                    new TypeReference<Map<String, LogPilotProperties.Cluster.Node>>() {
+                    });
+            applyNodes(toClusterNodes(fileNodes));
+            nodesFileModified = modified;
+        } catch (IOException e) {
+            // 파일을 읽지 못하면 마지막으로 알려진 노드 목록을 유지합니다.
+            // Keep the last known node list when the file cannot be read.
+            logger.warn("Failed to load cluster nodes from: {}", nodesFile, e);
+        }
+    }
+
+    private void applyNodes(List<ClusterNode> newNodes) {
+        newNodes.sort(Comparator.comparing(ClusterNode::getNodeId));
+        this.ring = new ConsistentHashRing(newNodes, config.getVirtualNodes());
+        this.nodes = List.copyOf(newNodes);
+        if (newNodes.stream().noneMatch(node -> node.getNodeId().equals(config.getNodeId()))) {
+            logger.warn("Local node {} is not part of the cluster node list", config.getNodeId());
+        }
+        logger.info("Cluster topology updated: {} nodes {}", newNodes.size(), newNodes);
+    }
+
+    private List<ClusterNode> toClusterNodes(Map<String, LogPilotProperties.Cluster.Node> configured) {
+        List<ClusterNode> result = new ArrayList<>();
+        if (configured != null) {
+            configured.forEach((nodeId, node) -> result.add(
+                    new ClusterNode(nodeId, node.getGrpcAddress(), node.getRestAddress())));
+        }
+        return result;
+    }
+}
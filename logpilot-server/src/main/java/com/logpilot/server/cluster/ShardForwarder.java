@@ -0,0 +1,230 @@
+package com.logpilot.server.cluster;
+
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards writes for channels owned by other nodes over gRPC.
+ * Each owner has one sender thread that coalesces concurrent requests into SendLogs batches,
+ * so forwarding costs one round trip per batch rather than per request.
+ */
+@Component
+public class ShardForwarder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardForwarder.class);
+    private static final Metadata.Key<String> API_KEY_METADATA_KEY = Metadata.Key.of("X-API-KEY",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final String apiKey;
+    private final String clusterKey;
+    private final boolean compression;
+    private final Map<String, NodeLink> links = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    @Autowired
+    public ShardForwarder(LogPilotProperties properties,
+            @Value("${logpilot.server.api-key:logpilot-secret-key-123}") String apiKey) {
+        this(properties.getCluster().getForwardBatchSize(), properties.getCluster().getForwardTimeoutMillis(),
+                apiKey, properties.getCluster().getClusterKey(), properties.getCompression().isEnabled());
+    }
+
+    public ShardForwarder(int batchSize, long timeoutMillis, String apiKey) {
+        this(batchSize, timeoutMillis, apiKey, null, false);
+    }
+
+    public ShardForwarder(int batchSize, long timeoutMillis, String apiKey, String clusterKey, boolean compression) {
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.apiKey = apiKey;
+        this.clusterKey = clusterKey;
+        this.compression = compression;
+    }
+
+    /**
+     * Queue entries for their owner. The future completes once the owner has stored them.
+     */
+    public CompletableFuture<Void> forward(ClusterNode owner, List<LogEntry> logEntries) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Shard forwarder is shut down"));
+        }
+        PendingForward pending = new PendingForward(logEntries);
+        links.computeIfAbsent(owner.getGrpcAddress(), address -> new NodeLink(owner)).queue.add(pending);
+        return pending.future;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        links.values().forEach(NodeLink::close);
+        links.clear();
+    }
+
+    private LogPilotProto.LogRequest toLogRequest(LogEntry logEntry) {
+        LogPilotProto.LogRequest.Builder builder = LogPilotProto.LogRequest.newBuilder()
+                .setChannel(logEntry.getChannel())
+                .setLevel(logEntry.getLevel().toString())
+                .setMessage(logEntry.getMessage());
+
+        if (logEntry.getMeta() != null) {
+            logEntry.getMeta().forEach((key, value) -> builder.putMeta(key, String.valueOf(value)));
+        }
+        if (logEntry.getPartition() != null) {
+            builder.setPartition(logEntry.getPartition());
+        }
+        if (logEntry.getPartitionKey() != null) {
+            builder.setPartitionKey(logEntry.getPartitionKey());
+        }
+        if (logEntry.getTimestamp() != null) {
+            builder.setTimestamp(logEntry.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        // 중복 제거는 채널 소유 노드에서 이루어지므로 프로듀서 시퀀스를 함께 전달합니다.
+        // Deduplication happens on the channel owner, so the producer sequence travels with the entry.
+        if (logEntry.getProducerId() != null && logEntry.getSequence() != null) {
+            builder.setProducerId(logEntry.getProducerId());
+            builder.setSequence(logEntry.getSequence());
+        }
+        return builder.build();
+    }
+
+    private static class PendingForward {
+        private final List<LogEntry> logEntries;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingForward(List<LogEntry> logEntries) {
+            this.logEntries = logEntries;
+        }
+    }
+
+    private class NodeLink {
+        private final ClusterNode owner;
+        private final ManagedChannel channel;
+        private final LogServiceGrpc.LogServiceBlockingStub stub;
+        private final BlockingQueue<PendingForward> queue = new LinkedBlockingQueue<>();
+        private final Thread sender;
+
+        private NodeLink(ClusterNode owner) {
+            this.owner = owner;
+            this.channel = ManagedChannelBuilder.forTarget(owner.getGrpcAddress())
+                    .usePlaintext()
+                    .keepAliveTime(30, TimeUnit.SECONDS)
+                    .build();
+            Metadata metadata = new Metadata();
+            metadata.put(API_KEY_METADATA_KEY, apiKey);
+            // 소유 노드는 클러스터 키가 있어야 전달 배치를 받아들입니다.
+            // The owner only accepts forwarded batches that carry the cluster key.
+            if (clusterKey != null && !clusterKey.isBlank()) {
+                metadata.put(ClusterAuthentication.CLUSTER_KEY_METADATA_KEY, clusterKey);
+            }
+            LogServiceGrpc.LogServiceBlockingStub stub = LogServiceGrpc.newBlockingStub(channel)
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+            // 압축이 켜져 있으면 노드 간 전달 배치도 gzip으로 보냅니다.
+            // With compression enabled, forwarded batches between nodes go out gzip-compressed too.
+            this.stub = compression ? stub.withCompression("gzip") : stub;
+            this.sender = new Thread(this::run, "logpilot-forward-" + owner.getNodeId());
+            this.sender.setDaemon(true);
+            this.sender.start();
+        }
+
+        private void run() {
+            while (running) {
+                try {
+                    PendingForward first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<PendingForward> batch = new ArrayList<>();
+                    batch.add(first);
+                    int entryCount = first.logEntries.size();
+
+                    // 이미 대기 중인 요청을 배치 크기까지 합쳐서 한 번에 전송합니다.
+                    // Coalesce requests already waiting, up to the batch size, into one send.
+                    PendingForward next;
+                    while ((next = queue.peek()) != null && entryCount + next.logEntries.size() <= batchSize) {
+                        batch.add(queue.poll());
+                        entryCount += next.logEntries.size();
+                    }
+                    send(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            failPending(new IllegalStateException("Shard forwarder is shut down"));
+        }
+
+        private void send(List<PendingForward> batch) {
+            try {
+                LogPilotProto.SendLogsRequest.Builder request = LogPilotProto.SendLogsRequest.newBuilder()
+                        .setForwarded(true);
+                for (PendingForward pending : batch) {
+                    for (LogEntry logEntry : pending.logEntries) {
+                        request.addLogRequests(toLogRequest(logEntry));
+                    }
+                }
+
+                LogPilotProto.SendLogsResponse response = stub
+                        .withDeadlineAfter(timeoutMillis, TimeUnit.MILLISECONDS)
+                        .sendLogs(request.build());
+                if (!"success".equals(response.getStatus())) {
+                    throw new IllegalStateException(response.getMessage());
+                }
+
+                batch.forEach(pending -> pending.future.complete(null));
+                logger.debug("Forwarded {} log entries to node {}", request.getLogRequestsCount(),
+                        owner.getNodeId());
+            } catch (Exception e) {
+                logger.warn("Failed to forward log entries to node {}: {}", owner.getNodeId(), e.getMessage());
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            }
+        }
+
+        private void failPending(Exception e) {
+            PendingForward pending;
+            while ((pending = queue.poll()) != null) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+
+        private void close() {
+            sender.interrupt();
+            channel.shutdown();
+            try {
+                if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                    channel.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                channel.shutdownNow();
+            }
+        }
+    }
+}
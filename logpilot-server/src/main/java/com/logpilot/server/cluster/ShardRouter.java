@@ -0,0 +1,110 @@
+package com.logpilot.server.cluster;
+
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.NotChannelOwnerException;
+import com.logpilot.core.exception.StorageException;
+import com.logpilot.core.model.LogEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Splits writes between this node and the owners of other channels, and rejects reads
+ * of channels this node does not own. Without clustering every channel is local.
+ */
+@Component
+public class ShardRouter {
+
+    private final ClusterTopology topology;
+    private final ShardForwarder forwarder;
+
+    @Autowired
+    public ShardRouter(ClusterTopology topology, ShardForwarder forwarder) {
+        this.topology = topology;
+        this.forwarder = forwarder;
+    }
+
+    /**
+     * Router for a single-node setup
+     */
+    public static ShardRouter standalone() {
+        return new ShardRouter(new ClusterTopology(new LogPilotProperties.Cluster()), null);
+    }
+
+    public RoutingTable getRoutingTable() {
+        return topology.getRoutingTable();
+    }
+
+    /**
+     * Store local entries with the given store function and forward the rest to their owners.
+     * Returns once every entry is stored, so callers keep their usual acknowledgement semantics.
+     */
+    public void store(List<LogEntry> logEntries, Consumer<List<LogEntry>> localStore) {
+        if (!topology.isEnabled() || logEntries == null) {
+            localStore.accept(logEntries);
+            return;
+        }
+
+        List<LogEntry> local = new ArrayList<>();
+        Map<String, List<LogEntry>> remote = new LinkedHashMap<>();
+        Map<String, ClusterNode> owners = new LinkedHashMap<>();
+        for (LogEntry logEntry : logEntries) {
+            ClusterNode owner = logEntry != null ? topology.ownerOf(logEntry.getChannel()) : null;
+            if (topology.isLocal(owner)) {
+                local.add(logEntry);
+            } else {
+                remote.computeIfAbsent(owner.getNodeId(), id -> new ArrayList<>()).add(logEntry);
+                owners.putIfAbsent(owner.getNodeId(), owner);
+            }
+        }
+
+        // 원격 전달을 먼저 시작하고 로컬 저장과 병행합니다.
+        // Start remote forwards first so they overlap with the local write.
+        Map<String, CompletableFuture<Void>> forwards = new LinkedHashMap<>();
+        remote.forEach((nodeId, entries) -> forwards.put(nodeId, forwarder.forward(owners.get(nodeId), entries)));
+
+        if (!local.isEmpty()) {
+            localStore.accept(local);
+        }
+
+        for (Map.Entry<String, CompletableFuture<Void>> forward : forwards.entrySet()) {
+            awaitForward(forward.getKey(), forward.getValue());
+        }
+    }
+
+    /**
+     * Reads, offsets and groups are served by the owner only
+     */
+    public void requireLocal(String channel) {
+        if (!topology.isEnabled() || channel == null) {
+            return;
+        }
+        ClusterNode owner = topology.ownerOf(channel);
+        if (!topology.isLocal(owner)) {
+            throw new NotChannelOwnerException(channel, owner.getNodeId(), owner.getGrpcAddress());
+        }
+    }
+
+    private void awaitForward(String nodeId, CompletableFuture<Void> future) {
+        try {
+            future.get(forwarder.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while forwarding logs to node " + nodeId, e);
+        } catch (ExecutionException | TimeoutException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new StorageException("Failed to forward logs to node " + nodeId + ": " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.logpilot.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.tail.LiveTailHub;
+import com.logpilot.server.tail.LiveTailWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class LiveTailWebSocketConfig implements WebSocketConfigurer {
+
+    private final LiveTailHub liveTailHub;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public LiveTailWebSocketConfig(LiveTailHub liveTailHub, ShardRouter shardRouter, ObjectMapper objectMapper) {
+        this.liveTailHub = liveTailHub;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 핸드셰이크는 일반 /api/** 요청이므로 API 키 필터를 그대로 거칩니다.
+        // The handshake is a regular /api/** request, so it passes through the API key filter.
+        registry.addHandler(new LiveTailWebSocketHandler(liveTailHub, shardRouter, objectMapper),
+                "/api/logs/*/stream/ws");
+    }
+}
@@ -3,6 +3,13 @@ package com.logpilot.server.config;
 import com.logpilot.core.config.LogPilotProperties;
 import com.logpilot.core.config.LogStorageFactory;
 import com.logpilot.core.storage.LogStorage;
+import com.logpilot.core.storage.ReadOnlyLogStorage;
+import com.logpilot.server.metrics.LogStorageInstrumentation;
+import com.logpilot.server.stats.ConsumerOffsetTracking;
+import com.logpilot.server.stats.ConsumerPositions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +20,29 @@ public class ServerConfig {
 
     @Bean(destroyMethod = "close")
     public LogStorage logStorage(LogPilotProperties properties) {
-        return LogStorageFactory.createLogStorage(properties);
+        LogStorage storage = LogStorageFactory.createLogStorage(properties);
+        if (properties.getReplication().getRole() == LogPilotProperties.ReplicationRole.FOLLOWER) {
+            // 팔로워는 클라이언트 쓰기를 거부하고 리더로부터 복제된 엔트리만 저장합니다.
+            // Followers reject client writes and only store entries replicated from the leader.
+            return new ReadOnlyLogStorage(storage);
+        }
+        return storage;
     }
-}
\ No newline at end of file
+
+    /**
+     * Times every call on the logStorage bean when logpilot.metrics.storage-enabled is set
+     */
+    @Bean
+    public static BeanPostProcessor logStorageInstrumentation(ObjectProvider<LogPilotProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LogStorageInstrumentation(properties, meterRegistry);
+    }
+
+    /**
+     * Reports consumer fetches, commits and seeks on the logStorage bean to ConsumerPositions
+     */
+    @Bean
+    public static BeanPostProcessor consumerOffsetTracking(ObjectProvider<ConsumerPositions> consumerPositions) {
+        return new ConsumerOffsetTracking(consumerPositions);
+    }
+}
@@ -0,0 +1,37 @@
+package com.logpilot.server.config;
+
+import com.logpilot.core.concurrent.VirtualThreads;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true on Java 21+).
+ * Spring Boot already moves Tomcat request handling onto virtual threads; this runs @GrpcService calls
+ * on them as well instead of gRPC's default cached platform thread pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'grpc' or '${logpilot.server.protocol:all}' == 'all'")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService grpcVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("logpilot-grpc-");
+    }
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer(ExecutorService grpcVirtualThreadExecutor) {
+        logger.info("gRPC calls will run on virtual threads");
+        return serverBuilder -> serverBuilder.executor(grpcVirtualThreadExecutor);
+    }
+}
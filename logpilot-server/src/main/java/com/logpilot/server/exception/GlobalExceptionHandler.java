@@ -1,6 +1,12 @@
 package com.logpilot.server.exception;
 
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.exception.ConsumerGroupException;
+import com.logpilot.core.exception.InvalidLogPayloadException;
+import com.logpilot.core.exception.InvalidQueryException;
 import com.logpilot.core.exception.LogPilotException;
+import com.logpilot.core.exception.NotChannelOwnerException;
+import com.logpilot.core.exception.ReadOnlyStorageException;
 import com.logpilot.server.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +34,50 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
     }
 
+    @ExceptionHandler(ReadOnlyStorageException.class)
+    public ResponseEntity<ErrorResponse> handleReadOnlyStorageException(ReadOnlyStorageException e) {
+        logger.warn("Rejected write on read-only follower: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(ChannelConfigurationException.class)
+    public ResponseEntity<ErrorResponse> handleChannelConfigurationException(ChannelConfigurationException e) {
+        logger.warn("Invalid channel request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidLogPayloadException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidLogPayloadException(InvalidLogPayloadException e) {
+        logger.warn("Invalid log payload: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQueryException(InvalidQueryException e) {
+        logger.warn("Invalid log query: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(ConsumerGroupException.class)
+    public ResponseEntity<ErrorResponse> handleConsumerGroupException(ConsumerGroupException e) {
+        logger.warn("Consumer group request rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(NotChannelOwnerException.class)
+    public ResponseEntity<ErrorResponse> handleNotChannelOwnerException(NotChannelOwnerException e) {
+        logger.debug("Request for a channel owned by another node: {}", e.getMessage());
+        // 421 Misdirected Request: 라우팅 테이블을 조회하여 소유 노드로 다시 요청해야 합니다.
+        // 421 Misdirected Request: fetch the routing table and retry on the owning node.
+        return ResponseEntity.status(421)
+                .body(new ErrorResponse(e.getErrorCode(), e.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException e) {
         String validationErrors = e.getBindingResult().getFieldErrors().stream()
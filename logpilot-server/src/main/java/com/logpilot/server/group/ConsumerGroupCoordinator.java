@@ -0,0 +1,315 @@
+package com.logpilot.server.group;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.ConsumerGroupException;
+import com.logpilot.core.model.ConsumerGroupAssignment;
+import com.logpilot.server.partition.PartitionRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Tracks consumer group members and spreads a channel's partitions across them.
+ * Members stay alive by heartbeating (fetches count too); a member that joins, leaves
+ * or misses its session timeout triggers a rebalance of the group.
+ * Every rebalance starts a new generation. Fetches that name a generation and every group commit are fenced by it:
+ * a member still acting on an older assignment is refused and must heartbeat or rejoin, so it cannot commit over
+ * the offsets of a partition that has moved to another member. Auto-commit fetches read first and commit afterwards
+ * under the same fence, and a fetch without a generation may only commit partitions the member still owns.
+ */
+@Component
+public class ConsumerGroupCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerGroupCoordinator.class);
+    private static final String OFFSET_CONSUMER_PREFIX = "group:";
+
+    /**
+     * Generation passed by callers that do not fence their fetch
+     */
+    public static final long ANY_GENERATION = 0;
+
+    private final PartitionRouter partitionRouter;
+    private final long sessionTimeoutMillis;
+    private final long heartbeatIntervalMillis;
+    private final Map<String, ConsumerGroup> groups = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConsumerGroupCoordinator(PartitionRouter partitionRouter, LogPilotProperties properties) {
+        this(partitionRouter, properties.getConsumerGroups().getSessionTimeoutMillis(),
+                properties.getConsumerGroups().getHeartbeatIntervalMillis());
+    }
+
+    public ConsumerGroupCoordinator(PartitionRouter partitionRouter, long sessionTimeoutMillis,
+            long heartbeatIntervalMillis) {
+        this.partitionRouter = partitionRouter;
+        this.sessionTimeoutMillis = sessionTimeoutMillis;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    /**
+     * Consumer ID under which a group's offsets are stored
+     */
+    public static String offsetConsumerId(String groupId) {
+        return OFFSET_CONSUMER_PREFIX + groupId;
+    }
+
+    public ConsumerGroupAssignment join(String groupId, String channel, String memberId) {
+        requireId("Group ID", groupId);
+        requireId("Channel", channel);
+        requireId("Member ID", memberId);
+
+        while (true) {
+            ConsumerGroup group = groups.computeIfAbsent(groupId, id -> new ConsumerGroup(id, channel));
+            synchronized (group) {
+                if (group.removed) {
+                    // 방금 비워져 제거된 그룹이면 새 그룹으로 다시 시도합니다.
+                    // The group was just emptied and removed; retry with a fresh one.
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                boolean changed = expireMembers(group, now);
+                if (!group.channel.equals(channel)) {
+                    if (group.members.isEmpty()) {
+                        // 살아있는 멤버가 없으면 다른 채널로 그룹을 다시 만들 수 있습니다.
+                        // With no live members left, the group may be recreated on another channel.
+                        rebalanceOrRemove(group);
+                        continue;
+                    }
+                    throw new ConsumerGroupException("Group " + groupId + " already consumes channel: "
+                            + group.channel);
+                }
+                changed |= group.members.put(memberId, now) == null;
+                if (changed || group.partitionCount != partitionRouter.partitionsOf(channel)) {
+                    rebalance(group);
+                }
+                return assignmentOf(group, memberId);
+            }
+        }
+    }
+
+    public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+        ConsumerGroup group = requireGroup(groupId, memberId);
+        synchronized (group) {
+            touch(group, memberId);
+            return assignmentOf(group, memberId);
+        }
+    }
+
+    public void leave(String groupId, String memberId) {
+        ConsumerGroup group = groups.get(groupId);
+        if (group == null) {
+            return;
+        }
+        synchronized (group) {
+            if (group.members.remove(memberId) != null) {
+                logger.info("Member {} left group {}", memberId, groupId);
+                expireMembers(group, System.currentTimeMillis());
+                rebalanceOrRemove(group);
+            }
+        }
+    }
+
+    /**
+     * Storage streams currently assigned to a member; also counts as a heartbeat
+     *
+     * @param generation the generation the member fetches for, or ANY_GENERATION to skip the check
+     * @throws ConsumerGroupException if the member left the group or the generation is stale
+     */
+    public List<String> streamsOf(String groupId, String memberId, long generation) {
+        ConsumerGroup group = requireGroup(groupId, memberId);
+        synchronized (group) {
+            touch(group, memberId);
+            if (generation != ANY_GENERATION) {
+                requireGeneration(group, memberId, generation);
+            }
+            return assignedStreams(group, memberId);
+        }
+    }
+
+    /**
+     * Commit the offsets a member's fetch read up to, per storage stream.
+     * The commits run while the group is locked and only if every stream is still assigned to the member, so a
+     * member that lost a partition while its fetch was reading cannot commit over the new owner.
+     *
+     * @param generation the generation the member fetched for, or ANY_GENERATION to only check ownership
+     * @param commit     receives each stream and the last log ID read from it
+     * @throws ConsumerGroupException if the member left the group, the generation is stale or a stream has moved
+     */
+    public void commitFetched(String groupId, String memberId, long generation, Map<String, Long> lastLogIds,
+            BiConsumer<String, Long> commit) {
+        if (lastLogIds.isEmpty()) {
+            return;
+        }
+        ConsumerGroup group = requireGroup(groupId, memberId);
+        synchronized (group) {
+            touch(group, memberId);
+            if (generation != ANY_GENERATION) {
+                requireGeneration(group, memberId, generation);
+            }
+            List<String> streams = assignedStreams(group, memberId);
+            for (String stream : lastLogIds.keySet()) {
+                if (!streams.contains(stream)) {
+                    // 읽는 동안 리밸런스로 넘어간 파티션은 커밋하지 않고 새 소유자가 다시 읽게 합니다.
+                    // A partition that moved during the read is not committed; its new owner reads it again.
+                    throw new ConsumerGroupException("Stream " + stream + " of group " + groupId
+                            + " is no longer assigned to member " + memberId + "; fetch again after a heartbeat");
+                }
+            }
+            lastLogIds.forEach(commit);
+        }
+    }
+
+    /**
+     * Commit a group offset on behalf of a member.
+     * The commit runs while the group is locked, so no rebalance can move the partition away in between.
+     *
+     * @param commit receives the partition's storage stream
+     * @throws ConsumerGroupException if the member left the group, the generation is stale or the partition is not
+     *                                assigned to the member
+     */
+    public void commit(String groupId, String memberId, long generation, int partition, Consumer<String> commit) {
+        ConsumerGroup group = requireGroup(groupId, memberId);
+        synchronized (group) {
+            touch(group, memberId);
+            requireGeneration(group, memberId, generation);
+            if (!group.assignments.getOrDefault(memberId, List.of()).contains(partition)) {
+                throw new ConsumerGroupException("Partition " + partition + " of channel " + group.channel
+                        + " is not assigned to member " + memberId + " in generation " + generation);
+            }
+            commit.accept(partitionRouter.streamsOf(group.channel).get(partition));
+        }
+    }
+
+    private ConsumerGroup requireGroup(String groupId, String memberId) {
+        ConsumerGroup group = groups.get(groupId);
+        if (group == null) {
+            throw notAMember(groupId, memberId);
+        }
+        return group;
+    }
+
+    private void touch(ConsumerGroup group, String memberId) {
+        long now = System.currentTimeMillis();
+        boolean changed = expireMembers(group, now);
+        if (!group.members.containsKey(memberId)) {
+            if (changed) {
+                rebalanceOrRemove(group);
+            }
+            throw notAMember(group.groupId, memberId);
+        }
+        group.members.put(memberId, now);
+        if (changed || group.partitionCount != partitionRouter.partitionsOf(group.channel)) {
+            rebalance(group);
+        }
+    }
+
+    private boolean expireMembers(ConsumerGroup group, long now) {
+        boolean expired = false;
+        Iterator<Map.Entry<String, Long>> iterator = group.members.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> member = iterator.next();
+            if (now - member.getValue() > sessionTimeoutMillis) {
+                logger.info("Member {} of group {} timed out", member.getKey(), group.groupId);
+                iterator.remove();
+                expired = true;
+            }
+        }
+        return expired;
+    }
+
+    private void rebalanceOrRemove(ConsumerGroup group) {
+        if (group.members.isEmpty()) {
+            group.removed = true;
+            groups.remove(group.groupId, group);
+        } else {
+            rebalance(group);
+        }
+    }
+
+    /**
+     * Round-robin assignment over members sorted by ID, so every server computes the same result
+     */
+    private void rebalance(ConsumerGroup group) {
+        int partitionCount = partitionRouter.partitionsOf(group.channel);
+        List<String> memberIds = new ArrayList<>(group.members.keySet());
+
+        Map<String, List<Integer>> assignments = new HashMap<>();
+        for (String memberId : memberIds) {
+            assignments.put(memberId, new ArrayList<>());
+        }
+        for (int partition = 0; partition < partitionCount; partition++) {
+            assignments.get(memberIds.get(partition % memberIds.size())).add(partition);
+        }
+
+        group.assignments = assignments;
+        group.partitionCount = partitionCount;
+        group.generation++;
+        logger.info("Rebalanced group {} on channel {} (generation {}): {}", group.groupId, group.channel,
+                group.generation, assignments);
+    }
+
+    private List<String> assignedStreams(ConsumerGroup group, String memberId) {
+        List<String> channelStreams = partitionRouter.streamsOf(group.channel);
+        List<String> streams = new ArrayList<>();
+        for (Integer partition : group.assignments.getOrDefault(memberId, List.of())) {
+            if (partition < channelStreams.size()) {
+                streams.add(channelStreams.get(partition));
+            }
+        }
+        return streams;
+    }
+
+    private ConsumerGroupAssignment assignmentOf(ConsumerGroup group, String memberId) {
+        return new ConsumerGroupAssignment(group.groupId, group.channel, memberId, group.generation,
+                new ArrayList<>(group.assignments.getOrDefault(memberId, List.of())), heartbeatIntervalMillis);
+    }
+
+    private void requireGeneration(ConsumerGroup group, String memberId, long generation) {
+        if (generation != group.generation) {
+            // 이전 할당으로 동작하는 멤버가 다른 멤버에게 넘어간 파티션의 오프셋을 덮어쓰지 않도록 거절합니다.
+            // Refused so a member acting on an old assignment cannot overwrite offsets of a partition that moved.
+            throw new ConsumerGroupException("Generation " + generation + " of group " + group.groupId
+                    + " is stale (current generation " + group.generation + "); member " + memberId
+                    + " must heartbeat for its new assignment");
+        }
+    }
+
+    private ConsumerGroupException notAMember(String groupId, String memberId) {
+        return new ConsumerGroupException("Member " + memberId + " is not part of group " + groupId
+                + "; join the group again");
+    }
+
+    private void requireId(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new ConsumerGroupException(name + " is required");
+        }
+    }
+
+    private static class ConsumerGroup {
+        private final String groupId;
+        private final String channel;
+        // 멤버 ID별 마지막 하트비트 시각 (정렬하여 할당 결과를 결정적으로 만듭니다)
+        // Last heartbeat per member ID (sorted so assignments are deterministic)
+        private final Map<String, Long> members = new TreeMap<>();
+        private Map<String, List<Integer>> assignments = new HashMap<>();
+        private int partitionCount;
+        private long generation;
+        private boolean removed;
+
+        private ConsumerGroup(String groupId, String channel) {
+            this.groupId = groupId;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.grpc.proto.LogPilotProto;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends the pages of a FetchLogsStream call. The fetching thread blocks while the call is not ready, so a slow
+ * client holds back storage reads instead of piling pages up in gRPC's send buffer. A cancelled call surfaces as
+ * a CancellationException and a client that stays unready too long as DEADLINE_EXCEEDED, both of which stop
+ * the fetch before the unsent page is committed.
+ */
+final class FetchStreamSender {
+
+    private final ServerCallStreamObserver<LogPilotProto.FetchLogsResponse> responseObserver;
+    private final long readyTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition readyOrCancelled = lock.newCondition();
+
+    FetchStreamSender(ServerCallStreamObserver<LogPilotProto.FetchLogsResponse> responseObserver,
+            long readyTimeoutMillis) {
+        this.responseObserver = responseObserver;
+        this.readyTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readyTimeoutMillis);
+        // 준비/취소 콜백은 호출 처리 중에만 등록할 수 있으므로 생성자에서 등록합니다.
+        // Ready and cancel callbacks may only be registered while the call is being handled, so do it here.
+        responseObserver.setOnReadyHandler(this::signal);
+        responseObserver.setOnCancelHandler(this::signal);
+    }
+
+    void send(LogPilotProto.FetchLogsResponse page) {
+        awaitReady();
+        responseObserver.onNext(page);
+    }
+
+    boolean isCancelled() {
+        return responseObserver.isCancelled();
+    }
+
+    private void awaitReady() {
+        long deadline = System.nanoTime() + readyTimeoutNanos;
+        lock.lock();
+        try {
+            while (true) {
+                if (responseObserver.isCancelled()) {
+                    throw new CancellationException("Client cancelled the fetch stream");
+                }
+                if (responseObserver.isReady()) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw Status.DEADLINE_EXCEEDED
+                            .withDescription("Client stopped reading the fetch stream")
+                            .asRuntimeException();
+                }
+                readyOrCancelled.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the fetch stream");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            readyOrCancelled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
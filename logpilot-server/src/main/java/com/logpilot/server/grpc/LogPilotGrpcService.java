@@ -1,13 +1,27 @@
 package com.logpilot.server.grpc;
 
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.model.ConsumerGroupAssignment;
+import com.logpilot.core.exception.InvalidQueryException;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 import com.logpilot.core.service.LogService;
 import com.logpilot.grpc.proto.LogPilotProto;
 import com.logpilot.grpc.proto.LogServiceGrpc;
+import com.logpilot.server.cluster.ClusterAuthentication;
+import com.logpilot.server.ingest.IngestAdmission;
+import com.logpilot.server.metrics.IngestMetrics;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,11 +29,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 @GrpcService
@@ -27,38 +45,48 @@ import java.util.stream.Collectors;
 public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
 
     private static final Logger logger = LoggerFactory.getLogger(LogPilotGrpcService.class);
+    private static final int DEFAULT_FETCH_STREAM_LIMIT = 100;
+    private static final int DEFAULT_QUERY_LIMIT = 100;
+    private static final long FETCH_STREAM_READY_TIMEOUT_MILLIS = 30_000;
     private final LogService logService;
-    private final MeterRegistry meterRegistry;
-    private final Map<String, Counter> levelCounters = new ConcurrentHashMap<>();
-    private final Map<String, Counter> channelCounters = new ConcurrentHashMap<>();
+    private final IngestMetrics ingestMetrics;
+    private final IngestAdmission ingestAdmission;
+    private final LogPilotProperties.Grpc grpcConfig;
+    private final int fetchPageSize;
+    private final ScheduledExecutorService streamFlusher;
+    private final ChannelNotifier channelNotifier;
+    private final ExecutorService subscriptionExecutor;
+
+    public LogPilotGrpcService(LogService logService, MeterRegistry meterRegistry) {
+        this(logService, new IngestMetrics(meterRegistry, new LogPilotProperties()), IngestAdmission.unlimited(),
+                new LogPilotProperties(), new ChannelNotifier());
+    }
 
     @Autowired
-    public LogPilotGrpcService(@Qualifier("grpcLogHandler") LogService logService, MeterRegistry meterRegistry) {
+    public LogPilotGrpcService(@Qualifier("grpcLogHandler") LogService logService, IngestMetrics ingestMetrics,
+            IngestAdmission ingestAdmission, LogPilotProperties properties, ChannelNotifier channelNotifier) {
         this.logService = logService;
-        this.meterRegistry = meterRegistry;
-    }
-
-    private void recordLogMetrics(LogEntry logEntry) {
-        if (logEntry == null)
-            return;
-
-        String level = logEntry.getLevel() != null ? logEntry.getLevel().toString() : "UNKNOWN";
-        levelCounters.computeIfAbsent(level,
-                l -> Counter.builder("logpilot_logs_received_total")
-                        .tag("level", l)
-                        .description("Number of logs received by level")
-                        .register(meterRegistry))
-                // 카운터를 증가시킵니다.
-                // Increment the counter.
-                .increment();
-
-        String channel = logEntry.getChannel() != null ? logEntry.getChannel() : "unknown";
-        channelCounters.computeIfAbsent(channel,
-                c -> Counter.builder("logpilot_logs_received_total")
-                        .tag("channel", c)
-                        .description("Number of logs received by channel")
-                        .register(meterRegistry))
-                .increment();
+        this.ingestMetrics = ingestMetrics;
+        this.ingestAdmission = ingestAdmission;
+        this.grpcConfig = properties.getGrpc();
+        this.fetchPageSize = Math.max(1, properties.getServer().getFetchPageSize());
+        this.channelNotifier = channelNotifier;
+        // 타이머는 조용해진 스트림만 저장하므로 작은 고정 풀로 충분하고, 느린 저장 하나가 전체를 막지 않습니다.
+        // The timer only stores streams that went quiet, so a small fixed pool keeps one slow store from stalling all.
+        int streamFlushThreads = Math.max(1, grpcConfig.getStreamFlushThreads());
+        this.streamFlusher = Executors.newScheduledThreadPool(streamFlushThreads, r -> {
+            Thread thread = new Thread(r, "logpilot-stream-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 구독 드레인은 짧고 구독마다 하나로 합쳐지므로, 구독 수와 무관하게 고정된 스레드로 처리합니다.
+        // Subscription drains are short and collapse to one per subscription, so a fixed pool serves any number.
+        int subscriptionThreads = Math.max(1, grpcConfig.getSubscriptionThreads());
+        this.subscriptionExecutor = Executors.newFixedThreadPool(subscriptionThreads, r -> {
+            Thread thread = new Thread(r, "logpilot-subscribe");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -67,8 +95,12 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
             LogEntry logEntry = convertLogRequestToLogEntry(request);
             // 메트릭을 기록하고 로그를 저장합니다.
             // Record metrics and store the log.
-            recordLogMetrics(logEntry);
-            logService.storeLog(logEntry);
+            ingestMetrics.record(logEntry);
+            // 과부하로 DEBUG 로그를 버리는 중이면 저장하지 않습니다.
+            // Skip storing when DEBUG logs are being shed under load.
+            if (!ingestAdmission.shouldShed(logEntry)) {
+                logService.storeLog(logEntry);
+            }
 
             LogPilotProto.LogResponse response = LogPilotProto.LogResponse.newBuilder()
                     .setStatus("success")
@@ -95,15 +127,30 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
     @Override
     public void sendLogs(LogPilotProto.SendLogsRequest request,
             StreamObserver<LogPilotProto.SendLogsResponse> responseObserver) {
+        if (request.getForwarded() && !ClusterAuthentication.isPeerCall()) {
+            // 전달 배치는 수집 검사를 건너뛰므로 클러스터 키로 인증된 노드에게만 허용합니다.
+            // Forwarded batches skip ingest checks, so only nodes authenticated by the cluster key may send them.
+            logger.warn("Refused a forwarded batch from a caller without a valid cluster key");
+            responseObserver.onError(Status.PERMISSION_DENIED
+                    .withDescription("Forwarded batches are only accepted from cluster nodes")
+                    .asRuntimeException());
+            return;
+        }
         try {
             List<LogEntry> logEntries = request.getLogRequestsList().stream()
                     .map(this::convertLogRequestToLogEntry)
                     .toList();
 
-            // 배치 단위로 메트릭을 기록하고 저장합니다.
-            // Record metrics and store logs in batch.
-            logEntries.forEach(this::recordLogMetrics);
-            logService.storeLogs(logEntries);
+            if (request.getForwarded()) {
+                // 다른 노드가 이미 메트릭을 기록했으므로 그대로 로컬에 저장합니다.
+                // The forwarding node already recorded metrics; store locally as-is.
+                logService.storeForwardedLogs(logEntries);
+            } else {
+                // 배치 단위로 메트릭을 기록하고 저장합니다.
+                // Record metrics and store logs in batch.
+                ingestMetrics.record(logEntries);
+                logService.storeLogs(ingestAdmission.shed(logEntries));
+            }
 
             LogPilotProto.SendLogsResponse response = LogPilotProto.SendLogsResponse.newBuilder()
                     .setStatus("success")
@@ -127,6 +174,50 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
         }
     }
 
+    @Override
+    public StreamObserver<LogPilotProto.StreamLogsRequest> streamLogs(
+            StreamObserver<LogPilotProto.StreamLogsAck> responseObserver) {
+        // 엔트리는 마이크로 배치로 저장되고, 저장된 마지막 시퀀스가 주기적으로 확인됩니다.
+        // Entries are stored in micro-batches and the last stored sequence is acknowledged periodically.
+        return new LogStreamIngestor(logService,
+                (ServerCallStreamObserver<LogPilotProto.StreamLogsAck>) responseObserver,
+                this::convertLogRequestToLogEntry, ingestMetrics::record, ingestAdmission::shouldShed,
+                grpcConfig.getStreamBatchSize(), grpcConfig.getStreamWindow(), streamFlusher,
+                grpcConfig.getStreamFlushIntervalMillis());
+    }
+
+    @Override
+    public void subscribe(LogPilotProto.SubscribeRequest request,
+            StreamObserver<LogPilotProto.SubscribeResponse> responseObserver) {
+        try {
+            if (request.getChannel().isEmpty() || request.getConsumerId().isEmpty()) {
+                throw new IllegalArgumentException("Subscribe requires a channel and a consumerId");
+            }
+
+            switch (request.getStartPosition()) {
+                case "", "COMMITTED" -> {
+                    // 커밋된 오프셋부터 이어서 받습니다.
+                    // Resume from the committed offset.
+                }
+                case "EARLIEST" -> logService.seekToBeginning(request.getChannel(), request.getConsumerId());
+                case "LATEST" -> logService.seekToEnd(request.getChannel(), request.getConsumerId());
+                default -> throw new IllegalArgumentException("Unknown start position: " + request.getStartPosition());
+            }
+
+            int maxBatchSize = request.getMaxBatchSize() > 0 ? request.getMaxBatchSize() : 100;
+            new LogSubscription(logService,
+                    (ServerCallStreamObserver<LogPilotProto.SubscribeResponse>) responseObserver,
+                    subscriptionExecutor, this::convertToProtoLogEntry, request.getChannel(),
+                    request.getConsumerId(), maxBatchSize).start(channelNotifier);
+
+            logger.info("Consumer {} subscribed to channel: {} (startPosition={})", request.getConsumerId(),
+                    request.getChannel(), request.getStartPosition());
+        } catch (Exception e) {
+            logger.error("Failed to start subscription via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
     @Override
     public void fetchLogs(LogPilotProto.FetchLogsRequest request,
             StreamObserver<LogPilotProto.FetchLogsResponse> responseObserver) {
@@ -134,21 +225,48 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
             List<LogEntry> logEntries;
 
             if (!request.getChannel().isEmpty()) {
+                // 파티션이 지정되면 해당 파티션 스트림만 조회합니다.
+                // When a partition is given, only that partition's stream is read.
+                String channel = ChannelPartitions.streamName(request.getChannel(),
+                        request.hasPartition() ? request.getPartition() : null);
+
+                // 레거시 클라이언트는 컨슈머 ID를 since 필드로 보냅니다.
+                // Legacy clients send the consumer ID in the since field.
+                String waitingConsumer = !request.getSince().isEmpty() ? request.getSince() : request.getConsumerId();
+
+                if (!waitingConsumer.isEmpty() && request.getWaitMs() > 0) {
+                    // 롱 폴링: 새 엔트리가 도착하거나 대기 시간이 끝나면 비동기로 응답합니다.
+                    // Long poll: respond asynchronously once new entries arrive or the wait expires.
+                    logService.awaitLogsForConsumer(channel, waitingConsumer, request.getLimit(), true,
+                            request.getWaitMs(), request.getMinRecords())
+                            .whenComplete((logs, error) -> {
+                                if (error != null) {
+                                    logger.error("Failed to long-poll log entries via gRPC", error);
+                                    responseObserver.onError(error);
+                                    return;
+                                }
+                                responseObserver.onNext(toFetchLogsResponse(logs));
+                                responseObserver.onCompleted();
+                                logger.debug("Retrieved {} log entries via gRPC (long poll)", logs.size());
+                            });
+                    return;
+                }
+
                 if (request.getSince() != null && !request.getSince().isEmpty()) {
                     // 클라이언트 사이드 오프셋 전략 (timestamp를 consumerId 대신 사용하던 레거시 동작 지원)
                     // Client-side offset strategy (supporting legacy behavior utilizing timestamp
                     // as consumerId fallback)
-                    logEntries = logService.getLogsForConsumer(request.getChannel(), request.getSince(),
+                    logEntries = logService.getLogsForConsumer(channel, request.getSince(),
                             request.getLimit(), true);
                 } else if (request.getConsumerId() != null && !request.getConsumerId().isEmpty()) {
                     // 서버 사이드 오프셋 전략
                     // Server-side offset strategy
-                    logEntries = logService.getLogsForConsumer(request.getChannel(), request.getConsumerId(),
+                    logEntries = logService.getLogsForConsumer(channel, request.getConsumerId(),
                             request.getLimit(), true);
                 } else {
                     // 채널만 지정된 경우 최신 로그를 조회합니다. (REST와 동일)
                     // If only channel is specified, retrieve latest logs. (Same as REST)
-                    logEntries = logService.getLogsByChannel(request.getChannel(), request.getLimit());
+                    logEntries = logService.getLogsByChannel(channel, request.getLimit());
                 }
             } else {
                 // 채널이 지정되지 않은 경우 전체 로그 조회는 더 이상 지원되지 않습니다.
@@ -156,15 +274,7 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
                 throw new UnsupportedOperationException("Fetching all logs without channel is not supported");
             }
 
-            List<LogPilotProto.LogEntry> protoLogEntries = logEntries.stream()
-                    .map(this::convertToProtoLogEntry)
-                    .collect(Collectors.toList());
-
-            LogPilotProto.FetchLogsResponse response = LogPilotProto.FetchLogsResponse.newBuilder()
-                    .addAllLogs(protoLogEntries)
-                    .build();
-
-            responseObserver.onNext(response);
+            responseObserver.onNext(toFetchLogsResponse(logEntries));
             responseObserver.onCompleted();
 
             logger.debug("Retrieved {} log entries via gRPC (fetchLogs)", logEntries.size());
@@ -174,15 +284,85 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
         }
     }
 
+    @Override
+    public void fetchLogsStream(LogPilotProto.FetchLogsRequest request,
+            StreamObserver<LogPilotProto.FetchLogsResponse> responseObserver) {
+        FetchStreamSender sender = new FetchStreamSender(
+                (ServerCallStreamObserver<LogPilotProto.FetchLogsResponse>) responseObserver,
+                FETCH_STREAM_READY_TIMEOUT_MILLIS);
+        try {
+            // 레거시 클라이언트는 컨슈머 ID를 since 필드로 보냅니다.
+            // Legacy clients send the consumer ID in the since field.
+            String consumerId = !request.getSince().isEmpty() ? request.getSince() : request.getConsumerId();
+            if (request.getChannel().isEmpty() || consumerId.isEmpty()) {
+                throw new IllegalArgumentException("FetchLogsStream requires a channel and a consumerId");
+            }
+            String channel = ChannelPartitions.streamName(request.getChannel(),
+                    request.hasPartition() ? request.getPartition() : null);
+            int limit = request.getLimit() > 0 ? request.getLimit() : DEFAULT_FETCH_STREAM_LIMIT;
+
+            // 저장소에서 읽은 페이지를 그대로 메시지 하나로 보냅니다.
+            // Each page read from storage goes out as one message.
+            int delivered = logService.streamLogsForConsumer(channel, consumerId, limit, true,
+                    fetchPageSize, page -> sender.send(toFetchLogsResponse(page)));
+            responseObserver.onCompleted();
+
+            logger.debug("Streamed {} log entries via gRPC (fetchLogsStream)", delivered);
+        } catch (CancellationException e) {
+            logger.debug("Fetch stream for consumer {} ended early: {}", request.getConsumerId(), e.getMessage());
+        } catch (Exception e) {
+            if (sender.isCancelled()) {
+                return;
+            }
+            logger.error("Failed to stream log entries via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void queryLogs(LogPilotProto.QueryLogsRequest request,
+            StreamObserver<LogPilotProto.QueryLogsResponse> responseObserver) {
+        try {
+            if (request.getChannel().isEmpty()) {
+                throw new InvalidQueryException("QueryLogs requires a channel");
+            }
+            LogPilotProto.QueryLogsResponse.Builder response = LogPilotProto.QueryLogsResponse.newBuilder();
+            LogQueryResult result = logService.queryLogs(
+                    ChannelPartitions.streamName(request.getChannel(),
+                            request.hasPartition() ? request.getPartition() : null),
+                    toLogQuery(request),
+                    request.getLimit() > 0 ? request.getLimit() : DEFAULT_QUERY_LIMIT,
+                    request.getCursor().isEmpty() ? null : request.getCursor());
+            for (LogEntry logEntry : result.getLogs()) {
+                response.addLogs(convertToProtoLogEntry(logEntry));
+            }
+            if (result.getNextCursor() != null) {
+                response.setNextCursor(result.getNextCursor());
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+            logger.debug("Queried {} log entries via gRPC", result.getLogs().size());
+        } catch (InvalidQueryException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            logger.error("Failed to query log entries via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
     @Override
     public void seek(LogPilotProto.SeekRequest request,
             StreamObserver<LogPilotProto.SeekResponse> responseObserver) {
         try {
+            String channel = ChannelPartitions.streamName(request.getChannel(),
+                    request.hasPartition() ? request.getPartition() : null);
             switch (request.getOperation()) {
-                case "EARLIEST" -> logService.seekToBeginning(request.getChannel(), request.getConsumerId());
-                case "LATEST" -> logService.seekToEnd(request.getChannel(), request.getConsumerId());
+                case "EARLIEST" -> logService.seekToBeginning(channel, request.getConsumerId());
+                case "LATEST" -> logService.seekToEnd(channel, request.getConsumerId());
                 case "SPECIFIC" ->
-                    logService.seekToId(request.getChannel(), request.getConsumerId(), request.getLogId());
+                    logService.seekToId(channel, request.getConsumerId(), request.getLogId());
                 default -> throw new IllegalArgumentException("Unknown seek operation: " + request.getOperation());
             }
 
@@ -207,33 +387,285 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
         }
     }
 
-    private LogEntry convertLogRequestToLogEntry(LogPilotProto.LogRequest logRequest) {
-        LogEntry logEntry = new LogEntry();
-        logEntry.setChannel(logRequest.getChannel());
-        logEntry.setLevel(convertStringToLogLevel(logRequest.getLevel()));
-        logEntry.setMessage(logRequest.getMessage());
-
-        if (!logRequest.getMetaMap().isEmpty()) {
-            Map<String, Object> meta = new HashMap<>(logRequest.getMetaMap());
-            logEntry.setMeta(meta);
+    @Override
+    public void listChannels(LogPilotProto.ListChannelsRequest request,
+            StreamObserver<LogPilotProto.ListChannelsResponse> responseObserver) {
+        try {
+            LogPilotProto.ListChannelsResponse response = LogPilotProto.ListChannelsResponse.newBuilder()
+                    .addAllChannels(logService.getChannels())
+                    .build();
+
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.error("Failed to list channels via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void createChannel(LogPilotProto.CreateChannelRequest request,
+            StreamObserver<LogPilotProto.CreateChannelResponse> responseObserver) {
+        try {
+            logService.createChannel(request.getChannel(), request.getPartitions());
+
+            LogPilotProto.CreateChannelResponse response = LogPilotProto.CreateChannelResponse.newBuilder()
+                    .setStatus("success")
+                    .setMessage("Channel created with " + request.getPartitions() + " partitions")
+                    .build();
+
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.error("Failed to create channel via gRPC", e);
+            LogPilotProto.CreateChannelResponse response = LogPilotProto.CreateChannelResponse.newBuilder()
+                    .setStatus("error")
+                    .setMessage("Failed to create channel: " + e.getMessage())
+                    .build();
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void replicate(LogPilotProto.ReplicateRequest request,
+            StreamObserver<LogPilotProto.ReplicateResponse> responseObserver) {
+        try {
+            List<LogEntry> logEntries = logService.getLogsAfter(request.getChannel(), request.getAfterId(),
+                    request.getLimit());
+            // 엔트리를 읽은 뒤 헤드 ID를 조회하여 헤드가 항상 반환된 마지막 ID 이상이 되도록 합니다.
+            // Read the head ID after the entries so it is never behind the last returned ID.
+            long headId = logService.getLastLogId(request.getChannel());
+
+            LogPilotProto.ReplicateResponse.Builder builder = LogPilotProto.ReplicateResponse.newBuilder()
+                    .setHeadId(headId);
+            for (LogEntry logEntry : logEntries) {
+                builder.addLogs(convertToProtoLogEntry(logEntry));
+            }
+
+            responseObserver.onNext(builder.build());
+            responseObserver.onCompleted();
+
+            logger.debug("Replicated {} log entries for channel: {} after ID {}", logEntries.size(),
+                    request.getChannel(), request.getAfterId());
+        } catch (Exception e) {
+            logger.error("Failed to serve replication request via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void joinGroup(LogPilotProto.JoinGroupRequest request,
+            StreamObserver<LogPilotProto.GroupAssignmentResponse> responseObserver) {
+        try {
+            ConsumerGroupAssignment assignment = logService.joinGroup(request.getGroupId(), request.getChannel(),
+                    request.getMemberId());
+            responseObserver.onNext(convertToGroupAssignmentResponse(assignment));
+            responseObserver.onCompleted();
+
+            logger.info("Member {} joined group {} with partitions {}", request.getMemberId(), request.getGroupId(),
+                    assignment.getPartitions());
+        } catch (Exception e) {
+            logger.warn("Failed to join consumer group via gRPC: {}", e.getMessage());
+            responseObserver.onNext(groupErrorResponse("Failed to join group: " + e.getMessage()));
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void heartbeat(LogPilotProto.HeartbeatRequest request,
+            StreamObserver<LogPilotProto.GroupAssignmentResponse> responseObserver) {
+        try {
+            ConsumerGroupAssignment assignment = logService.heartbeat(request.getGroupId(), request.getMemberId());
+            responseObserver.onNext(convertToGroupAssignmentResponse(assignment));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.debug("Consumer group heartbeat rejected: {}", e.getMessage());
+            responseObserver.onNext(groupErrorResponse("Heartbeat failed: " + e.getMessage()));
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void leaveGroup(LogPilotProto.LeaveGroupRequest request,
+            StreamObserver<LogPilotProto.LeaveGroupResponse> responseObserver) {
+        try {
+            logService.leaveGroup(request.getGroupId(), request.getMemberId());
+
+            LogPilotProto.LeaveGroupResponse response = LogPilotProto.LeaveGroupResponse.newBuilder()
+                    .setStatus("success")
+                    .setMessage("Left group " + request.getGroupId())
+                    .build();
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.error("Failed to leave consumer group via gRPC", e);
+            LogPilotProto.LeaveGroupResponse response = LogPilotProto.LeaveGroupResponse.newBuilder()
+                    .setStatus("error")
+                    .setMessage("Failed to leave group: " + e.getMessage())
+                    .build();
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void fetchGroupLogs(LogPilotProto.FetchGroupLogsRequest request,
+            StreamObserver<LogPilotProto.FetchLogsResponse> responseObserver) {
+        try {
+            boolean autoCommit = !request.hasAutoCommit() || request.getAutoCommit();
+            List<LogEntry> logEntries = logService.getLogsForGroupMember(request.getGroupId(), request.getMemberId(),
+                    request.getGeneration(), request.getLimit(), autoCommit);
+
+            LogPilotProto.FetchLogsResponse response = LogPilotProto.FetchLogsResponse.newBuilder()
+                    .addAllLogs(logEntries.stream()
+                            .map(this::convertToProtoLogEntry)
+                            .collect(Collectors.toList()))
+                    .build();
+
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+
+            logger.debug("Retrieved {} log entries via gRPC for group: {} member: {}", logEntries.size(),
+                    request.getGroupId(), request.getMemberId());
+        } catch (Exception e) {
+            logger.error("Failed to fetch group log entries via gRPC", e);
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void commitGroupOffset(LogPilotProto.CommitGroupOffsetRequest request,
+            StreamObserver<LogPilotProto.CommitGroupOffsetResponse> responseObserver) {
+        LogPilotProto.CommitGroupOffsetResponse response;
+        try {
+            logService.commitGroupOffset(request.getGroupId(), request.getMemberId(), request.getGeneration(),
+                    request.getPartition(), request.getLastLogId());
+            response = LogPilotProto.CommitGroupOffsetResponse.newBuilder()
+                    .setStatus("success")
+                    .setMessage("Committed offset " + request.getLastLogId() + " of partition "
+                            + request.getPartition())
+                    .build();
+        } catch (Exception e) {
+            logger.debug("Consumer group commit rejected: {}", e.getMessage());
+            response = LogPilotProto.CommitGroupOffsetResponse.newBuilder()
+                    .setStatus("error")
+                    .setMessage("Commit failed: " + e.getMessage())
+                    .build();
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getRoutingTable(LogPilotProto.RoutingTableRequest request,
+            StreamObserver<LogPilotProto.RoutingTableResponse> responseObserver) {
+        try {
+            RoutingTable routingTable = logService.getRoutingTable();
+
+            LogPilotProto.RoutingTableResponse.Builder builder = LogPilotProto.RoutingTableResponse.newBuilder()
+                    .setNodeId(routingTable.getNodeId())
+                    .setVirtualNodes(routingTable.getVirtualNodes());
+            for (ClusterNode node : routingTable.getNodes()) {
+                builder.addNodes(LogPilotProto.ClusterNode.newBuilder()
+                        .setNodeId(node.getNodeId())
+                        .setGrpcAddress(node.getGrpcAddress() != null ? node.getGrpcAddress() : "")
+                        .setRestAddress(node.getRestAddress() != null ? node.getRestAddress() : ""));
+            }
+
+            responseObserver.onNext(builder.build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            logger.error("Failed to get routing table via gRPC", e);
+            responseObserver.onError(e);
         }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamFlusher.shutdownNow();
+        subscriptionExecutor.shutdownNow();
+    }
 
-        logEntry.setTimestamp(LocalDateTime.now());
+    private LogPilotProto.FetchLogsResponse toFetchLogsResponse(List<LogEntry> logEntries) {
+        return LogPilotProto.FetchLogsResponse.newBuilder()
+                .addAllLogs(logEntries.stream()
+                        .map(this::convertToProtoLogEntry)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private LogPilotProto.GroupAssignmentResponse convertToGroupAssignmentResponse(
+            ConsumerGroupAssignment assignment) {
+        return LogPilotProto.GroupAssignmentResponse.newBuilder()
+                .setStatus("success")
+                .setGroupId(assignment.getGroupId())
+                .setChannel(assignment.getChannel())
+                .setMemberId(assignment.getMemberId())
+                .setGeneration(assignment.getGeneration())
+                .addAllPartitions(assignment.getPartitions())
+                .setHeartbeatIntervalMillis(assignment.getHeartbeatIntervalMillis())
+                .build();
+    }
+
+    private LogPilotProto.GroupAssignmentResponse groupErrorResponse(String message) {
+        return LogPilotProto.GroupAssignmentResponse.newBuilder()
+                .setStatus("error")
+                .setMessage(message)
+                .build();
+    }
+
+    private static LogQuery toLogQuery(LogPilotProto.QueryLogsRequest request) {
+        LogQuery.Builder query = LogQuery.builder()
+                .messageContains(request.getMessageContains())
+                .fields(request.getFieldsList());
+        for (String level : request.getLevelsList()) {
+            try {
+                query.level(LogLevel.valueOf(level.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidQueryException("Unknown log level: " + level);
+            }
+        }
+        if (request.getFromTimestamp() > 0) {
+            query.from(LocalDateTime.ofInstant(Instant.ofEpochMilli(request.getFromTimestamp()), ZoneOffset.UTC));
+        }
+        if (request.getToTimestamp() > 0) {
+            query.to(LocalDateTime.ofInstant(Instant.ofEpochMilli(request.getToTimestamp()), ZoneOffset.UTC));
+        }
+        request.getMetaMap().forEach(query::meta);
+        return query.build();
+    }
 
-        return logEntry;
+    private LogEntry convertLogRequestToLogEntry(LogPilotProto.LogRequest logRequest) {
+        return LogRequestConverter.toLogEntry(logRequest);
     }
 
     private LogPilotProto.LogEntry convertToProtoLogEntry(LogEntry logEntry) {
-        LogPilotProto.LogEntry.Builder builder = LogPilotProto.LogEntry.newBuilder()
-                .setChannel(logEntry.getChannel())
-                .setLevel(logEntry.getLevel().toString())
-                .setMessage(logEntry.getMessage())
-                .setTimestamp(logEntry.getTimestamp().atZone(java.time.ZoneOffset.UTC).toInstant().toEpochMilli());
+        LogPilotProto.LogEntry.Builder builder = LogPilotProto.LogEntry.newBuilder();
+
+        // 쿼리 프로젝션으로 빠진 필드는 비워 둡니다.
+        // Fields left out by a query projection stay unset.
+        if (logEntry.getChannel() != null) {
+            builder.setChannel(logEntry.getChannel());
+        }
+        if (logEntry.getLevel() != null) {
+            builder.setLevel(logEntry.getLevel().toString());
+        }
+        if (logEntry.getMessage() != null) {
+            builder.setMessage(logEntry.getMessage());
+        }
+        if (logEntry.getTimestamp() != null) {
+            builder.setTimestamp(logEntry.getTimestamp().atZone(ZoneOffset.UTC).toInstant().toEpochMilli());
+        }
 
         if (logEntry.getId() != null) {
             builder.setId(logEntry.getId());
         }
 
+        if (logEntry.getPartition() != null) {
+            builder.setPartition(logEntry.getPartition());
+        }
+
         if (logEntry.getMeta() != null) {
             Map<String, String> stringMeta = logEntry.getMeta().entrySet().stream()
                     .collect(Collectors.toMap(
@@ -244,17 +676,4 @@ public class LogPilotGrpcService extends LogServiceGrpc.LogServiceImplBase {
 
         return builder.build();
     }
-
-    private LogLevel convertStringToLogLevel(String levelString) {
-        if (levelString == null) {
-            logger.warn("Null log level provided, defaulting to INFO");
-            return LogLevel.INFO;
-        }
-        try {
-            return LogLevel.valueOf(levelString.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            logger.warn("Unknown log level: {}, defaulting to INFO", levelString);
-            return LogLevel.INFO;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.grpc.proto.LogPilotProto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conversion of protobuf LogRequest messages into LogEntry, shared by gRPC and the REST protobuf endpoint
+ */
+public final class LogRequestConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogRequestConverter.class);
+
+    private LogRequestConverter() {
+    }
+
+    public static LogEntry toLogEntry(LogPilotProto.LogRequest logRequest) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setChannel(logRequest.getChannel());
+        logEntry.setLevel(toLogLevel(logRequest.getLevel()));
+        logEntry.setMessage(logRequest.getMessage());
+
+        if (!logRequest.getMetaMap().isEmpty()) {
+            Map<String, Object> meta = new HashMap<>(logRequest.getMetaMap());
+            logEntry.setMeta(meta);
+        }
+
+        if (logRequest.hasPartition()) {
+            logEntry.setPartition(logRequest.getPartition());
+        }
+        if (!logRequest.getPartitionKey().isEmpty()) {
+            logEntry.setPartitionKey(logRequest.getPartitionKey());
+        }
+        if (!logRequest.getProducerId().isEmpty() && logRequest.hasSequence()) {
+            logEntry.setProducerId(logRequest.getProducerId());
+            logEntry.setSequence(logRequest.getSequence());
+        }
+
+        if (logRequest.getTimestamp() > 0) {
+            // 다른 노드가 전달한 엔트리는 원래 수신 시각을 유지합니다.
+            // Entries forwarded by another node keep their original receive time.
+            logEntry.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(logRequest.getTimestamp()),
+                    ZoneOffset.UTC));
+        } else {
+            logEntry.setTimestamp(LocalDateTime.now());
+        }
+
+        return logEntry;
+    }
+
+    public static LogLevel toLogLevel(String levelString) {
+        if (levelString == null) {
+            logger.warn("Null log level provided, defaulting to INFO");
+            return LogLevel.INFO;
+        }
+        try {
+            return LogLevel.valueOf(levelString.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown log level: {}, defaulting to INFO", levelString);
+            return LogLevel.INFO;
+        }
+    }
+}
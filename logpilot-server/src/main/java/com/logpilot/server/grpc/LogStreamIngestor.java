@@ -0,0 +1,222 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Server side of one StreamLogs call.
+ * Client messages are requested a window at a time, buffered into micro-batches and stored through
+ * the LogService. After each stored batch the client is acknowledged with the last durable sequence.
+ * Batches are stored on the call path of the message that fills them or outlives the flush interval; the
+ * shared flush timer only covers streams that went quiet, and skips a stream whose store is still running.
+ * State is guarded by a ReentrantLock rather than a monitor, because storage is written while holding it
+ * and a monitor would pin the carrier of a virtual thread for the whole write.
+ */
+class LogStreamIngestor implements StreamObserver<LogPilotProto.StreamLogsRequest> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStreamIngestor.class);
+
+    private final LogService logService;
+    private final ServerCallStreamObserver<LogPilotProto.StreamLogsAck> responseObserver;
+    private final Function<LogPilotProto.LogRequest, LogEntry> converter;
+    private final Consumer<LogEntry> metrics;
+    private final Predicate<LogEntry> shed;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ScheduledFuture<?> flushTask;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private List<LogEntry> buffer = new ArrayList<>();
+    private long receivedSequence;
+    private long durableSequence;
+    private long ackedSequence;
+    private boolean closed;
+    private long lastFlushNanos = System.nanoTime();
+
+    LogStreamIngestor(LogService logService, ServerCallStreamObserver<LogPilotProto.StreamLogsAck> responseObserver,
+            Function<LogPilotProto.LogRequest, LogEntry> converter, Consumer<LogEntry> metrics,
+            Predicate<LogEntry> shed, int batchSize, int window, ScheduledExecutorService scheduler,
+            long flushIntervalMillis) {
+        this.logService = logService;
+        this.responseObserver = responseObserver;
+        this.converter = converter;
+        this.metrics = metrics;
+        this.shed = shed;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        // 수동 흐름 제어: 저장이 따라가는 만큼만 클라이언트 메시지를 요청합니다.
+        // Manual flow control: only request client messages as fast as storage keeps up.
+        responseObserver.disableAutoRequest();
+        responseObserver.setOnReadyHandler(this::sendPendingAck);
+        responseObserver.request(Math.max(1, window));
+
+        this.flushTask = scheduler.scheduleWithFixedDelay(this::flushOnTimer, flushIntervalMillis,
+                flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onNext(LogPilotProto.StreamLogsRequest request) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            for (LogPilotProto.LogRequest logRequest : request.getLogRequestsList()) {
+                LogEntry logEntry = converter.apply(logRequest);
+                metrics.accept(logEntry);
+                // 과부하로 DEBUG 엔트리를 버리는 중이면 배치에 넣지 않습니다. 시퀀스는 그대로 확인됩니다.
+                // Entries shed under load never reach the batch; their sequence is still acknowledged.
+                if (!shed.test(logEntry)) {
+                    buffer.add(logEntry);
+                }
+            }
+            receivedSequence = request.getSequence() > 0
+                    ? request.getSequence()
+                    : receivedSequence + request.getLogRequestsCount();
+
+            if (buffer.size() >= batchSize || System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+                flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 처리한 메시지 하나를 대신할 메시지를 하나 더 요청합니다. 저장이 느리면 요청도 늦어집니다.
+        // Replace the message just consumed; when storage is slow, requests slow down with it.
+        if (!isClosed()) {
+            responseObserver.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        lock.lock();
+        try {
+            closed = true;
+            buffer = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        flushTask.cancel(false);
+        // 확인받지 못한 엔트리는 클라이언트가 다시 보냅니다.
+        // Unacknowledged entries are the client's to resend.
+        logger.debug("Log stream aborted by client: {}", t.getMessage());
+    }
+
+    @Override
+    public void onCompleted() {
+        flushTask.cancel(false);
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!storeBuffer()) {
+                return;
+            }
+            closed = true;
+            responseObserver.onNext(ack("success", "Stream completed"));
+            responseObserver.onCompleted();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushOnTimer() {
+        // 이 스트림이 저장 중이면 기다리지 않습니다. 타이머 스레드는 모든 스트림이 공유합니다.
+        // Never wait behind this stream's own store; the timer threads are shared by every stream.
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (!closed && System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+                flush();
+            }
+        } catch (Exception e) {
+            logger.warn("Scheduled log stream flush failed: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush() {
+        if (storeBuffer()) {
+            sendPendingAck();
+        }
+    }
+
+    /**
+     * Store the buffered entries; on failure the client gets an error ack and the stream ends
+     */
+    private boolean storeBuffer() {
+        lastFlushNanos = System.nanoTime();
+        if (!buffer.isEmpty()) {
+            List<LogEntry> batch = buffer;
+            buffer = new ArrayList<>();
+            try {
+                logService.storeLogs(batch);
+            } catch (Exception e) {
+                // 실패한 배치 이전까지만 확인하고 스트림을 끝냅니다. 클라이언트는 나머지를 다시 보냅니다.
+                // Acknowledge up to the failed batch and end the stream; the client resends the rest.
+                logger.error("Failed to store streamed log entries via gRPC", e);
+                closed = true;
+                flushTask.cancel(false);
+                responseObserver.onNext(ack("error", "Failed to store logs: " + e.getMessage()));
+                responseObserver.onCompleted();
+                return false;
+            }
+            logger.debug("Stored {} streamed log entries (sequence={})", batch.size(), receivedSequence);
+        }
+        durableSequence = receivedSequence;
+        return true;
+    }
+
+    /**
+     * Acks are cumulative, so one skipped while the client is not reading is covered by the next one
+     */
+    private void sendPendingAck() {
+        lock.lock();
+        try {
+            if (closed || durableSequence <= ackedSequence || !responseObserver.isReady()) {
+                return;
+            }
+            responseObserver.onNext(ack("success", ""));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LogPilotProto.StreamLogsAck ack(String status, String message) {
+        ackedSequence = durableSequence;
+        return LogPilotProto.StreamLogsAck.newBuilder()
+                .setSequence(durableSequence)
+                .setStatus(status)
+                .setMessage(message)
+                .build();
+    }
+
+    private boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Server side of one Subscribe call.
+ * The subscription sleeps until the channel is signalled or the client becomes ready again, then drains
+ * new entries while gRPC flow control allows. A pushed batch is committed once flow control has room for
+ * the next one, which means the transport took it, not that the subscriber processed it. Delivery is
+ * therefore at-most-once: entries still buffered on the client when the call drops are skipped. Consumers
+ * that need at-least-once fetch with autoCommit off and commit after processing instead.
+ */
+class LogSubscription {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogSubscription.class);
+
+    private static final int MAX_BATCHES_PER_DRAIN = 16;
+
+    private final LogService logService;
+    private final ServerCallStreamObserver<LogPilotProto.SubscribeResponse> responseObserver;
+    private final Executor executor;
+    private final Function<LogEntry, LogPilotProto.LogEntry> converter;
+    private final String channel;
+    private final String consumerId;
+    private final int maxBatchSize;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private List<LogEntry> delivered = Collections.emptyList();
+    private AutoCloseable registration;
+    private volatile boolean closed;
+
+    LogSubscription(LogService logService, ServerCallStreamObserver<LogPilotProto.SubscribeResponse> responseObserver,
+            Executor executor, Function<LogEntry, LogPilotProto.LogEntry> converter, String channel,
+            String consumerId, int maxBatchSize) {
+        this.logService = logService;
+        this.responseObserver = responseObserver;
+        this.executor = executor;
+        this.converter = converter;
+        this.channel = channel;
+        this.consumerId = consumerId;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    void start(ChannelNotifier channelNotifier) {
+        responseObserver.setOnCancelHandler(this::close);
+        responseObserver.setOnReadyHandler(this::wake);
+        this.registration = channelNotifier.register(channel, this::wake);
+        // 구독 이전에 쌓인 엔트리를 먼저 보냅니다.
+        // Deliver whatever was stored before the subscription started.
+        wake();
+    }
+
+    /**
+     * Schedule a drain; wake-ups that arrive while one is pending collapse into it
+     */
+    void wake() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        synchronized (this) {
+            try {
+                int batches = 0;
+                while (!closed && responseObserver.isReady()) {
+                    commitDelivered();
+                    if (batches++ == MAX_BATCHES_PER_DRAIN) {
+                        // 스레드 풀이 공유되므로 바쁜 채널이 스레드를 독점하지 않도록 다시 예약하고 양보합니다.
+                        // The pool is shared, so a busy channel reschedules itself instead of holding the thread.
+                        wake();
+                        return;
+                    }
+
+                    List<LogEntry> batch = logService.getLogsForConsumer(channel, consumerId, maxBatchSize, false);
+                    if (batch.isEmpty()) {
+                        return;
+                    }
+
+                    LogPilotProto.SubscribeResponse.Builder response = LogPilotProto.SubscribeResponse.newBuilder();
+                    for (LogEntry logEntry : batch) {
+                        response.addLogs(converter.apply(logEntry));
+                    }
+                    responseObserver.onNext(response.build());
+                    delivered = batch;
+                    logger.debug("Pushed {} log entries to subscriber {} on channel: {}", batch.size(), consumerId,
+                            channel);
+                }
+            } catch (Exception e) {
+                logger.error("Subscription failed for consumer {} on channel: {}", consumerId, channel, e);
+                close();
+                if (!responseObserver.isCancelled()) {
+                    responseObserver.onError(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flow control had room for another message, so the previous batch has been taken off the wire
+     */
+    private void commitDelivered() {
+        if (delivered.isEmpty()) {
+            return;
+        }
+        Map<String, Long> lastIds = new HashMap<>();
+        for (LogEntry logEntry : delivered) {
+            if (logEntry.getId() != null) {
+                lastIds.merge(ChannelPartitions.streamName(logEntry), logEntry.getId(), Math::max);
+            }
+        }
+        lastIds.forEach((stream, lastId) -> logService.commitLogOffset(stream, consumerId, lastId));
+        delivered = Collections.emptyList();
+    }
+
+    void close() {
+        closed = true;
+        if (registration != null) {
+            try {
+                registration.close();
+            } catch (Exception e) {
+                logger.debug("Failed to unregister subscription: {}", e.getMessage());
+            }
+        }
+    }
+}
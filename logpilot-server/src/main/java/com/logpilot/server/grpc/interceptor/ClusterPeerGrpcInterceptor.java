@@ -0,0 +1,43 @@
+package com.logpilot.server.grpc.interceptor;
+
+import com.logpilot.server.cluster.ClusterAuthentication;
+import io.grpc.*;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks calls carrying the cluster key as node-to-node calls (see ClusterAuthentication.isPeerCall()).
+ * A call presenting a wrong cluster key is closed with UNAUTHENTICATED; calls without one are passed on unmarked.
+ */
+@Component
+@GrpcGlobalServerInterceptor
+public class ClusterPeerGrpcInterceptor implements ServerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterPeerGrpcInterceptor.class);
+
+    private final ClusterAuthentication clusterAuthentication;
+
+    public ClusterPeerGrpcInterceptor(ClusterAuthentication clusterAuthentication) {
+        this.clusterAuthentication = clusterAuthentication;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        if (clusterAuthentication.isPeer(headers)) {
+            return Contexts.interceptCall(ClusterAuthentication.asPeerCall(Context.current()), call, headers, next);
+        }
+        if (headers.containsKey(ClusterAuthentication.CLUSTER_KEY_METADATA_KEY)) {
+            logger.warn("gRPC cluster authentication failed. Invalid cluster key.");
+            call.close(Status.UNAUTHENTICATED.withDescription("Invalid cluster key"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+}
@@ -0,0 +1,71 @@
+package com.logpilot.server.grpc.interceptor;
+
+import com.google.protobuf.MessageLite;
+import com.logpilot.core.config.LogPilotProperties;
+import io.grpc.*;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compresses gRPC responses with gzip for clients that advertise it in grpc-accept-encoding.
+ * Messages below the size threshold are sent uncompressed, where gzip's framing would cost more than it saves.
+ * Compressed requests need no setup: gRPC inflates any encoding in its default registry, gzip included.
+ */
+@Component
+@GrpcGlobalServerInterceptor
+public class CompressionGrpcInterceptor implements ServerInterceptor {
+
+    static final String GZIP = "gzip";
+    private static final Metadata.Key<String> ACCEPT_ENCODING_KEY = Metadata.Key.of("grpc-accept-encoding",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final boolean enabled;
+    private final int minMessageBytes;
+
+    @Autowired
+    public CompressionGrpcInterceptor(LogPilotProperties properties) {
+        this(properties.getCompression().isEnabled(), properties.getCompression().getGrpcMinMessageBytes());
+    }
+
+    public CompressionGrpcInterceptor(boolean enabled, int minMessageBytes) {
+        this.enabled = enabled;
+        this.minMessageBytes = minMessageBytes;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        if (!enabled || !acceptsGzip(headers)) {
+            return next.startCall(call, headers);
+        }
+
+        call.setCompression(GZIP);
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                setMessageCompression(!(message instanceof MessageLite messageLite)
+                        || messageLite.getSerializedSize() >= minMessageBytes);
+                super.sendMessage(message);
+            }
+        }, headers);
+    }
+
+    private static boolean acceptsGzip(Metadata headers) {
+        Iterable<String> values = headers.getAll(ACCEPT_ENCODING_KEY);
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String encoding : value.split(",")) {
+                if (GZIP.equalsIgnoreCase(encoding.trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
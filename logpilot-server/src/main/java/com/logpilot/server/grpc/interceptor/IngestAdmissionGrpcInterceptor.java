@@ -0,0 +1,120 @@
+package com.logpilot.server.grpc.interceptor;
+
+import com.google.protobuf.MessageLite;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import com.logpilot.server.ingest.IngestAdmission;
+import io.grpc.*;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects gRPC ingest calls with RESOURCE_EXHAUSTED while IngestAdmission reports overload.
+ * The check runs when the call starts, before its request message is deserialized. The trailers carry
+ * grpc-retry-pushback-ms so clients with a retry policy back off for the suggested time. Admitted messages
+ * count towards the in-flight bytes until the call ends (unary) or the message is handed over (streams).
+ */
+@Component
+@GrpcGlobalServerInterceptor
+public class IngestAdmissionGrpcInterceptor implements ServerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestAdmissionGrpcInterceptor.class);
+    static final Metadata.Key<String> RETRY_PUSHBACK_KEY = Metadata.Key.of("grpc-retry-pushback-ms",
+            Metadata.ASCII_STRING_MARSHALLER);
+    private static final Set<String> UNARY_INGEST_METHODS = Set.of(
+            LogServiceGrpc.getSendLogMethod().getFullMethodName(),
+            LogServiceGrpc.getSendLogsMethod().getFullMethodName());
+    private static final String STREAM_INGEST_METHOD = LogServiceGrpc.getStreamLogsMethod().getFullMethodName();
+
+    private final IngestAdmission ingestAdmission;
+
+    public IngestAdmissionGrpcInterceptor(IngestAdmission ingestAdmission) {
+        this.ingestAdmission = ingestAdmission;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        String method = call.getMethodDescriptor().getFullMethodName();
+        boolean unary = UNARY_INGEST_METHODS.contains(method);
+        if (!unary && !STREAM_INGEST_METHOD.equals(method)) {
+            return next.startCall(call, headers);
+        }
+
+        if (ingestAdmission.isOverloaded()) {
+            ingestAdmission.recordRejected();
+            logger.debug("Rejected gRPC ingest call {}: server overloaded", method);
+            long retryAfterSeconds = ingestAdmission.getRetryAfterSeconds();
+            Metadata trailers = new Metadata();
+            trailers.put(RETRY_PUSHBACK_KEY, String.valueOf(TimeUnit.SECONDS.toMillis(retryAfterSeconds)));
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                    "Server overloaded, retry after " + retryAfterSeconds + "s"), trailers);
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        if (!unary) {
+            return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(
+                    next.startCall(call, headers)) {
+                @Override
+                public void onMessage(ReqT message) {
+                    try (IngestAdmission.Permit ignored = ingestAdmission.reserve(serializedSize(message))) {
+                        super.onMessage(message);
+                    }
+                }
+            };
+        }
+
+        // 단건 호출은 응답이 닫힐 때까지 요청 바이트를 잡고 있습니다.
+        // Unary calls hold their request bytes until the call is closed.
+        PermitHolder holder = new PermitHolder();
+        ServerCall<ReqT, RespT> releasingCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                holder.release();
+                super.close(status, trailers);
+            }
+        };
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(
+                next.startCall(releasingCall, headers)) {
+            @Override
+            public void onMessage(ReqT message) {
+                holder.hold(ingestAdmission.reserve(serializedSize(message)));
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                holder.release();
+                super.onCancel();
+            }
+        };
+    }
+
+    private static long serializedSize(Object message) {
+        return message instanceof MessageLite messageLite ? messageLite.getSerializedSize() : 0;
+    }
+
+    private static final class PermitHolder {
+
+        private volatile IngestAdmission.Permit permit;
+
+        private void hold(IngestAdmission.Permit permit) {
+            this.permit = permit;
+        }
+
+        private void release() {
+            IngestAdmission.Permit held = permit;
+            if (held != null) {
+                held.close();
+            }
+        }
+    }
+}
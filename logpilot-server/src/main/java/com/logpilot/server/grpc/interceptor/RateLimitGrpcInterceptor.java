@@ -0,0 +1,145 @@
+package com.logpilot.server.grpc.interceptor;
+
+import com.google.protobuf.MessageLite;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import com.logpilot.server.cluster.ClusterAuthentication;
+import com.logpilot.server.security.ClientRateLimiter;
+import io.grpc.*;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the REST per-client rate limits to gRPC calls.
+ * Every call takes one request token when it starts. Ingest messages are then charged by entry count and
+ * serialized size, and a client in debt is refused further ingest with RESOURCE_EXHAUSTED. Replication
+ * traffic between servers is not limited, and batches forwarded by a node holding the cluster key are not charged
+ * again; a forwarded batch from any other caller is charged like a normal one.
+ */
+@Component
+@GrpcGlobalServerInterceptor
+public class RateLimitGrpcInterceptor implements ServerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitGrpcInterceptor.class);
+    private static final Metadata.Key<String> API_KEY_METADATA_KEY = Metadata.Key.of("X-API-KEY",
+            Metadata.ASCII_STRING_MARSHALLER);
+    private static final Set<String> UNLIMITED_METHODS = Set.of(
+            LogServiceGrpc.getReplicateMethod().getFullMethodName(),
+            LogServiceGrpc.getListChannelsMethod().getFullMethodName());
+    private static final Set<String> INGEST_METHODS = Set.of(
+            LogServiceGrpc.getSendLogMethod().getFullMethodName(),
+            LogServiceGrpc.getSendLogsMethod().getFullMethodName(),
+            LogServiceGrpc.getStreamLogsMethod().getFullMethodName());
+
+    private final ClientRateLimiter rateLimiter;
+    private final ClusterAuthentication clusterAuthentication;
+
+    public RateLimitGrpcInterceptor(ClientRateLimiter rateLimiter, ClusterAuthentication clusterAuthentication) {
+        this.rateLimiter = rateLimiter;
+        this.clusterAuthentication = clusterAuthentication;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        String method = call.getMethodDescriptor().getFullMethodName();
+        if (UNLIMITED_METHODS.contains(method)) {
+            return next.startCall(call, headers);
+        }
+
+        String key = resolveClientKey(call, headers);
+        boolean peer = clusterAuthentication.isPeer(headers);
+        boolean ingest = INGEST_METHODS.contains(method);
+        long waitNanos = rateLimiter.tryAcquire(key, ingest);
+        if (waitNanos > 0) {
+            logger.warn("gRPC rate limit exceeded for client: {}", key);
+            reject(call, waitNanos);
+            return new ServerCall.Listener<>() {
+            };
+        }
+        if (!ingest) {
+            return next.startCall(call, headers);
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            private boolean rejected;
+
+            @Override
+            public void onMessage(ReqT message) {
+                if (rejected) {
+                    return;
+                }
+                // 스트림은 메시지마다 한도를 다시 확인합니다.
+                // Streams re-check the limit on every message.
+                long streamWaitNanos = rateLimiter.ingestWait(key);
+                if (streamWaitNanos > 0) {
+                    rejected = true;
+                    logger.warn("gRPC ingest rate limit exceeded for client: {}", key);
+                    reject(call, streamWaitNanos);
+                    return;
+                }
+                if (!isForwardedByPeer(message, peer)) {
+                    rateLimiter.charge(key, entryCount(message), serializedSize(message));
+                }
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (!rejected) {
+                    super.onHalfClose();
+                }
+            }
+        };
+    }
+
+    private static void reject(ServerCall<?, ?> call, long waitNanos) {
+        long retryAfterMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        Metadata trailers = new Metadata();
+        trailers.put(IngestAdmissionGrpcInterceptor.RETRY_PUSHBACK_KEY, String.valueOf(retryAfterMillis));
+        call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                "Rate limit exceeded, retry after " + retryAfterMillis + "ms"), trailers);
+    }
+
+    private static boolean isForwardedByPeer(Object message, boolean peer) {
+        // 클러스터 노드가 전달한 배치는 원래 노드에서 이미 차감되었습니다. 전달 플래그만으로는 면제하지 않습니다.
+        // Batches forwarded by a cluster node were already charged there; the forwarded flag alone exempts nothing.
+        return peer && message instanceof LogPilotProto.SendLogsRequest request && request.getForwarded();
+    }
+
+    private static long entryCount(Object message) {
+        if (message instanceof LogPilotProto.SendLogsRequest request) {
+            return request.getLogRequestsCount();
+        }
+        if (message instanceof LogPilotProto.StreamLogsRequest request) {
+            return request.getLogRequestsCount();
+        }
+        return 1;
+    }
+
+    private static long serializedSize(Object message) {
+        return message instanceof MessageLite messageLite ? messageLite.getSerializedSize() : 0;
+    }
+
+    private static String resolveClientKey(ServerCall<?, ?> call, Metadata headers) {
+        String apiKey = headers.get(API_KEY_METADATA_KEY);
+        if (apiKey != null) {
+            return apiKey;
+        }
+        SocketAddress remote = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        if (remote instanceof InetSocketAddress address) {
+            return address.getHostString();
+        }
+        return String.valueOf(remote);
+    }
+}
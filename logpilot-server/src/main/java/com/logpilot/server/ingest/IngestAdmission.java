@@ -0,0 +1,208 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Admission control for ingest requests.
+ * Tracks the request bytes currently being ingested and the depth of the single-entry write queue. Past either
+ * watermark new ingest requests are turned away before their body is read, so an overloaded server answers
+ * quickly with a retry hint instead of queueing work until clients time out. Optionally, DEBUG entries are
+ * dropped once load passes a fraction of the watermarks.
+ */
+@Component
+public class IngestAdmission implements MeterBinder {
+
+    // 길이를 알 수 없는 요청(chunked)에 대해 예약하는 바이트 수
+    // Bytes reserved for requests without a known length (chunked)
+    static final long UNKNOWN_LENGTH_BYTES = 1024;
+
+    private final boolean enabled;
+    private final long maxInFlightBytes;
+    private final int maxQueueDepth;
+    private final boolean shedDebug;
+    private final double shedDebugAt;
+    private final long retryAfterSeconds;
+    private final IntSupplier queueDepth;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    @Autowired
+    public IngestAdmission(LogPilotProperties properties, IngestBatcher ingestBatcher) {
+        this(properties.getAdmission().isEnabled(), properties.getAdmission().getMaxInFlightBytes(),
+                properties.getAdmission().getMaxQueueDepth(), properties.getAdmission().isShedDebug(),
+                properties.getAdmission().getShedDebugAt(), properties.getAdmission().getRetryAfterSeconds(),
+                ingestBatcher::getQueueDepth);
+    }
+
+    public IngestAdmission(boolean enabled, long maxInFlightBytes, int maxQueueDepth, boolean shedDebug,
+            double shedDebugAt, long retryAfterSeconds, IntSupplier queueDepth) {
+        this.enabled = enabled;
+        this.maxInFlightBytes = Math.max(1, maxInFlightBytes);
+        this.maxQueueDepth = Math.max(1, maxQueueDepth);
+        this.shedDebug = shedDebug;
+        this.shedDebugAt = shedDebugAt;
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Admission that accepts everything and never sheds
+     */
+    public static IngestAdmission unlimited() {
+        return new IngestAdmission(false, Long.MAX_VALUE, Integer.MAX_VALUE, false, 1.0, 1, () -> 0);
+    }
+
+    /**
+     * Reserve room for a request of the given size (negative when unknown).
+     *
+     * @return a permit to close once the request is done, or null if the request must be rejected
+     */
+    public Permit tryAdmit(long requestBytes) {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+        if (queueDepth.getAsInt() >= maxQueueDepth) {
+            rejected.increment();
+            return null;
+        }
+        long bytes = requestBytes >= 0 ? requestBytes : UNKNOWN_LENGTH_BYTES;
+        long current = inFlightBytes.addAndGet(bytes);
+        // 진행 중인 다른 요청이 없으면 워터마크보다 큰 요청도 받아 영원히 거절되지 않게 합니다.
+        // A request larger than the watermark is still let through when nothing else is in flight, so it is not
+        // rejected forever.
+        if (current > maxInFlightBytes && current != bytes) {
+            inFlightBytes.addAndGet(-bytes);
+            rejected.increment();
+            return null;
+        }
+        return new Permit(inFlightBytes, bytes);
+    }
+
+    /**
+     * Whether a request of unknown size would be rejected right now
+     */
+    public boolean isOverloaded() {
+        return enabled && (queueDepth.getAsInt() >= maxQueueDepth || inFlightBytes.get() >= maxInFlightBytes);
+    }
+
+    /**
+     * Account for bytes that are already being processed, without rejecting them
+     */
+    public Permit reserve(long bytes) {
+        if (!enabled || bytes <= 0) {
+            return Permit.NONE;
+        }
+        inFlightBytes.addAndGet(bytes);
+        return new Permit(inFlightBytes, bytes);
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Load as a fraction of the closer watermark
+     */
+    public double getPressure() {
+        return Math.max((double) inFlightBytes.get() / maxInFlightBytes,
+                (double) queueDepth.getAsInt() / maxQueueDepth);
+    }
+
+    public boolean isSheddingDebug() {
+        return enabled && shedDebug && getPressure() >= shedDebugAt;
+    }
+
+    /**
+     * Whether this entry should be dropped instead of stored
+     */
+    public boolean shouldShed(LogEntry logEntry) {
+        if (logEntry != null && logEntry.getLevel() == LogLevel.DEBUG && isSheddingDebug()) {
+            shed.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The entries that should still be stored; the list itself is returned when nothing is shed
+     */
+    public List<LogEntry> shed(List<LogEntry> logEntries) {
+        if (logEntries == null || !isSheddingDebug()) {
+            return logEntries;
+        }
+        List<LogEntry> kept = new ArrayList<>(logEntries.size());
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry != null && logEntry.getLevel() == LogLevel.DEBUG) {
+                shed.increment();
+            } else {
+                kept.add(logEntry);
+            }
+        }
+        return kept.size() == logEntries.size() ? logEntries : kept;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("logpilot_ingest_inflight_bytes", inFlightBytes, AtomicLong::get)
+                .description("Request bytes currently being ingested")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("logpilot_ingest_pressure", this, IngestAdmission::getPressure)
+                .description("Ingest load as a fraction of the admission watermarks")
+                .register(registry);
+        FunctionCounter.builder("logpilot_ingest_rejected_total", rejected, LongAdder::sum)
+                .description("Ingest requests rejected by admission control")
+                .register(registry);
+        FunctionCounter.builder("logpilot_ingest_shed_total", shed, LongAdder::sum)
+                .description("DEBUG entries dropped under load")
+                .register(registry);
+    }
+
+    /**
+     * Bytes held by an admitted request; closing it more than once is harmless
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null, 0);
+
+        private final AtomicLong inFlightBytes;
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AtomicLong inFlightBytes, long bytes) {
+            this.inFlightBytes = inFlightBytes;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (inFlightBytes != null && released.compareAndSet(false, true)) {
+                inFlightBytes.addAndGet(-bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.server.rest.RequestDecompressionFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Rejects REST ingest requests with 429 and Retry-After while IngestAdmission reports overload.
+ * The check runs before the body is read, so a rejected request costs no JSON parsing.
+ */
+public class IngestAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestAdmissionFilter.class);
+    private static final Set<String> INGEST_PATHS = Set.of("/api/logs", "/api/logs/batch");
+    private static final String NDJSON_TYPE = "application/x-ndjson";
+
+    /**
+     * NDJSON bodies are parsed and stored in chunks, so at most this much of one is held in memory at a time
+     */
+    static final long STREAMED_BODY_RESERVATION_BYTES = 1024 * 1024;
+
+    /**
+     * Assumed inflation of a gzip body; log text usually compresses 5-10x
+     */
+    static final int GZIP_EXPANSION_ESTIMATE = 8;
+
+    private final IngestAdmission ingestAdmission;
+
+    public IngestAdmissionFilter(IngestAdmission ingestAdmission) {
+        this.ingestAdmission = ingestAdmission;
+    }
+
+    /**
+     * Whether the request writes log entries
+     */
+    public static boolean isIngestRequest(HttpServletRequest request) {
+        return "POST".equals(request.getMethod())
+                && INGEST_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isIngestRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        IngestAdmission.Permit permit = ingestAdmission.tryAdmit(reservationBytes(request));
+        if (permit == null) {
+            logger.debug("Rejected ingest request on {}: server overloaded", request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ingestAdmission.getRetryAfterSeconds()));
+            response.getWriter().write("Server overloaded, retry later");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private static long reservationBytes(HttpServletRequest request) {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0 && RequestDecompressionFilter.isGzipEncoded(request)) {
+            // 압축된 본문은 풀린 크기만큼 메모리를 차지합니다.
+            // A compressed body occupies memory at its inflated size.
+            contentLength *= GZIP_EXPANSION_ESTIMATE;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase().startsWith(NDJSON_TYPE)) {
+            // 스트리밍 본문은 전체 크기가 아닌 청크 단위로만 메모리를 차지합니다.
+            // A streamed body only occupies memory one chunk at a time, not at its full size.
+            return contentLength < 0 ? STREAMED_BODY_RESERVATION_BYTES
+                    : Math.min(contentLength, STREAMED_BODY_RESERVATION_BYTES);
+        }
+        return contentLength;
+    }
+}
@@ -0,0 +1,276 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.StorageException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single-entry writes.
+ * Callers of store() hand their entry to one writer thread and block until it is persisted. The writer takes
+ * whatever is queued, waits at most batchMaxWaitMicros for more (bounded by count and estimated bytes), and
+ * stores the lot with a single storeLogs call, so concurrent single-entry requests share one file append or
+ * one SQLite transaction. A failed batch fails every caller in it, and writes still queued when shutdown()
+ * returns are failed rather than left waiting.
+ * Publishes its queue depth as logpilot_ingest_queue_depth.
+ */
+@Component
+public class IngestBatcher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestBatcher.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final LogStorage logStorage;
+    private final ChannelNotifier channelNotifier;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public IngestBatcher(LogStorage logStorage, ChannelNotifier channelNotifier, LogPilotProperties properties) {
+        this(logStorage, channelNotifier, properties.getIngest().isBatchingEnabled(),
+                properties.getIngest().getBatchMaxEntries(), properties.getIngest().getBatchMaxBytes(),
+                properties.getIngest().getBatchMaxWaitMicros());
+    }
+
+    public IngestBatcher(LogStorage logStorage, ChannelNotifier channelNotifier, boolean enabled, int maxEntries,
+            long maxBytes, long maxWaitMicros) {
+        this.logStorage = logStorage;
+        this.channelNotifier = channelNotifier;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = maxBytes;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxWaitMicros));
+        this.running = enabled && this.maxEntries > 1;
+        if (running) {
+            // 대기열이 가득 차면 호출자가 기다리므로 저장소보다 빠르게 쌓이지 않습니다.
+            // Callers block when the queue is full, so writes cannot pile up faster than storage drains them.
+            this.queue = new LinkedBlockingQueue<>(this.maxEntries * 8);
+            this.writer = new Thread(this::runWriter, "logpilot-ingest-batcher");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.queue = null;
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Batcher that stores every entry immediately on the calling thread
+     */
+    public static IngestBatcher direct(LogStorage logStorage, ChannelNotifier channelNotifier) {
+        return new IngestBatcher(logStorage, channelNotifier, false, 1, 0, 0);
+    }
+
+    public boolean isBatching() {
+        return running;
+    }
+
+    /**
+     * Single-entry writes waiting for the writer thread
+     */
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("logpilot_ingest_queue_depth", this, IngestBatcher::getQueueDepth)
+                .description("Single-entry writes waiting to be merged into a storage batch")
+                .register(registry);
+    }
+
+    /**
+     * Store one entry and return once it is persisted
+     */
+    public void store(LogEntry logEntry) {
+        if (!running || logEntry == null) {
+            logStorage.store(logEntry);
+            channelNotifier.signalStored(Collections.singletonList(logEntry));
+            return;
+        }
+
+        PendingWrite write = new PendingWrite(logEntry);
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while queueing log entry", e);
+        }
+        if (!running && queue.remove(write)) {
+            // 확인과 put 사이에 종료되었다면 기록 스레드가 이미 끝났을 수 있으므로 직접 저장합니다.
+            // Shut down between the check and the put; the writer may be gone, so store it here.
+            logStorage.store(logEntry);
+            channelNotifier.signalStored(Collections.singletonList(logEntry));
+            return;
+        }
+
+        try {
+            write.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new StorageException("Failed to store log entry", cause);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxEntries);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                collect(first, batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 중에 들어온 쓰기도 마저 저장합니다.
+        // Persist writes that were queued while shutting down.
+        PendingWrite remaining;
+        while ((remaining = queue.poll()) != null) {
+            batch.add(remaining);
+            if (batch.size() >= maxEntries) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        flush(batch);
+    }
+
+    private void collect(PendingWrite first, List<PendingWrite> batch) throws InterruptedException {
+        batch.add(first);
+        long bytes = first.estimatedBytes;
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxEntries && bytes < maxBytes) {
+            PendingWrite next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            batch.add(next);
+            bytes += next.estimatedBytes;
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<LogEntry> logEntries = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            logEntries.add(write.logEntry);
+        }
+
+        try {
+            logStorage.storeLogs(logEntries);
+        } catch (Throwable e) {
+            // Error도 잡아야 대기 중인 호출자가 영원히 막히지 않습니다.
+            // Errors are caught too, otherwise the waiting callers would block forever.
+            logger.warn("Failed to store batch of {} single-entry writes: {}", logEntries.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                write.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        try {
+            channelNotifier.signalStored(logEntries);
+        } catch (Throwable e) {
+            logger.warn("Failed to signal stored batch: {}", e.getMessage());
+        }
+        for (PendingWrite write : batch) {
+            write.future.complete(null);
+        }
+        logger.debug("Stored {} single-entry writes in one batch", logEntries.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 기록 스레드가 제때 끝나지 않았거나 마지막 비우기 뒤에 들어온 쓰기는 실패시킵니다.
+        // Fail writes the writer did not get to, because it timed out or they arrived after its final drain.
+        PendingWrite remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.future.completeExceptionally(
+                    new StorageException("Ingest batcher shut down before the entry was stored"));
+        }
+    }
+
+    /**
+     * Rough serialized size of an entry, used to cap a batch and to size channels
+     */
+    public static long estimateBytes(LogEntry logEntry) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        if (logEntry.getChannel() != null) {
+            bytes += logEntry.getChannel().length();
+        }
+        if (logEntry.getMessage() != null) {
+            bytes += logEntry.getMessage().length();
+        }
+        if (logEntry.getMeta() != null) {
+            for (Map.Entry<String, Object> meta : logEntry.getMeta().entrySet()) {
+                bytes += meta.getKey().length() + String.valueOf(meta.getValue()).length();
+            }
+        }
+        return bytes;
+    }
+
+    private static class PendingWrite {
+
+        private final LogEntry logEntry;
+        private final long estimatedBytes;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(LogEntry logEntry) {
+            this.logEntry = logEntry;
+            this.estimatedBytes = estimateBytes(logEntry);
+        }
+    }
+}
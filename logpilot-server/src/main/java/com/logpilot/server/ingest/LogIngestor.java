@@ -0,0 +1,139 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.pipeline.IngestPipeline;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Write path shared by the REST and gRPC services.
+ * Entries run through the ingest pipeline, are routed to the node owning their channel, have producer replays
+ * dropped and repeats collapsed, get their partition, and are stored. Single entries go through the IngestBatcher
+ * so concurrent requests share one storage write; batches are stored as one write.
+ */
+@Component
+public class LogIngestor {
+
+    private final LogStorage logStorage;
+    private final PartitionRouter partitionRouter;
+    private final ShardRouter shardRouter;
+    private final ChannelNotifier channelNotifier;
+    private final IngestBatcher ingestBatcher;
+    private final ProducerDeduplicator producerDeduplicator;
+    private final IngestPipeline ingestPipeline;
+    private final RepeatCollapser repeatCollapser;
+
+    @Autowired
+    public LogIngestor(LogStorage logStorage, PartitionRouter partitionRouter, ShardRouter shardRouter,
+            ChannelNotifier channelNotifier, IngestBatcher ingestBatcher, ProducerDeduplicator producerDeduplicator,
+            IngestPipeline ingestPipeline, RepeatCollapser repeatCollapser) {
+        this.logStorage = logStorage;
+        this.partitionRouter = partitionRouter;
+        this.shardRouter = shardRouter;
+        this.channelNotifier = channelNotifier;
+        this.ingestBatcher = ingestBatcher;
+        this.producerDeduplicator = producerDeduplicator;
+        this.ingestPipeline = ingestPipeline;
+        this.repeatCollapser = repeatCollapser;
+    }
+
+    /**
+     * Single-node ingest without pipeline stages, deduplication or repeat collapsing
+     */
+    public static LogIngestor standalone(LogStorage logStorage, PartitionRouter partitionRouter,
+            ChannelNotifier channelNotifier, IngestBatcher ingestBatcher) {
+        return new LogIngestor(logStorage, partitionRouter, ShardRouter.standalone(), channelNotifier, ingestBatcher,
+                ProducerDeduplicator.disabled(), IngestPipeline.empty(), RepeatCollapser.disabled());
+    }
+
+    /**
+     * Store one entry and return once it is persisted on its owner
+     */
+    public void store(LogEntry logEntry) {
+        // 단건 쓰기는 동시에 들어온 다른 단건 쓰기와 함께 한 번에 저장됩니다.
+        // Single-entry writes are stored together with concurrent single-entry writes.
+        List<LogEntry> logEntries = ingestPipeline.process(Collections.singletonList(logEntry));
+        if (logEntries.isEmpty()) {
+            return;
+        }
+        requireChannelNames(logEntries);
+        shardRouter.store(logEntries, local -> producerDeduplicator.store(local, fresh -> {
+            // 반복으로 합쳐진 엔트리는 저장하지 않고, 닫힌 반복 창의 요약이 함께 저장될 수 있습니다.
+            // A collapsed repeat is not stored, and the summary of a closed repeat window may be stored with it.
+            for (LogEntry entry : repeatCollapser.collapse(fresh)) {
+                partitionRouter.assignPartition(entry);
+                ingestBatcher.store(entry);
+            }
+        }));
+    }
+
+    /**
+     * Store a batch and return once every entry is persisted on its owner
+     */
+    public void storeAll(List<LogEntry> logEntries) {
+        // 파이프라인은 채널 소유 노드를 정하기 전에 실행되므로 라우팅된 엔트리는 새 채널의 소유 노드로 갑니다.
+        // The pipeline runs before owners are resolved, so routed entries go to the owner of their new channel.
+        List<LogEntry> processed = ingestPipeline.process(logEntries);
+        if (allDropped(logEntries, processed)) {
+            return;
+        }
+        requireChannelNames(processed);
+        shardRouter.store(processed, this::storeLocally);
+    }
+
+    /**
+     * Store a batch forwarded by the node that received it; every channel must be owned by this node
+     */
+    public void storeForwarded(List<LogEntry> logEntries) {
+        // 전달 배치도 소유 노드에만 저장되어야 하므로 링이 바뀐 뒤 도착한 배치는 거절합니다.
+        // Forwarded batches must still land on the owner, so a batch arriving after the ring changed is refused.
+        requireChannelNames(logEntries);
+        logEntries.stream().map(LogEntry::getChannel).distinct().forEach(shardRouter::requireLocal);
+        storeLocally(logEntries);
+    }
+
+    private static void requireChannelNames(List<LogEntry> logEntries) {
+        if (logEntries == null) {
+            return;
+        }
+        // 파이프라인이 채널을 바꿀 수 있으므로 파이프라인 뒤에 검사합니다. "orders#1" 같은 이름은 다른 채널의
+        // 파티션 스트림에 저장되므로 배치 전체를 거절합니다.
+        // Checked after the pipeline, which may change channels. A name like "orders#1" would be stored in a
+        // partition stream of another channel, so the whole batch is refused.
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry != null) {
+                ChannelPartitions.requireChannelName(logEntry.getChannel());
+            }
+        }
+    }
+
+    private void storeLocally(List<LogEntry> logEntries) {
+        // 멱등 프로듀서의 재전송은 저장 전에 걸러집니다.
+        // Replays from idempotent producers are dropped before storing.
+        producerDeduplicator.store(logEntries, fresh -> {
+            // 같은 메시지의 반복은 창이 닫힐 때 반복 횟수와 함께 한 번만 저장됩니다.
+            // Repeats of the same message are stored once, with their count, when their window closes.
+            List<LogEntry> collapsed = repeatCollapser.collapse(fresh);
+            if (allDropped(fresh, collapsed)) {
+                return;
+            }
+            partitionRouter.assignPartitions(collapsed);
+            logStorage.storeLogs(collapsed);
+            channelNotifier.signalStored(collapsed);
+        });
+    }
+
+    private static boolean allDropped(List<LogEntry> received, List<LogEntry> remaining) {
+        // 빈 배치나 null은 지금까지처럼 저장소가 처리하고, 단계가 모두 걸러낸 배치만 건너뜁니다.
+        // Empty or null batches still reach storage as before; only batches the stages emptied are skipped.
+        return received != null && !received.isEmpty() && remaining.isEmpty();
+    }
+}
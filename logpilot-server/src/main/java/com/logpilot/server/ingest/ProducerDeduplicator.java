@@ -0,0 +1,255 @@
+package com.logpilot.server.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Drops entries that an idempotent producer has already had stored.
+ * Entries carrying a producerId and sequence are checked against a per-producer window covering the last
+ * windowSize sequences at or below the highest one stored (one bit per sequence). Replays inside the window are
+ * dropped; everything else is claimed, stored, and only then marked as stored, so a failed write can be retried.
+ * Sequences older than the window can no longer be checked and are stored, so a late retry may be stored twice but
+ * is never lost. A replay of a sequence whose first attempt is still being written waits for that
+ * attempt and is dropped if it succeeded, which makes hedged retries safe.
+ * Windows live in memory on the node that stores the channel, bounded by producer count and idle time; a
+ * restart or an evicted producer starts with an empty window.
+ * Publishes logpilot_ingest_duplicates_total and logpilot_ingest_producers.
+ */
+@Component
+public class ProducerDeduplicator implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerDeduplicator.class);
+
+    private final boolean enabled;
+    private final int windowSize;
+    private final Cache<String, ProducerWindow> producers;
+    private final LongAdder duplicates = new LongAdder();
+
+    @Autowired
+    public ProducerDeduplicator(LogPilotProperties properties) {
+        this(properties.getIdempotence().isEnabled(), properties.getIdempotence().getWindowSize(),
+                properties.getIdempotence().getMaxProducers(),
+                Duration.ofSeconds(properties.getIdempotence().getProducerIdleSeconds()));
+    }
+
+    public ProducerDeduplicator(boolean enabled, int windowSize, long maxProducers, Duration idleTimeout) {
+        this.enabled = enabled;
+        this.windowSize = Math.max(1, windowSize);
+        this.producers = Caffeine.newBuilder()
+                .maximumSize(maxProducers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Deduplicator that stores every entry as given
+     */
+    public static ProducerDeduplicator disabled() {
+        return new ProducerDeduplicator(false, 1, 0, Duration.ZERO);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logpilot_ingest_duplicates_total", duplicates, LongAdder::sum)
+                .description("Entries from idempotent producers dropped as replays")
+                .register(registry);
+        Gauge.builder("logpilot_ingest_producers", this, ProducerDeduplicator::getProducerCount)
+                .description("Idempotent producers with a deduplication window on this node")
+                .register(registry);
+    }
+
+    public long getProducerCount() {
+        producers.cleanUp();
+        return producers.estimatedSize();
+    }
+
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    /**
+     * Pass the entries that were not stored before to localStore and return once they are stored.
+     * When localStore fails, the entries it was given are released so a retry can store them.
+     *
+     * @return number of entries dropped as replays
+     */
+    public int store(List<LogEntry> logEntries, Consumer<List<LogEntry>> localStore) {
+        if (!enabled || logEntries == null || !hasSequencedEntries(logEntries)) {
+            localStore.accept(logEntries);
+            return 0;
+        }
+
+        Claim claim = claim(logEntries);
+        if (!claim.fresh.isEmpty()) {
+            try {
+                localStore.accept(claim.fresh);
+            } catch (RuntimeException e) {
+                claim.release();
+                throw e;
+            }
+            claim.commit();
+        }
+
+        int dropped = claim.duplicates;
+        if (!claim.contended.isEmpty()) {
+            // 다른 요청이 쓰는 중인 시퀀스는 그 결과를 기다린 뒤 다시 판단합니다.
+            // Sequences another request is still writing are re-checked once that write finishes.
+            for (CompletableFuture<Void> other : claim.awaited) {
+                other.join();
+            }
+            dropped += store(claim.contended, localStore);
+        }
+        return dropped;
+    }
+
+    private Claim claim(List<LogEntry> logEntries) {
+        Claim claim = new Claim();
+        for (LogEntry logEntry : logEntries) {
+            if (!isSequenced(logEntry)) {
+                claim.fresh.add(logEntry);
+                continue;
+            }
+            ProducerWindow window = producers.get(logEntry.getProducerId(), id -> new ProducerWindow(windowSize));
+            long sequence = logEntry.getSequence();
+            synchronized (window) {
+                CompletableFuture<Void> inFlight = window.inFlight.get(sequence);
+                if (window.isStored(sequence) || inFlight == claim.done) {
+                    claim.duplicates++;
+                } else if (inFlight != null) {
+                    claim.contended.add(logEntry);
+                    claim.awaited.add(inFlight);
+                } else {
+                    window.inFlight.put(sequence, claim.done);
+                    claim.claimed.computeIfAbsent(window, w -> new ArrayList<>()).add(sequence);
+                    claim.fresh.add(logEntry);
+                }
+            }
+        }
+        if (claim.duplicates > 0) {
+            duplicates.add(claim.duplicates);
+            logger.debug("Dropped {} replayed entries from idempotent producers", claim.duplicates);
+        }
+        return claim;
+    }
+
+    private static boolean hasSequencedEntries(List<LogEntry> logEntries) {
+        for (LogEntry logEntry : logEntries) {
+            if (isSequenced(logEntry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSequenced(LogEntry logEntry) {
+        return logEntry != null && logEntry.getProducerId() != null && !logEntry.getProducerId().isEmpty()
+                && logEntry.getSequence() != null && logEntry.getSequence() >= 0;
+    }
+
+    /**
+     * Sequences claimed by one store call
+     */
+    private static final class Claim {
+
+        private final List<LogEntry> fresh = new ArrayList<>();
+        private final List<LogEntry> contended = new ArrayList<>();
+        private final Set<CompletableFuture<Void>> awaited = new LinkedHashSet<>();
+        private final Map<ProducerWindow, List<Long>> claimed = new HashMap<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int duplicates;
+
+        private void commit() {
+            finish(true);
+        }
+
+        private void release() {
+            finish(false);
+        }
+
+        private void finish(boolean stored) {
+            claimed.forEach((window, sequences) -> {
+                synchronized (window) {
+                    for (long sequence : sequences) {
+                        window.inFlight.remove(sequence);
+                        if (stored) {
+                            window.markStored(sequence);
+                        }
+                    }
+                }
+            });
+            done.complete(null);
+        }
+    }
+
+    /**
+     * Stored sequences of one producer: a ring of windowSize bits ending at the highest stored sequence.
+     * Guarded by its own monitor.
+     */
+    static final class ProducerWindow {
+
+        private final int size;
+        private final BitSet stored;
+        private final Map<Long, CompletableFuture<Void>> inFlight = new HashMap<>();
+        private long highest = -1;
+
+        ProducerWindow(int size) {
+            this.size = size;
+            this.stored = new BitSet(size);
+        }
+
+        boolean isStored(long sequence) {
+            if (sequence > highest) {
+                return false;
+            }
+            if (sequence <= highest - size) {
+                // 창보다 오래된 시퀀스는 저장 여부를 알 수 없으므로 버리지 않고 저장합니다.
+                // Whether a sequence older than the window was stored is unknown, so it is stored rather than dropped.
+                return false;
+            }
+            return stored.get(slot(sequence));
+        }
+
+        void markStored(long sequence) {
+            if (sequence <= highest - size) {
+                return;
+            }
+            if (sequence > highest) {
+                if (sequence - highest >= size) {
+                    stored.clear();
+                } else {
+                    for (long s = highest + 1; s <= sequence; s++) {
+                        stored.clear(slot(s));
+                    }
+                }
+                highest = sequence;
+            }
+            stored.set(slot(sequence));
+        }
+
+        private int slot(long sequence) {
+            return (int) Math.floorMod(sequence, (long) size);
+        }
+    }
+}
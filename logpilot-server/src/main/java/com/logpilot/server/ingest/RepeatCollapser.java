@@ -0,0 +1,376 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses bursts of identical entries, such as a crash loop logging the same error thousands of times a second.
+ * Entries match when channel, level, message template (the message with every run of digits treated as one) and
+ * the values of the configured meta keys are equal. The first entry of a burst is stored as usual; matching entries
+ * within windowMillis after it are held back and counted, and stored once when the window closes as a copy of the
+ * first carrying meta repeatCount, firstSeen and lastSeen. Recent fingerprints live in a fixed-size direct-mapped
+ * table, so a fingerprint that is pushed out by another one flushes its count early instead of growing memory.
+ * Runs on the node that stores the channel. Counts not yet flushed are lost if the node crashes.
+ * Publishes logpilot_ingest_collapsed_total.
+ */
+@Component
+public class RepeatCollapser implements MeterBinder {
+
+    public static final String REPEAT_COUNT = "repeatCount";
+    public static final String FIRST_SEEN = "firstSeen";
+    public static final String LAST_SEEN = "lastSeen";
+
+    private static final Logger logger = LoggerFactory.getLogger(RepeatCollapser.class);
+
+    private final LogStorage logStorage;
+    private final PartitionRouter partitionRouter;
+    private final ChannelNotifier channelNotifier;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Set<String> exactChannels = new HashSet<>();
+    private final List<String> channelPrefixes = new ArrayList<>();
+    private final boolean allChannels;
+    private final String[] metaKeys;
+    private final Slot[] slots;
+    private final ScheduledExecutorService flusher;
+    private final LongAdder collapsed = new LongAdder();
+
+    @Autowired
+    public RepeatCollapser(LogStorage logStorage, PartitionRouter partitionRouter, ChannelNotifier channelNotifier,
+            LogPilotProperties properties) {
+        this(logStorage, partitionRouter, channelNotifier, properties.getCollapse().isEnabled(),
+                properties.getCollapse().getWindowMillis(), properties.getCollapse().getTableSize(),
+                properties.getCollapse().getChannels(), properties.getCollapse().getMetaKeys());
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::flushExpired, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Collapser without a background flush; held-back repeats are stored by flushExpired()
+     */
+    public RepeatCollapser(LogStorage logStorage, PartitionRouter partitionRouter, ChannelNotifier channelNotifier,
+            boolean enabled, long windowMillis, int tableSize, List<String> channels, List<String> metaKeys) {
+        this.logStorage = logStorage;
+        this.partitionRouter = partitionRouter;
+        this.channelNotifier = channelNotifier;
+        this.enabled = enabled && windowMillis > 0;
+        this.windowMillis = windowMillis;
+        if (channels != null) {
+            for (String channel : channels) {
+                if (channel.endsWith("*")) {
+                    channelPrefixes.add(channel.substring(0, channel.length() - 1));
+                } else {
+                    exactChannels.add(channel);
+                }
+            }
+        }
+        this.allChannels = exactChannels.isEmpty() && channelPrefixes.isEmpty();
+        this.metaKeys = metaKeys != null ? metaKeys.toArray(new String[0]) : new String[0];
+        this.slots = new Slot[this.enabled ? Integer.highestOneBit(Math.max(1, tableSize - 1)) << 1 : 0];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        this.flusher = this.enabled ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "logpilot-repeat-collapser");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Collapser that stores every entry as given
+     */
+    public static RepeatCollapser disabled() {
+        return new RepeatCollapser(null, null, null, false, 0, 0, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Entries held back as repeats so far
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logpilot_ingest_collapsed_total", collapsed, LongAdder::sum)
+                .description("Repeated entries folded into the repeatCount of another entry")
+                .register(registry);
+    }
+
+    /**
+     * Hold back repeats of recently stored entries
+     *
+     * @return the entries to store now, including repeat summaries of windows that just closed; the given list
+     * itself when nothing was collapsed
+     */
+    public List<LogEntry> collapse(List<LogEntry> logEntries) {
+        return collapse(logEntries, System.currentTimeMillis());
+    }
+
+    List<LogEntry> collapse(List<LogEntry> logEntries, long now) {
+        if (!enabled || logEntries == null || logEntries.isEmpty()) {
+            return logEntries;
+        }
+        // 바뀐 것이 없으면 복사하지 않고 받은 목록을 그대로 돌려줍니다.
+        // The given list is returned as is unless something changed.
+        List<LogEntry> result = null;
+        for (int i = 0; i < logEntries.size(); i++) {
+            LogEntry logEntry = logEntries.get(i);
+            if (logEntry == null || logEntry.getLevel() == null || !appliesTo(logEntry.getChannel())) {
+                if (result != null) {
+                    result.add(logEntry);
+                }
+                continue;
+            }
+            Object[] metaValues = metaValuesOf(logEntry);
+            int hash = fingerprint(logEntry, metaValues);
+            Slot slot = slots[hash & (slots.length - 1)];
+            LogEntry summary;
+            boolean absorbed;
+            synchronized (slot) {
+                if (slot.matches(hash, logEntry, metaValues) && now < slot.windowEnd) {
+                    slot.absorb(logEntry, now);
+                    summary = null;
+                    absorbed = true;
+                } else {
+                    summary = slot.reset(hash, logEntry, metaValues, now + windowMillis);
+                    absorbed = false;
+                }
+            }
+            if (absorbed || summary != null) {
+                if (result == null) {
+                    result = new ArrayList<>(logEntries.subList(0, i));
+                }
+                if (absorbed) {
+                    collapsed.increment();
+                    continue;
+                }
+                result.add(summary);
+            }
+            if (result != null) {
+                result.add(logEntry);
+            }
+        }
+        return result != null ? result : logEntries;
+    }
+
+    /**
+     * Store the repeat summaries of every window that has closed
+     */
+    public void flushExpired() {
+        flush(System.currentTimeMillis());
+    }
+
+    void flush(long now) {
+        List<LogEntry> summaries = new ArrayList<>();
+        for (Slot slot : slots) {
+            synchronized (slot) {
+                if (slot.repeats > 0 && now >= slot.windowEnd) {
+                    summaries.add(slot.reset(0, null, null, 0));
+                }
+            }
+        }
+        if (summaries.isEmpty()) {
+            return;
+        }
+        try {
+            partitionRouter.assignPartitions(summaries);
+            logStorage.storeLogs(summaries);
+            channelNotifier.signalStored(summaries);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to store {} repeat summaries", summaries.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled) {
+            flusher.shutdownNow();
+            // 종료 시에는 닫히지 않은 창의 반복 횟수도 저장합니다.
+            // On shutdown, counts of windows that are still open are stored too.
+            flush(Long.MAX_VALUE);
+        }
+    }
+
+    private boolean appliesTo(String channel) {
+        if (channel == null) {
+            return false;
+        }
+        if (allChannels || exactChannels.contains(channel)) {
+            return true;
+        }
+        for (String prefix : channelPrefixes) {
+            if (channel.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object[] metaValuesOf(LogEntry logEntry) {
+        Object[] values = new Object[metaKeys.length];
+        Map<String, Object> meta = logEntry.getMeta();
+        if (meta != null) {
+            for (int i = 0; i < metaKeys.length; i++) {
+                values[i] = meta.get(metaKeys[i]);
+            }
+        }
+        return values;
+    }
+
+    private static int fingerprint(LogEntry logEntry, Object[] metaValues) {
+        int hash = logEntry.getChannel().hashCode();
+        hash = 31 * hash + logEntry.getLevel().ordinal();
+        hash = 31 * hash + templateHash(logEntry.getMessage());
+        hash = 31 * hash + Arrays.hashCode(metaValues);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Hash of the message with every run of digits counted as one placeholder, computed without copying
+     */
+    static int templateHash(String message) {
+        if (message == null) {
+            return 0;
+        }
+        int hash = 1;
+        boolean inDigits = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isDigit(c)) {
+                if (!inDigits) {
+                    hash = 31 * hash + '#';
+                    inDigits = true;
+                }
+            } else {
+                hash = 31 * hash + c;
+                inDigits = false;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Whether both messages are equal once every run of digits is counted as one placeholder
+     */
+    static boolean sameTemplate(String a, String b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            boolean digitA = Character.isDigit(a.charAt(i));
+            boolean digitB = Character.isDigit(b.charAt(j));
+            if (digitA != digitB) {
+                return false;
+            }
+            if (digitA) {
+                while (i < a.length() && Character.isDigit(a.charAt(i))) {
+                    i++;
+                }
+                while (j < b.length() && Character.isDigit(b.charAt(j))) {
+                    j++;
+                }
+            } else if (a.charAt(i++) != b.charAt(j++)) {
+                return false;
+            }
+        }
+        return i == a.length() && j == b.length();
+    }
+
+    private static final class Slot {
+
+        private int hash;
+        private LogEntry first;
+        private Object[] metaValues;
+        private long windowEnd;
+        private int repeats;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+
+        private boolean matches(int hash, LogEntry logEntry, Object[] metaValues) {
+            return first != null
+                    && this.hash == hash
+                    && first.getLevel() == logEntry.getLevel()
+                    && first.getChannel().equals(logEntry.getChannel())
+                    && sameTemplate(first.getMessage(), logEntry.getMessage())
+                    && Arrays.equals(this.metaValues, metaValues);
+        }
+
+        private void absorb(LogEntry logEntry, long now) {
+            LocalDateTime seen = logEntry.getTimestamp() != null
+                    ? logEntry.getTimestamp()
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+            if (repeats++ == 0) {
+                firstSeen = seen;
+            }
+            lastSeen = seen;
+        }
+
+        /**
+         * Start tracking another entry (or nothing, with a null entry)
+         *
+         * @return the repeat summary of the previous entry, or null when it had no repeats
+         */
+        private LogEntry reset(int hash, LogEntry logEntry, Object[] metaValues, long windowEnd) {
+            LogEntry summary = repeats > 0 ? summary() : null;
+            this.hash = hash;
+            this.first = logEntry;
+            this.metaValues = metaValues;
+            this.windowEnd = windowEnd;
+            this.repeats = 0;
+            this.firstSeen = null;
+            this.lastSeen = null;
+            return summary;
+        }
+
+        private LogEntry summary() {
+            Map<String, Object> meta = first.getMeta() != null
+                    ? new LinkedHashMap<>(first.getMeta())
+                    : new LinkedHashMap<>();
+            meta.put(REPEAT_COUNT, repeats);
+            meta.put(FIRST_SEEN, firstSeen.toString());
+            meta.put(LAST_SEEN, lastSeen.toString());
+            LogEntry summary = new LogEntry(first.getChannel(), first.getLevel(), first.getMessage(), meta);
+            summary.setTimestamp(lastSeen);
+            // 첫 엔트리와 같은 파티션에 저장되도록 배정된 파티션을 그대로 씁니다.
+            // Reuse the partition the first entry was assigned so the summary lands next to it.
+            summary.setPartition(first.getPartition());
+            return summary;
+        }
+    }
+}
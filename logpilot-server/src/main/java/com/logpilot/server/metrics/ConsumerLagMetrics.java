@@ -0,0 +1,256 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.stats.ChannelStatistics;
+import com.logpilot.server.stats.ChannelStats;
+import com.logpilot.server.stats.ConsumerPositions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Consumer lag gauges (logpilot_channel_head_id, logpilot_consumer_committed_offset, logpilot_consumer_lag_entries,
+ * logpilot_consumer_lag_seconds, logpilot_consumer_fetch_rate).
+ * The values are computed every lagRefreshSeconds from ChannelStatistics and ConsumerPositions, which the write and
+ * read paths keep in memory, so a scrape only reads the last snapshot and never queries the storage. Every refresh
+ * replaces the whole series set: consumers idle for consumerIdleSeconds are evicted first and disappear from the
+ * next snapshot, and at most maxConsumerSeries consumer series (and maxChannelTags channels) are exported.
+ */
+@Component
+public class ConsumerLagMetrics implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerLagMetrics.class);
+
+    public static final String NO_PARTITION = "";
+
+    private final ChannelStatistics channelStatistics;
+    private final PartitionRouter partitionRouter;
+    private final ConsumerPositions consumerPositions;
+    private final long idleMillis;
+    private final int maxChannels;
+    private final int maxConsumerSeries;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService refresher;
+    private final List<Bound> bound = new ArrayList<>();
+    private Map<String, Long> lastFetched = new HashMap<>();
+    private long lastRefreshMillis;
+    private int droppedSeries;
+
+    @Autowired
+    public ConsumerLagMetrics(ChannelStatistics channelStatistics, PartitionRouter partitionRouter,
+            ConsumerPositions consumerPositions, LogPilotProperties properties) {
+        this(channelStatistics, partitionRouter, consumerPositions,
+                properties.getMetrics().getConsumerIdleSeconds() * 1000, properties.getMetrics().getMaxChannelTags(),
+                properties.getMetrics().getMaxConsumerSeries(), System::currentTimeMillis,
+                properties.getMetrics().getLagRefreshSeconds() > 0);
+        long refreshSeconds = properties.getMetrics().getLagRefreshSeconds();
+        if (refresher != null) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Gauges without a background refresh; values change only when refresh() is called
+     */
+    public ConsumerLagMetrics(ChannelStatistics channelStatistics, PartitionRouter partitionRouter,
+            ConsumerPositions consumerPositions, long idleMillis, int maxChannels, int maxConsumerSeries,
+            LongSupplier clock) {
+        this(channelStatistics, partitionRouter, consumerPositions, idleMillis, maxChannels, maxConsumerSeries, clock,
+                false);
+    }
+
+    private ConsumerLagMetrics(ChannelStatistics channelStatistics, PartitionRouter partitionRouter,
+            ConsumerPositions consumerPositions, long idleMillis, int maxChannels, int maxConsumerSeries,
+            LongSupplier clock, boolean scheduled) {
+        this.channelStatistics = channelStatistics;
+        this.partitionRouter = partitionRouter;
+        this.consumerPositions = consumerPositions;
+        this.idleMillis = idleMillis;
+        this.maxChannels = Math.max(0, maxChannels);
+        this.maxConsumerSeries = Math.max(0, maxConsumerSeries);
+        this.clock = clock;
+        this.lastRefreshMillis = clock.getAsLong();
+        this.refresher = scheduled ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "logpilot-consumer-lag");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Bound gauges = new Bound(
+                MultiGauge.builder("logpilot_channel_head_id")
+                        .description("Highest ID stored on a channel or partition")
+                        .register(registry),
+                MultiGauge.builder("logpilot_consumer_committed_offset")
+                        .description("Last ID committed by a consumer")
+                        .register(registry),
+                MultiGauge.builder("logpilot_consumer_lag_entries")
+                        .description("IDs between a consumer's committed offset and the head of the channel")
+                        .register(registry),
+                MultiGauge.builder("logpilot_consumer_lag_seconds")
+                        .description("Age difference between the head of the channel and the newest entry read")
+                        .baseUnit("seconds")
+                        .register(registry),
+                MultiGauge.builder("logpilot_consumer_fetch_rate")
+                        .description("Entries handed to a consumer per second since the previous refresh")
+                        .register(registry));
+        synchronized (this) {
+            bound.add(gauges);
+        }
+    }
+
+    /**
+     * Recompute every gauge from the in-memory channel and consumer state
+     */
+    public synchronized void refresh() {
+        long now = clock.getAsLong();
+        if (idleMillis > 0) {
+            consumerPositions.evictIdle(idleMillis);
+        }
+        long elapsedMillis = now - lastRefreshMillis;
+        lastRefreshMillis = now;
+
+        List<MultiGauge.Row<?>> heads = new ArrayList<>();
+        List<MultiGauge.Row<?>> committed = new ArrayList<>();
+        List<MultiGauge.Row<?>> lagEntries = new ArrayList<>();
+        List<MultiGauge.Row<?>> lagSeconds = new ArrayList<>();
+        List<MultiGauge.Row<?>> fetchRates = new ArrayList<>();
+        // 이번에 내보낸 컨슈머만 다음 비율 계산에 남기므로 사라진 컨슈머의 상태도 함께 정리됩니다.
+        // Only consumers exported now are kept for the next rate, so state of vanished consumers goes with them.
+        Map<String, Long> fetched = new HashMap<>();
+        int consumerSeries = 0;
+        int dropped = 0;
+
+        List<ChannelStats> channels = channelStatistics.getChannels();
+        for (ChannelStats channel : channels.subList(0, Math.min(channels.size(), maxChannels))) {
+            for (String stream : partitionRouter.streamsOf(channel.getChannel())) {
+                Integer partition = ChannelPartitions.partitionOf(stream);
+                Tags streamTags = Tags.of("channel", channel.getChannel(),
+                        "partition", partition != null ? partition.toString() : NO_PARTITION);
+                long head = channelStatistics.getHighWatermark(stream);
+                heads.add(MultiGauge.Row.of(streamTags, head));
+
+                LocalDateTime headTimestamp = channelStatistics.getHeadTimestamp(stream);
+                Map<String, ConsumerPositions.Position> consumers =
+                        new TreeMap<>(channelStatistics.getConsumerPositions(stream));
+                for (Map.Entry<String, ConsumerPositions.Position> consumer : consumers.entrySet()) {
+                    if (consumerSeries >= maxConsumerSeries) {
+                        dropped++;
+                        continue;
+                    }
+                    consumerSeries++;
+                    ConsumerPositions.Position position = consumer.getValue();
+                    Tags tags = streamTags.and("consumer", consumer.getKey());
+                    long lag = Math.max(0, head - position.getCommitted());
+                    committed.add(MultiGauge.Row.of(tags, position.getCommitted()));
+                    lagEntries.add(MultiGauge.Row.of(tags, lag));
+
+                    Double seconds = lagSeconds(lag, headTimestamp, position.getReadTimestamp());
+                    if (seconds != null) {
+                        lagSeconds.add(MultiGauge.Row.of(tags, seconds));
+                    }
+
+                    String key = stream + '\u0000' + consumer.getKey();
+                    long count = position.getFetched();
+                    fetched.put(key, count);
+                    Long previous = lastFetched.get(key);
+                    if (previous != null && elapsedMillis > 0) {
+                        fetchRates.add(MultiGauge.Row.of(tags,
+                                Math.max(0, count - previous) * 1000.0 / elapsedMillis));
+                    }
+                }
+            }
+        }
+        lastFetched = fetched;
+        if (dropped > 0 && droppedSeries == 0) {
+            logger.warn("Consumer lag metrics capped at {} series; {} consumer series not exported",
+                    maxConsumerSeries, dropped);
+        }
+        droppedSeries = dropped;
+
+        for (Bound gauges : bound) {
+            gauges.headId.register(heads, true);
+            gauges.committedOffset.register(committed, true);
+            gauges.lagEntries.register(lagEntries, true);
+            gauges.lagSeconds.register(lagSeconds, true);
+            gauges.fetchRate.register(fetchRates, true);
+        }
+    }
+
+    /**
+     * Consumer series left out of the last refresh because of maxConsumerSeries
+     */
+    public synchronized int getDroppedSeries() {
+        return droppedSeries;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * How much older the newest entry read is than the head; null when either timestamp is unknown
+     */
+    static Double lagSeconds(long lagEntries, LocalDateTime headTimestamp, LocalDateTime readTimestamp) {
+        if (lagEntries == 0) {
+            return 0.0;
+        }
+        if (headTimestamp == null || readTimestamp == null) {
+            return null;
+        }
+        return Math.max(0, Duration.between(readTimestamp, headTimestamp).toMillis()) / 1000.0;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 예외가 나가면 예약 작업이 멈추므로 기록만 하고 다음 주기를 기다립니다.
+            // An escaping exception would cancel the schedule, so it is only logged until the next run.
+            logger.warn("Failed to refresh consumer lag metrics: {}", e.getMessage());
+        }
+    }
+
+    private static final class Bound {
+
+        private final MultiGauge headId;
+        private final MultiGauge committedOffset;
+        private final MultiGauge lagEntries;
+        private final MultiGauge lagSeconds;
+        private final MultiGauge fetchRate;
+
+        private Bound(MultiGauge headId, MultiGauge committedOffset, MultiGauge lagEntries, MultiGauge lagSeconds,
+                MultiGauge fetchRate) {
+            this.headId = headId;
+            this.committedOffset = committedOffset;
+            this.lagEntries = lagEntries;
+            this.lagSeconds = lagSeconds;
+            this.fetchRate = fetchRate;
+        }
+    }
+}
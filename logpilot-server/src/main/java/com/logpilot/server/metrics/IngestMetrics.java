@@ -0,0 +1,141 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingest counters (logpilot_logs_received_total{level, channel}).
+ * The hot path only adds to striped LongAdders; Micrometer reads them through FunctionCounters when it
+ * scrapes or publishes, so recording neither registers meters nor allocates per entry. Channel tags are
+ * capped: once maxChannelTags channels have been seen, further channels are counted as "other".
+ */
+@Component
+public class IngestMetrics {
+
+    public static final String METRIC_NAME = "logpilot_logs_received_total";
+    public static final String OTHER_CHANNEL = "other";
+    public static final String UNKNOWN_CHANNEL = "unknown";
+    public static final String UNKNOWN_LEVEL = "UNKNOWN";
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final MeterRegistry meterRegistry;
+    private final int maxChannelTags;
+    private final Map<String, ChannelCounters> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger channelTags = new AtomicInteger();
+    private final ChannelCounters otherChannels;
+
+    @Autowired
+    public IngestMetrics(MeterRegistry meterRegistry, LogPilotProperties properties) {
+        this(meterRegistry, properties.getMetrics().getMaxChannelTags());
+    }
+
+    public IngestMetrics(MeterRegistry meterRegistry, int maxChannelTags) {
+        this.meterRegistry = meterRegistry;
+        this.maxChannelTags = Math.max(0, maxChannelTags);
+        this.otherChannels = new ChannelCounters(OTHER_CHANNEL);
+    }
+
+    public void record(LogEntry logEntry) {
+        if (logEntry != null) {
+            countersFor(logEntry.getChannel()).levels[levelIndex(logEntry.getLevel())].increment();
+        }
+    }
+
+    /**
+     * Count a batch with one add per (level, channel) run instead of one per entry
+     */
+    public void record(List<LogEntry> logEntries) {
+        if (logEntries == null || logEntries.isEmpty()) {
+            return;
+        }
+        long[] counts = new long[LEVELS.length + 1];
+        String runChannel = null;
+        ChannelCounters runCounters = null;
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry == null) {
+                continue;
+            }
+            if (runCounters == null || !Objects.equals(runChannel, logEntry.getChannel())) {
+                flush(runCounters, counts);
+                runChannel = logEntry.getChannel();
+                runCounters = countersFor(runChannel);
+            }
+            counts[levelIndex(logEntry.getLevel())]++;
+        }
+        flush(runCounters, counts);
+    }
+
+    public int getChannelTagCount() {
+        return channels.size();
+    }
+
+    private static void flush(ChannelCounters counters, long[] counts) {
+        if (counters == null) {
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                counters.levels[i].add(counts[i]);
+                counts[i] = 0;
+            }
+        }
+    }
+
+    private ChannelCounters countersFor(String channel) {
+        String key = channel != null ? channel : UNKNOWN_CHANNEL;
+        if (OTHER_CHANNEL.equals(key)) {
+            return otherChannels;
+        }
+        ChannelCounters counters = channels.get(key);
+        if (counters != null) {
+            return counters;
+        }
+        if (channelTags.get() >= maxChannelTags) {
+            return otherChannels;
+        }
+        // 상한을 넘는 채널은 맵에 넣지 않으므로 힙 사용량도 상한을 따릅니다.
+        // Channels past the cap are never added to the map, so heap use is bounded too.
+        counters = channels.computeIfAbsent(key, c -> {
+            if (channelTags.incrementAndGet() > maxChannelTags) {
+                channelTags.decrementAndGet();
+                return null;
+            }
+            return new ChannelCounters(c);
+        });
+        return counters != null ? counters : otherChannels;
+    }
+
+    private static int levelIndex(LogLevel level) {
+        return level != null ? level.ordinal() : LEVELS.length;
+    }
+
+    private class ChannelCounters {
+
+        private final LongAdder[] levels = new LongAdder[LEVELS.length + 1];
+
+        private ChannelCounters(String channel) {
+            for (int i = 0; i < levels.length; i++) {
+                LongAdder adder = new LongAdder();
+                levels[i] = adder;
+                FunctionCounter.builder(METRIC_NAME, adder, LongAdder::sum)
+                        .tag("level", i < LEVELS.length ? LEVELS[i].name() : UNKNOWN_LEVEL)
+                        .tag("channel", channel)
+                        .description("Number of logs received by level and channel")
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
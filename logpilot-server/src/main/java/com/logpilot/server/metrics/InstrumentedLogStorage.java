@@ -0,0 +1,335 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.core.storage.StorageObserver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Storage decorator that times every call.
+ * Each operation gets a timer with a percentile histogram (logpilot_storage_operation_seconds) and an
+ * in-flight gauge (logpilot_storage_inflight_operations), both tagged by backend and operation. Write and read
+ * sizes go to logpilot_storage_batch_entries; lock waits and bytes written come from the backend through
+ * StorageObserver. All meters are registered up front so a call only reads the clock and updates them.
+ */
+public class InstrumentedLogStorage implements LogStorage {
+
+    private final LogStorage delegate;
+    private final Operation store;
+    private final Operation storeLogs;
+    private final Operation storeReplicated;
+    private final Operation retrieve;
+    private final Operation retrieveAfter;
+    private final Operation query;
+    private final Operation getConsumerOffset;
+    private final Operation commitOffset;
+    private final Operation seekToBeginning;
+    private final Operation seekToEnd;
+    private final Operation seekToId;
+    private final Operation getChannels;
+    private final Operation getLastLogId;
+
+    public InstrumentedLogStorage(LogStorage delegate, MeterRegistry meterRegistry, String backend) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate storage cannot be null");
+        }
+        this.delegate = delegate;
+        this.store = new Operation(meterRegistry, backend, "store", true);
+        this.storeLogs = new Operation(meterRegistry, backend, "storeLogs", true);
+        this.storeReplicated = new Operation(meterRegistry, backend, "storeReplicated", true);
+        this.retrieve = new Operation(meterRegistry, backend, "retrieve", true);
+        this.retrieveAfter = new Operation(meterRegistry, backend, "retrieveAfter", true);
+        this.query = new Operation(meterRegistry, backend, "query", true);
+        this.getConsumerOffset = new Operation(meterRegistry, backend, "getConsumerOffset", false);
+        this.commitOffset = new Operation(meterRegistry, backend, "commitOffset", false);
+        this.seekToBeginning = new Operation(meterRegistry, backend, "seekToBeginning", false);
+        this.seekToEnd = new Operation(meterRegistry, backend, "seekToEnd", false);
+        this.seekToId = new Operation(meterRegistry, backend, "seekToId", false);
+        this.getChannels = new Operation(meterRegistry, backend, "getChannels", false);
+        this.getLastLogId = new Operation(meterRegistry, backend, "getLastLogId", false);
+        delegate.setStorageObserver(new MeteredObserver(meterRegistry, backend));
+    }
+
+    public LogStorage getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public LogStorage unwrap() {
+        return delegate.unwrap();
+    }
+
+    @Override
+    public void store(LogEntry logEntry) {
+        long start = store.begin();
+        try {
+            delegate.store(logEntry);
+        } finally {
+            store.end(start, 1);
+        }
+    }
+
+    @Override
+    public void storeLogs(List<LogEntry> logEntries) {
+        long start = storeLogs.begin();
+        try {
+            delegate.storeLogs(logEntries);
+        } finally {
+            storeLogs.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public void storeReplicated(List<LogEntry> logEntries) {
+        long start = storeReplicated.begin();
+        try {
+            delegate.storeReplicated(logEntries);
+        } finally {
+            storeReplicated.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit) {
+        long start = retrieve.begin();
+        List<LogEntry> logEntries = null;
+        try {
+            logEntries = delegate.retrieve(channel, consumerId, limit);
+            return logEntries;
+        } finally {
+            retrieve.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, int limit) {
+        long start = retrieve.begin();
+        List<LogEntry> logEntries = null;
+        try {
+            logEntries = delegate.retrieve(channel, limit);
+            return logEntries;
+        } finally {
+            retrieve.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit, boolean autoCommit) {
+        long start = retrieve.begin();
+        List<LogEntry> logEntries = null;
+        try {
+            logEntries = delegate.retrieve(channel, consumerId, limit, autoCommit);
+            return logEntries;
+        } finally {
+            retrieve.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public List<LogEntry> retrieveAfter(String channel, long afterId, int limit) {
+        long start = retrieveAfter.begin();
+        List<LogEntry> logEntries = null;
+        try {
+            logEntries = delegate.retrieveAfter(channel, afterId, limit);
+            return logEntries;
+        } finally {
+            retrieveAfter.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public List<LogEntry> query(String channel, LogQuery logQuery, long afterId, int limit) {
+        long start = query.begin();
+        List<LogEntry> logEntries = null;
+        try {
+            logEntries = delegate.query(channel, logQuery, afterId, limit);
+            return logEntries;
+        } finally {
+            query.end(start, logEntries != null ? logEntries.size() : 0);
+        }
+    }
+
+    @Override
+    public long getConsumerOffset(String channel, String consumerId) {
+        long start = getConsumerOffset.begin();
+        try {
+            return delegate.getConsumerOffset(channel, consumerId);
+        } finally {
+            getConsumerOffset.end(start, 0);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getConsumerOffsets(String channel) {
+        long start = getConsumerOffset.begin();
+        try {
+            return delegate.getConsumerOffsets(channel);
+        } finally {
+            getConsumerOffset.end(start, 0);
+        }
+    }
+
+    @Override
+    public void commitOffset(String channel, String consumerId, long lastLogId) {
+        long start = commitOffset.begin();
+        try {
+            delegate.commitOffset(channel, consumerId, lastLogId);
+        } finally {
+            commitOffset.end(start, 0);
+        }
+    }
+
+    @Override
+    public void seekToBeginning(String channel, String consumerId) {
+        long start = seekToBeginning.begin();
+        try {
+            delegate.seekToBeginning(channel, consumerId);
+        } finally {
+            seekToBeginning.end(start, 0);
+        }
+    }
+
+    @Override
+    public void seekToEnd(String channel, String consumerId) {
+        long start = seekToEnd.begin();
+        try {
+            delegate.seekToEnd(channel, consumerId);
+        } finally {
+            seekToEnd.end(start, 0);
+        }
+    }
+
+    @Override
+    public void seekToId(String channel, String consumerId, long logId) {
+        long start = seekToId.begin();
+        try {
+            delegate.seekToId(channel, consumerId, logId);
+        } finally {
+            seekToId.end(start, 0);
+        }
+    }
+
+    @Override
+    public List<String> getChannels() {
+        long start = getChannels.begin();
+        try {
+            return delegate.getChannels();
+        } finally {
+            getChannels.end(start, 0);
+        }
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
+        long start = getLastLogId.begin();
+        try {
+            return delegate.getLastLogId(channel);
+        } finally {
+            getLastLogId.end(start, 0);
+        }
+    }
+
+    @Override
+    public void setStorageObserver(StorageObserver storageObserver) {
+        // 백엔드 관측자는 이 래퍼가 소유합니다.
+        // The backend observer is owned by this wrapper.
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static final class Operation {
+
+        private final Timer timer;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final DistributionSummary entries;
+
+        private Operation(MeterRegistry meterRegistry, String backend, String name, boolean countsEntries) {
+            this.timer = Timer.builder("logpilot_storage_operation_seconds")
+                    .description("Latency of storage calls")
+                    .tag("backend", backend)
+                    .tag("operation", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            Gauge.builder("logpilot_storage_inflight_operations", inFlight, AtomicInteger::get)
+                    .description("Storage calls currently running or waiting for the backend")
+                    .tag("backend", backend)
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            this.entries = countsEntries
+                    ? DistributionSummary.builder("logpilot_storage_batch_entries")
+                            .description("Entries written or returned per storage call")
+                            .tag("backend", backend)
+                            .tag("operation", name)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+                    : null;
+        }
+
+        private long begin() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        private void end(long start, int entryCount) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            inFlight.decrementAndGet();
+            if (entries != null) {
+                entries.record(entryCount);
+            }
+        }
+    }
+
+    private static final class MeteredObserver implements StorageObserver {
+
+        private final Timer readLockWait;
+        private final Timer writeLockWait;
+        private final DistributionSummary bytesWritten;
+
+        private MeteredObserver(MeterRegistry meterRegistry, String backend) {
+            this.readLockWait = lockWaitTimer(meterRegistry, backend, "read");
+            this.writeLockWait = lockWaitTimer(meterRegistry, backend, "write");
+            this.bytesWritten = DistributionSummary.builder("logpilot_storage_written_bytes")
+                    .description("Bytes appended to storage per write")
+                    .baseUnit("bytes")
+                    .tag("backend", backend)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private static Timer lockWaitTimer(MeterRegistry meterRegistry, String backend, String mode) {
+            return Timer.builder("logpilot_storage_lock_wait_seconds")
+                    .description("Time spent waiting for the storage lock")
+                    .tag("backend", backend)
+                    .tag("mode", mode)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void lockWaited(boolean write, long nanos) {
+            (write ? writeLockWait : readLockWait).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void bytesWritten(long bytes) {
+            bytesWritten.record(bytes);
+        }
+    }
+}
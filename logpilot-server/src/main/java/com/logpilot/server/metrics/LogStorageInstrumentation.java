@@ -0,0 +1,44 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.storage.LogStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.Locale;
+
+/**
+ * Wraps the logStorage bean in an InstrumentedLogStorage when logpilot.metrics.storage-enabled is set.
+ * When it is off, or no MeterRegistry exists, the bean is returned untouched, so storage calls pay nothing.
+ */
+public class LogStorageInstrumentation implements BeanPostProcessor {
+
+    public static final String LOG_STORAGE_BEAN = "logStorage";
+
+    private final ObjectProvider<LogPilotProperties> properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public LogStorageInstrumentation(ObjectProvider<LogPilotProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!LOG_STORAGE_BEAN.equals(beanName) || !(bean instanceof LogStorage logStorage)) {
+            return bean;
+        }
+        LogPilotProperties logPilotProperties = properties.getIfAvailable();
+        if (logPilotProperties == null || !logPilotProperties.getMetrics().isStorageEnabled()) {
+            return bean;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return bean;
+        }
+        String backend = logPilotProperties.getStorage().getType().name().toLowerCase(Locale.ROOT);
+        return new InstrumentedLogStorage(logStorage, registry, backend);
+    }
+}
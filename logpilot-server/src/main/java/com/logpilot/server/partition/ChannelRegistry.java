@@ -0,0 +1,128 @@
+package com.logpilot.server.partition;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.partition.ChannelPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partition counts of partitioned channels.
+ * Channels come from configuration and from runtime creation, which is persisted to a small JSON file.
+ */
+@Component
+public class ChannelRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelRegistry.class);
+    private static final int MAX_PARTITIONS = 1024;
+
+    private final Map<String, Integer> partitions = new ConcurrentHashMap<>();
+    private final Path registryPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public ChannelRegistry(LogPilotProperties properties) {
+        this(properties.getPartitioning().getChannels(),
+                properties.getPartitioning().getRegistryPath() != null
+                        ? Paths.get(properties.getPartitioning().getRegistryPath())
+                        : null);
+    }
+
+    public ChannelRegistry(Map<String, Integer> configuredChannels, Path registryPath) {
+        this.registryPath = registryPath;
+        loadRegistryFile();
+        if (configuredChannels != null) {
+            configuredChannels.forEach(this::register);
+        }
+        if (!partitions.isEmpty()) {
+            logger.info("Loaded {} partitioned channels: {}", partitions.size(), new TreeMap<>(partitions));
+        }
+    }
+
+    public int partitionsOf(String channel) {
+        if (channel == null) {
+            return 1;
+        }
+        return partitions.getOrDefault(channel, 1);
+    }
+
+    public Map<String, Integer> getChannels() {
+        return new TreeMap<>(partitions);
+    }
+
+    /**
+     * Create a partitioned channel. Creating an existing channel with the same count is a no-op;
+     * changing the count is rejected because it would re-route existing keys.
+     */
+    public synchronized void createChannel(String channel, int partitionCount) {
+        Integer existing = partitions.get(channel);
+        if (existing != null) {
+            if (existing != partitionCount) {
+                throw new ChannelConfigurationException("Channel " + channel + " already has " + existing
+                        + " partitions");
+            }
+            return;
+        }
+        register(channel, partitionCount);
+        saveRegistryFile();
+        logger.info("Created channel: {} with {} partitions", channel, partitionCount);
+    }
+
+    private void register(String channel, Integer partitionCount) {
+        if (channel == null || channel.isBlank()) {
+            throw new ChannelConfigurationException("Channel name is required");
+        }
+        ChannelPartitions.requireChannelName(channel);
+        if (partitionCount == null || partitionCount < 1 || partitionCount > MAX_PARTITIONS) {
+            throw new ChannelConfigurationException("Partition count must be between 1 and " + MAX_PARTITIONS
+                    + " for channel: " + channel);
+        }
+        partitions.put(channel, partitionCount);
+    }
+
+    private void loadRegistryFile() {
+        if (registryPath == null || !Files.exists(registryPath)) {
+            return;
+        }
+        try {
+            Map<String, Integer> stored = objectMapper.readValue(registryPath.toFile(),
+                    new TypeReference<Map<String, Integer>>() {
+                    });
+            stored.forEach(this::register);
+        } catch (IOException e) {
+            logger.warn("Failed to load channel registry from: {}", registryPath, e);
+        }
+    }
+
+    private void saveRegistryFile() {
+        if (registryPath == null) {
+            return;
+        }
+        try {
+            Path parent = registryPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 임시 파일에 쓴 뒤 교체하여 부분적으로 기록된 파일을 남기지 않습니다.
+            // Write to a temp file and move it into place so a partial file is never left behind.
+            Path tempFile = registryPath.resolveSibling(registryPath.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), getChannels());
+            Files.move(tempFile, registryPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new ChannelConfigurationException("Failed to save channel registry: " + e.getMessage());
+        }
+    }
+}
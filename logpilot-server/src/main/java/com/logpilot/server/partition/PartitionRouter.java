@@ -0,0 +1,357 @@
+package com.logpilot.server.partition;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
+import com.logpilot.core.storage.LogStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Routes entries of partitioned channels to a partition and reads partitioned channels back.
+ * Channels with a single partition pass straight through to storage.
+ */
+@Component
+public class PartitionRouter {
+
+    private static final String CURSOR_VERSION = "q1:";
+    // 소비자별 회전 위치는 잃어도 0부터 다시 돌 뿐이므로 개수와 유휴 시간으로 제한합니다.
+    // Losing a consumer's rotation only restarts it at 0, so rotations are bounded by count and idle time.
+    private static final long MAX_FETCH_ROTATIONS = 10_000;
+    private static final Duration FETCH_ROTATION_IDLE = Duration.ofMinutes(10);
+
+    private final ChannelRegistry channelRegistry;
+    private final String keyField;
+    private final Map<String, AtomicInteger> roundRobinCounters = new ConcurrentHashMap<>();
+    private final Cache<String, AtomicInteger> fetchRotations = Caffeine.newBuilder()
+            .maximumSize(MAX_FETCH_ROTATIONS)
+            .expireAfterAccess(FETCH_ROTATION_IDLE)
+            .build();
+
+    @Autowired
+    public PartitionRouter(ChannelRegistry channelRegistry, LogPilotProperties properties) {
+        this(channelRegistry, properties.getPartitioning().getKeyField());
+    }
+
+    public PartitionRouter(ChannelRegistry channelRegistry, String keyField) {
+        this.channelRegistry = channelRegistry;
+        this.keyField = keyField;
+    }
+
+    /**
+     * Router for setups without partitioned channels
+     */
+    public static PartitionRouter unpartitioned() {
+        return new PartitionRouter(new ChannelRegistry(Map.of(), null), (String) null);
+    }
+
+    public ChannelRegistry getChannelRegistry() {
+        return channelRegistry;
+    }
+
+    public int partitionsOf(String channel) {
+        return channelRegistry.partitionsOf(channel);
+    }
+
+    /**
+     * Storage streams that make up a channel
+     */
+    public List<String> streamsOf(String channel) {
+        int partitions = partitionsOf(channel);
+        if (partitions <= 1) {
+            return Collections.singletonList(channel);
+        }
+        List<String> streams = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            streams.add(ChannelPartitions.streamName(channel, partition));
+        }
+        return streams;
+    }
+
+    /**
+     * Pick a partition: explicit partition, then partition key, then the configured meta key field,
+     * and finally round-robin.
+     */
+    public void assignPartition(LogEntry logEntry) {
+        if (logEntry == null || logEntry.getChannel() == null) {
+            return;
+        }
+
+        int partitions = partitionsOf(logEntry.getChannel());
+        Integer requested = logEntry.getPartition();
+        if (requested != null) {
+            if (partitions <= 1 && requested == 0) {
+                logEntry.setPartition(null);
+            } else if (partitions <= 1 || requested < 0 || requested >= partitions) {
+                throw new ChannelConfigurationException("Partition " + requested + " is out of range for channel: "
+                        + logEntry.getChannel() + " (" + partitions + " partitions)");
+            }
+            return;
+        }
+
+        if (partitions <= 1) {
+            return;
+        }
+
+        String key = resolvePartitionKey(logEntry);
+        if (key != null) {
+            logEntry.setPartition(ChannelPartitions.partitionForKey(key, partitions));
+        } else {
+            AtomicInteger counter = roundRobinCounters.computeIfAbsent(logEntry.getChannel(),
+                    c -> new AtomicInteger());
+            logEntry.setPartition(Math.floorMod(counter.getAndIncrement(), partitions));
+        }
+    }
+
+    public void assignPartitions(List<LogEntry> logEntries) {
+        if (logEntries == null) {
+            return;
+        }
+        for (LogEntry logEntry : logEntries) {
+            assignPartition(logEntry);
+        }
+    }
+
+    /**
+     * Consumer fetch. For partitioned channels every partition is visited, starting at a rotating
+     * partition so a busy partition cannot starve the others.
+     */
+    public List<LogEntry> retrieve(LogStorage logStorage, String channel, String consumerId, int limit,
+            boolean autoCommit) {
+        return retrieveStreams(logStorage, streamsOf(channel), consumerId, limit, autoCommit);
+    }
+
+    /**
+     * Consumer fetch over a given set of partition streams, e.g. the partitions assigned to a group member
+     */
+    public List<LogEntry> retrieveStreams(LogStorage logStorage, List<String> streams, String consumerId, int limit,
+            boolean autoCommit) {
+        if (streams.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (streams.size() == 1) {
+            return logStorage.retrieve(streams.get(0), consumerId, limit, autoCommit);
+        }
+
+        List<LogEntry> entries = new ArrayList<>();
+        int start = Math.floorMod(fetchRotations
+                .get(consumerId + ":" + streams.get(0), k -> new AtomicInteger())
+                .getAndIncrement(), streams.size());
+        for (int i = 0; i < streams.size() && entries.size() < limit; i++) {
+            String stream = streams.get((start + i) % streams.size());
+            entries.addAll(logStorage.retrieve(stream, consumerId, limit - entries.size(), autoCommit));
+        }
+        return entries;
+    }
+
+    /**
+     * Highest log ID per storage stream among entries read back from storage
+     */
+    public static Map<String, Long> lastLogIds(List<LogEntry> logEntries) {
+        Map<String, Long> lastLogIds = new LinkedHashMap<>();
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry.getId() != null) {
+                lastLogIds.merge(ChannelPartitions.streamName(logEntry), logEntry.getId(), Math::max);
+            }
+        }
+        return lastLogIds;
+    }
+
+    /**
+     * Paged consumer fetch: entries go to pageSink a page at a time, visiting partitions in the same rotating
+     * order as retrieve
+     *
+     * @return the number of entries handed to the sink
+     */
+    public int retrievePages(LogStorage logStorage, String channel, String consumerId, int limit, boolean autoCommit,
+            int pageSize, Consumer<List<LogEntry>> pageSink) {
+        List<String> streams = streamsOf(channel);
+        if (streams.size() == 1) {
+            return logStorage.retrievePages(channel, consumerId, limit, autoCommit, pageSize, pageSink);
+        }
+
+        int delivered = 0;
+        int start = Math.floorMod(fetchRotations
+                .get(consumerId + ":" + streams.get(0), k -> new AtomicInteger())
+                .getAndIncrement(), streams.size());
+        for (int i = 0; i < streams.size() && delivered < limit; i++) {
+            String stream = streams.get((start + i) % streams.size());
+            delivered += logStorage.retrievePages(stream, consumerId, limit - delivered, autoCommit, pageSize,
+                    pageSink);
+        }
+        return delivered;
+    }
+
+    /**
+     * Latest entries of a channel, merged across partitions by timestamp
+     */
+    public List<LogEntry> retrieveLatest(LogStorage logStorage, String channel, int limit) {
+        List<String> streams = streamsOf(channel);
+        if (streams.size() == 1) {
+            return logStorage.retrieve(streams.get(0), limit);
+        }
+
+        List<LogEntry> entries = new ArrayList<>();
+        for (String stream : streams) {
+            entries.addAll(logStorage.retrieve(stream, limit));
+        }
+        entries.sort(Comparator.comparing(LogEntry::getTimestamp).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * One page of query results. Each partition is queried after its own position in the cursor and the results
+     * are merged by timestamp; a partition's position only moves past entries that made it into the page, and
+     * to its head once it has no more matches, so later pages neither repeat nor skip entries.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @throws InvalidQueryException if the cursor was not issued for this channel
+     */
+    public LogQueryResult query(LogStorage logStorage, String channel, LogQuery query, int limit, String cursor) {
+        List<String> streams = streamsOf(channel);
+        int pageLimit = Math.max(1, Math.min(limit, LogQuery.MAX_LIMIT));
+        long[] positions = decodeCursor(cursor, streams.size());
+
+        if (streams.size() == 1) {
+            List<LogEntry> matches = logStorage.query(streams.get(0), query, positions[0], pageLimit);
+            String nextCursor = matches.size() < pageLimit
+                    ? null
+                    : encodeCursor(new long[] {matches.get(matches.size() - 1).getId()});
+            return new LogQueryResult(project(query, matches), nextCursor);
+        }
+
+        List<List<LogEntry>> pages = new ArrayList<>();
+        long[] heads = new long[streams.size()];
+        for (int i = 0; i < streams.size(); i++) {
+            // 헤드를 조회 전에 읽어야 조회가 끝까지 훑은 범위를 넘지 않습니다.
+            // The head is read before the query so it never passes what the query scanned.
+            heads[i] = logStorage.getLastLogId(streams.get(i));
+            pages.add(logStorage.query(streams.get(i), query, positions[i], pageLimit));
+        }
+
+        // 파티션마다 ID 순서의 앞부분만 가져가도록 병합하므로 위치 하나로 다음 페이지를 이어 갈 수 있습니다.
+        // The merge takes an ID-ordered prefix of every partition, so one position per partition resumes the next page.
+        List<LogEntry> taken = new ArrayList<>();
+        int[] takenFromStream = new int[streams.size()];
+        while (taken.size() < pageLimit) {
+            int next = -1;
+            for (int i = 0; i < streams.size(); i++) {
+                if (takenFromStream[i] < pages.get(i).size() && (next < 0 || isBefore(
+                        pages.get(i).get(takenFromStream[i]), pages.get(next).get(takenFromStream[next])))) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            LogEntry logEntry = pages.get(next).get(takenFromStream[next]++);
+            taken.add(logEntry);
+            positions[next] = logEntry.getId();
+        }
+
+        boolean more = false;
+        for (int i = 0; i < streams.size(); i++) {
+            if (takenFromStream[i] == pages.get(i).size() && pages.get(i).size() < pageLimit) {
+                positions[i] = Math.max(positions[i], heads[i]);
+            } else {
+                more = true;
+            }
+        }
+        return new LogQueryResult(project(query, taken), more ? encodeCursor(positions) : null);
+    }
+
+    /**
+     * Log IDs are per partition, so ID-based operations need an explicit partition
+     */
+    public void requirePartitionForIds(String channel) {
+        if (partitionsOf(channel) > 1) {
+            throw new ChannelConfigurationException("Channel " + channel
+                    + " is partitioned; specify a partition for ID-based operations");
+        }
+    }
+
+    private static boolean isBefore(LogEntry candidate, LogEntry current) {
+        if (candidate.getTimestamp() == null || current.getTimestamp() == null) {
+            return candidate.getTimestamp() == null && current.getTimestamp() != null;
+        }
+        return candidate.getTimestamp().isBefore(current.getTimestamp());
+    }
+
+    private static List<LogEntry> project(LogQuery query, List<LogEntry> logEntries) {
+        if (!query.isProjected()) {
+            return logEntries;
+        }
+        List<LogEntry> projected = new ArrayList<>(logEntries.size());
+        for (LogEntry logEntry : logEntries) {
+            projected.add(query.project(logEntry));
+        }
+        return projected;
+    }
+
+    /**
+     * Cursor holding the last position of every partition stream, in stream order
+     */
+    static String encodeCursor(long[] positions) {
+        StringBuilder cursor = new StringBuilder(CURSOR_VERSION);
+        for (int i = 0; i < positions.length; i++) {
+            cursor.append(i == 0 ? "" : ",").append(positions[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long[] decodeCursor(String cursor, int streams) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new long[streams];
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_VERSION)) {
+                String[] parts = decoded.substring(CURSOR_VERSION.length()).split(",");
+                if (parts.length == streams) {
+                    long[] positions = new long[streams];
+                    for (int i = 0; i < streams; i++) {
+                        positions[i] = Long.parseLong(parts[i]);
+                    }
+                    return positions;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // 아래에서 잘못된 커서로 거절합니다.
+            // Rejected as an invalid cursor below.
+        }
+        throw new InvalidQueryException("Invalid cursor; it was not issued for this channel or its partitions changed");
+    }
+
+    private String resolvePartitionKey(LogEntry logEntry) {
+        if (logEntry.getPartitionKey() != null && !logEntry.getPartitionKey().isEmpty()) {
+            return logEntry.getPartitionKey();
+        }
+        if (keyField != null && !keyField.isEmpty() && logEntry.getMeta() != null) {
+            Object value = logEntry.getMeta().get(keyField);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+}
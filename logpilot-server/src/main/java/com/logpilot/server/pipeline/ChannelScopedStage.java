@@ -0,0 +1,89 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of the built-in stages: limits a stage to channels given as exact names or "prefix*" patterns.
+ * Subclasses see each entry of a matching channel in process(entry) and drop an entry by returning false.
+ */
+abstract class ChannelScopedStage implements IngestStage {
+
+    private final Set<String> exactChannels = new HashSet<>();
+    private final List<String> channelPrefixes = new ArrayList<>();
+    private final boolean allChannels;
+
+    ChannelScopedStage(List<String> channels) {
+        if (channels != null) {
+            for (String channel : channels) {
+                if (channel.endsWith("*")) {
+                    channelPrefixes.add(channel.substring(0, channel.length() - 1));
+                } else {
+                    exactChannels.add(channel);
+                }
+            }
+        }
+        this.allChannels = exactChannels.isEmpty() && channelPrefixes.isEmpty();
+    }
+
+    @Override
+    public final void apply(List<LogEntry> batch) {
+        // 남길 엔트리를 앞으로 당기고 끝에서 한 번에 잘라냅니다.
+        // Compact kept entries towards the front and cut the tail once.
+        int kept = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            LogEntry logEntry = batch.get(i);
+            if (logEntry == null || !appliesTo(logEntry.getChannel()) || process(logEntry)) {
+                batch.set(kept++, logEntry);
+            }
+        }
+        if (kept < batch.size()) {
+            batch.subList(kept, batch.size()).clear();
+        }
+    }
+
+    /**
+     * Process one entry of a matching channel
+     *
+     * @return false to drop the entry
+     */
+    abstract boolean process(LogEntry logEntry);
+
+    boolean appliesTo(String channel) {
+        if (allChannels) {
+            return true;
+        }
+        if (channel == null) {
+            return false;
+        }
+        if (exactChannels.contains(channel)) {
+            return true;
+        }
+        for (String prefix : channelPrefixes) {
+            if (channel.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Meta map of the entry that can be changed in place, copied only when it is missing or of an unknown type
+     */
+    static Map<String, Object> editableMeta(LogEntry logEntry) {
+        Map<String, Object> meta = logEntry.getMeta();
+        if (meta instanceof HashMap) {
+            return meta;
+        }
+        Map<String, Object> copy = meta != null ? new LinkedHashMap<>(meta) : new LinkedHashMap<>();
+        logEntry.setMeta(copy);
+        return copy;
+    }
+}
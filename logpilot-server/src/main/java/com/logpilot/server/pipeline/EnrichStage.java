@@ -0,0 +1,38 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds fixed meta values, such as the region or environment of this node, without overwriting values the
+ * producer already set.
+ */
+class EnrichStage extends ChannelScopedStage {
+
+    private final Map<String, String> meta;
+
+    EnrichStage(List<String> channels, Map<String, String> meta) {
+        super(channels);
+        if (meta == null || meta.isEmpty()) {
+            throw new IllegalArgumentException("ENRICH stage requires meta");
+        }
+        this.meta = new LinkedHashMap<>(meta);
+    }
+
+    @Override
+    public String name() {
+        return "enrich";
+    }
+
+    @Override
+    boolean process(LogEntry logEntry) {
+        Map<String, Object> entryMeta = editableMeta(logEntry);
+        for (Map.Entry<String, String> value : meta.entrySet()) {
+            entryMeta.putIfAbsent(value.getKey(), value.getValue());
+        }
+        return true;
+    }
+}
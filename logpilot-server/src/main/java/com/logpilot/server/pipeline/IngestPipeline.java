@@ -0,0 +1,128 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ordered stages that filter, trim, enrich and route entries on the receiving node before they are stored or
+ * forwarded to a channel owner, shared by REST and gRPC ingest. Entries that arrive already forwarded by another
+ * node are not run through it again.
+ * Each batch is copied once into a list the stages edit in place. Without stages, batches pass through untouched.
+ * Publishes logpilot_pipeline_dropped_total{stage, position}.
+ */
+@Component
+public class IngestPipeline implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestPipeline.class);
+    private static final IngestPipeline EMPTY = new IngestPipeline(Collections.emptyList());
+
+    private final List<IngestStage> stages;
+    private final LongAdder[] dropped;
+
+    @Autowired
+    public IngestPipeline(LogPilotProperties properties, ObjectProvider<IngestStage> customStages) {
+        this(stagesOf(properties.getPipeline(), customStages.orderedStream().toList()));
+    }
+
+    public IngestPipeline(List<IngestStage> stages) {
+        this.stages = List.copyOf(stages);
+        this.dropped = new LongAdder[this.stages.size()];
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+        if (!this.stages.isEmpty()) {
+            logger.info("Ingest pipeline: {}", this.stages.stream().map(IngestStage::name).toList());
+        }
+    }
+
+    /**
+     * Pipeline without stages
+     */
+    public static IngestPipeline empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return stages.isEmpty();
+    }
+
+    public List<IngestStage> getStages() {
+        return stages;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < stages.size(); i++) {
+            FunctionCounter.builder("logpilot_pipeline_dropped_total", dropped[i], LongAdder::sum)
+                    .description("Entries dropped by an ingest pipeline stage")
+                    .tag("stage", stages.get(i).name())
+                    .tag("position", String.valueOf(i))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Run every stage over the batch
+     *
+     * @return the entries left to store, possibly empty; the given list itself when there are no stages
+     */
+    public List<LogEntry> process(List<LogEntry> logEntries) {
+        if (stages.isEmpty() || logEntries == null || logEntries.isEmpty()) {
+            return logEntries;
+        }
+        List<LogEntry> batch = new ArrayList<>(logEntries);
+        for (int i = 0; i < stages.size() && !batch.isEmpty(); i++) {
+            int before = batch.size();
+            stages.get(i).apply(batch);
+            if (batch.size() < before) {
+                dropped[i].add(before - batch.size());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Built-in stages declared in configuration followed by stage beans
+     */
+    static List<IngestStage> stagesOf(LogPilotProperties.Pipeline pipeline, List<IngestStage> customStages) {
+        List<IngestStage> stages = new ArrayList<>();
+        List<LogPilotProperties.PipelineStage> configured = pipeline.getStages();
+        for (int i = 0; i < configured.size(); i++) {
+            stages.add(createStage(i, configured.get(i)));
+        }
+        stages.addAll(customStages);
+        return stages;
+    }
+
+    private static IngestStage createStage(int position, LogPilotProperties.PipelineStage stage) {
+        if (stage.getType() == null) {
+            throw new IllegalArgumentException("logpilot.pipeline.stages[" + position + "] has no type");
+        }
+        try {
+            return switch (stage.getType()) {
+                case LEVEL_FILTER -> new LevelFilterStage(stage.getChannels(), stage.getMinLevel());
+                case META_ALLOWLIST -> new MetaAllowlistStage(stage.getChannels(), stage.getMetaKeys());
+                case TRUNCATE -> new TruncateStage(stage.getChannels(), stage.getMaxMessageLength(),
+                        stage.getMaxMetaValueLength());
+                case ENRICH -> new EnrichStage(stage.getChannels(), stage.getMeta());
+                case ROUTE -> new RouteStage(stage.getChannels(), stage.getMinLevel(), stage.getMatchMetaKey(),
+                        stage.getMatchMetaValue(), stage.getTargetChannel());
+            };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("logpilot.pipeline.stages[" + position + "]: " + e.getMessage(), e);
+        }
+    }
+}
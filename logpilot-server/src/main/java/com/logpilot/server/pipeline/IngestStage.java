@@ -0,0 +1,22 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.List;
+
+/**
+ * One step of the ingest pipeline.
+ * A stage gets a whole batch as a mutable list owned by the pipeline and changes it in place: entries are edited
+ * directly and dropped entries are removed from the list, so work and allocations are per batch, not per entry.
+ * The list may contain null entries, which stages leave alone.
+ * Besides the stages declared under logpilot.pipeline, IngestStage beans are appended in @Order order.
+ */
+public interface IngestStage {
+
+    /**
+     * Short name used in metrics and logs
+     */
+    String name();
+
+    void apply(List<LogEntry> batch);
+}
@@ -0,0 +1,32 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+
+import java.util.List;
+
+/**
+ * Drops entries below a minimum level. Entries without a level are kept.
+ */
+class LevelFilterStage extends ChannelScopedStage {
+
+    private final LogLevel minLevel;
+
+    LevelFilterStage(List<String> channels, LogLevel minLevel) {
+        super(channels);
+        if (minLevel == null) {
+            throw new IllegalArgumentException("LEVEL_FILTER stage requires minLevel");
+        }
+        this.minLevel = minLevel;
+    }
+
+    @Override
+    public String name() {
+        return "level_filter";
+    }
+
+    @Override
+    boolean process(LogEntry logEntry) {
+        return logEntry.getLevel() == null || logEntry.getLevel().compareTo(minLevel) >= 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes meta keys that are not on the allowlist. An entry left without meta is stored without it.
+ */
+class MetaAllowlistStage extends ChannelScopedStage {
+
+    private final Set<String> allowedKeys;
+
+    MetaAllowlistStage(List<String> channels, List<String> allowedKeys) {
+        super(channels);
+        this.allowedKeys = new HashSet<>(allowedKeys);
+    }
+
+    @Override
+    public String name() {
+        return "meta_allowlist";
+    }
+
+    @Override
+    boolean process(LogEntry logEntry) {
+        Map<String, Object> meta = logEntry.getMeta();
+        if (meta == null || meta.isEmpty() || allowedKeys.containsAll(meta.keySet())) {
+            return true;
+        }
+        meta = editableMeta(logEntry);
+        meta.keySet().retainAll(allowedKeys);
+        if (meta.isEmpty()) {
+            logEntry.setMeta(null);
+        }
+        return true;
+    }
+}
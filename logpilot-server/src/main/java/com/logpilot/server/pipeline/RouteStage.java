@@ -0,0 +1,60 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves matching entries to another channel, e.g. every ERROR of "app-*" to "errors".
+ * An entry matches when it is at least minLevel (if set) and has matchMetaKey (if set), equal to matchMetaValue
+ * when that is set too. A routed entry's explicit partition is cleared, as it referred to the original channel.
+ */
+class RouteStage extends ChannelScopedStage {
+
+    private final LogLevel minLevel;
+    private final String matchMetaKey;
+    private final String matchMetaValue;
+    private final String targetChannel;
+
+    RouteStage(List<String> channels, LogLevel minLevel, String matchMetaKey, String matchMetaValue,
+            String targetChannel) {
+        super(channels);
+        if (targetChannel == null || targetChannel.isBlank()) {
+            throw new IllegalArgumentException("ROUTE stage requires targetChannel");
+        }
+        this.minLevel = minLevel;
+        this.matchMetaKey = matchMetaKey;
+        this.matchMetaValue = matchMetaValue;
+        this.targetChannel = targetChannel;
+    }
+
+    @Override
+    public String name() {
+        return "route";
+    }
+
+    @Override
+    boolean process(LogEntry logEntry) {
+        if (matches(logEntry) && !targetChannel.equals(logEntry.getChannel())) {
+            logEntry.setChannel(targetChannel);
+            logEntry.setPartition(null);
+        }
+        return true;
+    }
+
+    private boolean matches(LogEntry logEntry) {
+        if (minLevel != null && (logEntry.getLevel() == null || logEntry.getLevel().compareTo(minLevel) < 0)) {
+            return false;
+        }
+        if (matchMetaKey == null) {
+            return true;
+        }
+        if (logEntry.getMeta() == null || !logEntry.getMeta().containsKey(matchMetaKey)) {
+            return false;
+        }
+        return matchMetaValue == null
+                || Objects.equals(matchMetaValue, String.valueOf(logEntry.getMeta().get(matchMetaKey)));
+    }
+}
@@ -0,0 +1,198 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-channel sampling, run as the last ingest pipeline stage.
+ * A policy drops entries below a minimum level, keeps a random fraction of each level and caps each level with a
+ * token bucket refilled every second, in that order. Policies come from logpilot.sampling and can be replaced at
+ * runtime; a replaced policy starts with full buckets. The "*" policy covers channels without their own.
+ * Dropped entries are counted in logpilot_sampled_out_total{channel, level, reason} so that received totals can
+ * still be estimated. Policies and buckets are per node.
+ */
+@Component
+public class SamplingStage implements IngestStage {
+
+    public static final String METRIC_NAME = "logpilot_sampled_out_total";
+    public static final String DEFAULT_CHANNEL = "*";
+
+    private static final Logger logger = LoggerFactory.getLogger(SamplingStage.class);
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompiledPolicy> policies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SamplingStage(MeterRegistry meterRegistry, LogPilotProperties properties) {
+        this(meterRegistry, properties.getSampling().getChannels());
+    }
+
+    public SamplingStage(MeterRegistry meterRegistry, Map<String, LogPilotProperties.SamplingPolicy> policies) {
+        this.meterRegistry = meterRegistry;
+        if (policies != null) {
+            policies.forEach(this::setPolicy);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "sampling";
+    }
+
+    /**
+     * Policies in effect, by channel
+     */
+    public Map<String, LogPilotProperties.SamplingPolicy> getPolicies() {
+        Map<String, LogPilotProperties.SamplingPolicy> current = new TreeMap<>();
+        policies.forEach((channel, policy) -> current.put(channel, policy.source));
+        return Collections.unmodifiableMap(current);
+    }
+
+    /**
+     * Install or replace the policy of a channel
+     *
+     * @throws ChannelConfigurationException if a rate is outside 0..1 or a cap is negative
+     */
+    public void setPolicy(String channel, LogPilotProperties.SamplingPolicy policy) {
+        if (channel == null || channel.isBlank()) {
+            throw new ChannelConfigurationException("Sampling policy requires a channel");
+        }
+        if (policy == null) {
+            throw new ChannelConfigurationException("Sampling policy for channel " + channel + " is missing");
+        }
+        policies.put(channel, new CompiledPolicy(channel, policy));
+        logger.info("Sampling policy for channel {}: minLevel={}, sampleRates={}, maxPerSecond={}", channel,
+                policy.getMinLevel(), policy.getSampleRates(), policy.getMaxPerSecond());
+    }
+
+    /**
+     * @return whether the channel had a policy
+     */
+    public boolean removePolicy(String channel) {
+        boolean removed = channel != null && policies.remove(channel) != null;
+        if (removed) {
+            logger.info("Sampling policy for channel {} removed", channel);
+        }
+        return removed;
+    }
+
+    @Override
+    public void apply(List<LogEntry> batch) {
+        if (policies.isEmpty()) {
+            return;
+        }
+        CompiledPolicy fallback = policies.get(DEFAULT_CHANNEL);
+        int kept = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            LogEntry logEntry = batch.get(i);
+            CompiledPolicy policy = logEntry != null && logEntry.getChannel() != null
+                    ? policies.getOrDefault(logEntry.getChannel(), fallback)
+                    : null;
+            if (policy == null || policy.admit(logEntry.getLevel())) {
+                batch.set(kept++, logEntry);
+            }
+        }
+        if (kept < batch.size()) {
+            batch.subList(kept, batch.size()).clear();
+        }
+    }
+
+    private final class CompiledPolicy {
+
+        private final LogPilotProperties.SamplingPolicy source;
+        private final LogLevel minLevel;
+        private final double[] sampleRates = new double[LEVELS.length];
+        private final Bucket[] caps = new Bucket[LEVELS.length];
+        private final boolean[] blocked = new boolean[LEVELS.length];
+        private final Counter[] belowMinLevel = new Counter[LEVELS.length];
+        private final Counter[] sampledOut = new Counter[LEVELS.length];
+        private final Counter[] capped = new Counter[LEVELS.length];
+
+        private CompiledPolicy(String channel, LogPilotProperties.SamplingPolicy source) {
+            this.source = source;
+            this.minLevel = source.getMinLevel();
+            for (LogLevel level : LEVELS) {
+                int index = level.ordinal();
+                Double rate = source.getSampleRates() != null ? source.getSampleRates().get(level) : null;
+                if (rate != null && (rate.isNaN() || rate < 0 || rate > 1)) {
+                    throw new ChannelConfigurationException("Sample rate for " + level + " on channel " + channel
+                            + " must be between 0 and 1: " + rate);
+                }
+                sampleRates[index] = rate != null ? rate : 1.0;
+
+                Long cap = source.getMaxPerSecond() != null ? source.getMaxPerSecond().get(level) : null;
+                if (cap != null && cap < 0) {
+                    throw new ChannelConfigurationException("Rate cap for " + level + " on channel " + channel
+                            + " must not be negative: " + cap);
+                }
+                if (cap != null && cap > 0) {
+                    caps[index] = Bucket.builder()
+                            .addLimit(Bandwidth.builder()
+                                    .capacity(cap)
+                                    .refillGreedy(cap, Duration.ofSeconds(1))
+                                    .build())
+                            .build();
+                } else if (cap != null) {
+                    // 0은 해당 레벨을 모두 버립니다.
+                    // A cap of 0 drops the level entirely.
+                    blocked[index] = true;
+                }
+
+                // 같은 태그의 카운터는 레지스트리가 재사용하므로 정책을 바꿔도 누적값이 유지됩니다.
+                // The registry reuses counters with the same tags, so totals survive a policy change.
+                belowMinLevel[index] = counter(channel, level, "min_level");
+                sampledOut[index] = counter(channel, level, "sample_rate");
+                capped[index] = counter(channel, level, "rate_cap");
+            }
+        }
+
+        private Counter counter(String channel, LogLevel level, String reason) {
+            return Counter.builder(METRIC_NAME)
+                    .description("Entries dropped by a sampling policy")
+                    .tag("channel", channel)
+                    .tag("level", level.name())
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        private boolean admit(LogLevel level) {
+            if (level == null) {
+                return true;
+            }
+            int index = level.ordinal();
+            if (minLevel != null && level.compareTo(minLevel) < 0) {
+                belowMinLevel[index].increment();
+                return false;
+            }
+            double rate = sampleRates[index];
+            if (rate < 1.0 && (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate)) {
+                sampledOut[index].increment();
+                return false;
+            }
+            if (blocked[index] || (caps[index] != null && !caps[index].tryConsume(1))) {
+                capped[index].increment();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuts messages and string meta values to a maximum length. Entries within the limits are not touched.
+ */
+class TruncateStage extends ChannelScopedStage {
+
+    private final int maxMessageLength;
+    private final int maxMetaValueLength;
+
+    TruncateStage(List<String> channels, int maxMessageLength, int maxMetaValueLength) {
+        super(channels);
+        if (maxMessageLength <= 0 && maxMetaValueLength <= 0) {
+            throw new IllegalArgumentException("TRUNCATE stage requires maxMessageLength or maxMetaValueLength");
+        }
+        this.maxMessageLength = maxMessageLength;
+        this.maxMetaValueLength = maxMetaValueLength;
+    }
+
+    @Override
+    public String name() {
+        return "truncate";
+    }
+
+    @Override
+    boolean process(LogEntry logEntry) {
+        String message = logEntry.getMessage();
+        if (maxMessageLength > 0 && message != null && message.length() > maxMessageLength) {
+            logEntry.setMessage(message.substring(0, maxMessageLength));
+        }
+        if (maxMetaValueLength > 0 && logEntry.getMeta() != null && hasLongValue(logEntry.getMeta())) {
+            for (Map.Entry<String, Object> meta : editableMeta(logEntry).entrySet()) {
+                if (meta.getValue() instanceof String value && value.length() > maxMetaValueLength) {
+                    meta.setValue(value.substring(0, maxMetaValueLength));
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean hasLongValue(Map<String, Object> meta) {
+        for (Object value : meta.values()) {
+            if (value instanceof String text && text.length() > maxMetaValueLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
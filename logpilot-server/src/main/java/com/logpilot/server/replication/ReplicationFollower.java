@@ -0,0 +1,241 @@
+package com.logpilot.server.replication;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.grpc.proto.LogServiceGrpc;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the leader's channels over gRPC and applies new entries to the local storage in batches.
+ * Entries keep the leader's IDs, so the local last ID of a channel is also the replication cursor.
+ */
+@Component
+@ConditionalOnProperty(value = "logpilot.replication.role", havingValue = "follower")
+public class ReplicationFollower {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final Metadata.Key<String> API_KEY_METADATA_KEY = Metadata.Key.of("X-API-KEY",
+            Metadata.ASCII_STRING_MARSHALLER);
+    private static final long RPC_DEADLINE_SECONDS = 10;
+
+    private final LogStorage logStorage;
+    private final LogPilotProperties.Replication config;
+    private final String apiKey;
+    private final MeterRegistry meterRegistry;
+    private final ChannelNotifier channelNotifier;
+    private final Map<String, Long> channelLag = new ConcurrentHashMap<>();
+    private final AtomicLong lagEntries = new AtomicLong();
+    private final AtomicLong lastCaughtUpMillis = new AtomicLong(System.currentTimeMillis());
+
+    private volatile List<String> channels = new ArrayList<>();
+    private volatile long lastChannelRefreshMillis;
+    private ManagedChannel channel;
+    private LogServiceGrpc.LogServiceBlockingStub leaderStub;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicationFollower(LogStorage logStorage, LogPilotProperties properties, MeterRegistry meterRegistry,
+            ChannelNotifier channelNotifier,
+            @Value("${logpilot.server.api-key:logpilot-secret-key-123}") String serverApiKey) {
+        this.logStorage = logStorage;
+        this.config = properties.getReplication();
+        this.apiKey = config.getLeaderApiKey() != null ? config.getLeaderApiKey() : serverApiKey;
+        this.meterRegistry = meterRegistry;
+        this.channelNotifier = channelNotifier;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.channel = ManagedChannelBuilder.forTarget(config.getLeaderAddress())
+                .usePlaintext()
+                .keepAliveTime(30, TimeUnit.SECONDS)
+                .build();
+
+        Metadata metadata = new Metadata();
+        metadata.put(API_KEY_METADATA_KEY, apiKey);
+        this.leaderStub = LogServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+
+        Gauge.builder("logpilot_replication_lag_entries", lagEntries, AtomicLong::get)
+                .description("Number of leader entries not yet applied on this follower")
+                .register(meterRegistry);
+        Gauge.builder("logpilot_replication_lag_seconds", this, ReplicationFollower::getLagSeconds)
+                .description("Seconds since this follower was last fully caught up with the leader")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "logpilot-replication");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::replicateSafely, 0, config.getPollIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+
+        logger.info("Replication follower started (leader: {}, batchSize: {}, pollInterval: {}ms)",
+                config.getLeaderAddress(), config.getBatchSize(), config.getPollIntervalMillis());
+    }
+
+    private void replicateSafely() {
+        try {
+            replicateOnce();
+        } catch (Exception e) {
+            logger.warn("Replication round failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void replicateOnce() {
+        refreshChannelsIfStale();
+
+        long totalLag = 0;
+        for (String channelName : channels) {
+            totalLag += replicateChannel(channelName);
+        }
+
+        lagEntries.set(totalLag);
+        if (totalLag == 0) {
+            lastCaughtUpMillis.set(System.currentTimeMillis());
+        }
+    }
+
+    private void refreshChannelsIfStale() {
+        long now = System.currentTimeMillis();
+        if (!channels.isEmpty() && now - lastChannelRefreshMillis < config.getChannelRefreshIntervalMillis()) {
+            return;
+        }
+
+        LogPilotProto.ListChannelsResponse response = leaderStub
+                .withDeadlineAfter(RPC_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                .listChannels(LogPilotProto.ListChannelsRequest.getDefaultInstance());
+        channels = new ArrayList<>(response.getChannelsList());
+        channelLag.keySet().retainAll(channels);
+        lastChannelRefreshMillis = now;
+    }
+
+    private long replicateChannel(String channelName) {
+        long lastAppliedId = logStorage.getLastLogId(channelName);
+        long headId;
+
+        // 한 라운드에서 리더를 따라잡을 때까지 배치 단위로 계속 가져옵니다.
+        // Keep pulling batches until this round has caught up with the leader.
+        while (true) {
+            LogPilotProto.ReplicateResponse response = leaderStub
+                    .withDeadlineAfter(RPC_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                    .replicate(LogPilotProto.ReplicateRequest.newBuilder()
+                            .setChannel(channelName)
+                            .setAfterId(lastAppliedId)
+                            .setLimit(config.getBatchSize())
+                            .build());
+            headId = response.getHeadId();
+
+            if (response.getLogsCount() == 0) {
+                break;
+            }
+
+            List<LogEntry> batch = new ArrayList<>(response.getLogsCount());
+            for (LogPilotProto.LogEntry protoEntry : response.getLogsList()) {
+                batch.add(convertProtoLogEntryToLogEntry(protoEntry));
+            }
+            logStorage.storeReplicated(batch);
+            channelNotifier.signalStored(batch);
+            lastAppliedId = batch.get(batch.size() - 1).getId();
+
+            logger.debug("Applied {} replicated entries for channel: {} (lastId={}, headId={})",
+                    batch.size(), channelName, lastAppliedId, headId);
+
+            if (response.getLogsCount() < config.getBatchSize()) {
+                break;
+            }
+        }
+
+        long lag = Math.max(0, headId - lastAppliedId);
+        channelLag.put(channelName, lag);
+        return lag;
+    }
+
+    private LogEntry convertProtoLogEntryToLogEntry(LogPilotProto.LogEntry protoEntry) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setId(protoEntry.getId());
+        logEntry.setChannel(protoEntry.getChannel());
+        logEntry.setMessage(protoEntry.getMessage());
+        try {
+            logEntry.setLevel(LogLevel.valueOf(protoEntry.getLevel().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown replicated log level: {}, defaulting to INFO", protoEntry.getLevel());
+            logEntry.setLevel(LogLevel.INFO);
+        }
+
+        if (!protoEntry.getMetaMap().isEmpty()) {
+            logEntry.setMeta(new HashMap<>(protoEntry.getMetaMap()));
+        }
+
+        if (protoEntry.hasPartition()) {
+            logEntry.setPartition(protoEntry.getPartition());
+        }
+
+        logEntry.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(protoEntry.getTimestamp()),
+                ZoneOffset.UTC));
+        return logEntry;
+    }
+
+    public long getLagEntries() {
+        return lagEntries.get();
+    }
+
+    public Map<String, Long> getChannelLag() {
+        return Map.copyOf(channelLag);
+    }
+
+    public double getLagSeconds() {
+        if (lagEntries.get() == 0) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - lastCaughtUpMillis.get()) / 1000.0;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (channel != null) {
+            channel.shutdown();
+            try {
+                if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                    channel.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                channel.shutdownNow();
+            }
+        }
+        logger.info("Replication follower stopped");
+    }
+}
@@ -0,0 +1,148 @@
+package com.logpilot.server.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.InvalidLogPayloadException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.server.grpc.LogRequestConverter;
+import com.logpilot.server.ingest.IngestAdmission;
+import com.logpilot.server.metrics.IngestMetrics;
+import com.logpilot.server.security.ClientRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-JSON-array bodies for POST /api/logs/batch.
+ * application/x-protobuf takes the gRPC SendLogsRequest message. application/x-ndjson takes one LogEntry per
+ * line and is parsed incrementally: entries are validated and stored in chunks as they arrive, so memory use
+ * does not grow with the upload. If a line is invalid, the chunks before it stay stored and the error says
+ * how many entries were accepted.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class BulkIngestController {
+
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestController.class);
+
+    private final LogService logService;
+    private final IngestMetrics ingestMetrics;
+    private final IngestAdmission ingestAdmission;
+    private final ObjectReader entryReader;
+    private final Validator validator;
+    private final int chunkSize;
+
+    @Autowired
+    public BulkIngestController(@Qualifier("restLogService") LogService logService, IngestMetrics ingestMetrics,
+            IngestAdmission ingestAdmission, ObjectMapper objectMapper, Validator validator,
+            LogPilotProperties properties) {
+        this.logService = logService;
+        this.ingestMetrics = ingestMetrics;
+        this.ingestAdmission = ingestAdmission;
+        this.entryReader = objectMapper.readerFor(LogEntry.class);
+        this.validator = validator;
+        this.chunkSize = Math.max(1, properties.getIngest().getBatchMaxEntries());
+    }
+
+    @PostMapping(value = "/logs/batch", consumes = PROTOBUF_VALUE)
+    public ResponseEntity<Void> storeLogsProtobuf(HttpServletRequest request) throws IOException {
+        LogPilotProto.SendLogsRequest sendLogsRequest;
+        try (InputStream body = request.getInputStream()) {
+            sendLogsRequest = LogPilotProto.SendLogsRequest.parseFrom(body);
+        } catch (InvalidProtocolBufferException e) {
+            throw new InvalidLogPayloadException("Malformed protobuf SendLogsRequest: " + e.getMessage());
+        }
+
+        List<LogEntry> logEntries = sendLogsRequest.getLogRequestsList().stream()
+                .map(LogRequestConverter::toLogEntry)
+                .toList();
+        for (int i = 0; i < logEntries.size(); i++) {
+            validate(logEntries.get(i), i + 1, 0);
+        }
+        request.setAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE, logEntries.size());
+        store(logEntries);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @PostMapping(value = "/logs/batch", consumes = NDJSON_VALUE)
+    public ResponseEntity<Void> storeLogsNdjson(HttpServletRequest request) throws IOException {
+        long stored = 0;
+        long entryNumber = 0;
+        List<LogEntry> chunk = new ArrayList<>(chunkSize);
+        try (InputStream body = request.getInputStream();
+                MappingIterator<LogEntry> entries = entryReader.readValues(body)) {
+            while (entries.hasNextValue()) {
+                entryNumber++;
+                LogEntry logEntry = entries.nextValue();
+                validate(logEntry, entryNumber, stored);
+                chunk.add(logEntry);
+                if (chunk.size() >= chunkSize) {
+                    store(chunk);
+                    stored += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            store(chunk);
+            stored += chunk.size();
+        } catch (JsonProcessingException e) {
+            throw new InvalidLogPayloadException("Malformed NDJSON entry " + entryNumber + ": "
+                    + e.getOriginalMessage() + " (" + stored + " entries before it were stored)");
+        } finally {
+            request.setAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE, stored);
+        }
+
+        logger.debug("Stored {} NDJSON log entries in chunks of {}", stored, chunkSize);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    private void validate(LogEntry logEntry, long entryNumber, long stored) {
+        if (logEntry == null) {
+            throw new InvalidLogPayloadException("Entry " + entryNumber + " is null (" + stored
+                    + " entries before it were stored)");
+        }
+        Set<ConstraintViolation<LogEntry>> violations = validator.validate(logEntry);
+        if (!violations.isEmpty()) {
+            String errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new InvalidLogPayloadException("Validation failed for entry " + entryNumber + ": " + errors
+                    + " (" + stored + " entries before it were stored)");
+        }
+    }
+
+    private void store(List<LogEntry> logEntries) {
+        if (logEntries.isEmpty()) {
+            return;
+        }
+        ingestMetrics.record(logEntries);
+        logService.storeLogs(ingestAdmission.shed(logEntries));
+    }
+}
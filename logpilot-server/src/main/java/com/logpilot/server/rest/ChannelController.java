@@ -0,0 +1,101 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.service.LogService;
+import com.logpilot.server.rest.dto.CreateChannelRequest;
+import com.logpilot.server.stats.ChannelRollups;
+import com.logpilot.server.stats.ChannelStatistics;
+import com.logpilot.server.stats.ChannelStats;
+import com.logpilot.server.stats.ConsumerLag;
+import com.logpilot.server.stats.RollupBucket;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/channels")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class ChannelController {
+
+    private final LogService logService;
+    private final ChannelStatistics channelStatistics;
+    private final ChannelRollups channelRollups;
+
+    @Autowired
+    public ChannelController(@Qualifier("restLogService") LogService logService,
+            ChannelStatistics channelStatistics, ChannelRollups channelRollups) {
+        this.logService = logService;
+        this.channelStatistics = channelStatistics;
+        this.channelRollups = channelRollups;
+    }
+
+    /**
+     * Channels stored on this node with their partition counts and statistics
+     */
+    @GetMapping
+    public ResponseEntity<List<ChannelStats>> getChannels() {
+        return ResponseEntity.ok(channelStatistics.getChannels());
+    }
+
+    @GetMapping("/{channel}")
+    public ResponseEntity<ChannelStats> getChannel(@PathVariable String channel) {
+        return ResponseEntity.ok(channelStatistics.getChannel(channel));
+    }
+
+    /**
+     * Committed offset and lag of every consumer of the channel, per partition
+     */
+    @GetMapping("/{channel}/consumers")
+    public ResponseEntity<List<ConsumerLag>> getConsumers(@PathVariable String channel) {
+        return ResponseEntity.ok(channelStatistics.getConsumers(channel));
+    }
+
+    /**
+     * Entry counts per minute or hour by level, optionally broken down by one rolled up meta key.
+     * Served from in-memory rollups; from (inclusive) and to (exclusive) are ISO-8601 local timestamps.
+     */
+    @GetMapping("/{channel}/rollups")
+    public ResponseEntity<List<RollupBucket>> getRollups(
+            @PathVariable String channel,
+            @RequestParam(defaultValue = "minute") String interval,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String meta) {
+        return ResponseEntity.ok(channelRollups.getBuckets(channel, parseInterval(interval),
+                parseTime("from", from), parseTime("to", to), meta));
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> createChannel(@Valid @RequestBody CreateChannelRequest request) {
+        logService.createChannel(request.getChannel(), request.getPartitions());
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    private static ChannelRollups.Interval parseInterval(String interval) {
+        try {
+            return ChannelRollups.Interval.valueOf(interval.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown rollup interval (expected minute or hour): " + interval);
+        }
+    }
+
+    private static LocalDateTime parseTime(String parameter, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryException("Invalid " + parameter + " timestamp (expected ISO-8601 like "
+                    + "2024-01-31T12:00:00): " + value);
+        }
+    }
+}
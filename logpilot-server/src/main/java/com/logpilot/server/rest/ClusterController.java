@@ -0,0 +1,32 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.service.LogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class ClusterController {
+
+    private final LogService logService;
+
+    @Autowired
+    public ClusterController(@Qualifier("restLogService") LogService logService) {
+        this.logService = logService;
+    }
+
+    /**
+     * Cluster nodes and ring settings; clients build the same hash ring to find channel owners
+     */
+    @GetMapping("/routing")
+    public ResponseEntity<RoutingTable> getRoutingTable() {
+        return ResponseEntity.ok(logService.getRoutingTable());
+    }
+}
@@ -0,0 +1,72 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.model.ConsumerGroupAssignment;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.service.LogService;
+import com.logpilot.server.rest.dto.GroupCommitRequest;
+import com.logpilot.server.rest.dto.GroupMemberRequest;
+import com.logpilot.server.rest.dto.JoinGroupRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/groups")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class ConsumerGroupController {
+
+    private final LogService logService;
+
+    @Autowired
+    public ConsumerGroupController(@Qualifier("restLogService") LogService logService) {
+        this.logService = logService;
+    }
+
+    @PostMapping("/{groupId}/join")
+    public ResponseEntity<ConsumerGroupAssignment> join(@PathVariable String groupId,
+            @Valid @RequestBody JoinGroupRequest request) {
+        return ResponseEntity.ok(logService.joinGroup(groupId, request.getChannel(), request.getMemberId()));
+    }
+
+    @PostMapping("/{groupId}/heartbeat")
+    public ResponseEntity<ConsumerGroupAssignment> heartbeat(@PathVariable String groupId,
+            @Valid @RequestBody GroupMemberRequest request) {
+        return ResponseEntity.ok(logService.heartbeat(groupId, request.getMemberId()));
+    }
+
+    @PostMapping("/{groupId}/leave")
+    public ResponseEntity<Void> leave(@PathVariable String groupId, @Valid @RequestBody GroupMemberRequest request) {
+        logService.leaveGroup(groupId, request.getMemberId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Fetch from the partitions assigned to this member. Offsets are shared by the group
+     * and stored under the consumer ID "group:{groupId}". A generation other than 0 must be the current one.
+     */
+    @GetMapping("/{groupId}/logs")
+    public ResponseEntity<List<LogEntry>> getLogs(
+            @PathVariable String groupId,
+            @RequestParam String memberId,
+            @RequestParam(defaultValue = "0") long generation,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "true") boolean autoCommit) {
+        return ResponseEntity.ok(logService.getLogsForGroupMember(groupId, memberId, generation, limit, autoCommit));
+    }
+
+    /**
+     * Commit the group's offset of a partition; refused unless the partition is assigned to the member in the
+     * group's current generation.
+     */
+    @PostMapping("/{groupId}/commit")
+    public ResponseEntity<Void> commit(@PathVariable String groupId, @Valid @RequestBody GroupCommitRequest request) {
+        logService.commitGroupOffset(groupId, request.getMemberId(), request.getGeneration(), request.getPartition(),
+                request.getLastLogId());
+        return ResponseEntity.ok().build();
+    }
+}
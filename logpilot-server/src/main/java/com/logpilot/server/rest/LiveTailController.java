@@ -0,0 +1,102 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.tail.LiveTailHub;
+import com.logpilot.server.tail.TailFilter;
+import com.logpilot.server.tail.TailSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class LiveTailController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTailController.class);
+
+    private final LiveTailHub liveTailHub;
+    private final ShardRouter shardRouter;
+
+    @Autowired
+    public LiveTailController(LiveTailHub liveTailHub, ShardRouter shardRouter) {
+        this.liveTailHub = liveTailHub;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Server-Sent Events live tail: "log" events carry entries stored from now on, "dropped" events
+     * report entries skipped while this client was behind. Filters: level=WARN, meta.key=value.
+     */
+    @GetMapping(value = "/logs/{channel}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLogs(@PathVariable String channel,
+            @RequestParam Map<String, String> parameters) {
+        TailFilter filter;
+        try {
+            filter = TailFilter.fromParameters(parameters);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected live tail on channel {}: {}", channel, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        shardRouter.requireLocal(channel);
+
+        // 연결은 클라이언트가 끊을 때까지 유지합니다.
+        // The stream stays open until the client disconnects.
+        SseEmitter emitter = new SseEmitter(0L);
+        AutoCloseable subscription = liveTailHub.subscribe(channel, filter, new SseTailSink(emitter));
+        Runnable unsubscribe = () -> {
+            try {
+                subscription.close();
+            } catch (Exception e) {
+                logger.debug("Failed to close live tail subscription: {}", e.getMessage());
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static class SseTailSink implements TailSink {
+
+        private final SseEmitter emitter;
+
+        private SseTailSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(LogEntry logEntry) throws IOException {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name("log");
+            if (logEntry.getId() != null) {
+                event.id(String.valueOf(logEntry.getId()));
+            }
+            emitter.send(event.data(logEntry, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void sendDropped(long count) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name("dropped")
+                    .data(Map.of("dropped", count), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close(String reason) {
+            emitter.complete();
+        }
+    }
+}
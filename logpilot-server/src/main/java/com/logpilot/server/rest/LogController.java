@@ -1,25 +1,37 @@
 package com.logpilot.server.rest;
 
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.InvalidQueryException;
 import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 import com.logpilot.core.service.LogService;
-import io.micrometer.core.instrument.Counter;
+import com.logpilot.server.ingest.IngestAdmission;
+import com.logpilot.server.metrics.IngestMetrics;
+import com.logpilot.server.security.ClientRateLimiter;
 import io.micrometer.core.instrument.MeterRegistry;
-import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.logpilot.server.rest.dto.CommitOffsetRequest;
 import com.logpilot.server.rest.dto.SeekRequest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
@@ -27,84 +39,48 @@ import java.util.concurrent.ConcurrentHashMap;
 public class LogController {
 
     private static final Logger logger = LoggerFactory.getLogger(LogController.class);
+    private static final long ASYNC_TIMEOUT_HEADROOM_MILLIS = 5000;
 
     private final LogService logService;
-    private final MeterRegistry meterRegistry;
-    private final Map<String, Counter> levelCounters = new ConcurrentHashMap<>();
-    private final Map<String, Counter> channelCounters = new ConcurrentHashMap<>();
+    private final IngestMetrics ingestMetrics;
+    private final IngestAdmission ingestAdmission;
 
     @Autowired
-    public LogController(@Qualifier("restLogService") LogService logService, MeterRegistry meterRegistry) {
-        this.logService = logService;
-        this.meterRegistry = meterRegistry;
-        logger.info("LogController constructor called with LogService: {} and MeterRegistry: {}",
-                logService.getClass().getSimpleName(),
-                meterRegistry.getClass().getSimpleName());
-    }
-
-    @PostConstruct
-    public void init() {
-        logger.info("LogController initialized with MeterRegistry: {}", meterRegistry.getClass().getSimpleName());
-        for (String level : new String[] { "DEBUG", "INFO", "WARN", "ERROR" }) {
-            Counter counter = Counter.builder("logpilot_logs_received_total")
-                    .tag("level", level)
-                    .description("Number of logs received by level")
-                    .register(meterRegistry);
-            levelCounters.put(level, counter);
-            logger.info("Registered counter for level: {}", level);
-        }
+    public LogController(@Qualifier("restLogService") LogService logService, MeterRegistry meterRegistry,
+            ObjectProvider<IngestMetrics> ingestMetrics, ObjectProvider<IngestAdmission> ingestAdmission) {
+        this(logService, ingestMetrics.getIfAvailable(
+                () -> new IngestMetrics(meterRegistry, new LogPilotProperties())),
+                ingestAdmission.getIfAvailable(IngestAdmission::unlimited));
     }
 
-    private void recordLogMetrics(LogEntry logEntry) {
-        if (logEntry == null || meterRegistry == null) {
-            logger.warn("Cannot record metrics - logEntry or meterRegistry is null");
-            return;
-        }
-
-        try {
-            String level = logEntry.getLevel() != null ? logEntry.getLevel().toString() : "UNKNOWN";
-            Counter levelCounter = levelCounters.computeIfAbsent(level,
-                    l -> {
-                        logger.info("Creating new counter for level: {}", l);
-                        // 레벨별 로그 수신 횟수를 측정하는 카운터를 동적으로 생성합니다.
-                        // Dynamically create a counter to measure total logs received by level.
-                        return Counter.builder("logpilot_logs_received_total")
-                                .tag("level", l)
-                                .description("Number of logs received by level")
-                                .register(meterRegistry);
-                    });
-            levelCounter.increment();
-            logger.debug("Incremented counter for level: {} (current: {})", level, levelCounter.count());
-
-            String channel = logEntry.getChannel() != null ? logEntry.getChannel() : "unknown";
-            Counter channelCounter = channelCounters.computeIfAbsent(channel,
-                    c -> {
-                        logger.info("Creating new counter for channel: {}", c);
-                        return Counter.builder("logpilot_logs_received_total")
-                                .tag("channel", c)
-                                .description("Number of logs received by channel")
-                                .register(meterRegistry);
-                    });
-            channelCounter.increment();
-            logger.debug("Incremented counter for channel: {} (current: {})", channel, channelCounter.count());
-        } catch (Exception e) {
-            logger.error("Error recording metrics", e);
-        }
+    private LogController(LogService logService, IngestMetrics ingestMetrics, IngestAdmission ingestAdmission) {
+        this.logService = logService;
+        this.ingestMetrics = ingestMetrics;
+        this.ingestAdmission = ingestAdmission;
+        logger.info("LogController created with LogService: {}", logService.getClass().getSimpleName());
     }
 
     @PostMapping("/logs")
-    public ResponseEntity<Void> storeLog(@Valid @RequestBody LogEntry logEntry) {
-        recordLogMetrics(logEntry);
+    public ResponseEntity<Void> storeLog(@Valid @RequestBody LogEntry logEntry, HttpServletRequest request) {
+        request.setAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE, 1);
+        ingestMetrics.record(logEntry);
+        if (ingestAdmission.shouldShed(logEntry)) {
+            // 과부하로 DEBUG 로그를 버리는 중이므로 저장하지 않고 수락만 알립니다.
+            // DEBUG logs are being shed under load; acknowledge without storing.
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
         logService.storeLog(logEntry);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     @PostMapping("/logs/batch")
-    public ResponseEntity<Void> storeLogs(@Valid @RequestBody List<LogEntry> logEntries) {
-        if (logEntries != null) {
-            logEntries.forEach(this::recordLogMetrics);
-        }
-        logService.storeLogs(logEntries);
+    public ResponseEntity<Void> storeLogs(@Valid @RequestBody List<LogEntry> logEntries,
+            HttpServletRequest request) {
+        // 레이트 리미터가 요청 수가 아닌 엔트리 수만큼 차감하도록 알립니다.
+        // Tell the rate limiter to charge per entry rather than per request.
+        request.setAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE, logEntries.size());
+        ingestMetrics.record(logEntries);
+        logService.storeLogs(ingestAdmission.shed(logEntries));
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -112,9 +88,14 @@ public class LogController {
     public ResponseEntity<List<LogEntry>> getLogs(
             @PathVariable String channel,
             @RequestParam(required = false) String consumerId,
+            @RequestParam(required = false) Integer partition,
             @RequestParam(defaultValue = "100") int limit,
             @RequestParam(defaultValue = "true") boolean autoCommit) {
 
+        // 파티션이 지정되면 해당 파티션 스트림만 조회합니다.
+        // When a partition is given, only that partition's stream is read.
+        channel = ChannelPartitions.streamName(channel, partition);
+
         List<LogEntry> logs;
         if (consumerId != null) {
             // 특정 컨슈머의 오프셋을 기반으로 로그를 조회합니다 (autoCommit 옵션 지원).
@@ -128,27 +109,112 @@ public class LogController {
         return ResponseEntity.ok(logs);
     }
 
+    @GetMapping(value = "/logs/{channel}", params = "waitMs")
+    public DeferredResult<ResponseEntity<List<LogEntry>>> awaitLogs(
+            @PathVariable String channel,
+            @RequestParam String consumerId,
+            @RequestParam(required = false) Integer partition,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "true") boolean autoCommit,
+            @RequestParam long waitMs,
+            @RequestParam(defaultValue = "1") int minRecords) {
+
+        // 요청 스레드를 잡지 않고 대기합니다. 서블릿 비동기 타임아웃보다 대기 시간이 먼저 끝나도록 여유를 둡니다.
+        // Wait without holding the request thread; the async timeout leaves headroom so the wait expires first.
+        DeferredResult<ResponseEntity<List<LogEntry>>> result = new DeferredResult<>(
+                Math.max(waitMs, 0) + ASYNC_TIMEOUT_HEADROOM_MILLIS);
+        logService.awaitLogsForConsumer(ChannelPartitions.streamName(channel, partition), consumerId, limit,
+                autoCommit, waitMs, minRecords)
+                .whenComplete((logs, error) -> {
+                    if (error != null) {
+                        result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error);
+                    } else {
+                        result.setResult(ResponseEntity.ok(logs));
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Entries matching level, time range (from inclusive, to exclusive, ISO-8601), meta.key=value and contains
+     * filters, reduced to the given fields. Pass nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/logs/{channel}/query")
+    public ResponseEntity<LogQueryResult> queryLogs(
+            @PathVariable String channel,
+            @RequestParam(required = false) Integer partition,
+            @RequestParam(required = false) List<String> level,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String contains,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Map<String, String> parameters) {
+
+        LogQuery.Builder query = LogQuery.builder()
+                .from(parseTime("from", from))
+                .to(parseTime("to", to))
+                .messageContains(contains)
+                .fields(fields);
+        if (level != null) {
+            for (String name : level) {
+                query.level(parseLevel(name));
+            }
+        }
+        parameters.forEach((name, value) -> {
+            if (name.startsWith(LogQuery.META_PREFIX) && name.length() > LogQuery.META_PREFIX.length()) {
+                query.meta(name.substring(LogQuery.META_PREFIX.length()), value);
+            }
+        });
+        return ResponseEntity.ok(logService.queryLogs(ChannelPartitions.streamName(channel, partition),
+                query.build(), limit, cursor));
+    }
+
     @PostMapping("/logs/commit")
     public ResponseEntity<Void> commitOffset(@Valid @RequestBody CommitOffsetRequest request) {
-        logService.commitLogOffset(request.getChannel(), request.getConsumerId(), request.getLastLogId());
+        logService.commitLogOffset(ChannelPartitions.streamName(request.getChannel(), request.getPartition()),
+                request.getConsumerId(), request.getLastLogId());
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/logs/seek")
     public ResponseEntity<Void> seek(@Valid @RequestBody SeekRequest request) {
+        String channel = ChannelPartitions.streamName(request.getChannel(), request.getPartition());
         switch (request.getOperation()) {
-            case EARLIEST -> logService.seekToBeginning(request.getChannel(), request.getConsumerId());
-            case LATEST -> logService.seekToEnd(request.getChannel(), request.getConsumerId());
+            case EARLIEST -> logService.seekToBeginning(channel, request.getConsumerId());
+            case LATEST -> logService.seekToEnd(channel, request.getConsumerId());
             case SPECIFIC -> {
                 if (request.getLogId() == null) {
                     return ResponseEntity.badRequest().build();
                 }
                 // 특정 로그 ID로 오프셋을 강제 조정합니다.
                 // Force seek to specific log ID.
-                logService.seekToId(request.getChannel(), request.getConsumerId(), request.getLogId());
+                logService.seekToId(channel, request.getConsumerId(), request.getLogId());
             }
         }
         return ResponseEntity.ok().build();
     }
 
+    private static LogLevel parseLevel(String name) {
+        try {
+            return LogLevel.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown log level: " + name);
+        }
+    }
+
+    private static LocalDateTime parseTime(String parameter, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryException("Invalid " + parameter + " timestamp (expected ISO-8601 like "
+                    + "2024-01-31T12:00:00): " + value);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.exception.InvalidLogPayloadException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates request bodies sent with Content-Encoding: gzip, so controllers read them as if they were plain.
+ * The body is decompressed as it is read, never buffered, and reading fails with INVALID_PAYLOAD once the
+ * inflated size passes the configured limit or the gzip data turns out to be corrupt. Other encodings are
+ * refused with 415. Once the request completes, the number of inflated bytes read is left in the
+ * INFLATED_BYTES_ATTRIBUTE request attribute so the rate limiter can charge the real body size.
+ */
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    public static final String GZIP = "gzip";
+
+    /**
+     * Request attribute holding how many inflated bytes the handler read
+     */
+    public static final String INFLATED_BYTES_ATTRIBUTE = RequestDecompressionFilter.class.getName() + ".inflatedBytes";
+
+    private final long maxInflatedBytes;
+
+    public RequestDecompressionFilter(long maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    /**
+     * Whether the request body is gzip-compressed
+     */
+    public static boolean isGzipEncoded(HttpServletRequest request) {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding == null || contentEncoding.isBlank() || "identity".equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!isGzipEncoded(request)) {
+            response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+            response.getWriter().write("Unsupported Content-Encoding, use gzip");
+            return;
+        }
+        InflatedRequest inflatedRequest = new InflatedRequest(request, maxInflatedBytes);
+        try {
+            filterChain.doFilter(inflatedRequest, response);
+        } finally {
+            request.setAttribute(INFLATED_BYTES_ATTRIBUTE, inflatedRequest.getInflatedBytes());
+        }
+    }
+
+    private static final class InflatedRequest extends HttpServletRequestWrapper {
+
+        private final long maxInflatedBytes;
+        private InflatingInputStream inputStream;
+
+        private InflatedRequest(HttpServletRequest request, long maxInflatedBytes) {
+            super(request);
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(super.getInputStream(), maxInflatedBytes);
+            }
+            return inputStream;
+        }
+
+        private long getInflatedBytes() {
+            return inputStream == null ? 0 : inputStream.inflatedBytes;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+    }
+
+    private static final class InflatingInputStream extends ServletInputStream {
+
+        private final ServletInputStream compressed;
+        private final long maxInflatedBytes;
+        private InputStream inflater;
+        private long inflatedBytes;
+        private boolean finished;
+
+        private InflatingInputStream(ServletInputStream compressed, long maxInflatedBytes) {
+            this.compressed = compressed;
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read;
+            try {
+                // GZIPInputStream은 생성 시 헤더를 읽으므로 첫 read까지 미룹니다.
+                // GZIPInputStream reads the header on construction, so it is deferred to the first read.
+                if (inflater == null) {
+                    inflater = new GZIPInputStream(compressed, 8192);
+                }
+                read = inflater.read(buffer, offset, length);
+            } catch (ZipException e) {
+                throw new InvalidLogPayloadException("Corrupt gzip request body: " + e.getMessage());
+            }
+            if (read == -1) {
+                finished = true;
+                return -1;
+            }
+            inflatedBytes += read;
+            if (inflatedBytes > maxInflatedBytes) {
+                throw new InvalidLogPayloadException("Decompressed request body exceeds " + maxInflatedBytes + " bytes");
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return compressed.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Asynchronous reads of compressed bodies are not supported");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflater != null) {
+                inflater.close();
+            } else {
+                compressed.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.server.pipeline.SamplingStage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Runtime sampling policies of this node. Changes take effect for the next ingested batch and are not persisted;
+ * after a restart the policies from logpilot.sampling apply again. Use "*" as the channel for the default policy.
+ */
+@RestController
+@RequestMapping("/api/admin/sampling")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class SamplingController {
+
+    private final SamplingStage samplingStage;
+
+    @Autowired
+    public SamplingController(SamplingStage samplingStage) {
+        this.samplingStage = samplingStage;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, LogPilotProperties.SamplingPolicy>> getPolicies() {
+        return ResponseEntity.ok(samplingStage.getPolicies());
+    }
+
+    @PutMapping("/{channel}")
+    public ResponseEntity<LogPilotProperties.SamplingPolicy> setPolicy(@PathVariable String channel,
+            @RequestBody LogPilotProperties.SamplingPolicy policy) {
+        samplingStage.setPolicy(channel, policy);
+        return ResponseEntity.ok(policy);
+    }
+
+    @DeleteMapping("/{channel}")
+    public ResponseEntity<Void> removePolicy(@PathVariable String channel) {
+        if (!samplingStage.removePolicy(channel)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.logpilot.server.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.service.LogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * GET /api/logs/{channel} with Accept: application/x-ndjson.
+ * Entries are read from storage a page at a time and written as one JSON object per line while reading goes on,
+ * so memory use and time to the first entry do not depend on limit. With autoCommit the consumer offset moves
+ * to the last page fully written; a client that disconnects early gets the unwritten entries on its next fetch.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
+public class StreamingFetchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingFetchController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType(BulkIngestController.NDJSON_VALUE);
+
+    private final LogService logService;
+    private final ObjectWriter entryWriter;
+    private final int pageSize;
+
+    @Autowired
+    public StreamingFetchController(@Qualifier("restLogService") LogService logService, ObjectMapper objectMapper,
+            LogPilotProperties properties) {
+        this(logService, objectMapper, properties.getServer().getFetchPageSize());
+    }
+
+    public StreamingFetchController(LogService logService, ObjectMapper objectMapper, int pageSize) {
+        this.logService = logService;
+        this.entryWriter = objectMapper.writerFor(LogEntry.class);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @GetMapping(value = "/logs/{channel}", produces = BulkIngestController.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLogs(
+            @PathVariable String channel,
+            @RequestParam String consumerId,
+            @RequestParam(required = false) Integer partition,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "true") boolean autoCommit) {
+
+        String stream = ChannelPartitions.streamName(channel, partition);
+        StreamingResponseBody body = outputStream -> {
+            int delivered = logService.streamLogsForConsumer(stream, consumerId, limit, autoCommit, pageSize,
+                    page -> writePage(outputStream, page));
+            logger.debug("Streamed {} log entries for channel: {} and consumer: {}", delivered, stream, consumerId);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writePage(OutputStream outputStream, List<LogEntry> page) {
+        try {
+            for (LogEntry logEntry : page) {
+                outputStream.write(entryWriter.writeValueAsBytes(logEntry));
+                outputStream.write('\n');
+            }
+            // 페이지마다 내보내서 첫 엔트리가 전체 조회를 기다리지 않게 합니다.
+            // Flush every page so the first entries do not wait for the whole fetch.
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Client stopped reading the log stream", e);
+        }
+    }
+}
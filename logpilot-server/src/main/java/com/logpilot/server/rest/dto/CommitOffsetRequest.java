@@ -14,6 +14,9 @@ public class CommitOffsetRequest {
     @Min(value = 0, message = "Last Log ID must be non-negative")
     private long lastLogId;
 
+    @Min(value = 0, message = "Partition must be non-negative")
+    private Integer partition; // Only for partitioned channels
+
     // Getters and Setters
     public String getChannel() {
         return channel;
@@ -38,4 +41,12 @@ public class CommitOffsetRequest {
     public void setLastLogId(long lastLogId) {
         this.lastLogId = lastLogId;
     }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
 }
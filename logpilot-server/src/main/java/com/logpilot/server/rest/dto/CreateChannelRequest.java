@@ -0,0 +1,32 @@
+package com.logpilot.server.rest.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class CreateChannelRequest {
+
+    @NotBlank(message = "Channel is required")
+    private String channel;
+
+    @Min(value = 1, message = "Partitions must be at least 1")
+    @Max(value = 1024, message = "Partitions must be at most 1024")
+    private int partitions = 1;
+
+    // Getters and Setters
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+}
@@ -0,0 +1,52 @@
+package com.logpilot.server.rest.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class GroupCommitRequest {
+
+    @NotBlank(message = "Member ID is required")
+    private String memberId;
+
+    @Min(value = 1, message = "Generation is required")
+    private long generation;
+
+    @Min(value = 0, message = "Partition must be non-negative")
+    private int partition; // 0 for unpartitioned channels
+
+    @Min(value = 0, message = "Last Log ID must be non-negative")
+    private long lastLogId;
+
+    // Getters and Setters
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(String memberId) {
+        this.memberId = memberId;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public void setPartition(int partition) {
+        this.partition = partition;
+    }
+
+    public long getLastLogId() {
+        return lastLogId;
+    }
+
+    public void setLastLogId(long lastLogId) {
+        this.lastLogId = lastLogId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.logpilot.server.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class GroupMemberRequest {
+
+    @NotBlank(message = "Member ID is required")
+    private String memberId;
+
+    // Getters and Setters
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(String memberId) {
+        this.memberId = memberId;
+    }
+}
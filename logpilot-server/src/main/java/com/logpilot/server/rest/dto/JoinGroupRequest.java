@@ -0,0 +1,29 @@
+package com.logpilot.server.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class JoinGroupRequest {
+
+    @NotBlank(message = "Channel is required")
+    private String channel;
+
+    @NotBlank(message = "Member ID is required")
+    private String memberId;
+
+    // Getters and Setters
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(String memberId) {
+        this.memberId = memberId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.logpilot.server.rest.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -22,6 +23,9 @@ public class SeekRequest {
 
     private Long logId; // Required if operation is SPECIFIC
 
+    @Min(value = 0, message = "Partition must be non-negative")
+    private Integer partition; // Only for partitioned channels
+
     // Getters and Setters
     public String getChannel() {
         return channel;
@@ -54,4 +58,12 @@ public class SeekRequest {
     public void setLogId(Long logId) {
         this.logId = logId;
     }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
 }
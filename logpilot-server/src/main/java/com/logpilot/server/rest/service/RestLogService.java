@@ -1,8 +1,20 @@
 package com.logpilot.server.rest.service;
 
+import com.logpilot.core.cluster.RoutingTable;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 import com.logpilot.core.service.LogService;
 import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.group.ConsumerGroupCoordinator;
+import com.logpilot.server.ingest.IngestBatcher;
+import com.logpilot.server.ingest.LogIngestor;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.subscription.ChannelNotifier;
+import com.logpilot.server.subscription.LongPoller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +22,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service("restLogService")
 @ConditionalOnExpression("'${logpilot.server.protocol:all}' == 'rest' or '${logpilot.server.protocol:all}' == 'all'")
@@ -17,13 +31,36 @@ public class RestLogService implements LogService {
 
     private static final Logger logger = LoggerFactory.getLogger(RestLogService.class);
     private final LogStorage logStorage;
+    private final PartitionRouter partitionRouter;
+    private final ConsumerGroupCoordinator groupCoordinator;
+    private final ShardRouter shardRouter;
+    private final LongPoller longPoller;
+    private final LogIngestor logIngestor;
 
-    @Autowired
     public RestLogService(LogStorage logStorage) {
+        this(logStorage, PartitionRouter.unpartitioned(), new ChannelNotifier());
+    }
+
+    private RestLogService(LogStorage logStorage, PartitionRouter partitionRouter, ChannelNotifier channelNotifier) {
+        this(logStorage, partitionRouter, new ConsumerGroupCoordinator(partitionRouter, new LogPilotProperties()),
+                ShardRouter.standalone(), new LongPoller(channelNotifier, new LogPilotProperties()),
+                LogIngestor.standalone(logStorage, partitionRouter, channelNotifier,
+                        IngestBatcher.direct(logStorage, channelNotifier)));
+    }
+
+    @Autowired
+    public RestLogService(LogStorage logStorage, PartitionRouter partitionRouter,
+            ConsumerGroupCoordinator groupCoordinator, ShardRouter shardRouter, LongPoller longPoller,
+            LogIngestor logIngestor) {
         if (logStorage == null) {
             throw new NullPointerException("LogStorage cannot be null");
         }
         this.logStorage = logStorage;
+        this.partitionRouter = partitionRouter;
+        this.groupCoordinator = groupCoordinator;
+        this.shardRouter = shardRouter;
+        this.longPoller = longPoller;
+        this.logIngestor = logIngestor;
         logger.info("RestLogService created with LogStorage: {}", logStorage.getClass().getSimpleName());
     }
 
@@ -34,7 +71,7 @@ public class RestLogService implements LogService {
         } else {
             logger.debug("[REST] Storing null log entry");
         }
-        logStorage.store(logEntry);
+        logIngestor.store(logEntry);
     }
 
     @Override
@@ -44,7 +81,13 @@ public class RestLogService implements LogService {
         } else {
             logger.debug("[REST] Storing null log entries list");
         }
-        logStorage.storeLogs(logEntries);
+        logIngestor.storeAll(logEntries);
+    }
+
+    @Override
+    public void storeForwardedLogs(List<LogEntry> logEntries) {
+        logger.debug("[REST] Storing {} forwarded log entries", logEntries.size());
+        logIngestor.storeForwarded(logEntries);
     }
 
     @Override
@@ -56,38 +99,151 @@ public class RestLogService implements LogService {
     public List<LogEntry> getLogsForConsumer(String channel, String consumerId, int limit, boolean autoCommit) {
         logger.debug("[REST] Retrieving logs for channel: {} and consumer: {} (autoCommit={})", channel, consumerId,
                 autoCommit);
-        return logStorage.retrieve(channel, consumerId, limit, autoCommit);
+        shardRouter.requireLocal(channel);
+        return partitionRouter.retrieve(logStorage, channel, consumerId, limit, autoCommit);
+    }
+
+    @Override
+    public int streamLogsForConsumer(String channel, String consumerId, int limit, boolean autoCommit, int pageSize,
+            Consumer<List<LogEntry>> pageSink) {
+        logger.debug("[REST] Streaming logs for channel: {} and consumer: {} (limit={}, pageSize={})", channel,
+                consumerId, limit, pageSize);
+        shardRouter.requireLocal(channel);
+        return partitionRouter.retrievePages(logStorage, channel, consumerId, limit, autoCommit, pageSize, pageSink);
+    }
+
+    @Override
+    public CompletableFuture<List<LogEntry>> awaitLogsForConsumer(String channel, String consumerId, int limit,
+            boolean autoCommit, long waitMillis, int minRecords) {
+        logger.debug("[REST] Long-polling logs for channel: {} and consumer: {} (waitMillis={}, minRecords={})",
+                channel, consumerId, waitMillis, minRecords);
+        shardRouter.requireLocal(channel);
+        int required = Math.max(1, Math.min(minRecords, limit));
+        // 커밋하지 않고 필요한 개수만큼만 미리 읽어 대기 여부를 판단합니다.
+        // Peek (without committing) just enough entries to decide whether to keep waiting.
+        return longPoller.await(channel, waitMillis,
+                () -> partitionRouter.retrieve(logStorage, channel, consumerId, required, false).size() >= required,
+                () -> partitionRouter.retrieve(logStorage, channel, consumerId, limit, autoCommit));
     }
 
     @Override
     public List<LogEntry> getLogsByChannel(String channel, int limit) {
         logger.debug("[REST] Retrieving latest logs for channel: {} (limit={})", channel, limit);
-        return logStorage.retrieve(channel, limit);
+        shardRouter.requireLocal(channel);
+        return partitionRouter.retrieveLatest(logStorage, channel, limit);
+    }
+
+    @Override
+    public LogQueryResult queryLogs(String channel, LogQuery query, int limit, String cursor) {
+        logger.debug("[REST] Querying logs for channel: {} (limit={})", channel, limit);
+        shardRouter.requireLocal(channel);
+        return partitionRouter.query(logStorage, channel, query, limit, cursor);
     }
 
     @Override
     public void commitLogOffset(String channel, String consumerId, long lastLogId) {
         logger.debug("[REST] Committing offset for channel: {} and consumer: {} to logId: {}", channel, consumerId,
                 lastLogId);
+        shardRouter.requireLocal(channel);
+        partitionRouter.requirePartitionForIds(channel);
         logStorage.commitOffset(channel, consumerId, lastLogId);
     }
 
     @Override
     public void seekToBeginning(String channel, String consumerId) {
         logger.debug("[REST] Seeking to beginning for channel: {} and consumer: {}", channel, consumerId);
-        logStorage.seekToBeginning(channel, consumerId);
+        shardRouter.requireLocal(channel);
+        for (String stream : partitionRouter.streamsOf(channel)) {
+            logStorage.seekToBeginning(stream, consumerId);
+        }
     }
 
     @Override
     public void seekToEnd(String channel, String consumerId) {
         logger.debug("[REST] Seeking to end for channel: {} and consumer: {}", channel, consumerId);
-        logStorage.seekToEnd(channel, consumerId);
+        shardRouter.requireLocal(channel);
+        for (String stream : partitionRouter.streamsOf(channel)) {
+            logStorage.seekToEnd(stream, consumerId);
+        }
     }
 
     @Override
     public void seekToId(String channel, String consumerId, long logId) {
         logger.debug("[REST] Seeking to ID {} for channel: {} and consumer: {}", logId, channel, consumerId);
+        shardRouter.requireLocal(channel);
+        partitionRouter.requirePartitionForIds(channel);
         logStorage.seekToId(channel, consumerId, logId);
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<String> getChannels() {
+        return logStorage.getChannels();
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
+        return logStorage.getLastLogId(channel);
+    }
+
+    @Override
+    public List<LogEntry> getLogsAfter(String channel, long afterId, int limit) {
+        logger.debug("[REST] Retrieving logs after ID {} for channel: {} (limit={})", afterId, channel, limit);
+        return logStorage.retrieveAfter(channel, afterId, limit);
+    }
+
+    @Override
+    public void createChannel(String channel, int partitions) {
+        logger.debug("[REST] Creating channel: {} with {} partitions", channel, partitions);
+        partitionRouter.getChannelRegistry().createChannel(channel, partitions);
+    }
+
+    @Override
+    public ConsumerGroupAssignment joinGroup(String groupId, String channel, String memberId) {
+        logger.debug("[REST] Member {} joining group {} on channel: {}", memberId, groupId, channel);
+        shardRouter.requireLocal(channel);
+        return groupCoordinator.join(groupId, channel, memberId);
+    }
+
+    @Override
+    public ConsumerGroupAssignment heartbeat(String groupId, String memberId) {
+        return groupCoordinator.heartbeat(groupId, memberId);
+    }
+
+    @Override
+    public void leaveGroup(String groupId, String memberId) {
+        logger.debug("[REST] Member {} leaving group {}", memberId, groupId);
+        groupCoordinator.leave(groupId, memberId);
+    }
+
+    @Override
+    public List<LogEntry> getLogsForGroupMember(String groupId, String memberId, long generation, int limit,
+            boolean autoCommit) {
+        logger.debug("[REST] Retrieving logs for group: {} and member: {} (generation={}, autoCommit={})", groupId,
+                memberId, generation, autoCommit);
+        String offsetConsumerId = ConsumerGroupCoordinator.offsetConsumerId(groupId);
+        List<String> streams = groupCoordinator.streamsOf(groupId, memberId, generation);
+        // 자동 커밋은 읽기가 끝난 뒤 그룹 잠금 아래에서 따로 하므로, 읽는 동안 넘어간 파티션을 덮어쓰지 않습니다.
+        // Auto-commit happens after the read under the group lock, so a partition that moved meanwhile is kept intact.
+        List<LogEntry> logEntries = partitionRouter.retrieveStreams(logStorage, streams, offsetConsumerId, limit,
+                false);
+        if (autoCommit) {
+            groupCoordinator.commitFetched(groupId, memberId, generation, PartitionRouter.lastLogIds(logEntries),
+                    (stream, lastLogId) -> logStorage.commitOffset(stream, offsetConsumerId, lastLogId));
+        }
+        return logEntries;
+    }
+
+    @Override
+    public void commitGroupOffset(String groupId, String memberId, long generation, int partition, long lastLogId) {
+        logger.debug("[REST] Committing offset for group: {} member: {} (generation={}, partition={}) to logId: {}",
+                groupId, memberId, generation, partition, lastLogId);
+        String offsetConsumerId = ConsumerGroupCoordinator.offsetConsumerId(groupId);
+        groupCoordinator.commit(groupId, memberId, generation, partition,
+                stream -> logStorage.commitOffset(stream, offsetConsumerId, lastLogId));
+    }
+
+    @Override
+    public RoutingTable getRoutingTable() {
+        return shardRouter.getRoutingTable();
+    }
+}
@@ -22,6 +22,14 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
         this.validApiKey = validApiKey;
     }
 
+    /**
+     * Long-poll and SSE responses are written on an async dispatch, which must be authenticated again
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
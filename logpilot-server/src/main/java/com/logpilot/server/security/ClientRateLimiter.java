@@ -0,0 +1,113 @@
+package com.logpilot.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Per-client rate limits shared by the REST filter and the gRPC interceptor.
+ * Each client key has a request bucket and optional entry and byte buckets. Requests are limited up front;
+ * entries and bytes are charged at their full weight once known and may push the client into debt, so a
+ * 10k-entry batch is let through but holds back that client's next requests until the debt is refilled.
+ * Client state lives in a cache bounded by size and idle time, so keys taken from X-Forwarded-For or
+ * remote addresses cannot grow it without limit.
+ */
+public class ClientRateLimiter {
+
+    /**
+     * Request attribute through which ingest handlers report how many entries a request carried
+     */
+    public static final String ENTRIES_ATTRIBUTE = ClientRateLimiter.class.getName() + ".entries";
+
+    public static final long DEFAULT_MAX_CLIENTS = 10_000;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final Supplier<Bucket> requestBuckets;
+    private final Supplier<Bucket> entryBuckets;
+    private final Supplier<Bucket> byteBuckets;
+    private final Cache<String, ClientBuckets> clients;
+
+    /**
+     * @param entryBuckets null to leave entries unlimited
+     * @param byteBuckets  null to leave bytes unlimited
+     */
+    public ClientRateLimiter(Supplier<Bucket> requestBuckets, Supplier<Bucket> entryBuckets,
+            Supplier<Bucket> byteBuckets, long maxClients, Duration idleTimeout) {
+        this.requestBuckets = requestBuckets;
+        this.entryBuckets = entryBuckets;
+        this.byteBuckets = byteBuckets;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Admit one request. Ingest requests are also refused while the client owes entries or bytes.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientKey, boolean ingest) {
+        ClientBuckets buckets = clients.get(clientKey, key -> new ClientBuckets());
+        if (ingest) {
+            long entryWait = debtWait(buckets.entries);
+            long byteWait = debtWait(buckets.bytes);
+            if (entryWait > 0 || byteWait > 0) {
+                return Math.max(entryWait, byteWait);
+            }
+        }
+
+        ConsumptionProbe probe = buckets.requests.tryConsumeAndReturnRemaining(1);
+        return probe.isConsumed() ? 0 : Math.max(1, probe.getNanosToWaitForRefill());
+    }
+
+    /**
+     * Nanoseconds until a client in entry or byte debt may ingest again, 0 when it is not in debt
+     */
+    public long ingestWait(String clientKey) {
+        ClientBuckets buckets = clients.getIfPresent(clientKey);
+        if (buckets == null) {
+            return 0;
+        }
+        return Math.max(debtWait(buckets.entries), debtWait(buckets.bytes));
+    }
+
+    /**
+     * Charge the entries and bytes of an admitted request, going into debt if they exceed what is left
+     */
+    public void charge(String clientKey, long entries, long bytes) {
+        if ((entryBuckets == null || entries <= 0) && (byteBuckets == null || bytes <= 0)) {
+            return;
+        }
+        ClientBuckets buckets = clients.get(clientKey, key -> new ClientBuckets());
+        if (buckets.entries != null && entries > 0) {
+            buckets.entries.consumeIgnoringRateLimits(entries);
+        }
+        if (buckets.bytes != null && bytes > 0) {
+            buckets.bytes.consumeIgnoringRateLimits(bytes);
+        }
+    }
+
+    public long getClientCount() {
+        clients.cleanUp();
+        return clients.estimatedSize();
+    }
+
+    private static long debtWait(Bucket bucket) {
+        if (bucket == null || bucket.getAvailableTokens() > 0) {
+            return 0;
+        }
+        return Math.max(1, bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill());
+    }
+
+    private final class ClientBuckets {
+
+        private final Bucket requests = requestBuckets.get();
+        private final Bucket entries = entryBuckets != null ? entryBuckets.get() : null;
+        private final Bucket bytes = byteBuckets != null ? byteBuckets.get() : null;
+    }
+}
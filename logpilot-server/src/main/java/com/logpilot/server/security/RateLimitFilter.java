@@ -1,10 +1,14 @@
 package com.logpilot.server.security;
 
+import com.logpilot.server.ingest.IngestAdmissionFilter;
+import com.logpilot.server.rest.RequestDecompressionFilter;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,19 +16,26 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    private final Supplier<Bucket> bucketSupplier;
+    private final ClientRateLimiter rateLimiter;
 
     public RateLimitFilter(Supplier<Bucket> bucketSupplier) {
-        this.bucketSupplier = bucketSupplier;
+        this(new ClientRateLimiter(bucketSupplier, null, null, ClientRateLimiter.DEFAULT_MAX_CLIENTS,
+                ClientRateLimiter.DEFAULT_IDLE_TIMEOUT));
+    }
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
@@ -39,17 +50,36 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String key = resolveClientKey(request);
         logger.debug("Applying rate limit for key: {} on URI: {}", key, request.getRequestURI());
 
-        Bucket bucket = buckets.computeIfAbsent(key, k -> bucketSupplier.get());
-
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        if (probe.isConsumed()) {
-            filterChain.doFilter(request, response);
-        } else {
+        boolean ingest = IngestAdmissionFilter.isIngestRequest(request);
+        long waitNanos = rateLimiter.tryAcquire(key, ingest);
+        if (waitNanos > 0) {
             logger.warn("Rate limit exceeded for client: {}", key);
             response.setStatus(429);
             response.setHeader("X-Rate-Limit-Retry-After-Seconds",
-                    String.valueOf(probe.getNanosToWaitForRefill() / 1_000_000_000L));
+                    String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
             response.getWriter().write("Too Many Requests");
+            return;
+        }
+
+        if (!ingest) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Content-Length는 청크 전송에는 없고 gzip 본문에서는 압축 크기이므로, 실제로 읽힌 바이트를 셉니다.
+        // Content-Length is absent for chunked bodies and compressed for gzip ones, so the bytes actually read are counted.
+        CountingRequest countingRequest = new CountingRequest(request);
+        try {
+            filterChain.doFilter(countingRequest, response);
+        } finally {
+            long entries = request.getAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE) instanceof Number count
+                    ? count.longValue()
+                    : 0;
+            long bytes = countingRequest.getBytesRead();
+            if (request.getAttribute(RequestDecompressionFilter.INFLATED_BYTES_ATTRIBUTE) instanceof Number inflated) {
+                bytes = Math.max(bytes, inflated.longValue());
+            }
+            rateLimiter.charge(key, entries, bytes);
         }
     }
 
@@ -72,4 +102,80 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
         return request.getRemoteAddr();
     }
+
+    private static final class CountingRequest extends HttpServletRequestWrapper {
+
+        private CountingInputStream inputStream;
+
+        private CountingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CountingInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        private long getBytesRead() {
+            return inputStream == null ? 0 : inputStream.bytesRead;
+        }
+    }
+
+    private static final class CountingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private long bytesRead;
+
+        private CountingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = delegate.read();
+            if (read != -1) {
+                bytesRead++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package com.logpilot.server.security;
 
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.server.ingest.IngestAdmission;
+import com.logpilot.server.ingest.IngestAdmissionFilter;
+import com.logpilot.server.rest.RequestDecompressionFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -29,29 +34,65 @@ public class SecurityConfig {
     @org.springframework.beans.factory.annotation.Value("${logpilot.server.rate-limit.refill-duration-seconds:60}")
     private int refillDurationSeconds;
 
+    @org.springframework.beans.factory.annotation.Value("${logpilot.server.rate-limit.entry-capacity:100000}")
+    private long entryCapacity;
+
+    @org.springframework.beans.factory.annotation.Value("${logpilot.server.rate-limit.byte-capacity:104857600}")
+    private long byteCapacity;
+
+    @org.springframework.beans.factory.annotation.Value("${logpilot.server.rate-limit.max-clients:10000}")
+    private long maxClients;
+
+    @org.springframework.beans.factory.annotation.Value("${logpilot.server.rate-limit.idle-timeout-seconds:600}")
+    private long idleTimeoutSeconds;
+
     private static final String API_KEY_HEADER = "X-API-KEY";
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ClientRateLimiter clientRateLimiter,
+            ObjectProvider<IngestAdmission> ingestAdmission, ObjectProvider<LogPilotProperties> properties)
+            throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/logs/**").authenticated()
+                        .requestMatchers("/api/**").authenticated()
                         .requestMatchers("/actuator/**").permitAll()
                         .anyRequest().permitAll())
                 .addFilterBefore(new ApiKeyAuthFilter(API_KEY_HEADER, apiKeyValue),
                         UsernamePasswordAuthenticationFilter.class)
-                .addFilterAfter(new RateLimitFilter(createBucketSupplier()), ApiKeyAuthFilter.class);
+                .addFilterAfter(new RateLimitFilter(clientRateLimiter), ApiKeyAuthFilter.class)
+                .addFilterAfter(new IngestAdmissionFilter(ingestAdmission.getIfAvailable(IngestAdmission::unlimited)),
+                        RateLimitFilter.class);
+
+        // 압축된 본문은 한도 검사 뒤에 풀어서, 거절된 요청의 압축 해제 비용을 치르지 않습니다.
+        // Compressed bodies are inflated after the limit checks, so rejected requests cost no decompression.
+        LogPilotProperties.Compression compression = properties.getIfAvailable(LogPilotProperties::new).getCompression();
+        if (compression.isEnabled()) {
+            http.addFilterAfter(new RequestDecompressionFilter(compression.getMaxInflatedRequestBytes()),
+                    IngestAdmissionFilter.class);
+        }
 
         return http.build();
     }
 
-    private Supplier<Bucket> createBucketSupplier() {
+    /**
+     * Per-client limits shared by REST and gRPC. Entries and bytes refill at their full capacity per
+     * refill duration; a capacity of 0 disables that limit.
+     */
+    @Bean
+    public ClientRateLimiter clientRateLimiter() {
+        return new ClientRateLimiter(createBucketSupplier(capacity, refillTokens),
+                entryCapacity > 0 ? createBucketSupplier(entryCapacity, entryCapacity) : null,
+                byteCapacity > 0 ? createBucketSupplier(byteCapacity, byteCapacity) : null,
+                maxClients, Duration.ofSeconds(idleTimeoutSeconds));
+    }
+
+    private Supplier<Bucket> createBucketSupplier(long bucketCapacity, long bucketRefillTokens) {
         return () -> Bucket.builder()
                 .addLimit(Bandwidth.builder()
-                        .capacity(capacity)
-                        .refillGreedy(refillTokens, Duration.ofSeconds(refillDurationSeconds))
+                        .capacity(bucketCapacity)
+                        .refillGreedy(bucketRefillTokens, Duration.ofSeconds(refillDurationSeconds))
                         .build())
                 .build();
     }
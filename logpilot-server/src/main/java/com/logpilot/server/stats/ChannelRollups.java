@@ -0,0 +1,313 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.server.ingest.RepeatCollapser;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-channel entry counts in time buckets, kept up to date by the write path so aggregations never scan stored data.
+ * Every batch signalled through ChannelNotifier is counted into one-minute buckets by entry timestamp, per level and
+ * per value of the configured meta keys; a collapsed repeat summary counts as its repeatCount, and a timestamp more
+ * than MAX_FUTURE_SKEW_MINUTES ahead of this node's clock counts at that limit. Minute buckets older
+ * than minuteRetentionMinutes are compacted into hour buckets, which are dropped after hourRetentionHours. Like
+ * ChannelStatistics, the counts are held in memory, start at zero when the node starts and only cover channels
+ * stored on this node.
+ */
+@Component
+public class ChannelRollups {
+
+    public static final String OTHER_VALUE = "_other";
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final long MINUTES_PER_HOUR = 60;
+    /**
+     * How far ahead of this node's clock an entry timestamp may be counted; later ones count at this limit
+     */
+    static final long MAX_FUTURE_SKEW_MINUTES = 5;
+
+    public enum Interval {
+        MINUTE(1, Duration.ofHours(1)),
+        HOUR(MINUTES_PER_HOUR, Duration.ofDays(1));
+
+        private final long minutes;
+        private final Duration defaultRange;
+
+        Interval(long minutes, Duration defaultRange) {
+            this.minutes = minutes;
+            this.defaultRange = defaultRange;
+        }
+    }
+
+    private final long minuteRetention;
+    private final long hourRetention;
+    private final List<String> metaKeys;
+    private final int maxMetaValues;
+    private final LongSupplier clock;
+    private final ZoneId zone;
+    private final Map<String, Rollup> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChannelRollups(ChannelNotifier channelNotifier, LogPilotProperties properties) {
+        this(properties.getRollup().getMinuteRetentionMinutes(), properties.getRollup().getHourRetentionHours(),
+                properties.getRollup().getMetaKeys(), properties.getRollup().getMaxMetaValues(),
+                System::currentTimeMillis, ZoneId.systemDefault());
+        if (properties.getRollup().isEnabled()) {
+            channelNotifier.registerStored(this::record);
+        }
+    }
+
+    /**
+     * Rollups not attached to the write path; entries are counted by record()
+     */
+    public ChannelRollups(long minuteRetentionMinutes, long hourRetentionHours, List<String> metaKeys,
+            int maxMetaValues, LongSupplier clock, ZoneId zone) {
+        this.minuteRetention = Math.max(0, minuteRetentionMinutes);
+        this.hourRetention = Math.max(0, hourRetentionHours);
+        this.metaKeys = metaKeys != null ? List.copyOf(metaKeys) : Collections.emptyList();
+        this.maxMetaValues = Math.max(0, maxMetaValues);
+        this.clock = clock;
+        this.zone = zone;
+    }
+
+    /**
+     * Count stored entries
+     */
+    public void record(Collection<LogEntry> logEntries) {
+        long now = nowMinute();
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry == null || logEntry.getChannel() == null) {
+                continue;
+            }
+            long minute = logEntry.getTimestamp() != null ? minuteOf(logEntry.getTimestamp()) : now;
+            // 미래 시각의 분 버킷은 압축되지 않으므로, 허용 오차를 넘는 시각은 그 끝으로 당겨 셉니다.
+            // Future minute buckets are never compacted, so timestamps past the allowed skew count at its edge.
+            minute = Math.min(minute, now + MAX_FUTURE_SKEW_MINUTES);
+            channels.computeIfAbsent(ChannelPartitions.channelOf(logEntry.getChannel()), c -> new Rollup())
+                    .add(logEntry.getLevel(), weightOf(logEntry), metaValuesOf(logEntry), minute, now);
+        }
+    }
+
+    /**
+     * Non-empty buckets of a channel whose start lies in [from, to), oldest first.
+     * Minute buckets only exist for the last minuteRetentionMinutes; hour buckets combine compacted and recent counts.
+     *
+     * @param from    inclusive start; defaults to one hour (minutes) or one day (hours) before to
+     * @param to      exclusive end; defaults to now, including the bucket in progress
+     * @param metaKey one of the configured meta keys to break the counts down by, or null
+     * @throws InvalidQueryException if the range is empty or the meta key is not rolled up
+     */
+    public List<RollupBucket> getBuckets(String channel, Interval interval, LocalDateTime from, LocalDateTime to,
+            String metaKey) {
+        Interval bucketInterval = interval != null ? interval : Interval.MINUTE;
+        long now = nowMinute();
+        LocalDateTime end = to != null ? to : LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), zone);
+        LocalDateTime start = from != null ? from : end.minus(bucketInterval.defaultRange);
+        if (!start.isBefore(end)) {
+            throw new InvalidQueryException("Rollup range is empty: from " + start + " is not before to " + end);
+        }
+        int metaIndex = -1;
+        if (metaKey != null && !metaKey.isBlank()) {
+            metaIndex = metaKeys.indexOf(metaKey);
+            if (metaIndex < 0) {
+                throw new InvalidQueryException("Meta key " + metaKey + " is not rolled up; rolled up keys: "
+                        + metaKeys);
+            }
+        }
+        Rollup rollup = channels.get(channel);
+        if (rollup == null) {
+            return Collections.emptyList();
+        }
+        // 끝 시각은 포함하지 않으므로 그 직전 순간이 속한 버킷까지 읽고, 끝을 생략하면 진행 중인 버킷까지 읽습니다.
+        // The end is exclusive, so buckets up to the one holding the instant just before it are read; without an
+        // end, up to the bucket in progress.
+        long fromKey = Math.floorDiv(minuteOf(start), bucketInterval.minutes);
+        long toKey = Math.floorDiv(to != null ? minuteOf(end.minusNanos(1)) : now, bucketInterval.minutes);
+        return rollup.snapshot(bucketInterval, fromKey, toKey, metaIndex, now);
+    }
+
+    public List<String> getMetaKeys() {
+        return metaKeys;
+    }
+
+    private long nowMinute() {
+        return minuteOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), zone));
+    }
+
+    private String[] metaValuesOf(LogEntry logEntry) {
+        if (metaKeys.isEmpty() || logEntry.getMeta() == null) {
+            return null;
+        }
+        String[] values = new String[metaKeys.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = logEntry.getMeta().get(metaKeys.get(i));
+            values[i] = value != null ? String.valueOf(value) : null;
+        }
+        return values;
+    }
+
+    /**
+     * Entries an entry stands for: the repeat count of a collapsed summary, otherwise one
+     */
+    private static long weightOf(LogEntry logEntry) {
+        if (logEntry.getMeta() != null
+                && logEntry.getMeta().get(RepeatCollapser.REPEAT_COUNT) instanceof Number repeats) {
+            return Math.max(1, repeats.longValue());
+        }
+        return 1;
+    }
+
+    /**
+     * Minute index of a timestamp; timestamps carry no zone, so they are counted in their own local time
+     */
+    private static long minuteOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private final class Rollup {
+
+        private final TreeMap<Long, Bucket> minutes = new TreeMap<>();
+        private final TreeMap<Long, Bucket> hours = new TreeMap<>();
+        private long compactedBefore = Long.MIN_VALUE;
+
+        private synchronized void add(LogLevel level, long weight, String[] metaValues, long minute, long now) {
+            compact(now);
+            Bucket bucket;
+            if (minute >= compactedBefore) {
+                bucket = minutes.computeIfAbsent(minute, m -> new Bucket());
+            } else {
+                // 이미 합쳐진 분에 늦게 도착한 엔트리는 바로 시간 버킷에 셉니다.
+                // Entries arriving late for an already compacted minute are counted in its hour directly.
+                long hour = Math.floorDiv(minute, MINUTES_PER_HOUR);
+                if (hour < Math.floorDiv(now, MINUTES_PER_HOUR) - hourRetention) {
+                    return;
+                }
+                bucket = hours.computeIfAbsent(hour, h -> new Bucket());
+            }
+            bucket.add(level, weight, metaValues);
+        }
+
+        private synchronized List<RollupBucket> snapshot(Interval interval, long fromKey, long toKey, int metaIndex,
+                long now) {
+            compact(now);
+            if (toKey < fromKey) {
+                return Collections.emptyList();
+            }
+            List<RollupBucket> buckets = new ArrayList<>();
+            if (interval == Interval.MINUTE) {
+                minutes.subMap(fromKey, true, toKey, true).forEach((minute, bucket) ->
+                        buckets.add(bucket.toRollupBucket(minute, interval, metaIndex)));
+                return buckets;
+            }
+            // 아직 합쳐지지 않은 최근 분 버킷을 시간 버킷에 더해 보여 줍니다.
+            // Recent minute buckets not compacted yet are added to their hours.
+            TreeMap<Long, Bucket> merged = new TreeMap<>();
+            hours.subMap(fromKey, true, toKey, true).forEach((hour, bucket) ->
+                    merged.computeIfAbsent(hour, h -> new Bucket()).merge(bucket));
+            minutes.subMap(fromKey * MINUTES_PER_HOUR, true, toKey * MINUTES_PER_HOUR + MINUTES_PER_HOUR - 1, true)
+                    .forEach((minute, bucket) -> merged.computeIfAbsent(Math.floorDiv(minute, MINUTES_PER_HOUR),
+                            h -> new Bucket()).merge(bucket));
+            merged.forEach((hour, bucket) -> buckets.add(bucket.toRollupBucket(hour, interval, metaIndex)));
+            return buckets;
+        }
+
+        /**
+         * Fold minute buckets past their retention into hour buckets and drop hour buckets past theirs
+         */
+        private void compact(long now) {
+            long cutoff = now - minuteRetention;
+            if (cutoff <= compactedBefore) {
+                return;
+            }
+            compactedBefore = cutoff;
+            SortedMap<Long, Bucket> expired = minutes.headMap(cutoff);
+            expired.forEach((minute, bucket) -> hours.computeIfAbsent(Math.floorDiv(minute, MINUTES_PER_HOUR),
+                    h -> new Bucket()).merge(bucket));
+            expired.clear();
+            hours.headMap(Math.floorDiv(now, MINUTES_PER_HOUR) - hourRetention).clear();
+        }
+    }
+
+    private final class Bucket {
+
+        private final long[] levels = new long[LEVELS.length];
+        private long entries;
+        private List<Map<String, Long>> meta;
+
+        private void add(LogLevel level, long weight, String[] metaValues) {
+            entries += weight;
+            if (level != null) {
+                levels[level.ordinal()] += weight;
+            }
+            if (metaValues != null) {
+                for (int i = 0; i < metaValues.length; i++) {
+                    if (metaValues[i] != null) {
+                        countValue(i, metaValues[i], weight);
+                    }
+                }
+            }
+        }
+
+        private void merge(Bucket other) {
+            entries += other.entries;
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] += other.levels[i];
+            }
+            if (other.meta != null) {
+                for (int i = 0; i < other.meta.size(); i++) {
+                    int keyIndex = i;
+                    other.meta.get(i).forEach((value, count) -> countValue(keyIndex, value, count));
+                }
+            }
+        }
+
+        private void countValue(int keyIndex, String value, long count) {
+            if (meta == null) {
+                meta = new ArrayList<>(metaKeys.size());
+                for (int i = 0; i < metaKeys.size(); i++) {
+                    meta.add(new HashMap<>());
+                }
+            }
+            Map<String, Long> values = meta.get(keyIndex);
+            // 값 수를 제한해 요청 ID 같은 고유 값이 버킷 크기를 키우지 않게 합니다.
+            // Values are capped so unique values such as request IDs cannot grow a bucket without bound.
+            String counted = values.containsKey(value) || values.size() < maxMetaValues ? value : OTHER_VALUE;
+            values.merge(counted, count, Long::sum);
+        }
+
+        private RollupBucket toRollupBucket(long key, Interval interval, int metaIndex) {
+            Map<LogLevel, Long> levelCounts = new EnumMap<>(LogLevel.class);
+            for (LogLevel level : LEVELS) {
+                levelCounts.put(level, levels[level.ordinal()]);
+            }
+            Map<String, Long> metaCounts = null;
+            if (metaIndex >= 0) {
+                metaCounts = meta != null ? new TreeMap<>(meta.get(metaIndex)) : new TreeMap<>();
+            }
+            LocalDateTime start = LocalDateTime.ofEpochSecond(key * interval.minutes * 60, 0, ZoneOffset.UTC);
+            return new RollupBucket(start, entries, levelCounts, metaCounts);
+        }
+    }
+}
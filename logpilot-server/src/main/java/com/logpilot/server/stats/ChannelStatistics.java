@@ -0,0 +1,236 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.ingest.IngestBatcher;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-channel statistics kept up to date by the write path, so reading them never scans stored data.
+ * Every batch signalled through ChannelNotifier adds to the counters of its logical channels (entries, estimated
+ * bytes, per-level counts, first/last ID and timestamp, and a one-minute ingest rate in per-second buckets) and
+ * raises the high-water mark and head timestamp of its streams. Consumer lag is the high-water mark minus the
+ * committed offset, taken from ConsumerPositions. Counters start at zero when the node starts and only cover
+ * channels stored on this node; the high-water mark and consumer offsets of a stream not touched since then are read
+ * from storage once.
+ */
+@Component
+public class ChannelStatistics {
+
+    static final int RATE_WINDOW_SECONDS = 60;
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final LogStorage logStorage;
+    private final PartitionRouter partitionRouter;
+    private final ConsumerPositions consumerPositions;
+    private final LongSupplier clock;
+    private final Instant startedAt;
+    private final Map<String, ChannelCounters> channels = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> highWatermarks = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> headTimestamps = new ConcurrentHashMap<>();
+    private volatile boolean storedChannelsListed;
+
+    public ChannelStatistics(ChannelNotifier channelNotifier, LogStorage logStorage, PartitionRouter partitionRouter) {
+        this(channelNotifier, logStorage, partitionRouter, new ConsumerPositions());
+    }
+
+    @Autowired
+    public ChannelStatistics(ChannelNotifier channelNotifier, LogStorage logStorage, PartitionRouter partitionRouter,
+            ConsumerPositions consumerPositions) {
+        this(channelNotifier, logStorage, partitionRouter, consumerPositions, System::currentTimeMillis);
+    }
+
+    public ChannelStatistics(ChannelNotifier channelNotifier, LogStorage logStorage, PartitionRouter partitionRouter,
+            LongSupplier clock) {
+        this(channelNotifier, logStorage, partitionRouter, new ConsumerPositions(clock), clock);
+    }
+
+    public ChannelStatistics(ChannelNotifier channelNotifier, LogStorage logStorage, PartitionRouter partitionRouter,
+            ConsumerPositions consumerPositions, LongSupplier clock) {
+        this.logStorage = logStorage;
+        this.partitionRouter = partitionRouter;
+        this.consumerPositions = consumerPositions;
+        this.clock = clock;
+        this.startedAt = Instant.ofEpochMilli(clock.getAsLong());
+        channelNotifier.registerStored(this::record);
+    }
+
+    /**
+     * Count stored entries
+     */
+    public void record(Collection<LogEntry> logEntries) {
+        long second = clock.getAsLong() / 1000;
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry == null || logEntry.getChannel() == null) {
+                continue;
+            }
+            channels.computeIfAbsent(ChannelPartitions.channelOf(logEntry.getChannel()), ChannelCounters::new)
+                    .add(logEntry, IngestBatcher.estimateBytes(logEntry), second);
+            if (logEntry.getId() != null) {
+                // ID는 스트림 안에서 증가하므로 저장된 ID 중 최댓값이 곧 최고 수위입니다.
+                // IDs grow within a stream, so the highest ID stored is the high-water mark.
+                String stream = ChannelPartitions.streamName(logEntry);
+                highWatermarks.computeIfAbsent(stream, s -> new AtomicLong())
+                        .accumulateAndGet(logEntry.getId(), Math::max);
+                if (logEntry.getTimestamp() != null) {
+                    headTimestamps.merge(stream, logEntry.getTimestamp(), (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Statistics of every channel this node stores, by name
+     */
+    public List<ChannelStats> getChannels() {
+        if (!storedChannelsListed) {
+            // 시작 후 아직 쓰이지 않은 채널도 보이도록 저장소의 채널 목록을 한 번 읽습니다.
+            // The storage's channel list is read once so channels not written since startup are listed too.
+            for (String stream : logStorage.getChannels()) {
+                channels.computeIfAbsent(ChannelPartitions.channelOf(stream), ChannelCounters::new);
+            }
+            storedChannelsListed = true;
+        }
+        for (String channel : partitionRouter.getChannelRegistry().getChannels().keySet()) {
+            channels.computeIfAbsent(channel, ChannelCounters::new);
+        }
+        long second = clock.getAsLong() / 1000;
+        List<ChannelStats> stats = new ArrayList<>();
+        new TreeMap<>(channels).forEach((channel, counters) -> stats.add(counters.snapshot(second)));
+        return stats;
+    }
+
+    /**
+     * Statistics of one channel; zero counts when nothing was stored to it since startup
+     */
+    public ChannelStats getChannel(String channel) {
+        ChannelCounters counters = channels.get(channel);
+        return (counters != null ? counters : new ChannelCounters(channel)).snapshot(clock.getAsLong() / 1000);
+    }
+
+    /**
+     * Lag of every consumer that has committed an offset on the channel, per partition
+     */
+    public List<ConsumerLag> getConsumers(String channel) {
+        List<ConsumerLag> consumers = new ArrayList<>();
+        for (String stream : partitionRouter.streamsOf(channel)) {
+            long highWatermark = getHighWatermark(stream);
+            Integer partition = ChannelPartitions.partitionOf(stream);
+            new TreeMap<>(getConsumerPositions(stream)).forEach((consumerId, position) ->
+                    consumers.add(new ConsumerLag(consumerId, partition, position.getCommitted(), highWatermark)));
+        }
+        return consumers;
+    }
+
+    /**
+     * Positions of the consumers of a stream; its stored offsets are loaded the first time it is asked for
+     */
+    public Map<String, ConsumerPositions.Position> getConsumerPositions(String stream) {
+        if (consumerPositions.needsSeed(stream)) {
+            consumerPositions.seed(stream, logStorage.getConsumerOffsets(stream));
+        }
+        return consumerPositions.of(stream);
+    }
+
+    /**
+     * Timestamp of the newest entry stored on a stream since startup, or null if nothing was stored
+     */
+    public LocalDateTime getHeadTimestamp(String stream) {
+        return headTimestamps.get(stream);
+    }
+
+    /**
+     * Highest ID stored on a stream (a channel, or one partition as "channel#N")
+     */
+    public long getHighWatermark(String stream) {
+        AtomicLong highWatermark = highWatermarks.get(stream);
+        if (highWatermark == null) {
+            long stored = logStorage.getLastLogId(stream);
+            highWatermark = highWatermarks.computeIfAbsent(stream, s -> new AtomicLong());
+            highWatermark.accumulateAndGet(stored, Math::max);
+        }
+        return highWatermark.get();
+    }
+
+    private final class ChannelCounters {
+
+        private final String channel;
+        private final long[] levels = new long[LEVELS.length];
+        private final long[] secondCounts = new long[RATE_WINDOW_SECONDS];
+        private final long[] secondStamps = new long[RATE_WINDOW_SECONDS];
+        private long entries;
+        private long bytes;
+        private Long firstId;
+        private Long lastId;
+        private LocalDateTime firstTimestamp;
+        private LocalDateTime lastTimestamp;
+
+        private ChannelCounters(String channel) {
+            this.channel = channel;
+        }
+
+        private synchronized void add(LogEntry logEntry, long entryBytes, long second) {
+            entries++;
+            bytes += entryBytes;
+            if (logEntry.getLevel() != null) {
+                levels[logEntry.getLevel().ordinal()]++;
+            }
+            Long id = logEntry.getId();
+            if (id != null) {
+                firstId = firstId == null ? id : Math.min(firstId, id);
+                lastId = lastId == null ? id : Math.max(lastId, id);
+            }
+            LocalDateTime timestamp = logEntry.getTimestamp();
+            if (timestamp != null) {
+                if (firstTimestamp == null || timestamp.isBefore(firstTimestamp)) {
+                    firstTimestamp = timestamp;
+                }
+                if (lastTimestamp == null || timestamp.isAfter(lastTimestamp)) {
+                    lastTimestamp = timestamp;
+                }
+            }
+            // 초 단위 버킷을 돌려 쓰며, 오래된 버킷은 다시 쓰일 때 비웁니다.
+            // Per-second buckets are reused round-robin and cleared when a new second claims them.
+            int bucket = (int) (second % RATE_WINDOW_SECONDS);
+            if (secondStamps[bucket] != second) {
+                secondStamps[bucket] = second;
+                secondCounts[bucket] = 0;
+            }
+            secondCounts[bucket]++;
+        }
+
+        private synchronized ChannelStats snapshot(long second) {
+            Map<LogLevel, Long> levelCounts = new EnumMap<>(LogLevel.class);
+            for (LogLevel level : LEVELS) {
+                levelCounts.put(level, levels[level.ordinal()]);
+            }
+            long recent = 0;
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                if (second - secondStamps[i] < RATE_WINDOW_SECONDS) {
+                    recent += secondCounts[i];
+                }
+            }
+            return new ChannelStats(channel, partitionRouter.partitionsOf(channel), entries, bytes, levelCounts,
+                    firstId, lastId, firstTimestamp, lastTimestamp, (double) recent / RATE_WINDOW_SECONDS,
+                    startedAt);
+        }
+    }
+}
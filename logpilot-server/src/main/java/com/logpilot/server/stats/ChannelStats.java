@@ -0,0 +1,92 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogLevel;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Point-in-time statistics of one channel. Counts cover entries stored since the node started (see since).
+ * On partitioned channels IDs are per partition, so firstId and lastId are the lowest and highest over all partitions.
+ */
+public class ChannelStats {
+
+    private final String channel;
+    private final int partitions;
+    private final long entries;
+    private final long bytes;
+    private final Map<LogLevel, Long> levels;
+    private final Long firstId;
+    private final Long lastId;
+    private final LocalDateTime firstTimestamp;
+    private final LocalDateTime lastTimestamp;
+    private final double entriesPerSecond;
+    private final Instant since;
+
+    public ChannelStats(String channel, int partitions, long entries, long bytes, Map<LogLevel, Long> levels,
+            Long firstId, Long lastId, LocalDateTime firstTimestamp, LocalDateTime lastTimestamp,
+            double entriesPerSecond, Instant since) {
+        this.channel = channel;
+        this.partitions = partitions;
+        this.entries = entries;
+        this.bytes = bytes;
+        this.levels = levels;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.entriesPerSecond = entriesPerSecond;
+        this.since = since;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * Estimated serialized size of the stored entries
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public Map<LogLevel, Long> getLevels() {
+        return levels;
+    }
+
+    public Long getFirstId() {
+        return firstId;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public LocalDateTime getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Average ingest rate over the last minute
+     */
+    public double getEntriesPerSecond() {
+        return entriesPerSecond;
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+}
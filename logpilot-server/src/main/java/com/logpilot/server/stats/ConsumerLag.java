@@ -0,0 +1,51 @@
+package com.logpilot.server.stats;
+
+/**
+ * How far one consumer is behind on one channel or partition
+ */
+public class ConsumerLag {
+
+    private final String consumerId;
+    private final Integer partition;
+    private final long committedOffset;
+    private final long highWatermark;
+    private final long lag;
+
+    public ConsumerLag(String consumerId, Integer partition, long committedOffset, long highWatermark) {
+        this.consumerId = consumerId;
+        this.partition = partition;
+        this.committedOffset = committedOffset;
+        this.highWatermark = highWatermark;
+        this.lag = Math.max(0, highWatermark - committedOffset);
+    }
+
+    public String getConsumerId() {
+        return consumerId;
+    }
+
+    /**
+     * Partition the offset belongs to, or null on an unpartitioned channel
+     */
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    /**
+     * Highest ID stored on the channel or partition
+     */
+    public long getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * IDs between the committed offset and the high-water mark. With file storage this is the number of entries
+     * left to read; SQLite shares IDs across channels, so there it is an upper bound.
+     */
+    public long getLag() {
+        return lag;
+    }
+}
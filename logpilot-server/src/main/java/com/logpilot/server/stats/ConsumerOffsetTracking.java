@@ -0,0 +1,31 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.storage.LogStorage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the logStorage bean in an OffsetTrackingLogStorage so consumer positions are known in memory.
+ */
+public class ConsumerOffsetTracking implements BeanPostProcessor {
+
+    public static final String LOG_STORAGE_BEAN = "logStorage";
+
+    private final ObjectProvider<ConsumerPositions> consumerPositions;
+
+    public ConsumerOffsetTracking(ObjectProvider<ConsumerPositions> consumerPositions) {
+        this.consumerPositions = consumerPositions;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!LOG_STORAGE_BEAN.equals(beanName) || !(bean instanceof LogStorage logStorage)) {
+            return bean;
+        }
+        ConsumerPositions positions = consumerPositions.getIfAvailable();
+        if (positions == null) {
+            return bean;
+        }
+        return new OffsetTrackingLogStorage(logStorage, positions);
+    }
+}
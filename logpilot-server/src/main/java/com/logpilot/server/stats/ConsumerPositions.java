@@ -0,0 +1,178 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogEntry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Committed offset and read position of every consumer, per stream, kept in memory.
+ * Fed by OffsetTrackingLogStorage as consumers fetch, commit and seek, so lag can be computed without asking the
+ * storage. A stream's offsets are loaded from storage once (seed) to cover consumers that have not been active
+ * since the node started. Consumers idle for longer than the given time are forgotten by evictIdle.
+ */
+@Component
+public class ConsumerPositions {
+
+    private final LongSupplier clock;
+    private final Map<String, Map<String, Position>> streams = new ConcurrentHashMap<>();
+    private final Set<String> seededStreams = ConcurrentHashMap.newKeySet();
+
+    public ConsumerPositions() {
+        this(System::currentTimeMillis);
+    }
+
+    public ConsumerPositions(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Entries handed to a consumer; with autoCommit the last one is now its committed offset
+     */
+    public void fetched(String stream, String consumerId, List<LogEntry> entries, boolean autoCommit) {
+        if (stream == null || consumerId == null) {
+            return;
+        }
+        Position position = positionOf(stream, consumerId);
+        position.touch(clock.getAsLong());
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        position.fetched.add(entries.size());
+        LogEntry last = entries.get(entries.size() - 1);
+        if (last.getId() != null) {
+            position.read(last.getId(), last.getTimestamp());
+            if (autoCommit) {
+                position.committed = Math.max(position.committed, last.getId());
+            }
+        }
+    }
+
+    /**
+     * Offset committed or set by a seek
+     */
+    public void committed(String stream, String consumerId, long offset) {
+        if (stream == null || consumerId == null) {
+            return;
+        }
+        Position position = positionOf(stream, consumerId);
+        position.touch(clock.getAsLong());
+        position.committed = offset;
+    }
+
+    /**
+     * Whether the stream's stored offsets still need to be loaded
+     */
+    public boolean needsSeed(String stream) {
+        return !seededStreams.contains(stream);
+    }
+
+    /**
+     * Add stored offsets of consumers not seen yet; known consumers keep their newer in-memory offset
+     */
+    public void seed(String stream, Map<String, Long> storedOffsets) {
+        if (!seededStreams.add(stream)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Map<String, Position> consumers = streams.computeIfAbsent(stream, s -> new ConcurrentHashMap<>());
+        storedOffsets.forEach((consumerId, offset) -> consumers.computeIfAbsent(consumerId, c -> {
+            Position position = new Position(now);
+            position.committed = offset;
+            return position;
+        }));
+    }
+
+    /**
+     * Consumers of a stream
+     */
+    public Map<String, Position> of(String stream) {
+        Map<String, Position> consumers = streams.get(stream);
+        return consumers != null ? Collections.unmodifiableMap(consumers) : Collections.emptyMap();
+    }
+
+    /**
+     * Streams with at least one consumer
+     */
+    public List<String> getStreams() {
+        return new ArrayList<>(streams.keySet());
+    }
+
+    /**
+     * Forget consumers without activity for idleMillis
+     *
+     * @return the number of consumers forgotten
+     */
+    public int evictIdle(long idleMillis) {
+        long cutoff = clock.getAsLong() - idleMillis;
+        int evicted = 0;
+        for (Map<String, Position> consumers : streams.values()) {
+            for (Map.Entry<String, Position> consumer : consumers.entrySet()) {
+                if (consumer.getValue().lastActivityMillis < cutoff && consumers.remove(consumer.getKey(),
+                        consumer.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private Position positionOf(String stream, String consumerId) {
+        return streams.computeIfAbsent(stream, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(consumerId, c -> new Position(clock.getAsLong()));
+    }
+
+    public static final class Position {
+
+        private final LongAdder fetched = new LongAdder();
+        private volatile long committed;
+        private volatile long readId;
+        private volatile LocalDateTime readTimestamp;
+        private volatile long lastActivityMillis;
+
+        private Position(long now) {
+            this.lastActivityMillis = now;
+        }
+
+        private void touch(long now) {
+            lastActivityMillis = now;
+        }
+
+        private synchronized void read(long id, LocalDateTime timestamp) {
+            if (id >= readId) {
+                readId = id;
+                readTimestamp = timestamp;
+            }
+        }
+
+        public long getCommitted() {
+            return committed;
+        }
+
+        /**
+         * Timestamp of the newest entry handed to the consumer, or null if it has not fetched since startup
+         */
+        public LocalDateTime getReadTimestamp() {
+            return readTimestamp;
+        }
+
+        /**
+         * Entries handed to the consumer since startup
+         */
+        public long getFetched() {
+            return fetched.sum();
+        }
+
+        public long getLastActivityMillis() {
+            return lastActivityMillis;
+        }
+    }
+}
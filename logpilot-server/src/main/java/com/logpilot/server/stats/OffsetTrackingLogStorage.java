@@ -0,0 +1,151 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.core.storage.StorageObserver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Storage decorator that reports consumer fetches, commits and seeks to ConsumerPositions.
+ * Every call is passed through unchanged; the positions are updated after the backend succeeded.
+ */
+public class OffsetTrackingLogStorage implements LogStorage {
+
+    private final LogStorage delegate;
+    private final ConsumerPositions consumerPositions;
+
+    public OffsetTrackingLogStorage(LogStorage delegate, ConsumerPositions consumerPositions) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate storage cannot be null");
+        }
+        this.delegate = delegate;
+        this.consumerPositions = consumerPositions;
+    }
+
+    public LogStorage getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public LogStorage unwrap() {
+        return delegate.unwrap();
+    }
+
+    @Override
+    public void store(LogEntry logEntry) {
+        delegate.store(logEntry);
+    }
+
+    @Override
+    public void storeLogs(List<LogEntry> logEntries) {
+        delegate.storeLogs(logEntries);
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit) {
+        List<LogEntry> entries = delegate.retrieve(channel, consumerId, limit);
+        consumerPositions.fetched(channel, consumerId, entries, true);
+        return entries;
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, int limit) {
+        return delegate.retrieve(channel, limit);
+    }
+
+    @Override
+    public List<LogEntry> retrieve(String channel, String consumerId, int limit, boolean autoCommit) {
+        List<LogEntry> entries = delegate.retrieve(channel, consumerId, limit, autoCommit);
+        consumerPositions.fetched(channel, consumerId, entries, autoCommit);
+        return entries;
+    }
+
+    @Override
+    public int retrievePages(String channel, String consumerId, int limit, boolean autoCommit, int pageSize,
+            Consumer<List<LogEntry>> pageSink) {
+        // 백엔드는 싱크가 받아들인 페이지까지만 커밋하므로 받아들여진 페이지만 위치에 반영합니다.
+        // The backend commits up to the last page the sink accepted, so only accepted pages move the position.
+        return delegate.retrievePages(channel, consumerId, limit, autoCommit, pageSize, page -> {
+            pageSink.accept(page);
+            consumerPositions.fetched(channel, consumerId, page, autoCommit);
+        });
+    }
+
+    @Override
+    public long getConsumerOffset(String channel, String consumerId) {
+        return delegate.getConsumerOffset(channel, consumerId);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerOffsets(String channel) {
+        return delegate.getConsumerOffsets(channel);
+    }
+
+    @Override
+    public void commitOffset(String channel, String consumerId, long lastLogId) {
+        delegate.commitOffset(channel, consumerId, lastLogId);
+        consumerPositions.committed(channel, consumerId, lastLogId);
+    }
+
+    @Override
+    public void seekToBeginning(String channel, String consumerId) {
+        delegate.seekToBeginning(channel, consumerId);
+        consumerPositions.committed(channel, consumerId, delegate.getConsumerOffset(channel, consumerId));
+    }
+
+    @Override
+    public void seekToEnd(String channel, String consumerId) {
+        delegate.seekToEnd(channel, consumerId);
+        consumerPositions.committed(channel, consumerId, delegate.getConsumerOffset(channel, consumerId));
+    }
+
+    @Override
+    public void seekToId(String channel, String consumerId, long logId) {
+        delegate.seekToId(channel, consumerId, logId);
+        consumerPositions.committed(channel, consumerId, delegate.getConsumerOffset(channel, consumerId));
+    }
+
+    @Override
+    public List<String> getChannels() {
+        return delegate.getChannels();
+    }
+
+    @Override
+    public long getLastLogId(String channel) {
+        return delegate.getLastLogId(channel);
+    }
+
+    @Override
+    public List<LogEntry> retrieveAfter(String channel, long afterId, int limit) {
+        return delegate.retrieveAfter(channel, afterId, limit);
+    }
+
+    @Override
+    public List<LogEntry> query(String channel, LogQuery query, long afterId, int limit) {
+        return delegate.query(channel, query, afterId, limit);
+    }
+
+    @Override
+    public void storeReplicated(List<LogEntry> logEntries) {
+        delegate.storeReplicated(logEntries);
+    }
+
+    @Override
+    public void setStorageObserver(StorageObserver storageObserver) {
+        delegate.setStorageObserver(storageObserver);
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogLevel;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Entry counts of one channel within one minute or hour, by level and optionally by the values of one meta key
+ */
+public class RollupBucket {
+
+    private final LocalDateTime start;
+    private final long entries;
+    private final Map<LogLevel, Long> levels;
+    private final Map<String, Long> meta;
+
+    public RollupBucket(LocalDateTime start, long entries, Map<LogLevel, Long> levels, Map<String, Long> meta) {
+        this.start = start;
+        this.entries = entries;
+        this.levels = levels;
+        this.meta = meta;
+    }
+
+    /**
+     * Start of the bucket, in the timestamps' own time zone
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public Map<LogLevel, Long> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Counts by value of the requested meta key, or null when no key was requested
+     */
+    public Map<String, Long> getMeta() {
+        return meta;
+    }
+}
@@ -0,0 +1,132 @@
+package com.logpilot.server.subscription;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.partition.ChannelPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Per-channel "new entries stored" signal.
+ * Write paths signal a channel after storing to it; subscribers register a listener instead of polling storage.
+ * Entry listeners additionally receive the stored entries themselves, so broadcasts need no storage read.
+ * Listeners run on the writing thread, so they must only hand work off (e.g. schedule a drain).
+ */
+@Component
+public class ChannelNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelNotifier.class);
+
+    private final Map<String, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Set<Consumer<List<LogEntry>>>> entryListeners = new ConcurrentHashMap<>();
+    private final Set<Consumer<Collection<LogEntry>>> storeListeners = new CopyOnWriteArraySet<>();
+
+    /**
+     * Register a listener for a logical channel; closing the returned handle unregisters it
+     */
+    public AutoCloseable register(String channel, Runnable listener) {
+        listeners.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(listener);
+        return () -> listeners.computeIfPresent(channel, (c, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * Register a listener that receives the entries stored to a logical channel; closing the handle unregisters it
+     */
+    public AutoCloseable registerEntries(String channel, Consumer<List<LogEntry>> listener) {
+        entryListeners.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(listener);
+        return () -> entryListeners.computeIfPresent(channel, (c, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * Register a listener that receives every stored batch, whatever its channels; closing the handle unregisters it
+     */
+    public AutoCloseable registerStored(Consumer<Collection<LogEntry>> listener) {
+        storeListeners.add(listener);
+        return () -> storeListeners.remove(listener);
+    }
+
+    /**
+     * Signal every logical channel the stored entries belong to
+     */
+    public void signalStored(Collection<LogEntry> logEntries) {
+        if (logEntries == null) {
+            return;
+        }
+        for (Consumer<Collection<LogEntry>> listener : storeListeners) {
+            try {
+                listener.accept(logEntries);
+            } catch (Exception e) {
+                logger.warn("Store listener failed", e);
+            }
+        }
+        if (listeners.isEmpty() && entryListeners.isEmpty()) {
+            return;
+        }
+        Map<String, List<LogEntry>> byChannel = new LinkedHashMap<>();
+        for (LogEntry logEntry : logEntries) {
+            if (logEntry != null && logEntry.getChannel() != null) {
+                byChannel.computeIfAbsent(ChannelPartitions.channelOf(logEntry.getChannel()),
+                        c -> new ArrayList<>()).add(logEntry);
+            }
+        }
+        byChannel.forEach((channel, stored) -> {
+            deliver(channel, stored);
+            signal(channel);
+        });
+    }
+
+    public void signal(String channel) {
+        Set<Runnable> registered = listeners.get(channel);
+        if (registered == null) {
+            return;
+        }
+        for (Runnable listener : registered) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                logger.warn("Channel listener failed for channel: {}", channel, e);
+            }
+        }
+    }
+
+    private void deliver(String channel, List<LogEntry> stored) {
+        Set<Consumer<List<LogEntry>>> registered = entryListeners.get(channel);
+        if (registered == null) {
+            return;
+        }
+        List<LogEntry> view = List.copyOf(stored);
+        for (Consumer<List<LogEntry>> listener : registered) {
+            try {
+                listener.accept(view);
+            } catch (Exception e) {
+                logger.warn("Channel entry listener failed for channel: {}", channel, e);
+            }
+        }
+    }
+
+    public int getEntryListenerCount(String channel) {
+        Set<Consumer<List<LogEntry>>> registered = entryListeners.get(channel);
+        return registered != null ? registered.size() : 0;
+    }
+
+    public int getListenerCount(String channel) {
+        Set<Runnable> registered = listeners.get(channel);
+        return registered != null ? registered.size() : 0;
+    }
+}
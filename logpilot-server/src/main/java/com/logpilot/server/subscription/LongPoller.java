@@ -0,0 +1,189 @@
+package com.logpilot.server.subscription;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.partition.ChannelPartitions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Parks long-poll fetches without holding a request thread.
+ * A parked fetch is re-checked when its channel is signalled and completed once enough entries are
+ * available or its wait expires, whichever comes first. Checks and fetches run on a fixed pool of checkThreads
+ * threads, so a hot channel with many parked fetches queues work instead of starting threads, and the timer
+ * thread only hands expired waits to that pool.
+ */
+@Component
+public class LongPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongPoller.class);
+
+    private final ChannelNotifier channelNotifier;
+    private final long maxWaitMillis;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService checker;
+
+    @Autowired
+    public LongPoller(ChannelNotifier channelNotifier, LogPilotProperties properties) {
+        this(channelNotifier, properties.getServer().getMaxFetchWaitMillis(),
+                properties.getServer().getFetchWaitThreads());
+    }
+
+    public LongPoller(ChannelNotifier channelNotifier, long maxWaitMillis, int checkThreads) {
+        this.channelNotifier = channelNotifier;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "logpilot-long-poll-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checker = Executors.newFixedThreadPool(Math.max(1, checkThreads), r -> {
+            Thread thread = new Thread(r, "logpilot-long-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Complete with fetch() as soon as ready() holds, or when waitMillis expires.
+     * Without a wait (or when already ready) the fetch runs immediately on the calling thread.
+     */
+    public <T> CompletableFuture<T> await(String channel, long waitMillis, BooleanSupplier ready, Supplier<T> fetch) {
+        if (waitMillis <= 0) {
+            return fetchNow(fetch);
+        }
+
+        ParkedFetch<T> parked = new ParkedFetch<>(ready, fetch);
+        // 준비 여부를 확인하기 전에 등록하여, 그 사이에 도착한 신호를 놓치지 않습니다.
+        // Register before checking readiness so a signal arriving in between is not lost.
+        parked.registration = channelNotifier.register(ChannelPartitions.channelOf(channel), parked::onSignal);
+
+        try {
+            if (ready.getAsBoolean()) {
+                parked.complete();
+                return parked.future;
+            }
+        } catch (RuntimeException e) {
+            parked.fail(e);
+            return parked.future;
+        }
+
+        ScheduledFuture<?> timeout = timer.schedule(parked::expire, Math.min(waitMillis, maxWaitMillis),
+                TimeUnit.MILLISECONDS);
+        parked.timeout = timeout;
+        if (parked.future.isDone()) {
+            timeout.cancel(false);
+        }
+        return parked.future;
+    }
+
+    private static <T> CompletableFuture<T> fetchNow(Supplier<T> fetch) {
+        try {
+            return CompletableFuture.completedFuture(fetch.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        checker.shutdownNow();
+    }
+
+    private class ParkedFetch<T> {
+
+        private final BooleanSupplier ready;
+        private final Supplier<T> fetch;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicBoolean checkScheduled = new AtomicBoolean();
+        private volatile AutoCloseable registration;
+        private volatile ScheduledFuture<?> timeout;
+
+        private ParkedFetch(BooleanSupplier ready, Supplier<T> fetch) {
+            this.ready = ready;
+            this.fetch = fetch;
+        }
+
+        /**
+         * Runs on the writing thread, so the storage check is handed off
+         */
+        private void onSignal() {
+            if (!done.get() && checkScheduled.compareAndSet(false, true)) {
+                hand(this::check);
+            }
+        }
+
+        /**
+         * Runs on the timer thread, so the fetch is handed off
+         */
+        private void expire() {
+            if (!done.get()) {
+                hand(this::complete);
+            }
+        }
+
+        private void hand(Runnable task) {
+            try {
+                checker.execute(task);
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+        }
+
+        private void check() {
+            checkScheduled.set(false);
+            try {
+                if (!done.get() && ready.getAsBoolean()) {
+                    complete();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void complete() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            release();
+            try {
+                future.complete(fetch.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void fail(Throwable cause) {
+            if (done.compareAndSet(false, true)) {
+                release();
+                future.completeExceptionally(cause);
+            }
+        }
+
+        private void release() {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            try {
+                registration.close();
+            } catch (Exception e) {
+                logger.debug("Failed to unregister long poll: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.logpilot.server.tail;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.server.subscription.ChannelNotifier;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One in-memory broadcast per tailed channel.
+ * Stored entries arrive from the ChannelNotifier once per write and are fanned out to every subscriber's
+ * bounded queue, so a subscriber never reads storage. A subscriber that falls behind loses the entries
+ * that do not fit (and is told how many); one that makes no progress for the slow-subscriber timeout
+ * is disconnected.
+ */
+@Component
+public class LiveTailHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTailHub.class);
+
+    private static final int DEFAULT_DELIVERY_THREADS = 4;
+    private static final int MAX_ENTRIES_PER_DRAIN = 256;
+
+    private final ChannelNotifier channelNotifier;
+    private final int bufferSize;
+    private final long slowSubscriberTimeoutNanos;
+    private final ExecutorService executor;
+    private final Map<String, ChannelBroadcast> broadcasts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveTailHub(ChannelNotifier channelNotifier, LogPilotProperties properties) {
+        this(channelNotifier, properties.getLiveTail().getBufferSize(),
+                properties.getLiveTail().getSlowSubscriberTimeoutMillis(),
+                properties.getLiveTail().getDeliveryThreads());
+    }
+
+    public LiveTailHub(ChannelNotifier channelNotifier, int bufferSize, long slowSubscriberTimeoutMillis) {
+        this(channelNotifier, bufferSize, slowSubscriberTimeoutMillis, DEFAULT_DELIVERY_THREADS);
+    }
+
+    public LiveTailHub(ChannelNotifier channelNotifier, int bufferSize, long slowSubscriberTimeoutMillis,
+            int deliveryThreads) {
+        this.channelNotifier = channelNotifier;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.slowSubscriberTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(slowSubscriberTimeoutMillis);
+        // 구독자 수와 무관하게 고정된 스레드로 전달합니다. 드레인은 구독자마다 하나로 합쳐집니다.
+        // A fixed pool serves any number of subscribers; drains collapse to one per subscriber.
+        this.executor = Executors.newFixedThreadPool(Math.max(1, deliveryThreads), r -> {
+            Thread thread = new Thread(r, "logpilot-live-tail");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start tailing a logical channel; closing the returned handle unsubscribes without closing the sink
+     */
+    public AutoCloseable subscribe(String channel, TailFilter filter, TailSink sink) {
+        TailSubscriber subscriber = new TailSubscriber(channel, filter, sink);
+        // 채널의 첫 구독자가 브로드캐스트를 만들고 알림기에 한 번만 등록합니다.
+        // The first subscriber of a channel creates its broadcast, registered with the notifier only once.
+        broadcasts.compute(channel, (c, broadcast) -> {
+            if (broadcast == null) {
+                broadcast = new ChannelBroadcast();
+                broadcast.registration = channelNotifier.registerEntries(c, broadcast::publish);
+            }
+            broadcast.subscribers.add(subscriber);
+            return broadcast;
+        });
+        logger.debug("Live tail subscriber added on channel: {}", channel);
+        return subscriber::close;
+    }
+
+    public int getSubscriberCount(String channel) {
+        ChannelBroadcast broadcast = broadcasts.get(channel);
+        return broadcast != null ? broadcast.subscribers.size() : 0;
+    }
+
+    private void remove(TailSubscriber subscriber) {
+        broadcasts.computeIfPresent(subscriber.channel, (c, broadcast) -> {
+            broadcast.subscribers.remove(subscriber);
+            if (!broadcast.subscribers.isEmpty()) {
+                return broadcast;
+            }
+            try {
+                broadcast.registration.close();
+            } catch (Exception e) {
+                logger.debug("Failed to unregister live tail broadcast: {}", e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ChannelBroadcast broadcast : broadcasts.values()) {
+            for (TailSubscriber subscriber : broadcast.subscribers) {
+                subscriber.disconnect("Server shutting down");
+            }
+        }
+        executor.shutdown();
+    }
+
+    private static class ChannelBroadcast {
+
+        private final List<TailSubscriber> subscribers = new CopyOnWriteArrayList<>();
+        private volatile AutoCloseable registration;
+
+        /**
+         * Runs on the writing thread: only enqueue and schedule drains
+         */
+        private void publish(List<LogEntry> logEntries) {
+            for (TailSubscriber subscriber : subscribers) {
+                subscriber.offer(logEntries);
+            }
+        }
+    }
+
+    private class TailSubscriber {
+
+        private final String channel;
+        private final TailFilter filter;
+        private final TailSink sink;
+        private final ArrayBlockingQueue<LogEntry> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowing;
+        private volatile long overflowingSince;
+
+        private TailSubscriber(String channel, TailFilter filter, TailSink sink) {
+            this.channel = channel;
+            this.filter = filter != null ? filter : TailFilter.all();
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(List<LogEntry> logEntries) {
+            if (closed.get()) {
+                return;
+            }
+            boolean overflowed = false;
+            for (LogEntry logEntry : logEntries) {
+                if (filter.matches(logEntry) && !queue.offer(logEntry)) {
+                    dropped.incrementAndGet();
+                    overflowed = true;
+                }
+            }
+            if (overflowed) {
+                long now = System.nanoTime();
+                if (!overflowing) {
+                    overflowingSince = now;
+                    overflowing = true;
+                } else if (now - overflowingSince > slowSubscriberTimeoutNanos) {
+                    // 버퍼가 가득 찬 채로 진전이 없으면 연결을 끊습니다.
+                    // No progress while the buffer stayed full: disconnect.
+                    logger.warn("Disconnecting slow live tail subscriber on channel: {} ({} entries dropped)",
+                            channel, dropped.get());
+                    disconnect("Subscriber too slow");
+                    return;
+                }
+            }
+            wake();
+        }
+
+        private void wake() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            scheduled.set(false);
+            synchronized (this) {
+                try {
+                    int sent = 0;
+                    while (!closed.get()) {
+                        if (sent++ == MAX_ENTRIES_PER_DRAIN) {
+                            // 공유 풀이므로 바쁜 구독자는 스레드를 양보하고 다시 예약합니다.
+                            // The pool is shared, so a busy subscriber yields its thread and reschedules.
+                            wake();
+                            return;
+                        }
+                        long skipped = dropped.getAndSet(0);
+                        if (skipped > 0) {
+                            sink.sendDropped(skipped);
+                        }
+                        LogEntry next = queue.poll();
+                        if (next == null) {
+                            return;
+                        }
+                        overflowing = false;
+                        sink.send(next);
+                    }
+                } catch (Exception e) {
+                    logger.debug("Live tail delivery failed on channel: {}: {}", channel, e.getMessage());
+                    disconnect("Delivery failed");
+                }
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+            }
+        }
+
+        private void disconnect(String reason) {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+                executor.execute(() -> sink.close(reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.logpilot.server.tail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.core.exception.NotChannelOwnerException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.server.cluster.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WebSocket live tail at /api/logs/{channel}/stream/ws.
+ * Each text frame is one JSON object: {"type":"log","log":{...}} or {"type":"dropped","dropped":n}.
+ * The filter is taken from the handshake query string, as for the SSE endpoint.
+ */
+public class LiveTailWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String PATH = "/api/logs/{channel}/stream/ws";
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTailWebSocketHandler.class);
+    private static final UriTemplate PATH_TEMPLATE = new UriTemplate(PATH);
+    private static final String SUBSCRIPTION_ATTRIBUTE = "logpilot.liveTail";
+
+    private final LiveTailHub liveTailHub;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public LiveTailWebSocketHandler(LiveTailHub liveTailHub, ShardRouter shardRouter, ObjectMapper objectMapper) {
+        this.liveTailHub = liveTailHub;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String channel = PATH_TEMPLATE.match(session.getUri().getPath()).get("channel");
+        TailFilter filter;
+        try {
+            filter = TailFilter.fromParameters(queryParameters(session));
+            shardRouter.requireLocal(channel);
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+            return;
+        } catch (NotChannelOwnerException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+            return;
+        }
+
+        AutoCloseable subscription = liveTailHub.subscribe(channel, filter, new WebSocketTailSink(session));
+        session.getAttributes().put(SUBSCRIPTION_ATTRIBUTE, subscription);
+        logger.debug("WebSocket live tail opened on channel: {}", channel);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        Object subscription = session.getAttributes().remove(SUBSCRIPTION_ATTRIBUTE);
+        if (subscription instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // 구독은 단방향입니다. 클라이언트 메시지는 무시합니다.
+        // The tail is one-way; client messages are ignored.
+    }
+
+    private static Map<String, String> queryParameters(WebSocketSession session) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().forEach((name, values) -> {
+            if (!values.isEmpty() && values.get(0) != null) {
+                parameters.put(UriUtils.decode(name, StandardCharsets.UTF_8),
+                        UriUtils.decode(values.get(0), StandardCharsets.UTF_8));
+            }
+        });
+        return parameters;
+    }
+
+    private class WebSocketTailSink implements TailSink {
+
+        private final WebSocketSession session;
+
+        private WebSocketTailSink(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void send(LogEntry logEntry) throws IOException {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("type", "log");
+            frame.put("log", logEntry);
+            sendFrame(frame);
+        }
+
+        @Override
+        public void sendDropped(long count) throws IOException {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("type", "dropped");
+            frame.put("dropped", count);
+            sendFrame(frame);
+        }
+
+        @Override
+        public synchronized void close(String reason) {
+            try {
+                session.close(CloseStatus.GOING_AWAY.withReason(reason));
+            } catch (IOException e) {
+                logger.debug("Failed to close live tail session: {}", e.getMessage());
+            }
+        }
+
+        private synchronized void sendFrame(Map<String, Object> frame) throws IOException {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.logpilot.server.tail;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Server-side filter of a live tail: a minimum level plus exact meta matches.
+ * Built from request parameters such as {@code level=WARN&meta.userId=42}.
+ */
+public final class TailFilter {
+
+    public static final String LEVEL_PARAMETER = "level";
+    public static final String META_PREFIX = "meta.";
+
+    private static final TailFilter ALL = new TailFilter(null, Collections.emptyMap());
+
+    private final LogLevel minLevel;
+    private final Map<String, String> meta;
+
+    private TailFilter(LogLevel minLevel, Map<String, String> meta) {
+        this.minLevel = minLevel;
+        this.meta = meta;
+    }
+
+    public static TailFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Parse "level" and "meta.*" parameters; other parameters are ignored
+     *
+     * @throws IllegalArgumentException if the level is unknown
+     */
+    public static TailFilter fromParameters(Map<String, String> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return ALL;
+        }
+        LogLevel minLevel = null;
+        String level = parameters.get(LEVEL_PARAMETER);
+        if (level != null && !level.isBlank()) {
+            try {
+                minLevel = LogLevel.valueOf(level.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown log level: " + level);
+            }
+        }
+        Map<String, String> meta = new LinkedHashMap<>();
+        parameters.forEach((name, value) -> {
+            if (name.startsWith(META_PREFIX) && name.length() > META_PREFIX.length()) {
+                meta.put(name.substring(META_PREFIX.length()), value);
+            }
+        });
+        return minLevel == null && meta.isEmpty() ? ALL : new TailFilter(minLevel, Collections.unmodifiableMap(meta));
+    }
+
+    public boolean matches(LogEntry logEntry) {
+        if (minLevel != null && (logEntry.getLevel() == null || logEntry.getLevel().compareTo(minLevel) < 0)) {
+            return false;
+        }
+        if (meta.isEmpty()) {
+            return true;
+        }
+        Map<String, Object> entryMeta = logEntry.getMeta();
+        if (entryMeta == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> expected : meta.entrySet()) {
+            Object actual = entryMeta.get(expected.getKey());
+            if (actual == null || !Objects.equals(String.valueOf(actual), expected.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
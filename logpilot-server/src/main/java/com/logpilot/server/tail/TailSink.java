@@ -0,0 +1,21 @@
+package com.logpilot.server.tail;
+
+import com.logpilot.core.model.LogEntry;
+
+import java.io.IOException;
+
+/**
+ * Transport side of one live tail subscriber (SSE emitter, WebSocket session, ...).
+ * Calls for one subscriber never overlap, so implementations need no locking of their own.
+ */
+public interface TailSink {
+
+    void send(LogEntry logEntry) throws IOException;
+
+    /**
+     * Tell the subscriber how many entries were skipped because its buffer was full
+     */
+    void sendDropped(long count) throws IOException;
+
+    void close(String reason);
+}
@@ -0,0 +1,40 @@
+package com.logpilot.server.cluster;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusterAuthenticationTest {
+
+    @Test
+    void isPeer_ShouldRequireTheConfiguredClusterKey() {
+        ClusterAuthentication authentication = new ClusterAuthentication("cluster-secret");
+
+        assertTrue(authentication.isPeer(headers("cluster-secret")));
+        assertFalse(authentication.isPeer(headers("cluster-secre")));
+        assertFalse(authentication.isPeer(new Metadata()));
+    }
+
+    @Test
+    void isPeer_WithoutConfiguredKey_ShouldTrustNoCaller() {
+        ClusterAuthentication authentication = new ClusterAuthentication(" ");
+
+        assertFalse(authentication.isConfigured());
+        assertFalse(authentication.isPeer(headers("")));
+        assertFalse(authentication.isPeer(headers(" ")));
+    }
+
+    @Test
+    void isPeerCall_ShouldOnlyHoldInPeerContext() throws Exception {
+        assertFalse(ClusterAuthentication.isPeerCall());
+        assertTrue(ClusterAuthentication.asPeerCall(Context.current()).call(ClusterAuthentication::isPeerCall));
+    }
+
+    private static Metadata headers(String clusterKey) {
+        Metadata headers = new Metadata();
+        headers.put(ClusterAuthentication.CLUSTER_KEY_METADATA_KEY, clusterKey);
+        return headers;
+    }
+}
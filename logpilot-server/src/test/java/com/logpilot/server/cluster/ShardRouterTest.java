@@ -0,0 +1,105 @@
+package com.logpilot.server.cluster;
+
+import com.logpilot.core.cluster.ClusterNode;
+import com.logpilot.core.cluster.ConsistentHashRing;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.NotChannelOwnerException;
+import com.logpilot.core.exception.StorageException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardRouterTest {
+
+    @Mock
+    private ShardForwarder forwarder;
+
+    private ShardRouter shardRouter;
+    private ConsistentHashRing ring;
+    private String localChannel;
+    private String remoteChannel;
+
+    @BeforeEach
+    void setUp() {
+        LogPilotProperties.Cluster config = new LogPilotProperties.Cluster();
+        config.setEnabled(true);
+        config.setNodeId("node-1");
+        config.getNodes().put("node-1", node("localhost:50051"));
+        config.getNodes().put("node-2", node("localhost:50052"));
+        ClusterTopology topology = new ClusterTopology(config);
+        shardRouter = new ShardRouter(topology, forwarder);
+
+        ring = ConsistentHashRing.of(topology.getRoutingTable());
+        for (int i = 0; localChannel == null || remoteChannel == null; i++) {
+            String channel = "channel-" + i;
+            if ("node-1".equals(ring.ownerOf(channel).getNodeId())) {
+                localChannel = localChannel == null ? channel : localChannel;
+            } else {
+                remoteChannel = remoteChannel == null ? channel : remoteChannel;
+            }
+        }
+    }
+
+    @Test
+    void store_ShouldKeepLocalEntriesAndForwardTheRest() {
+        when(forwarder.forward(any(ClusterNode.class), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(forwarder.getTimeoutMillis()).thenReturn(1000L);
+        LogEntry local = new LogEntry(localChannel, LogLevel.INFO, "local");
+        LogEntry remote = new LogEntry(remoteChannel, LogLevel.INFO, "remote");
+        List<LogEntry> stored = new ArrayList<>();
+
+        shardRouter.store(List.of(local, remote), stored::addAll);
+
+        assertEquals(List.of(local), stored);
+        verify(forwarder).forward(eq(ring.ownerOf(remoteChannel)), eq(List.of(remote)));
+    }
+
+    @Test
+    void store_WhenForwardFails_ShouldThrowStorageException() {
+        when(forwarder.forward(any(ClusterNode.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("node-2 is down")));
+        when(forwarder.getTimeoutMillis()).thenReturn(1000L);
+
+        assertThrows(StorageException.class, () -> shardRouter.store(
+                List.of(new LogEntry(remoteChannel, LogLevel.INFO, "remote")), entries -> {
+                }));
+    }
+
+    @Test
+    void requireLocal_ForRemoteChannel_ShouldThrow() {
+        shardRouter.requireLocal(localChannel);
+
+        assertThrows(NotChannelOwnerException.class, () -> shardRouter.requireLocal(remoteChannel));
+    }
+
+    @Test
+    void standalone_ShouldStoreEverythingLocally() {
+        List<LogEntry> stored = new ArrayList<>();
+        LogEntry logEntry = new LogEntry(remoteChannel, LogLevel.INFO, "message");
+
+        ShardRouter.standalone().store(List.of(logEntry), stored::addAll);
+
+        assertEquals(List.of(logEntry), stored);
+        assertFalse(ShardRouter.standalone().getRoutingTable().hasNodes());
+    }
+
+    private LogPilotProperties.Cluster.Node node(String grpcAddress) {
+        LogPilotProperties.Cluster.Node node = new LogPilotProperties.Cluster.Node();
+        node.setGrpcAddress(grpcAddress);
+        return node;
+    }
+}
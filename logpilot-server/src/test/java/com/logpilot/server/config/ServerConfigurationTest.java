@@ -102,7 +102,7 @@ public class ServerConfigurationTest {
             LogStorage storage = context.getBean(LogStorage.class);
             assertNotNull(storage);
             assertEquals("com.logpilot.core.storage.FileLogStorage",
-                    storage.getClass().getName());
+                    storage.unwrap().getClass().getName());
         }
     }
 
@@ -120,7 +120,7 @@ public class ServerConfigurationTest {
             LogStorage storage = context.getBean(LogStorage.class);
             assertNotNull(storage);
             assertEquals("com.logpilot.core.storage.SqliteLogStorage",
-                    storage.getClass().getName());
+                    storage.unwrap().getClass().getName());
         }
     }
 
@@ -237,7 +237,7 @@ public class ServerConfigurationTest {
             // Storage should be configured according to profile
             LogStorage storage = context.getBean(LogStorage.class);
             assertEquals("com.logpilot.core.storage.FileLogStorage",
-                    storage.getClass().getName());
+                    storage.unwrap().getClass().getName());
         }
     }
 
@@ -0,0 +1,156 @@
+package com.logpilot.server.group;
+
+import com.logpilot.core.exception.ConsumerGroupException;
+import com.logpilot.core.model.ConsumerGroupAssignment;
+import com.logpilot.server.partition.ChannelRegistry;
+import com.logpilot.server.partition.PartitionRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsumerGroupCoordinatorTest {
+
+    private ConsumerGroupCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        PartitionRouter partitionRouter = new PartitionRouter(new ChannelRegistry(Map.of("orders", 4), null),
+                (String) null);
+        coordinator = new ConsumerGroupCoordinator(partitionRouter, 10000, 3000);
+    }
+
+    @Test
+    void join_SingleMember_ShouldOwnAllPartitions() {
+        ConsumerGroupAssignment assignment = coordinator.join("analytics", "orders", "member-a");
+
+        assertEquals(List.of(0, 1, 2, 3), assignment.getPartitions());
+        assertEquals(1, assignment.getGeneration());
+        assertEquals(3000, assignment.getHeartbeatIntervalMillis());
+    }
+
+    @Test
+    void join_SecondMember_ShouldRebalancePartitions() {
+        coordinator.join("analytics", "orders", "member-a");
+        ConsumerGroupAssignment second = coordinator.join("analytics", "orders", "member-b");
+        ConsumerGroupAssignment first = coordinator.heartbeat("analytics", "member-a");
+
+        assertEquals(2, first.getGeneration());
+        assertEquals(2, first.getPartitions().size());
+        assertEquals(2, second.getPartitions().size());
+
+        List<Integer> all = new ArrayList<>(first.getPartitions());
+        all.addAll(second.getPartitions());
+        assertTrue(all.containsAll(List.of(0, 1, 2, 3)));
+    }
+
+    @Test
+    void leave_ShouldGivePartitionsBackToRemainingMembers() {
+        coordinator.join("analytics", "orders", "member-a");
+        coordinator.join("analytics", "orders", "member-b");
+
+        coordinator.leave("analytics", "member-b");
+
+        assertEquals(List.of(0, 1, 2, 3), coordinator.heartbeat("analytics", "member-a").getPartitions());
+        assertThrows(ConsumerGroupException.class, () -> coordinator.heartbeat("analytics", "member-b"));
+    }
+
+    @Test
+    void heartbeat_AfterSessionTimeout_ShouldRequireRejoin() throws InterruptedException {
+        ConsumerGroupCoordinator shortSession = new ConsumerGroupCoordinator(
+                new PartitionRouter(new ChannelRegistry(Map.of("orders", 2), null), (String) null), 50, 10);
+        shortSession.join("analytics", "orders", "member-a");
+        shortSession.join("analytics", "orders", "member-b");
+
+        Thread.sleep(100);
+        ConsumerGroupAssignment assignment = shortSession.join("analytics", "orders", "member-a");
+
+        assertEquals(List.of(0, 1), assignment.getPartitions());
+        assertThrows(ConsumerGroupException.class, () -> shortSession.heartbeat("analytics", "member-b"));
+    }
+
+    @Test
+    void streamsOf_ShouldReturnAssignedPartitionStreams() {
+        coordinator.join("analytics", "orders", "member-a");
+        coordinator.join("analytics", "orders", "member-b");
+
+        assertEquals(List.of("orders#0", "orders#2"),
+                coordinator.streamsOf("analytics", "member-a", ConsumerGroupCoordinator.ANY_GENERATION));
+        assertEquals(List.of("orders#1", "orders#3"),
+                coordinator.streamsOf("analytics", "member-b", ConsumerGroupCoordinator.ANY_GENERATION));
+    }
+
+    @Test
+    void streamsOf_WithStaleGeneration_ShouldBeRefused() {
+        ConsumerGroupAssignment first = coordinator.join("analytics", "orders", "member-a");
+        coordinator.join("analytics", "orders", "member-b");
+
+        assertThrows(ConsumerGroupException.class,
+                () -> coordinator.streamsOf("analytics", "member-a", first.getGeneration()));
+
+        ConsumerGroupAssignment current = coordinator.heartbeat("analytics", "member-a");
+        assertEquals(List.of("orders#0", "orders#2"),
+                coordinator.streamsOf("analytics", "member-a", current.getGeneration()));
+    }
+
+    @Test
+    void commit_AfterPartitionMoved_ShouldNotOverwriteNewOwnersOffset() {
+        ConsumerGroupAssignment first = coordinator.join("analytics", "orders", "member-a");
+        ConsumerGroupAssignment second = coordinator.join("analytics", "orders", "member-b");
+        List<String> committed = new ArrayList<>();
+
+        assertThrows(ConsumerGroupException.class,
+                () -> coordinator.commit("analytics", "member-a", first.getGeneration(), 1, committed::add));
+        assertThrows(ConsumerGroupException.class,
+                () -> coordinator.commit("analytics", "member-a", second.getGeneration(), 1, committed::add));
+        coordinator.commit("analytics", "member-b", second.getGeneration(), 1, committed::add);
+
+        assertEquals(List.of("orders#1"), committed);
+    }
+
+    @Test
+    void commitFetched_AfterPartitionMovedDuringRead_ShouldCommitNothing() {
+        coordinator.join("analytics", "orders", "member-a");
+        List<String> streams = coordinator.streamsOf("analytics", "member-a", ConsumerGroupCoordinator.ANY_GENERATION);
+        coordinator.join("analytics", "orders", "member-b");
+        Map<String, Long> committed = new HashMap<>();
+
+        assertEquals(List.of("orders#0", "orders#1", "orders#2", "orders#3"), streams);
+        assertThrows(ConsumerGroupException.class, () -> coordinator.commitFetched("analytics", "member-a",
+                ConsumerGroupCoordinator.ANY_GENERATION, Map.of("orders#0", 4L, "orders#1", 6L), committed::put));
+        assertTrue(committed.isEmpty());
+
+        ConsumerGroupAssignment current = coordinator.heartbeat("analytics", "member-a");
+        coordinator.commitFetched("analytics", "member-a", current.getGeneration(), Map.of("orders#0", 4L),
+                committed::put);
+        assertEquals(Map.of("orders#0", 4L), committed);
+    }
+
+    @Test
+    void join_UnpartitionedChannel_ShouldAssignChannelToOneMember() {
+        coordinator.join("audit-readers", "audit", "member-a");
+        coordinator.join("audit-readers", "audit", "member-b");
+
+        assertEquals(List.of("audit"),
+                coordinator.streamsOf("audit-readers", "member-a", ConsumerGroupCoordinator.ANY_GENERATION));
+        assertTrue(coordinator.streamsOf("audit-readers", "member-b", ConsumerGroupCoordinator.ANY_GENERATION)
+                .isEmpty());
+    }
+
+    @Test
+    void join_WithDifferentChannel_ShouldThrow() {
+        coordinator.join("analytics", "orders", "member-a");
+
+        assertThrows(ConsumerGroupException.class, () -> coordinator.join("analytics", "audit", "member-b"));
+    }
+
+    @Test
+    void offsetConsumerId_ShouldBePrefixedWithGroup() {
+        assertEquals("group:analytics", ConsumerGroupCoordinator.offsetConsumerId("analytics"));
+    }
+}
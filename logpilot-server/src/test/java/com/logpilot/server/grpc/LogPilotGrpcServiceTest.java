@@ -4,6 +4,10 @@ import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import com.logpilot.core.service.LogService;
 import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.server.cluster.ClusterAuthentication;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.junit.jupiter.api.BeforeEach;
@@ -256,6 +260,38 @@ public class LogPilotGrpcServiceTest {
         assertTrue(response.getMessage().contains("Batch storage error"));
     }
 
+    @Test
+    void sendLogs_ForwardedWithoutClusterKey_ShouldBeRefused() {
+        LogPilotProto.SendLogsRequest forwarded = LogPilotProto.SendLogsRequest.newBuilder()
+                .addLogRequests(testLogRequest)
+                .setForwarded(true)
+                .build();
+
+        grpcService.sendLogs(forwarded, sendLogsResponseObserver);
+
+        ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+        verify(sendLogsResponseObserver).onError(errorCaptor.capture());
+        assertEquals(Status.Code.PERMISSION_DENIED,
+                ((StatusRuntimeException) errorCaptor.getValue()).getStatus().getCode());
+        verify(logService, never()).storeForwardedLogs(anyList());
+        verify(logService, never()).storeLogs(anyList());
+    }
+
+    @Test
+    void sendLogs_ForwardedByClusterPeer_ShouldStoreWithoutRerouting() {
+        LogPilotProto.SendLogsRequest forwarded = LogPilotProto.SendLogsRequest.newBuilder()
+                .addLogRequests(testLogRequest)
+                .setForwarded(true)
+                .build();
+
+        ClusterAuthentication.asPeerCall(Context.current())
+                .run(() -> grpcService.sendLogs(forwarded, sendLogsResponseObserver));
+
+        verify(logService).storeForwardedLogs(anyList());
+        verify(logService, never()).storeLogs(anyList());
+        verify(sendLogsResponseObserver).onCompleted();
+    }
+
     @Test
     void fetchLogs_WithChannelAndSince_ShouldCallGetLogsForConsumer() {
         when(logService.getLogsForConsumer("fetch-channel", "consumer1", 50, true)).thenReturn(testLogEntries);
@@ -389,40 +425,16 @@ public class LogPilotGrpcServiceTest {
     }
 
     @Test
-    void convertStringToLogLevel_WithValidLevel_ShouldConvert() {
-        try {
-            Method convertMethod = LogPilotGrpcService.class
-                    .getDeclaredMethod("convertStringToLogLevel", String.class);
-            convertMethod.setAccessible(true);
-
-            LogLevel debugResult = (LogLevel) convertMethod.invoke(grpcService, "DEBUG");
-            LogLevel infoResult = (LogLevel) convertMethod.invoke(grpcService, "info");
-            LogLevel warnResult = (LogLevel) convertMethod.invoke(grpcService, "warn");
-            LogLevel errorResult = (LogLevel) convertMethod.invoke(grpcService, "ERROR");
-
-            assertEquals(LogLevel.DEBUG, debugResult);
-            assertEquals(LogLevel.INFO, infoResult);
-            assertEquals(LogLevel.WARN, warnResult);
-            assertEquals(LogLevel.ERROR, errorResult);
-        } catch (Exception e) {
-            fail("Should be able to call convertStringToLogLevel method");
-        }
+    void toLogLevel_WithValidLevel_ShouldConvert() {
+        assertEquals(LogLevel.DEBUG, LogRequestConverter.toLogLevel("DEBUG"));
+        assertEquals(LogLevel.INFO, LogRequestConverter.toLogLevel("info"));
+        assertEquals(LogLevel.WARN, LogRequestConverter.toLogLevel("warn"));
+        assertEquals(LogLevel.ERROR, LogRequestConverter.toLogLevel("ERROR"));
     }
 
     @Test
-    void convertStringToLogLevel_WithInvalidLevel_ShouldDefaultToInfo() {
-        try {
-            Method convertMethod = LogPilotGrpcService.class
-                    .getDeclaredMethod("convertStringToLogLevel", String.class);
-            convertMethod.setAccessible(true);
-
-            LogLevel invalidResult = (LogLevel) convertMethod.invoke(grpcService, "INVALID_LEVEL");
-            LogLevel nullResult = (LogLevel) convertMethod.invoke(grpcService, (String) null);
-
-            assertEquals(LogLevel.INFO, invalidResult);
-            assertEquals(LogLevel.INFO, nullResult);
-        } catch (Exception e) {
-            fail("Should be able to call convertStringToLogLevel method");
-        }
+    void toLogLevel_WithInvalidLevel_ShouldDefaultToInfo() {
+        assertEquals(LogLevel.INFO, LogRequestConverter.toLogLevel("INVALID_LEVEL"));
+        assertEquals(LogLevel.INFO, LogRequestConverter.toLogLevel(null));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LogStreamIngestorTest {
+
+    private static final long NEVER_MILLIS = 3_600_000;
+
+    @Mock
+    private LogService logService;
+
+    @Mock
+    private ServerCallStreamObserver<LogPilotProto.StreamLogsAck> responseObserver;
+
+    private ScheduledExecutorService scheduler;
+    private List<Integer> recorded;
+    private Predicate<LogEntry> shed;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        recorded = new ArrayList<>();
+        shed = entry -> false;
+        when(responseObserver.isReady()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void constructor_ShouldDisableAutoRequestAndRequestWindow() {
+        createIngestor(10, 4);
+
+        verify(responseObserver).disableAutoRequest();
+        verify(responseObserver).request(4);
+    }
+
+    @Test
+    void onNext_WhenBatchIsFull_ShouldStoreAndAcknowledgeSequence() {
+        LogStreamIngestor ingestor = createIngestor(3, 4);
+
+        ingestor.onNext(chunk(2, "a", "b"));
+        verify(logService, never()).storeLogs(anyList());
+
+        ingestor.onNext(chunk(3, "c"));
+
+        ArgumentCaptor<List<LogEntry>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(logService).storeLogs(batchCaptor.capture());
+        assertEquals(3, batchCaptor.getValue().size());
+        assertEquals(3, recorded.size());
+
+        ArgumentCaptor<LogPilotProto.StreamLogsAck> ackCaptor = ArgumentCaptor
+                .forClass(LogPilotProto.StreamLogsAck.class);
+        verify(responseObserver).onNext(ackCaptor.capture());
+        assertEquals(3, ackCaptor.getValue().getSequence());
+        assertEquals("success", ackCaptor.getValue().getStatus());
+
+        // 처리한 메시지마다 하나씩 더 요청합니다.
+        // One more message is requested for each one consumed.
+        verify(responseObserver, times(2)).request(1);
+    }
+
+    @Test
+    void onCompleted_ShouldFlushRemainderAndSendFinalAck() {
+        LogStreamIngestor ingestor = createIngestor(100, 4);
+
+        ingestor.onNext(chunk(1, "a"));
+        ingestor.onNext(chunk(2, "b"));
+        ingestor.onCompleted();
+
+        verify(logService).storeLogs(argThat(batch -> batch.size() == 2));
+
+        ArgumentCaptor<LogPilotProto.StreamLogsAck> ackCaptor = ArgumentCaptor
+                .forClass(LogPilotProto.StreamLogsAck.class);
+        verify(responseObserver, atLeastOnce()).onNext(ackCaptor.capture());
+        assertEquals(2, ackCaptor.getValue().getSequence());
+        verify(responseObserver).onCompleted();
+    }
+
+    @Test
+    void onNext_WhenStorageFails_ShouldAcknowledgeLastDurableSequenceAndClose() {
+        LogStreamIngestor ingestor = createIngestor(1, 4);
+        doNothing().doThrow(new RuntimeException("disk full")).when(logService).storeLogs(anyList());
+
+        ingestor.onNext(chunk(1, "a"));
+        ingestor.onNext(chunk(2, "b"));
+        ingestor.onNext(chunk(3, "c"));
+
+        ArgumentCaptor<LogPilotProto.StreamLogsAck> ackCaptor = ArgumentCaptor
+                .forClass(LogPilotProto.StreamLogsAck.class);
+        verify(responseObserver, times(2)).onNext(ackCaptor.capture());
+        LogPilotProto.StreamLogsAck errorAck = ackCaptor.getAllValues().get(1);
+        assertEquals("error", errorAck.getStatus());
+        assertEquals(1, errorAck.getSequence());
+        assertTrue(errorAck.getMessage().contains("disk full"));
+        verify(responseObserver).onCompleted();
+
+        // 닫힌 뒤 도착한 메시지는 저장되지 않습니다.
+        // Messages arriving after the stream closed are not stored.
+        verify(logService, times(2)).storeLogs(anyList());
+    }
+
+    @Test
+    void ack_WhenClientIsNotReady_ShouldBeCoveredByLaterAck() {
+        LogStreamIngestor ingestor = createIngestor(1, 4);
+        when(responseObserver.isReady()).thenReturn(false);
+
+        ingestor.onNext(chunk(1, "a"));
+        ingestor.onNext(chunk(2, "b"));
+        verify(responseObserver, never()).onNext(any());
+
+        when(responseObserver.isReady()).thenReturn(true);
+        ingestor.onCompleted();
+
+        ArgumentCaptor<LogPilotProto.StreamLogsAck> ackCaptor = ArgumentCaptor
+                .forClass(LogPilotProto.StreamLogsAck.class);
+        verify(responseObserver).onNext(ackCaptor.capture());
+        assertEquals(2, ackCaptor.getValue().getSequence());
+    }
+
+    @Test
+    void onNext_WhenSheddingUnderLoad_ShouldDropBeforeBatchingAndStillAcknowledge() {
+        shed = entry -> entry.getMessage().startsWith("debug");
+        LogStreamIngestor ingestor = createIngestor(2, 4);
+
+        ingestor.onNext(chunk(3, "a", "debug-1", "b"));
+
+        verify(logService).storeLogs(argThat(batch -> batch.size() == 2));
+        // 버려진 엔트리도 메트릭에는 기록되고, 시퀀스는 끝까지 확인됩니다.
+        // Shed entries are still recorded in metrics, and the sequence is acknowledged in full.
+        assertEquals(3, recorded.size());
+        ArgumentCaptor<LogPilotProto.StreamLogsAck> ackCaptor = ArgumentCaptor
+                .forClass(LogPilotProto.StreamLogsAck.class);
+        verify(responseObserver).onNext(ackCaptor.capture());
+        assertEquals(3, ackCaptor.getValue().getSequence());
+    }
+
+    private LogStreamIngestor createIngestor(int batchSize, int window) {
+        return new LogStreamIngestor(logService, responseObserver, this::toLogEntry,
+                entry -> recorded.add(1), shed, batchSize, window, scheduler, NEVER_MILLIS);
+    }
+
+    private LogEntry toLogEntry(LogPilotProto.LogRequest request) {
+        return new LogEntry(request.getChannel(), LogLevel.INFO, request.getMessage());
+    }
+
+    private LogPilotProto.StreamLogsRequest chunk(long sequence, String... messages) {
+        LogPilotProto.StreamLogsRequest.Builder builder = LogPilotProto.StreamLogsRequest.newBuilder()
+                .setSequence(sequence);
+        for (String message : messages) {
+            builder.addLogRequests(LogPilotProto.LogRequest.newBuilder()
+                    .setChannel("stream-channel")
+                    .setLevel("INFO")
+                    .setMessage(message));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.logpilot.server.grpc;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LogSubscriptionTest {
+
+    @Mock
+    private LogService logService;
+
+    @Mock
+    private ServerCallStreamObserver<LogPilotProto.SubscribeResponse> responseObserver;
+
+    private ChannelNotifier channelNotifier;
+    private LogSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        channelNotifier = new ChannelNotifier();
+        when(responseObserver.isReady()).thenReturn(true);
+        when(logService.getLogsForConsumer(anyString(), anyString(), anyInt(), anyBoolean()))
+                .thenReturn(Collections.emptyList());
+        subscription = new LogSubscription(logService, responseObserver, Runnable::run, this::toProto, "orders",
+                "consumer1", 10);
+    }
+
+    @Test
+    void start_ShouldPushEntriesStoredBeforeSubscribing() {
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false))
+                .thenReturn(List.of(entry(1L)), Collections.emptyList());
+
+        subscription.start(channelNotifier);
+
+        ArgumentCaptor<LogPilotProto.SubscribeResponse> captor = ArgumentCaptor
+                .forClass(LogPilotProto.SubscribeResponse.class);
+        verify(responseObserver).onNext(captor.capture());
+        assertEquals(1, captor.getValue().getLogsCount());
+        assertEquals(1, channelNotifier.getListenerCount("orders"));
+    }
+
+    @Test
+    void signal_ShouldWakeSubscriptionWithoutPolling() {
+        subscription.start(channelNotifier);
+        verify(responseObserver, never()).onNext(any());
+
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false))
+                .thenReturn(List.of(entry(5L), entry(6L)), Collections.emptyList());
+        channelNotifier.signal("orders");
+
+        verify(responseObserver).onNext(argThat(response -> response.getLogsCount() == 2));
+    }
+
+    @Test
+    void drain_ShouldCommitDeliveredBatchBeforeReadingNext() {
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false))
+                .thenReturn(List.of(entry(1L), entry(2L)), Collections.emptyList());
+
+        subscription.start(channelNotifier);
+
+        InOrder inOrder = inOrder(responseObserver, logService);
+        inOrder.verify(responseObserver).onNext(any());
+        inOrder.verify(logService).commitLogOffset("orders", "consumer1", 2L);
+        inOrder.verify(logService).getLogsForConsumer("orders", "consumer1", 10, false);
+    }
+
+    @Test
+    void drain_WhenClientIsNotReady_ShouldNotPushOrCommit() {
+        when(responseObserver.isReady()).thenReturn(false);
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false)).thenReturn(List.of(entry(1L)));
+
+        subscription.start(channelNotifier);
+
+        verify(responseObserver, never()).onNext(any());
+        verify(logService, never()).commitLogOffset(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void drain_WithPartitionedEntries_ShouldCommitEachPartitionStream() {
+        LogEntry first = entry(3L);
+        first.setPartition(0);
+        LogEntry second = entry(7L);
+        second.setPartition(1);
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false))
+                .thenReturn(List.of(first, second), Collections.emptyList());
+
+        subscription.start(channelNotifier);
+
+        verify(logService).commitLogOffset("orders#0", "consumer1", 3L);
+        verify(logService).commitLogOffset("orders#1", "consumer1", 7L);
+    }
+
+    @Test
+    void close_ShouldUnregisterFromNotifier() {
+        subscription.start(channelNotifier);
+
+        subscription.close();
+
+        assertEquals(0, channelNotifier.getListenerCount("orders"));
+    }
+
+    @Test
+    void drain_WhenStorageFails_ShouldEndStreamWithError() {
+        RuntimeException failure = new RuntimeException("boom");
+        when(logService.getLogsForConsumer("orders", "consumer1", 10, false)).thenThrow(failure);
+
+        subscription.start(channelNotifier);
+
+        verify(responseObserver).onError(failure);
+        assertEquals(0, channelNotifier.getListenerCount("orders"));
+    }
+
+    private LogEntry entry(Long id) {
+        LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "message " + id);
+        logEntry.setId(id);
+        return logEntry;
+    }
+
+    private LogPilotProto.LogEntry toProto(LogEntry logEntry) {
+        return LogPilotProto.LogEntry.newBuilder()
+                .setId(logEntry.getId())
+                .setChannel(logEntry.getChannel())
+                .setMessage(logEntry.getMessage())
+                .build();
+    }
+}
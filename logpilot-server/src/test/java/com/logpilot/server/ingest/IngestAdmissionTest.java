@@ -0,0 +1,142 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestAdmissionTest {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    @Test
+    void tryAdmit_PastInFlightBytesWatermark_ShouldReject() {
+        IngestAdmission admission = admission(false);
+
+        IngestAdmission.Permit first = admission.tryAdmit(600);
+        IngestAdmission.Permit second = admission.tryAdmit(600);
+
+        assertNotNull(first);
+        assertNull(second);
+        assertEquals(600, admission.getInFlightBytes());
+
+        first.close();
+        first.close();
+        assertEquals(0, admission.getInFlightBytes());
+        assertNotNull(admission.tryAdmit(600));
+    }
+
+    @Test
+    void tryAdmit_OversizedRequestWithNothingInFlight_ShouldBeAdmitted() {
+        IngestAdmission admission = admission(false);
+
+        IngestAdmission.Permit permit = admission.tryAdmit(5000);
+
+        assertNotNull(permit);
+        assertTrue(admission.isOverloaded());
+    }
+
+    @Test
+    void tryAdmit_PastQueueDepthWatermark_ShouldReject() {
+        IngestAdmission admission = admission(false);
+        queueDepth.set(10);
+
+        assertNull(admission.tryAdmit(1));
+        assertTrue(admission.isOverloaded());
+
+        queueDepth.set(9);
+        assertNotNull(admission.tryAdmit(1));
+    }
+
+    @Test
+    void shed_UnderPressure_ShouldDropOnlyDebugEntries() {
+        IngestAdmission admission = admission(true);
+        List<LogEntry> logEntries = List.of(
+                new LogEntry("orders", LogLevel.DEBUG, "noise"),
+                new LogEntry("orders", LogLevel.ERROR, "failure"));
+
+        assertSame(logEntries, admission.shed(logEntries));
+
+        queueDepth.set(8);
+        List<LogEntry> kept = admission.shed(logEntries);
+
+        assertEquals(1, kept.size());
+        assertEquals(LogLevel.ERROR, kept.get(0).getLevel());
+        assertTrue(admission.shouldShed(new LogEntry("orders", LogLevel.DEBUG, "noise")));
+        assertFalse(admission.shouldShed(new LogEntry("orders", LogLevel.INFO, "kept")));
+    }
+
+    @Test
+    void unlimited_ShouldAdmitEverything() {
+        IngestAdmission admission = IngestAdmission.unlimited();
+
+        assertNotNull(admission.tryAdmit(Long.MAX_VALUE / 2));
+        assertFalse(admission.isOverloaded());
+        assertFalse(admission.shouldShed(new LogEntry("orders", LogLevel.DEBUG, "noise")));
+    }
+
+    @Test
+    void filter_WhenOverloaded_ShouldReturn429WithRetryAfter() throws Exception {
+        IngestAdmission admission = admission(false);
+        queueDepth.set(10);
+        IngestAdmissionFilter filter = new IngestAdmissionFilter(admission);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs");
+        request.setContent("{}".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void filter_ShouldReleaseBytesAfterRequestAndIgnoreReads() throws Exception {
+        IngestAdmission admission = admission(false);
+        IngestAdmissionFilter filter = new IngestAdmissionFilter(admission);
+        MockHttpServletRequest ingest = new MockHttpServletRequest("POST", "/api/logs/batch");
+        ingest.setContent(new byte[300]);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(ingest, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, admission.getInFlightBytes());
+
+        queueDepth.set(10);
+        MockFilterChain readChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/logs/orders"), new MockHttpServletResponse(),
+                readChain);
+        assertNotNull(readChain.getRequest());
+    }
+
+    @Test
+    void filter_NdjsonBody_ShouldReserveOnlyOneChunk() throws Exception {
+        IngestAdmission admission = new IngestAdmission(true, 4 * IngestAdmissionFilter.STREAMED_BODY_RESERVATION_BYTES,
+                10, false, 0.8, 2, queueDepth::get);
+        IngestAdmissionFilter filter = new IngestAdmissionFilter(admission);
+        IngestAdmission.Permit other = admission.tryAdmit(IngestAdmissionFilter.STREAMED_BODY_RESERVATION_BYTES);
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/logs/batch");
+        upload.setContentType("application/x-ndjson");
+        upload.setContent(new byte[(int) (8 * IngestAdmissionFilter.STREAMED_BODY_RESERVATION_BYTES)]);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(upload, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        other.close();
+    }
+
+    private IngestAdmission admission(boolean shedDebug) {
+        return new IngestAdmission(true, 1000, 10, shedDebug, 0.8, 2, queueDepth::get);
+    }
+}
@@ -0,0 +1,162 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.exception.StorageException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IngestBatcherTest {
+
+    private LogStorage logStorage;
+    private ChannelNotifier channelNotifier;
+    private IngestBatcher ingestBatcher;
+    private ExecutorService producers;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        logStorage = mock(LogStorage.class);
+        channelNotifier = new ChannelNotifier();
+        producers = Executors.newFixedThreadPool(16);
+        doAnswer(invocation -> {
+            List<LogEntry> entries = invocation.getArgument(0);
+            batchSizes.add(entries.size());
+            return null;
+        }).when(logStorage).storeLogs(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        producers.shutdownNow();
+        if (ingestBatcher != null) {
+            ingestBatcher.shutdown();
+        }
+    }
+
+    @Test
+    void store_ConcurrentWrites_ShouldBeMergedIntoFewerStoreCalls() throws Exception {
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 20000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            long id = i;
+            results.add(producers.submit(() -> {
+                start.await();
+                ingestBatcher.store(entry(id));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(64, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < 64, "expected merged batches but got " + batchSizes);
+        verify(logStorage, never()).store(any());
+    }
+
+    @Test
+    void store_ShouldReturnOnlyAfterEntryIsPersisted() {
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 500);
+
+        ingestBatcher.store(entry(1L));
+
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    void store_ShouldRespectMaxEntries() throws Exception {
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 4, 1024 * 1024, 20000);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            long id = i;
+            results.add(producers.submit(() -> ingestBatcher.store(entry(id))));
+        }
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4), "batch over limit: " + batchSizes);
+        assertEquals(20, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void store_WhenBatchFails_ShouldFailEveryCaller() {
+        doThrow(new IllegalStateException("disk full")).when(logStorage).storeLogs(anyList());
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 500);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ingestBatcher.store(entry(1L)));
+        assertEquals("disk full", e.getMessage());
+    }
+
+    @Test
+    void store_WhenBatchThrowsError_ShouldFailCallersAndKeepWriting() {
+        doThrow(new AssertionError("boom")).doAnswer(invocation -> null).when(logStorage).storeLogs(anyList());
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 500);
+
+        StorageException e = assertThrows(StorageException.class, () -> ingestBatcher.store(entry(1L)));
+        assertInstanceOf(AssertionError.class, e.getCause());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ingestBatcher.store(entry(2L)));
+    }
+
+    @Test
+    void store_AfterShutdown_ShouldNotHang() {
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 500);
+        ingestBatcher.shutdown();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ingestBatcher.store(entry(1L)));
+        verify(logStorage).store(any(LogEntry.class));
+    }
+
+    @Test
+    void store_ShouldSignalStoredEntries() {
+        AtomicInteger signals = new AtomicInteger();
+        channelNotifier.register("orders", signals::incrementAndGet);
+        ingestBatcher = new IngestBatcher(logStorage, channelNotifier, true, 500, 1024 * 1024, 500);
+
+        ingestBatcher.store(entry(1L));
+
+        assertEquals(1, signals.get());
+    }
+
+    @Test
+    void direct_ShouldStoreOnCallingThread() {
+        ingestBatcher = IngestBatcher.direct(logStorage, channelNotifier);
+        LogEntry logEntry = entry(1L);
+
+        ingestBatcher.store(logEntry);
+
+        assertFalse(ingestBatcher.isBatching());
+        verify(logStorage).store(logEntry);
+        verify(logStorage, never()).storeLogs(anyList());
+    }
+
+    private LogEntry entry(Long id) {
+        LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "message " + id);
+        logEntry.setId(id);
+        return logEntry;
+    }
+}
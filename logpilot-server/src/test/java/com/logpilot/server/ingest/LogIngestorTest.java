@@ -0,0 +1,103 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.pipeline.IngestPipeline;
+import com.logpilot.server.pipeline.IngestStage;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LogIngestorTest {
+
+    private final LogStorage logStorage = mock(LogStorage.class);
+    private final ChannelNotifier channelNotifier = new ChannelNotifier();
+
+    @Test
+    void storeAll_ShouldStoreBatchInOneWrite() {
+        LogIngestor logIngestor = LogIngestor.standalone(logStorage, PartitionRouter.unpartitioned(),
+                channelNotifier, IngestBatcher.direct(logStorage, channelNotifier));
+        List<LogEntry> batch = List.of(entry("orders"), entry("payments"));
+
+        logIngestor.storeAll(batch);
+
+        verify(logStorage, times(1)).storeLogs(batch);
+    }
+
+    @Test
+    void storeAll_WhenPipelineDropsEverything_ShouldNotTouchStorage() {
+        LogIngestor logIngestor = withPipeline(new IngestPipeline(List.of(dropAll())));
+
+        logIngestor.storeAll(List.of(entry("orders")));
+        logIngestor.store(entry("orders"));
+
+        verifyNoInteractions(logStorage);
+    }
+
+    @Test
+    void storeAll_EmptyBatch_ShouldStillReachStorage() {
+        LogIngestor logIngestor = withPipeline(new IngestPipeline(List.of(dropAll())));
+
+        logIngestor.storeAll(Collections.emptyList());
+
+        verify(logStorage, times(1)).storeLogs(Collections.emptyList());
+    }
+
+    @Test
+    void store_ShouldGoThroughBatcher() {
+        LogIngestor logIngestor = LogIngestor.standalone(logStorage, PartitionRouter.unpartitioned(),
+                channelNotifier, IngestBatcher.direct(logStorage, channelNotifier));
+        LogEntry logEntry = entry("orders");
+
+        logIngestor.store(logEntry);
+
+        verify(logStorage, times(1)).store(logEntry);
+        verify(logStorage, never()).storeLogs(anyList());
+    }
+
+    @Test
+    void storeAll_ChannelNamingAPartitionStream_ShouldBeRefused() {
+        LogIngestor logIngestor = LogIngestor.standalone(logStorage, PartitionRouter.unpartitioned(),
+                channelNotifier, IngestBatcher.direct(logStorage, channelNotifier));
+
+        assertThrows(ChannelConfigurationException.class,
+                () -> logIngestor.storeAll(List.of(entry("payments"), entry("orders#1"))));
+        assertThrows(ChannelConfigurationException.class, () -> logIngestor.store(entry("orders#1")));
+
+        verifyNoInteractions(logStorage);
+    }
+
+    private LogIngestor withPipeline(IngestPipeline ingestPipeline) {
+        return new LogIngestor(logStorage, PartitionRouter.unpartitioned(), ShardRouter.standalone(),
+                channelNotifier, IngestBatcher.direct(logStorage, channelNotifier), ProducerDeduplicator.disabled(),
+                ingestPipeline, RepeatCollapser.disabled());
+    }
+
+    private static IngestStage dropAll() {
+        return new IngestStage() {
+            @Override
+            public String name() {
+                return "drop_all";
+            }
+
+            @Override
+            public void apply(List<LogEntry> batch) {
+                batch.clear();
+            }
+        };
+    }
+
+    private static LogEntry entry(String channel) {
+        return new LogEntry(channel, LogLevel.INFO, "message");
+    }
+}
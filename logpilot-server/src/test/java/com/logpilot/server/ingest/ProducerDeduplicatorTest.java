@@ -0,0 +1,139 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.exception.StorageException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProducerDeduplicatorTest {
+
+    private final ProducerDeduplicator deduplicator = new ProducerDeduplicator(true, 8, 100, Duration.ofMinutes(1));
+    private final List<LogEntry> stored = new ArrayList<>();
+
+    @Test
+    void replayedBatch_ShouldBeDropped() {
+        assertEquals(0, deduplicator.store(List.of(entry("p1", 0), entry("p1", 1)), stored::addAll));
+        assertEquals(2, deduplicator.store(List.of(entry("p1", 0), entry("p1", 1)), stored::addAll));
+
+        assertEquals(2, stored.size());
+        assertEquals(2, deduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void partiallyReplayedBatch_ShouldStoreOnlyNewSequences() {
+        deduplicator.store(List.of(entry("p1", 0)), stored::addAll);
+
+        int dropped = deduplicator.store(List.of(entry("p1", 0), entry("p1", 1), entry("p2", 0)), stored::addAll);
+
+        assertEquals(1, dropped);
+        assertEquals(List.of(0L, 1L, 0L), stored.stream().map(LogEntry::getSequence).toList());
+    }
+
+    @Test
+    void entriesWithoutProducer_ShouldAlwaysBeStored() {
+        LogEntry plain = new LogEntry("orders", LogLevel.INFO, "placed");
+
+        deduplicator.store(List.of(plain), stored::addAll);
+        deduplicator.store(List.of(plain), stored::addAll);
+
+        assertEquals(2, stored.size());
+    }
+
+    @Test
+    void failedWrite_ShouldLetTheRetryStore() {
+        assertThrows(StorageException.class, () -> deduplicator.store(List.of(entry("p1", 5)), entries -> {
+            throw new StorageException("disk full");
+        }));
+
+        assertEquals(0, deduplicator.store(List.of(entry("p1", 5)), stored::addAll));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void outOfOrderSequencesInsideWindow_ShouldBeTrackedIndividually() {
+        deduplicator.store(List.of(entry("p1", 10)), stored::addAll);
+        deduplicator.store(List.of(entry("p1", 7)), stored::addAll);
+
+        assertEquals(0, deduplicator.store(List.of(entry("p1", 8)), stored::addAll));
+        assertEquals(1, deduplicator.store(List.of(entry("p1", 7)), stored::addAll));
+        assertEquals(3, stored.size());
+    }
+
+    @Test
+    void retryAfterWindowMovedPastIt_ShouldStillBeStored() {
+        assertThrows(StorageException.class, () -> deduplicator.store(List.of(entry("p1", 2)), entries -> {
+            throw new StorageException("disk full");
+        }));
+        deduplicator.store(List.of(entry("p1", 3), entry("p1", 20)), stored::addAll);
+
+        // 창(8)보다 오래된 재시도는 중복으로 버려지지 않고 저장됩니다.
+        assertEquals(0, deduplicator.store(List.of(entry("p1", 2)), stored::addAll));
+        assertEquals(List.of(3L, 20L, 2L), stored.stream().map(LogEntry::getSequence).toList());
+    }
+
+    @Test
+    void hedgedDuplicate_ShouldWaitForTheFirstAttempt() throws Exception {
+        CountDownLatch firstWriting = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> deduplicator.store(
+                List.of(entry("p1", 0)), entries -> {
+                    firstWriting.countDown();
+                    await(releaseFirst);
+                    synchronized (stored) {
+                        stored.addAll(entries);
+                    }
+                }));
+        assertTrue(firstWriting.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> hedge = CompletableFuture.supplyAsync(() -> deduplicator.store(
+                List.of(entry("p1", 0)), entries -> {
+                    synchronized (stored) {
+                        stored.addAll(entries);
+                    }
+                }));
+        Thread.sleep(50);
+        assertFalse(hedge.isDone());
+
+        releaseFirst.countDown();
+        assertEquals(0, first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, hedge.get(5, TimeUnit.SECONDS));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void disabled_ShouldPassEverythingThrough() {
+        ProducerDeduplicator disabled = ProducerDeduplicator.disabled();
+
+        disabled.store(List.of(entry("p1", 0)), stored::addAll);
+        disabled.store(List.of(entry("p1", 0)), stored::addAll);
+
+        assertEquals(2, stored.size());
+    }
+
+    private static LogEntry entry(String producerId, long sequence) {
+        return LogEntry.builder()
+                .channel("orders")
+                .level(LogLevel.INFO)
+                .message("event " + sequence)
+                .producerId(producerId)
+                .sequence(sequence)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.logpilot.server.ingest;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class RepeatCollapserTest {
+
+    private final LogStorage logStorage = mock(LogStorage.class);
+    private final RepeatCollapser collapser = new RepeatCollapser(logStorage, PartitionRouter.unpartitioned(),
+            new ChannelNotifier(), true, 1000, 64, List.of("app-*"), List.of("host"));
+
+    @Test
+    void repeatsWithinWindow_ShouldBeHeldBackAndFlushedAsOneSummary() {
+        List<LogEntry> first = List.of(entry("app-1", "Connection refused after 3 attempts", "a"));
+        assertSame(first, collapser.collapse(first, 0));
+
+        List<LogEntry> stored = collapser.collapse(List.of(
+                entry("app-1", "Connection refused after 4 attempts", "a"),
+                entry("app-1", "Connection refused after 15 attempts", "a")), 500);
+        assertTrue(stored.isEmpty());
+        assertEquals(2, collapser.getCollapsedCount());
+
+        collapser.flush(999);
+        verify(logStorage, never()).storeLogs(anyList());
+
+        collapser.flush(1000);
+        LogEntry summary = flushedSummary();
+        assertEquals("Connection refused after 3 attempts", summary.getMessage());
+        assertEquals(2, summary.getMeta().get(RepeatCollapser.REPEAT_COUNT));
+        assertNotNull(summary.getMeta().get(RepeatCollapser.FIRST_SEEN));
+        assertNotNull(summary.getMeta().get(RepeatCollapser.LAST_SEEN));
+        assertEquals("a", summary.getMeta().get("host"));
+    }
+
+    @Test
+    void repeatAfterWindow_ShouldStoreSummaryBeforeTheNewEntry() {
+        collapser.collapse(List.of(entry("app-1", "boom", "a")), 0);
+        collapser.collapse(List.of(entry("app-1", "boom", "a")), 100);
+
+        LogEntry next = entry("app-1", "boom", "a");
+        List<LogEntry> stored = collapser.collapse(List.of(next), 1500);
+
+        assertEquals(2, stored.size());
+        assertEquals(1, stored.get(0).getMeta().get(RepeatCollapser.REPEAT_COUNT));
+        assertSame(next, stored.get(1));
+    }
+
+    @Test
+    void differentLevelMetaOrChannel_ShouldNotCollapse() {
+        collapser.collapse(List.of(entry("app-1", "boom", "a")), 0);
+
+        List<LogEntry> others = List.of(
+                new LogEntry("app-1", LogLevel.WARN, "boom", Map.of("host", "a")),
+                entry("app-1", "boom", "b"),
+                entry("app-2", "boom", "a"),
+                entry("app-1", "boom now", "a"),
+                entry("orders", "boom", "a"),
+                entry("orders", "boom", "a"));
+
+        assertEquals(others, collapser.collapse(others, 10));
+        assertEquals(0, collapser.getCollapsedCount());
+    }
+
+    @Test
+    void disabledCollapser_ShouldReturnEntriesUntouched() {
+        RepeatCollapser disabled = RepeatCollapser.disabled();
+        List<LogEntry> logEntries = List.of(entry("app-1", "boom", "a"), entry("app-1", "boom", "a"));
+
+        assertSame(logEntries, disabled.collapse(logEntries));
+        assertFalse(disabled.isEnabled());
+    }
+
+    @Test
+    void sameTemplate_ShouldTreatDigitRunsAsOnePlaceholder() {
+        assertTrue(RepeatCollapser.sameTemplate("retry 1 of 10", "retry 22 of 3"));
+        assertFalse(RepeatCollapser.sameTemplate("retry 1 of 10", "retry x of 10"));
+        assertFalse(RepeatCollapser.sameTemplate("retry 1", "retry 1 "));
+        assertEquals(RepeatCollapser.templateHash("id=7"), RepeatCollapser.templateHash("id=123"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LogEntry flushedSummary() {
+        ArgumentCaptor<List<LogEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logStorage).storeLogs(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().get(0);
+    }
+
+    private static LogEntry entry(String channel, String message, String host) {
+        return new LogEntry(channel, LogLevel.ERROR, message, Map.of("host", host));
+    }
+}
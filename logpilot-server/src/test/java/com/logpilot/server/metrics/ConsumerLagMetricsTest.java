@@ -0,0 +1,152 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.stats.ChannelStatistics;
+import com.logpilot.server.stats.ConsumerPositions;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConsumerLagMetricsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final long IDLE_MILLIS = 60_000;
+
+    private final ChannelNotifier channelNotifier = new ChannelNotifier();
+    private final LogStorage logStorage = mock(LogStorage.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ConsumerPositions positions = new ConsumerPositions(now::get);
+    private final ChannelStatistics statistics = new ChannelStatistics(channelNotifier, logStorage,
+            PartitionRouter.unpartitioned(), positions, now::get);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void refresh_ShouldExportHeadCommittedOffsetAndLag() {
+        ConsumerLagMetrics metrics = metrics(1000);
+        channelNotifier.signalStored(entries(1, 10));
+        positions.fetched("orders", "billing", entries(1, 4), true);
+
+        metrics.refresh();
+
+        assertEquals(10.0, gauge("logpilot_channel_head_id", null));
+        assertEquals(4.0, gauge("logpilot_consumer_committed_offset", "billing"));
+        assertEquals(6.0, gauge("logpilot_consumer_lag_entries", "billing"));
+        assertEquals(6.0, gauge("logpilot_consumer_lag_seconds", "billing"));
+        verify(logStorage, never()).getConsumerOffset(anyString(), anyString());
+    }
+
+    @Test
+    void refresh_ShouldNotQueryStorageAgainOnceStreamsAreKnown() {
+        ConsumerLagMetrics metrics = metrics(1000);
+        channelNotifier.signalStored(entries(1, 10));
+
+        metrics.refresh();
+        metrics.refresh();
+        metrics.refresh();
+
+        verify(logStorage, times(1)).getChannels();
+        verify(logStorage, times(1)).getConsumerOffsets("orders");
+        verify(logStorage, never()).getLastLogId(anyString());
+    }
+
+    @Test
+    void fetchRate_ShouldBeEntriesPerSecondSinceThePreviousRefresh() {
+        ConsumerLagMetrics metrics = metrics(1000);
+        channelNotifier.signalStored(entries(1, 10));
+        positions.fetched("orders", "billing", entries(1, 4), true);
+        metrics.refresh();
+        assertNull(find("logpilot_consumer_fetch_rate", "billing"));
+
+        now.addAndGet(10_000);
+        positions.fetched("orders", "billing", entries(5, 6), true);
+        metrics.refresh();
+
+        assertEquals(0.2, gauge("logpilot_consumer_fetch_rate", "billing"), 1e-9);
+    }
+
+    @Test
+    void caughtUpConsumer_ShouldHaveZeroLagSecondsEvenWithoutReadTimestamp() {
+        ConsumerLagMetrics metrics = metrics(1000);
+        channelNotifier.signalStored(entries(1, 3));
+        positions.committed("orders", "billing", 3);
+
+        metrics.refresh();
+
+        assertEquals(0.0, gauge("logpilot_consumer_lag_entries", "billing"));
+        assertEquals(0.0, gauge("logpilot_consumer_lag_seconds", "billing"));
+    }
+
+    @Test
+    void idleConsumers_ShouldLeaveTheSeries() {
+        ConsumerLagMetrics metrics = metrics(1000);
+        channelNotifier.signalStored(entries(1, 3));
+        positions.committed("orders", "billing", 1);
+        metrics.refresh();
+        assertNotNull(find("logpilot_consumer_lag_entries", "billing"));
+
+        now.addAndGet(IDLE_MILLIS + 1);
+        metrics.refresh();
+
+        assertNull(find("logpilot_consumer_lag_entries", "billing"));
+        assertNull(find("logpilot_consumer_committed_offset", "billing"));
+        assertEquals(3.0, gauge("logpilot_channel_head_id", null));
+    }
+
+    @Test
+    void consumerSeries_ShouldBeCapped() {
+        ConsumerLagMetrics metrics = metrics(1);
+        channelNotifier.signalStored(entries(1, 3));
+        positions.committed("orders", "audit", 1);
+        positions.committed("orders", "billing", 2);
+
+        metrics.refresh();
+
+        assertNotNull(find("logpilot_consumer_lag_entries", "audit"));
+        assertNull(find("logpilot_consumer_lag_entries", "billing"));
+        assertEquals(1, metrics.getDroppedSeries());
+    }
+
+    private ConsumerLagMetrics metrics(int maxConsumerSeries) {
+        ConsumerLagMetrics metrics = new ConsumerLagMetrics(statistics, PartitionRouter.unpartitioned(), positions,
+                IDLE_MILLIS, 100, maxConsumerSeries, now::get);
+        metrics.bindTo(meterRegistry);
+        return metrics;
+    }
+
+    private double gauge(String name, String consumer) {
+        Gauge gauge = find(name, consumer);
+        assertNotNull(gauge, name + " for " + consumer);
+        return gauge.value();
+    }
+
+    private Gauge find(String name, String consumer) {
+        Search search = meterRegistry.find(name).tag("channel", "orders")
+                .tag("partition", ConsumerLagMetrics.NO_PARTITION);
+        return consumer != null ? search.tag("consumer", consumer).gauge() : search.gauge();
+    }
+
+    private static List<LogEntry> entries(long fromId, long toId) {
+        List<LogEntry> logEntries = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "message " + id);
+            logEntry.setId(id);
+            logEntry.setTimestamp(START.plusSeconds(id));
+            logEntries.add(logEntry);
+        }
+        return logEntries;
+    }
+}
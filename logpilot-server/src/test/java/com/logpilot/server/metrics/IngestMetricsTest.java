@@ -0,0 +1,102 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestMetricsTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void record_SingleEntry_ShouldCountByLevelAndChannel() {
+        IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry, 10);
+
+        ingestMetrics.record(new LogEntry("orders", LogLevel.INFO, "first"));
+        ingestMetrics.record(new LogEntry("orders", LogLevel.INFO, "second"));
+        ingestMetrics.record(new LogEntry("orders", LogLevel.ERROR, "third"));
+
+        assertEquals(2.0, count("INFO", "orders"));
+        assertEquals(1.0, count("ERROR", "orders"));
+        assertEquals(0.0, count("WARN", "orders"));
+    }
+
+    @Test
+    void record_Batch_ShouldCountEveryEntry() {
+        IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry, 10);
+        List<LogEntry> logEntries = List.of(
+                new LogEntry("orders", LogLevel.INFO, "a"),
+                new LogEntry("orders", LogLevel.WARN, "b"),
+                new LogEntry("payments", LogLevel.INFO, "c"),
+                new LogEntry("orders", LogLevel.INFO, "d"));
+
+        ingestMetrics.record(logEntries);
+
+        assertEquals(2.0, count("INFO", "orders"));
+        assertEquals(1.0, count("WARN", "orders"));
+        assertEquals(1.0, count("INFO", "payments"));
+    }
+
+    @Test
+    void record_ChannelsBeyondCap_ShouldBeCountedAsOther() {
+        IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry, 3);
+        List<LogEntry> logEntries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            logEntries.add(new LogEntry("channel-" + i, LogLevel.INFO, "message"));
+        }
+
+        ingestMetrics.record(logEntries);
+
+        assertEquals(3, ingestMetrics.getChannelTagCount());
+        assertEquals(47.0, count("INFO", IngestMetrics.OTHER_CHANNEL));
+        long channelTags = meterRegistry.find(IngestMetrics.METRIC_NAME).functionCounters().stream()
+                .map(counter -> counter.getId().getTag("channel"))
+                .distinct()
+                .count();
+        assertEquals(4, channelTags);
+    }
+
+    @Test
+    void record_ChannelNamedOther_ShouldShareOverflowBucket() {
+        IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry, 10);
+
+        ingestMetrics.record(new LogEntry(IngestMetrics.OTHER_CHANNEL, LogLevel.DEBUG, "message"));
+
+        assertEquals(1.0, count("DEBUG", IngestMetrics.OTHER_CHANNEL));
+        assertEquals(0, ingestMetrics.getChannelTagCount());
+    }
+
+    @Test
+    void record_MissingLevelAndChannel_ShouldUseUnknownTags() {
+        IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry, 10);
+        LogEntry logEntry = new LogEntry();
+
+        ingestMetrics.record(logEntry);
+        ingestMetrics.record((LogEntry) null);
+
+        assertEquals(1.0, count(IngestMetrics.UNKNOWN_LEVEL, IngestMetrics.UNKNOWN_CHANNEL));
+    }
+
+    private double count(String level, String channel) {
+        FunctionCounter counter = meterRegistry.find(IngestMetrics.METRIC_NAME)
+                .tag("level", level)
+                .tag("channel", channel)
+                .functionCounter();
+        assertNotNull(counter, "missing counter for " + level + "/" + channel);
+        return counter.count();
+    }
+}
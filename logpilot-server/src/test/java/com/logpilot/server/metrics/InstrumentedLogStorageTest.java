@@ -0,0 +1,127 @@
+package com.logpilot.server.metrics;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.FileLogStorage;
+import com.logpilot.core.storage.LogStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InstrumentedLogStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MeterRegistry meterRegistry;
+    private InstrumentedLogStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new InstrumentedLogStorage(new FileLogStorage(tempDir.toString()), meterRegistry, "file");
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void operations_ShouldBeTimedByBackendAndOperation() {
+        storage.store(new LogEntry("orders", LogLevel.INFO, "single"));
+        storage.storeLogs(List.of(
+                new LogEntry("orders", LogLevel.INFO, "first"),
+                new LogEntry("orders", LogLevel.WARN, "second")));
+        List<LogEntry> logEntries = storage.retrieve("orders", "consumer", 10, false);
+        storage.commitOffset("orders", "consumer", 3L);
+        storage.seekToBeginning("orders", "consumer");
+
+        assertEquals(3, logEntries.size());
+        assertEquals(1, timer("store").count());
+        assertEquals(1, timer("storeLogs").count());
+        assertEquals(1, timer("retrieve").count());
+        assertEquals(1, timer("commitOffset").count());
+        assertEquals(1, timer("seekToBeginning").count());
+        assertEquals(0, timer("seekToEnd").count());
+    }
+
+    @Test
+    void batches_ShouldRecordEntriesPerCall() {
+        storage.storeLogs(List.of(
+                new LogEntry("orders", LogLevel.INFO, "first"),
+                new LogEntry("orders", LogLevel.INFO, "second"),
+                new LogEntry("orders", LogLevel.INFO, "third")));
+        storage.retrieveAfter("orders", 1L, 10);
+
+        assertEquals(3.0, meterRegistry.get("logpilot_storage_batch_entries")
+                .tag("operation", "storeLogs").summary().totalAmount());
+        assertEquals(2.0, meterRegistry.get("logpilot_storage_batch_entries")
+                .tag("operation", "retrieveAfter").summary().totalAmount());
+    }
+
+    @Test
+    void fileBackend_ShouldReportLockWaitsAndBytesWritten() {
+        storage.store(new LogEntry("orders", LogLevel.INFO, "single"));
+        storage.retrieve("orders", 10);
+
+        assertEquals(1, meterRegistry.get("logpilot_storage_lock_wait_seconds")
+                .tag("mode", "write").timer().count());
+        assertEquals(1, meterRegistry.get("logpilot_storage_lock_wait_seconds")
+                .tag("mode", "read").timer().count());
+        assertTrue(meterRegistry.get("logpilot_storage_written_bytes").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void failedCall_ShouldStillBeTimedAndLeaveNothingInFlight() {
+        LogStorage failing = mock(LogStorage.class);
+        doThrow(new IllegalStateException("disk full")).when(failing).storeLogs(anyList());
+        InstrumentedLogStorage instrumented = new InstrumentedLogStorage(failing, meterRegistry, "sqlite");
+
+        assertThrows(IllegalStateException.class,
+                () -> instrumented.storeLogs(List.of(new LogEntry("orders", LogLevel.INFO, "x"))));
+
+        assertEquals(1, meterRegistry.get("logpilot_storage_operation_seconds")
+                .tags("backend", "sqlite", "operation", "storeLogs").timer().count());
+        assertEquals(0.0, meterRegistry.get("logpilot_storage_inflight_operations")
+                .tags("backend", "sqlite", "operation", "storeLogs").gauge().value());
+    }
+
+    @Test
+    void instrumentation_WhenDisabled_ShouldReturnBeanUntouched() {
+        LogPilotProperties properties = new LogPilotProperties();
+        properties.getMetrics().setStorageEnabled(false);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("logPilotProperties", properties);
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        LogStorageInstrumentation instrumentation = new LogStorageInstrumentation(
+                beanFactory.getBeanProvider(LogPilotProperties.class), beanFactory.getBeanProvider(MeterRegistry.class));
+        LogStorage logStorage = mock(LogStorage.class);
+
+        assertSame(logStorage, instrumentation.postProcessAfterInitialization(logStorage, "logStorage"));
+
+        properties.getMetrics().setStorageEnabled(true);
+        assertInstanceOf(InstrumentedLogStorage.class,
+                instrumentation.postProcessAfterInitialization(logStorage, "logStorage"));
+        assertSame(logStorage, instrumentation.postProcessAfterInitialization(logStorage, "otherStorage"));
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get("logpilot_storage_operation_seconds")
+                .tags("backend", "file", "operation", operation)
+                .timer();
+    }
+}
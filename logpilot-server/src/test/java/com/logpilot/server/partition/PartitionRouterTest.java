@@ -0,0 +1,204 @@
+package com.logpilot.server.partition;
+
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.partition.ChannelPartitions;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
+import com.logpilot.core.storage.LogStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PartitionRouterTest {
+
+    @Mock
+    private LogStorage logStorage;
+
+    private PartitionRouter partitionRouter;
+
+    @BeforeEach
+    void setUp() {
+        ChannelRegistry channelRegistry = new ChannelRegistry(Map.of("orders", 4), null);
+        partitionRouter = new PartitionRouter(channelRegistry, "userId");
+    }
+
+    @Test
+    void assignPartition_WithSameKey_ShouldPickSamePartition() {
+        LogEntry first = new LogEntry("orders", LogLevel.INFO, "created");
+        first.setPartitionKey("user-42");
+        LogEntry second = new LogEntry("orders", LogLevel.INFO, "paid");
+        second.setPartitionKey("user-42");
+
+        partitionRouter.assignPartition(first);
+        partitionRouter.assignPartition(second);
+
+        assertNotNull(first.getPartition());
+        assertEquals(first.getPartition(), second.getPartition());
+    }
+
+    @Test
+    void assignPartition_WithMetaKeyField_ShouldUseMetaValue() {
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("userId", "user-42");
+        LogEntry fromMeta = new LogEntry("orders", LogLevel.INFO, "created", meta);
+        LogEntry fromKey = new LogEntry("orders", LogLevel.INFO, "created");
+        fromKey.setPartitionKey("user-42");
+
+        partitionRouter.assignPartition(fromMeta);
+        partitionRouter.assignPartition(fromKey);
+
+        assertEquals(fromKey.getPartition(), fromMeta.getPartition());
+    }
+
+    @Test
+    void assignPartition_WithoutKey_ShouldRoundRobin() {
+        List<LogEntry> entries = Arrays.asList(
+                new LogEntry("orders", LogLevel.INFO, "1"),
+                new LogEntry("orders", LogLevel.INFO, "2"),
+                new LogEntry("orders", LogLevel.INFO, "3"),
+                new LogEntry("orders", LogLevel.INFO, "4"));
+
+        partitionRouter.assignPartitions(entries);
+
+        assertEquals(4, entries.stream().map(LogEntry::getPartition).distinct().count());
+    }
+
+    @Test
+    void assignPartition_ForUnpartitionedChannel_ShouldLeavePartitionEmpty() {
+        LogEntry logEntry = new LogEntry("audit", LogLevel.INFO, "login");
+        logEntry.setPartitionKey("user-42");
+
+        partitionRouter.assignPartition(logEntry);
+
+        assertNull(logEntry.getPartition());
+    }
+
+    @Test
+    void assignPartition_WithOutOfRangePartition_ShouldThrow() {
+        LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "created");
+        logEntry.setPartition(4);
+
+        assertThrows(ChannelConfigurationException.class, () -> partitionRouter.assignPartition(logEntry));
+    }
+
+    @Test
+    void retrieve_ForPartitionedChannel_ShouldReadEveryPartition() {
+        when(logStorage.retrieve(anyString(), eq("consumer1"), anyInt(), eq(true)))
+                .thenReturn(Collections.emptyList());
+
+        partitionRouter.retrieve(logStorage, "orders", "consumer1", 100, true);
+
+        for (int partition = 0; partition < 4; partition++) {
+            verify(logStorage).retrieve(eq("orders#" + partition), eq("consumer1"), anyInt(), eq(true));
+        }
+    }
+
+    @Test
+    void retrieve_ForUnpartitionedChannel_ShouldPassThrough() {
+        partitionRouter.retrieve(logStorage, "audit", "consumer1", 100, true);
+
+        verify(logStorage).retrieve("audit", "consumer1", 100, true);
+        verifyNoMoreInteractions(logStorage);
+    }
+
+    @Test
+    void channelRegistry_CreateChannelWithDifferentCount_ShouldThrow() {
+        ChannelRegistry channelRegistry = partitionRouter.getChannelRegistry();
+
+        channelRegistry.createChannel("orders", 4);
+
+        assertThrows(ChannelConfigurationException.class, () -> channelRegistry.createChannel("orders", 8));
+        assertThrows(ChannelConfigurationException.class, () -> channelRegistry.createChannel("bad#name", 2));
+    }
+
+    @Test
+    void query_AcrossPartitions_ShouldPageWithoutRepeats() {
+        Map<String, List<LogEntry>> streams = new HashMap<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            int partition = i % 4;
+            String stream = ChannelPartitions.streamName("orders", partition);
+            List<LogEntry> entries = streams.computeIfAbsent(stream, s -> new ArrayList<>());
+            LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "order " + i);
+            logEntry.setId((long) entries.size() + 1);
+            logEntry.setPartition(partition);
+            logEntry.setTimestamp(start.plusSeconds(i));
+            entries.add(logEntry);
+        }
+        when(logStorage.getLastLogId(anyString())).thenAnswer(invocation ->
+                (long) streams.getOrDefault(invocation.<String>getArgument(0), List.of()).size());
+        when(logStorage.query(anyString(), any(LogQuery.class), anyLong(), anyInt())).thenAnswer(invocation ->
+                streams.getOrDefault(invocation.<String>getArgument(0), List.of()).stream()
+                        .filter(logEntry -> logEntry.getId() > invocation.<Long>getArgument(2))
+                        .limit(invocation.<Integer>getArgument(3))
+                        .toList());
+
+        List<String> messages = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            LogQueryResult result = partitionRouter.query(logStorage, "orders", LogQuery.all(), 3, cursor);
+            result.getLogs().forEach(logEntry -> messages.add(logEntry.getMessage()));
+            cursor = result.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertNull(cursor);
+        assertEquals(10, messages.size());
+        assertEquals(10, Set.copyOf(messages).size());
+        assertEquals("order 0", messages.get(0));
+        assertEquals("order 9", messages.get(9));
+    }
+
+    @Test
+    void query_WithProjection_ShouldKeepOnlySelectedFields() {
+        LogEntry logEntry = new LogEntry("audit", LogLevel.WARN, "denied", Map.of("user", "alice", "ip", "10.0.0.1"));
+        logEntry.setId(1L);
+        LogQuery query = LogQuery.builder().fields(List.of("id", "meta.user")).build();
+        when(logStorage.query("audit", query, 0L, 2)).thenReturn(List.of(logEntry));
+
+        LogQueryResult result = partitionRouter.query(logStorage, "audit", query, 2, null);
+
+        assertNull(result.getNextCursor());
+        LogEntry projected = result.getLogs().get(0);
+        assertEquals(1L, projected.getId());
+        assertNull(projected.getMessage());
+        assertNull(projected.getTimestamp());
+        assertEquals(Map.of("user", "alice"), projected.getMeta());
+    }
+
+    @Test
+    void query_WithForeignCursor_ShouldThrow() {
+        String singleStreamCursor = PartitionRouter.encodeCursor(new long[] {5});
+
+        assertThrows(InvalidQueryException.class,
+                () -> partitionRouter.query(logStorage, "orders", LogQuery.all(), 10, singleStreamCursor));
+        assertThrows(InvalidQueryException.class,
+                () -> partitionRouter.query(logStorage, "orders", LogQuery.all(), 10, "not-a-cursor"));
+        assertArrayEquals(new long[] {3, 0, 7, 1},
+                PartitionRouter.decodeCursor(PartitionRouter.encodeCursor(new long[] {3, 0, 7, 1}), 4));
+    }
+}
@@ -0,0 +1,117 @@
+package com.logpilot.server.performance;
+
+import com.logpilot.core.concurrent.VirtualThreads;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.config.LogStorageFactory;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.service.LogService;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.cluster.ShardRouter;
+import com.logpilot.server.group.ConsumerGroupCoordinator;
+import com.logpilot.server.ingest.IngestBatcher;
+import com.logpilot.server.ingest.LogIngestor;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.rest.service.RestLogService;
+import com.logpilot.server.subscription.ChannelNotifier;
+import com.logpilot.server.subscription.LongPoller;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Platform vs virtual threads for blocking ingest handlers at 10k concurrent producers.
+ * Each producer is one request-handling task that stores entries through the same service stack as the
+ * REST handlers (ingest batching on, file storage). The platform run is capped at Tomcat's default 200
+ * worker threads; the virtual run gives every producer its own thread.
+ *
+ * Run with: ./gradlew :logpilot-server:test -Pbenchmark -PjavaVersion=21 --tests '*ThreadModelBenchmarkTest'
+ */
+@EnabledIfSystemProperty(named = "logpilot.benchmark", matches = "true")
+class ThreadModelBenchmarkTest {
+
+    private static final int PRODUCERS = 10_000;
+    private static final int ENTRIES_PER_PRODUCER = 5;
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    @TempDir
+    Path storageDirectory;
+
+    @Test
+    void compareThreadModels() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads need a Java 21 runtime (-PjavaVersion=21)");
+
+        // 첫 실행의 JIT 워밍업이 비교를 왜곡하지 않도록 두 모드 모두 한 번씩 먼저 실행합니다.
+        // Run both modes once first so JIT warm-up does not skew the comparison.
+        run("warmup-platform", Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS));
+        run("warmup-virtual", VirtualThreads.newThreadPerTaskExecutor("bench-"));
+
+        long platformNanos = run("platform", Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS));
+        long virtualNanos = run("virtual", VirtualThreads.newThreadPerTaskExecutor("bench-"));
+
+        System.out.printf("[benchmark] %d producers x %d entries: platform(%d threads)=%d ms, virtual=%d ms (%.2fx)%n",
+                PRODUCERS, ENTRIES_PER_PRODUCER, TOMCAT_DEFAULT_MAX_THREADS,
+                TimeUnit.NANOSECONDS.toMillis(platformNanos), TimeUnit.NANOSECONDS.toMillis(virtualNanos),
+                (double) platformNanos / virtualNanos);
+    }
+
+    private long run(String name, ExecutorService executor) throws Exception {
+        LogPilotProperties properties = new LogPilotProperties();
+        properties.getStorage().setType(LogPilotProperties.StorageType.FILE);
+        properties.getStorage().setDirectory(storageDirectory.resolve(name).toString());
+        LogStorage logStorage = LogStorageFactory.createLogStorage(properties);
+        ChannelNotifier channelNotifier = new ChannelNotifier();
+        PartitionRouter partitionRouter = PartitionRouter.unpartitioned();
+        LongPoller longPoller = new LongPoller(channelNotifier, properties);
+        IngestBatcher ingestBatcher = new IngestBatcher(logStorage, channelNotifier, properties);
+        LogService logService = new RestLogService(logStorage, partitionRouter,
+                new ConsumerGroupCoordinator(partitionRouter, properties), ShardRouter.standalone(), longPoller,
+                LogIngestor.standalone(logStorage, partitionRouter, channelNotifier, ingestBatcher));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>(PRODUCERS);
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                String channel = "bench-" + (p % 16);
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                        logService.storeLog(new LogEntry(channel, LogLevel.INFO, "benchmark entry " + i));
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> producer : producers) {
+                producer.get(5, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            long stored = 0;
+            for (int c = 0; c < 16; c++) {
+                stored += logStorage.retrieve("bench-" + c, "benchmark-reader", Integer.MAX_VALUE).size();
+            }
+            assertEquals((long) PRODUCERS * ENTRIES_PER_PRODUCER, stored);
+            return elapsed;
+        } finally {
+            executor.shutdownNow();
+            ingestBatcher.shutdown();
+            longPoller.shutdown();
+            logStorage.close();
+        }
+    }
+}
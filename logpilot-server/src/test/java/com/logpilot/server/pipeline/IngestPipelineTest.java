@@ -0,0 +1,98 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestPipelineTest {
+
+    @Test
+    void configuredStages_ShouldRunInOrder() {
+        LogPilotProperties.Pipeline config = new LogPilotProperties.Pipeline();
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.LEVEL_FILTER, s -> {
+            s.setChannels(List.of("app-*"));
+            s.setMinLevel(LogLevel.INFO);
+        }));
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.META_ALLOWLIST,
+                s -> s.setMetaKeys(List.of("userId"))));
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.TRUNCATE,
+                s -> s.setMaxMessageLength(5)));
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.ENRICH,
+                s -> s.setMeta(Map.of("region", "eu"))));
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.ROUTE, s -> {
+            s.setMinLevel(LogLevel.ERROR);
+            s.setTargetChannel("errors");
+        }));
+        IngestPipeline pipeline = new IngestPipeline(IngestPipeline.stagesOf(config, List.of()));
+
+        LogEntry debug = new LogEntry("app-api", LogLevel.DEBUG, "noise");
+        LogEntry otherDebug = new LogEntry("audit", LogLevel.DEBUG, "kept");
+        LogEntry error = new LogEntry("app-api", LogLevel.ERROR, "database down",
+                new HashMap<>(Map.of("userId", "42", "password", "secret")));
+        error.setPartition(3);
+
+        List<LogEntry> stored = pipeline.process(List.of(debug, otherDebug, error));
+
+        assertEquals(List.of(otherDebug, error), stored);
+        assertEquals("errors", error.getChannel());
+        assertNull(error.getPartition());
+        assertEquals("datab", error.getMessage());
+        assertEquals(Map.of("userId", "42", "region", "eu"), error.getMeta());
+        assertEquals("audit", otherDebug.getChannel());
+        assertEquals(Map.of("region", "eu"), otherDebug.getMeta());
+    }
+
+    @Test
+    void customStage_ShouldRunAfterConfiguredStages() {
+        IngestStage dropAll = new IngestStage() {
+            @Override
+            public String name() {
+                return "drop_all";
+            }
+
+            @Override
+            public void apply(List<LogEntry> batch) {
+                batch.clear();
+            }
+        };
+        IngestPipeline pipeline = new IngestPipeline(
+                IngestPipeline.stagesOf(new LogPilotProperties.Pipeline(), List.of(dropAll)));
+
+        assertTrue(pipeline.process(List.of(new LogEntry("orders", LogLevel.INFO, "placed"))).isEmpty());
+    }
+
+    @Test
+    void emptyPipeline_ShouldReturnTheSameList() {
+        List<LogEntry> batch = new ArrayList<>(List.of(new LogEntry("orders", LogLevel.INFO, "placed")));
+
+        assertSame(batch, IngestPipeline.empty().process(batch));
+    }
+
+    @Test
+    void stageWithoutRequiredSetting_ShouldFailAtStartup() {
+        LogPilotProperties.Pipeline config = new LogPilotProperties.Pipeline();
+        config.getStages().add(stage(LogPilotProperties.PipelineStageType.ROUTE, s -> {
+        }));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> IngestPipeline.stagesOf(config, List.of()));
+        assertTrue(error.getMessage().contains("stages[0]"));
+    }
+
+    private static LogPilotProperties.PipelineStage stage(LogPilotProperties.PipelineStageType type,
+            Consumer<LogPilotProperties.PipelineStage> settings) {
+        LogPilotProperties.PipelineStage stage = new LogPilotProperties.PipelineStage();
+        stage.setType(type);
+        settings.accept(stage);
+        return stage;
+    }
+}
@@ -0,0 +1,113 @@
+package com.logpilot.server.pipeline;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.ChannelConfigurationException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingStageTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SamplingStage samplingStage = new SamplingStage(meterRegistry, Map.of());
+
+    @Test
+    void minLevel_ShouldDropLowerLevelsAndCountThem() {
+        samplingStage.setPolicy("checkout", policy(LogLevel.INFO, Map.of(), Map.of()));
+        List<LogEntry> batch = batch("checkout", LogLevel.DEBUG, 3);
+        batch.add(new LogEntry("checkout", LogLevel.WARN, "slow"));
+        batch.add(new LogEntry("other", LogLevel.DEBUG, "kept"));
+
+        samplingStage.apply(batch);
+
+        assertEquals(2, batch.size());
+        assertEquals(3.0, sampledOut("checkout", LogLevel.DEBUG, "min_level"));
+    }
+
+    @Test
+    void sampleRate_ShouldKeepRoughlyThatFraction() {
+        samplingStage.setPolicy("checkout", policy(null, Map.of(LogLevel.DEBUG, 0.1), Map.of()));
+        List<LogEntry> batch = batch("checkout", LogLevel.DEBUG, 10_000);
+
+        samplingStage.apply(batch);
+
+        assertTrue(batch.size() > 700 && batch.size() < 1300, "kept " + batch.size());
+        assertEquals(10_000, batch.size() + sampledOut("checkout", LogLevel.DEBUG, "sample_rate"));
+    }
+
+    @Test
+    void rateCap_ShouldLimitEntriesPerSecond() {
+        samplingStage.setPolicy("checkout", policy(null, Map.of(), Map.of(LogLevel.INFO, 100L)));
+        List<LogEntry> batch = batch("checkout", LogLevel.INFO, 500);
+
+        samplingStage.apply(batch);
+
+        assertTrue(batch.size() >= 100 && batch.size() < 110, "kept " + batch.size());
+        assertEquals(500, batch.size() + sampledOut("checkout", LogLevel.INFO, "rate_cap"));
+    }
+
+    @Test
+    void defaultPolicy_ShouldCoverChannelsWithoutOwnPolicy() {
+        samplingStage.setPolicy(SamplingStage.DEFAULT_CHANNEL, policy(LogLevel.WARN, Map.of(), Map.of()));
+        samplingStage.setPolicy("audit", policy(null, Map.of(), Map.of()));
+        List<LogEntry> batch = batch("payments", LogLevel.INFO, 2);
+        batch.addAll(batch("audit", LogLevel.INFO, 2));
+
+        samplingStage.apply(batch);
+
+        assertEquals(2, batch.size());
+        assertTrue(batch.stream().allMatch(entry -> entry.getChannel().equals("audit")));
+    }
+
+    @Test
+    void removedPolicy_ShouldStopSampling() {
+        samplingStage.setPolicy("checkout", policy(LogLevel.ERROR, Map.of(), Map.of()));
+        assertTrue(samplingStage.removePolicy("checkout"));
+        List<LogEntry> batch = batch("checkout", LogLevel.DEBUG, 5);
+
+        samplingStage.apply(batch);
+
+        assertEquals(5, batch.size());
+        assertFalse(samplingStage.removePolicy("checkout"));
+    }
+
+    @Test
+    void invalidRate_ShouldBeRejected() {
+        assertThrows(ChannelConfigurationException.class, () -> samplingStage.setPolicy("checkout",
+                policy(null, Map.of(LogLevel.DEBUG, 1.5), Map.of())));
+        assertTrue(samplingStage.getPolicies().isEmpty());
+    }
+
+    private double sampledOut(String channel, LogLevel level, String reason) {
+        return meterRegistry.get(SamplingStage.METRIC_NAME)
+                .tag("channel", channel)
+                .tag("level", level.name())
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static LogPilotProperties.SamplingPolicy policy(LogLevel minLevel, Map<LogLevel, Double> sampleRates,
+            Map<LogLevel, Long> maxPerSecond) {
+        LogPilotProperties.SamplingPolicy policy = new LogPilotProperties.SamplingPolicy();
+        policy.setMinLevel(minLevel);
+        policy.setSampleRates(sampleRates);
+        policy.setMaxPerSecond(maxPerSecond);
+        return policy;
+    }
+
+    private static List<LogEntry> batch(String channel, LogLevel level, int size) {
+        List<LogEntry> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(new LogEntry(channel, level, "entry " + i));
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,176 @@
+package com.logpilot.server.replication;
+
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.config.LogStorageFactory;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.grpc.LogPilotGrpcService;
+import com.logpilot.server.grpc.handler.GrpcLogHandler;
+import com.logpilot.server.subscription.ChannelNotifier;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a leader gRPC server on localhost and a follower pulling from it into its own storage.
+ */
+class ReplicationFollowerTest {
+
+    @TempDir
+    Path storageDirectory;
+
+    private LogStorage leaderStorage;
+    private LogPilotGrpcService leaderService;
+    private Server leader;
+    private LogStorage followerStorage;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leaderStorage = storage("leader");
+        leaderService = new LogPilotGrpcService(new GrpcLogHandler(leaderStorage), new SimpleMeterRegistry());
+        leader = ServerBuilder.forPort(0).addService(leaderService).build().start();
+        followerStorage = storage("follower");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (follower != null) {
+            follower.stop();
+        }
+        leader.shutdownNow().awaitTermination();
+        leaderService.shutdown();
+        leaderStorage.close();
+        followerStorage.close();
+    }
+
+    @Test
+    void follower_ShouldCatchUpWithLeaderInBatches() throws Exception {
+        write("orders", 25);
+        write("payments", 3);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        follower = startFollower(meterRegistry);
+        awaitCaughtUp("orders", "payments");
+
+        assertReplicated("orders");
+        assertReplicated("payments");
+        assertEquals(0, follower.getLagEntries());
+        assertEquals(Map.of("orders", 0L, "payments", 0L), follower.getChannelLag());
+        assertEquals(0, meterRegistry.get("logpilot_replication_lag_entries").gauge().value());
+        assertEquals(0, meterRegistry.get("logpilot_replication_lag_seconds").gauge().value());
+    }
+
+    @Test
+    void follower_AfterRestart_ShouldResumeFromItsLastAppliedId() throws Exception {
+        write("orders", 12);
+        follower = startFollower(new SimpleMeterRegistry());
+        awaitCaughtUp("orders");
+        follower.stop();
+        followerStorage.close();
+
+        write("orders", 9);
+        write("audit", 4);
+        followerStorage = storage("follower");
+        follower = startFollower(new SimpleMeterRegistry());
+        awaitCaughtUp("orders", "audit");
+
+        assertReplicated("orders");
+        assertReplicated("audit");
+        assertEquals(21, followerStorage.retrieveAfter("orders", 0, 100).size());
+    }
+
+    @Test
+    void replicateOnce_ShouldApplyEntriesWrittenSinceTheLastRound() throws Exception {
+        write("orders", 5);
+        follower = startFollower(new SimpleMeterRegistry());
+        awaitCaughtUp("orders");
+
+        write("orders", 8);
+        follower.replicateOnce();
+
+        assertReplicated("orders");
+        assertEquals(0, follower.getLagEntries());
+    }
+
+    private ReplicationFollower startFollower(MeterRegistry meterRegistry) {
+        LogPilotProperties properties = new LogPilotProperties();
+        properties.getReplication().setRole(LogPilotProperties.ReplicationRole.FOLLOWER);
+        properties.getReplication().setLeaderAddress("localhost:" + leader.getPort());
+        properties.getReplication().setBatchSize(4);
+        // 첫 라운드만 예약 실행되도록 폴링 간격을 길게 둡니다.
+        // A long poll interval leaves only the first round to the scheduler.
+        properties.getReplication().setPollIntervalMillis(60_000);
+        properties.getReplication().setChannelRefreshIntervalMillis(0);
+        ReplicationFollower replicationFollower = new ReplicationFollower(followerStorage, properties, meterRegistry,
+                new ChannelNotifier(), "test-key");
+        replicationFollower.start();
+        return replicationFollower;
+    }
+
+    private void write(String channel, int count) {
+        List<LogEntry> logEntries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logEntries.add(new LogEntry(channel, i % 3 == 0 ? LogLevel.WARN : LogLevel.INFO,
+                    channel + " message " + i, Map.<String, Object>of("index", String.valueOf(i))));
+        }
+        leaderStorage.storeLogs(logEntries);
+    }
+
+    private void assertReplicated(String channel) {
+        List<LogEntry> expected = leaderStorage.retrieveAfter(channel, 0, 1000);
+        List<LogEntry> actual = followerStorage.retrieveAfter(channel, 0, 1000);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getChannel(), actual.get(i).getChannel());
+            assertEquals(expected.get(i).getLevel(), actual.get(i).getLevel());
+            assertEquals(expected.get(i).getMessage(), actual.get(i).getMessage());
+            assertEquals(expected.get(i).getMeta(), actual.get(i).getMeta());
+        }
+    }
+
+    private void awaitCaughtUp(String... channels) throws InterruptedException {
+        await(() -> {
+            for (String channel : channels) {
+                if (followerStorage.getLastLogId(channel) != leaderStorage.getLastLogId(channel)) {
+                    return false;
+                }
+            }
+            return follower.getChannelLag().keySet().containsAll(List.of(channels));
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Follower did not catch up with the leader in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private LogStorage storage(String name) {
+        LogPilotProperties properties = new LogPilotProperties();
+        properties.getStorage().setType(LogPilotProperties.StorageType.FILE);
+        properties.getStorage().setDirectory(storageDirectory.resolve(name).toString());
+        return LogStorageFactory.createLogStorage(properties);
+    }
+}
@@ -0,0 +1,135 @@
+package com.logpilot.server.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.core.config.LogPilotProperties;
+import com.logpilot.core.exception.InvalidLogPayloadException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.service.LogService;
+import com.logpilot.grpc.proto.LogPilotProto;
+import com.logpilot.server.ingest.IngestAdmission;
+import com.logpilot.server.metrics.IngestMetrics;
+import com.logpilot.server.security.ClientRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkIngestControllerTest {
+
+    private LogService logService;
+    private BulkIngestController controller;
+
+    @BeforeEach
+    void setUp() {
+        logService = mock(LogService.class);
+        LogPilotProperties properties = new LogPilotProperties();
+        properties.getIngest().setBatchMaxEntries(2);
+        controller = new BulkIngestController(logService,
+                new IngestMetrics(new SimpleMeterRegistry(), properties),
+                IngestAdmission.unlimited(),
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                properties);
+    }
+
+    @Test
+    void storeLogsProtobuf_ShouldStoreAllEntries() throws Exception {
+        LogPilotProto.SendLogsRequest body = LogPilotProto.SendLogsRequest.newBuilder()
+                .addLogRequests(LogPilotProto.LogRequest.newBuilder()
+                        .setChannel("orders").setLevel("ERROR").setMessage("failed").putMeta("id", "42"))
+                .addLogRequests(LogPilotProto.LogRequest.newBuilder()
+                        .setChannel("orders").setLevel("INFO").setMessage("placed"))
+                .build();
+        MockHttpServletRequest request = request(BulkIngestController.PROTOBUF_VALUE, body.toByteArray());
+
+        ResponseEntity<Void> response = controller.storeLogsProtobuf(request);
+
+        assertEquals(201, response.getStatusCode().value());
+        ArgumentCaptor<List<LogEntry>> captor = listCaptor();
+        verify(logService).storeLogs(captor.capture());
+        List<LogEntry> stored = captor.getValue();
+        assertEquals(2, stored.size());
+        assertEquals(LogLevel.ERROR, stored.get(0).getLevel());
+        assertEquals("42", stored.get(0).getMeta().get("id"));
+        assertEquals(2, request.getAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE));
+    }
+
+    @Test
+    void storeLogsProtobuf_MalformedBody_ShouldThrow() {
+        MockHttpServletRequest request = request(BulkIngestController.PROTOBUF_VALUE, new byte[]{(byte) 0xff, 0x01});
+
+        assertThrows(InvalidLogPayloadException.class, () -> controller.storeLogsProtobuf(request));
+        verifyNoInteractions(logService);
+    }
+
+    @Test
+    void storeLogsNdjson_ShouldStoreInChunks() throws Exception {
+        String body = """
+                {"channel":"orders","level":"INFO","message":"one"}
+                {"channel":"orders","level":"WARN","message":"two"}
+
+                {"channel":"payments","level":"ERROR","message":"three"}
+                """;
+        MockHttpServletRequest request = request(BulkIngestController.NDJSON_VALUE,
+                body.getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<Void> response = controller.storeLogsNdjson(request);
+
+        assertEquals(201, response.getStatusCode().value());
+        ArgumentCaptor<List<LogEntry>> captor = listCaptor();
+        verify(logService, times(2)).storeLogs(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals("three", captor.getAllValues().get(1).get(0).getMessage());
+        assertEquals(3L, request.getAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE));
+    }
+
+    @Test
+    void storeLogsNdjson_InvalidLine_ShouldKeepEarlierChunksAndReportPosition() {
+        String body = """
+                {"channel":"orders","level":"INFO","message":"one"}
+                {"channel":"orders","level":"INFO","message":"two"}
+                {"channel":"orders","level":"INFO"}
+                """;
+        MockHttpServletRequest request = request(BulkIngestController.NDJSON_VALUE,
+                body.getBytes(StandardCharsets.UTF_8));
+
+        InvalidLogPayloadException exception = assertThrows(InvalidLogPayloadException.class,
+                () -> controller.storeLogsNdjson(request));
+
+        assertTrue(exception.getMessage().contains("entry 3"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("2 entries before it were stored"), exception.getMessage());
+        verify(logService, times(1)).storeLogs(anyList());
+        assertEquals(2L, request.getAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE));
+    }
+
+    @Test
+    void storeLogsNdjson_MalformedJson_ShouldThrow() {
+        MockHttpServletRequest request = request(BulkIngestController.NDJSON_VALUE,
+                "{\"channel\":\"orders\",".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidLogPayloadException.class, () -> controller.storeLogsNdjson(request));
+        verifyNoInteractions(logService);
+    }
+
+    private static MockHttpServletRequest request(String contentType, byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs/batch");
+        request.setContentType(contentType);
+        request.setContent(content);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<LogEntry>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
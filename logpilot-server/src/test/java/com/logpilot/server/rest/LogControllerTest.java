@@ -3,6 +3,8 @@ package com.logpilot.server.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.query.LogQuery;
+import com.logpilot.core.query.LogQueryResult;
 import com.logpilot.core.service.LogService;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -17,11 +19,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -151,6 +155,25 @@ public class LogControllerTest {
         verify(logService, times(1)).getLogsForConsumer("test-channel", "consumer1", 100, true);
     }
 
+    @Test
+    void getLogs_WithWaitMs_ShouldLongPollAsynchronously() throws Exception {
+        when(logService.awaitLogsForConsumer("test-channel", "consumer1", 100, true, 5000L, 2))
+                .thenReturn(CompletableFuture.completedFuture(testLogEntries));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/logs/test-channel")
+                .param("consumerId", "consumer1")
+                .param("waitMs", "5000")
+                .param("minRecords", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        verify(logService, never()).getLogsForConsumer(anyString(), anyString(), anyInt(), anyBoolean());
+    }
+
     @Test
     void storeLog_WhenServiceThrowsException_ShouldReturnInternalServerError() throws Exception {
         doThrow(new RuntimeException("Storage error")).when(logService).storeLog(any(LogEntry.class));
@@ -237,4 +260,34 @@ public class LogControllerTest {
 
         verify(logService, never()).storeLog(any(LogEntry.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void queryLogs_ShouldPassFiltersAndReturnCursor() throws Exception {
+        when(logService.queryLogs(eq("test-channel"), any(LogQuery.class), eq(20), isNull()))
+                .thenReturn(new LogQueryResult(testLogEntries, "next-page"));
+
+        mockMvc.perform(get("/api/logs/test-channel/query")
+                .param("level", "ERROR")
+                .param("from", "2025-01-01T00:00:00")
+                .param("meta.region", "eu")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.logs.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+        verify(logService).queryLogs(eq("test-channel"), argThat(query ->
+                query.getLevels().equals(Set.of(LogLevel.ERROR))
+                        && LocalDateTime.of(2025, 1, 1, 0, 0).equals(query.getFrom())
+                        && query.getMeta().equals(Map.of("region", "eu"))), eq(20), isNull());
+    }
+
+    @Test
+    void queryLogs_WithUnknownLevel_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/logs/test-channel/query")
+                .param("level", "LOUD"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_QUERY"));
+
+        verify(logService, never()).queryLogs(anyString(), any(), anyInt(), any());
+    }
+}
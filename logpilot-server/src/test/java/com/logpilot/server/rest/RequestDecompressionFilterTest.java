@@ -0,0 +1,94 @@
+package com.logpilot.server.rest;
+
+import com.logpilot.core.exception.InvalidLogPayloadException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDecompressionFilterTest {
+
+    @Test
+    void gzipBody_ShouldBeInflatedForHandler() throws Exception {
+        String json = "[{\"channel\":\"orders\",\"level\":\"INFO\",\"message\":\"placed\"}]";
+        MockHttpServletRequest request = gzipRequest(gzip(json.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> seenBody = new AtomicReference<>();
+        AtomicReference<String> seenEncoding = new AtomicReference<>();
+
+        new RequestDecompressionFilter(1024).doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) throws IOException {
+                HttpServletRequest httpRequest = (HttpServletRequest) servletRequest;
+                seenEncoding.set(httpRequest.getHeader("Content-Encoding"));
+                seenBody.set(new String(httpRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            }
+        });
+
+        assertEquals(json, seenBody.get());
+        assertNull(seenEncoding.get());
+    }
+
+    @Test
+    void inflatedBodyOverLimit_ShouldFail() throws Exception {
+        MockHttpServletRequest request = gzipRequest(gzip(new byte[64 * 1024]));
+
+        assertThrows(InvalidLogPayloadException.class, () -> new RequestDecompressionFilter(1024)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse)
+                            throws IOException {
+                        servletRequest.getInputStream().readAllBytes();
+                    }
+                }));
+    }
+
+    @Test
+    void unsupportedEncoding_ShouldReturn415() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs/batch");
+        request.addHeader("Content-Encoding", "br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        new RequestDecompressionFilter(1024).doFilter(request, response, chain);
+
+        assertEquals(415, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void plainBody_ShouldPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs");
+        MockFilterChain chain = new MockFilterChain();
+
+        new RequestDecompressionFilter(1024).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest gzipRequest(byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs/batch");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContentType("application/json");
+        request.setContent(content);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.logpilot.server.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.service.LogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StreamingFetchControllerTest {
+
+    private final LogService logService = mock(LogService.class);
+    private final StreamingFetchController controller = new StreamingFetchController(logService,
+            new ObjectMapper().findAndRegisterModules(), 2);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamLogs_ShouldWriteOneLinePerEntryPageByPage() throws IOException {
+        when(logService.streamLogsForConsumer(eq("orders"), eq("billing"), eq(1000), eq(true), eq(2), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<LogEntry>> sink = invocation.getArgument(5);
+                    sink.accept(List.of(entry("one"), entry("two")));
+                    sink.accept(List.of(entry("three")));
+                    return 3;
+                });
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamLogs("orders", "billing", null, 1000, true);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"message\":\"one\""), lines[0]);
+        assertTrue(lines[2].contains("\"message\":\"three\""), lines[2]);
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamLogs_WhenClientDisconnects_ShouldStopTheFetch() {
+        when(logService.streamLogsForConsumer(anyString(), anyString(), anyInt(), anyBoolean(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<LogEntry>> sink = invocation.getArgument(5);
+                    sink.accept(List.of(entry("one")));
+                    return 1;
+                });
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamLogs("orders", "billing", 1, 10, true);
+
+        assertThrows(UncheckedIOException.class, () -> response.getBody().writeTo(broken));
+        verify(logService).streamLogsForConsumer(eq("orders#1"), eq("billing"), eq(10), eq(true), eq(2), any());
+    }
+
+    private static LogEntry entry(String message) {
+        return new LogEntry("orders", LogLevel.INFO, message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.logpilot.server.rest.service;
 
+import com.logpilot.core.exception.ConsumerGroupException;
+import com.logpilot.core.model.ConsumerGroupAssignment;
 import com.logpilot.core.model.LogEntry;
 import com.logpilot.core.model.LogLevel;
 import com.logpilot.core.storage.LogStorage;
@@ -202,4 +204,32 @@ public class RestLogServiceTest {
 
         verify(logStorage, times(1)).store(complexEntry);
     }
-}
\ No newline at end of file
+
+    @Test
+    void commitGroupOffset_ShouldBeFencedByGeneration() {
+        ConsumerGroupAssignment first = restLogService.joinGroup("readers", "audit", "member-a");
+        ConsumerGroupAssignment second = restLogService.joinGroup("readers", "audit", "member-b");
+
+        assertThrows(ConsumerGroupException.class,
+                () -> restLogService.commitGroupOffset("readers", "member-a", first.getGeneration(), 0, 7L));
+        restLogService.commitGroupOffset("readers", "member-a", second.getGeneration(), 0, 9L);
+
+        verify(logStorage, never()).commitOffset(anyString(), anyString(), eq(7L));
+        verify(logStorage, times(1)).commitOffset("audit", "group:readers", 9L);
+    }
+
+    @Test
+    void getLogsForGroupMember_WithAutoCommit_ShouldCommitAfterTheFencedRead() {
+        ConsumerGroupAssignment assignment = restLogService.joinGroup("readers", "audit", "member-a");
+        LogEntry read = new LogEntry("audit", LogLevel.INFO, "Read");
+        read.setId(12L);
+        when(logStorage.retrieve("audit", "group:readers", 10, false)).thenReturn(List.of(read));
+
+        List<LogEntry> result = restLogService.getLogsForGroupMember("readers", "member-a",
+                assignment.getGeneration(), 10, true);
+
+        assertEquals(List.of(read), result);
+        verify(logStorage, never()).retrieve(anyString(), anyString(), anyInt(), eq(true));
+        verify(logStorage, times(1)).commitOffset("audit", "group:readers", 12L);
+    }
+}
@@ -0,0 +1,128 @@
+package com.logpilot.server.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldLimitRequestsPerClient() {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(2), null, null, 100, Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire("client-a", false));
+        assertEquals(0, limiter.tryAcquire("client-a", false));
+        assertTrue(limiter.tryAcquire("client-a", false) > 0);
+        assertEquals(0, limiter.tryAcquire("client-b", false));
+    }
+
+    @Test
+    void charge_LargeBatch_ShouldBlockFurtherIngestButNotReads() {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(100), buckets(1000), null, 100,
+                Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire("client-a", true));
+        limiter.charge("client-a", 10_000, 0);
+
+        assertTrue(limiter.tryAcquire("client-a", true) > 0);
+        assertTrue(limiter.ingestWait("client-a") > 0);
+        assertEquals(0, limiter.tryAcquire("client-a", false));
+        assertEquals(0, limiter.tryAcquire("client-b", true));
+    }
+
+    @Test
+    void charge_Bytes_ShouldBeWeighted() {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(100), null, buckets(1024), 100,
+                Duration.ofMinutes(1));
+
+        limiter.charge("client-a", 0, 512);
+        assertEquals(0, limiter.tryAcquire("client-a", true));
+
+        limiter.charge("client-a", 0, 4096);
+        assertTrue(limiter.tryAcquire("client-a", true) > 0);
+    }
+
+    @Test
+    void clients_ShouldBeBoundedBySize() {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(10), null, null, 50, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("10.0.0." + i, false);
+        }
+
+        assertTrue(limiter.getClientCount() <= 50, "tracked " + limiter.getClientCount() + " clients");
+    }
+
+    @Test
+    void filter_BatchRequest_ShouldChargeEntriesReportedByHandler() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(100), buckets(100), null, 100,
+                Duration.ofMinutes(1));
+        RateLimitFilter filter = new RateLimitFilter(limiter);
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/logs/batch");
+        batch.addHeader("X-API-KEY", "client-a");
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.setAttribute(ClientRateLimiter.ENTRIES_ATTRIBUTE, 500);
+            }
+        };
+
+        filter.doFilter(batch, new MockHttpServletResponse(), chain);
+
+        MockHttpServletRequest next = new MockHttpServletRequest("POST", "/api/logs");
+        next.addHeader("X-API-KEY", "client-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(next, response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void filter_ChunkedBody_ShouldChargeBytesActuallyRead() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(buckets(100), null, buckets(1024), 100,
+                Duration.ofMinutes(1));
+        RateLimitFilter filter = new RateLimitFilter(limiter);
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/logs/batch") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.addHeader("X-API-KEY", "client-a");
+        chunked.addHeader("Transfer-Encoding", "chunked");
+        chunked.setContent(new byte[4096]);
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+            }
+        };
+
+        filter.doFilter(chunked, new MockHttpServletResponse(), chain);
+
+        MockHttpServletRequest next = new MockHttpServletRequest("POST", "/api/logs");
+        next.addHeader("X-API-KEY", "client-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(next, response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+    }
+
+    private static Supplier<Bucket> buckets(long capacity) {
+        return () -> Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(capacity)
+                        .refillGreedy(capacity, Duration.ofHours(1))
+                        .build())
+                .build();
+    }
+}
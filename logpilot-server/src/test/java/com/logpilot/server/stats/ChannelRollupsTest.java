@@ -0,0 +1,131 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.exception.InvalidQueryException;
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.server.ingest.RepeatCollapser;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelRollupsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private final AtomicLong now = new AtomicLong(START.toInstant(ZoneOffset.UTC).toEpochMilli());
+    private final ChannelRollups rollups = new ChannelRollups(60, 48, List.of("region"), 2, now::get,
+            ZoneOffset.UTC);
+
+    @Test
+    void storedEntries_ShouldBeCountedPerMinuteAndLevel() {
+        rollups.record(List.of(
+                entry("orders", LogLevel.INFO, START.plusSeconds(5)),
+                entry("orders", LogLevel.ERROR, START.plusSeconds(50)),
+                entry("orders#1", LogLevel.ERROR, START.plusSeconds(70)),
+                entry("payments", LogLevel.INFO, START.plusSeconds(10))));
+
+        List<RollupBucket> buckets = rollups.getBuckets("orders", ChannelRollups.Interval.MINUTE,
+                START, START.plusMinutes(5), null);
+
+        assertEquals(2, buckets.size());
+        assertEquals(START, buckets.get(0).getStart());
+        assertEquals(2, buckets.get(0).getEntries());
+        assertEquals(1L, buckets.get(0).getLevels().get(LogLevel.ERROR));
+        assertEquals(START.plusMinutes(1), buckets.get(1).getStart());
+        assertEquals(1L, buckets.get(1).getLevels().get(LogLevel.ERROR));
+        assertNull(buckets.get(0).getMeta());
+        assertTrue(rollups.getBuckets("orders", ChannelRollups.Interval.MINUTE, START.plusMinutes(2),
+                START.plusMinutes(5), null).isEmpty());
+    }
+
+    @Test
+    void expiredMinutes_ShouldBeCompactedIntoHours() {
+        rollups.record(List.of(
+                entry("orders", LogLevel.INFO, START.plusMinutes(1)),
+                entry("orders", LogLevel.WARN, START.plusMinutes(30))));
+        now.addAndGet(100 * 60_000L);
+        rollups.record(List.of(entry("orders", LogLevel.INFO, START.plusMinutes(85))));
+
+        List<RollupBucket> minutes = rollups.getBuckets("orders", ChannelRollups.Interval.MINUTE,
+                START, START.plusHours(2), null);
+        assertEquals(List.of(START.plusMinutes(85)), minutes.stream().map(RollupBucket::getStart).toList());
+
+        List<RollupBucket> hours = rollups.getBuckets("orders", ChannelRollups.Interval.HOUR,
+                START, START.plusHours(2), null);
+        assertEquals(2, hours.size());
+        assertEquals(START, hours.get(0).getStart());
+        assertEquals(2, hours.get(0).getEntries());
+        assertEquals(1L, hours.get(0).getLevels().get(LogLevel.WARN));
+        assertEquals(1, hours.get(1).getEntries());
+
+        now.addAndGet(49 * 3_600_000L);
+        assertTrue(rollups.getBuckets("orders", ChannelRollups.Interval.HOUR, START, START.plusHours(2), null)
+                .isEmpty());
+    }
+
+    @Test
+    void futureTimestamps_ShouldBeClampedToTheAllowedSkew() {
+        for (int day = 1; day <= 100; day++) {
+            rollups.record(List.of(entry("orders", LogLevel.INFO, START.plusDays(day))));
+        }
+
+        LocalDateTime edge = START.plusMinutes(ChannelRollups.MAX_FUTURE_SKEW_MINUTES);
+        List<RollupBucket> buckets = rollups.getBuckets("orders", ChannelRollups.Interval.MINUTE,
+                START, START.plusYears(1), null);
+
+        assertEquals(1, buckets.size());
+        assertEquals(edge, buckets.get(0).getStart());
+        assertEquals(100, buckets.get(0).getEntries());
+    }
+
+    @Test
+    void metaValues_ShouldBeCappedPerBucket() {
+        rollups.record(List.of(
+                entry("orders", LogLevel.INFO, START, Map.of("region", "eu")),
+                entry("orders", LogLevel.INFO, START, Map.of("region", "us")),
+                entry("orders", LogLevel.INFO, START, Map.of("region", "ap")),
+                entry("orders", LogLevel.INFO, START, Map.of("region", "eu")),
+                entry("orders", LogLevel.INFO, START, Map.of("host", "a"))));
+
+        RollupBucket bucket = rollups.getBuckets("orders", ChannelRollups.Interval.MINUTE,
+                START, START.plusMinutes(1), "region").get(0);
+
+        assertEquals(5, bucket.getEntries());
+        assertEquals(Map.of("eu", 2L, "us", 1L, ChannelRollups.OTHER_VALUE, 1L), bucket.getMeta());
+        assertThrows(InvalidQueryException.class, () -> rollups.getBuckets("orders",
+                ChannelRollups.Interval.MINUTE, START, START.plusMinutes(1), "host"));
+        assertThrows(InvalidQueryException.class, () -> rollups.getBuckets("orders",
+                ChannelRollups.Interval.MINUTE, START, START, null));
+    }
+
+    @Test
+    void repeatSummaries_ShouldCountTheirRepeats() {
+        Map<String, Object> meta = new HashMap<>();
+        meta.put(RepeatCollapser.REPEAT_COUNT, 41);
+        rollups.record(List.of(
+                entry("orders", LogLevel.ERROR, START),
+                entry("orders", LogLevel.ERROR, START.plusSeconds(1), meta)));
+
+        RollupBucket bucket = rollups.getBuckets("orders", null, null, null, null).get(0);
+
+        assertEquals(42, bucket.getEntries());
+        assertEquals(42L, bucket.getLevels().get(LogLevel.ERROR));
+    }
+
+    private static LogEntry entry(String channel, LogLevel level, LocalDateTime timestamp) {
+        return entry(channel, level, timestamp, null);
+    }
+
+    private static LogEntry entry(String channel, LogLevel level, LocalDateTime timestamp, Map<String, Object> meta) {
+        LogEntry logEntry = new LogEntry(channel, level, "message", meta);
+        logEntry.setTimestamp(timestamp);
+        return logEntry;
+    }
+}
@@ -0,0 +1,97 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import com.logpilot.server.partition.PartitionRouter;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChannelStatisticsTest {
+
+    private final ChannelNotifier channelNotifier = new ChannelNotifier();
+    private final LogStorage logStorage = mock(LogStorage.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ChannelStatistics statistics = new ChannelStatistics(channelNotifier, logStorage,
+            PartitionRouter.unpartitioned(), now::get);
+
+    @Test
+    void storedEntries_ShouldBeCountedPerChannel() {
+        channelNotifier.signalStored(List.of(
+                entry("orders", LogLevel.INFO, 1),
+                entry("orders", LogLevel.ERROR, 2),
+                entry("payments", LogLevel.INFO, 7)));
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 3)));
+
+        ChannelStats orders = statistics.getChannel("orders");
+        assertEquals(3, orders.getEntries());
+        assertEquals(2L, orders.getLevels().get(LogLevel.INFO));
+        assertEquals(1L, orders.getLevels().get(LogLevel.ERROR));
+        assertEquals(1L, orders.getFirstId());
+        assertEquals(3L, orders.getLastId());
+        assertTrue(orders.getBytes() > 0);
+        assertEquals(3.0 / ChannelStatistics.RATE_WINDOW_SECONDS, orders.getEntriesPerSecond(), 1e-9);
+    }
+
+    @Test
+    void ingestRate_ShouldOnlyCoverTheLastMinute() {
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 1), entry("orders", LogLevel.INFO, 2)));
+        now.addAndGet(30_000);
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 3)));
+        now.addAndGet(40_000);
+
+        ChannelStats orders = statistics.getChannel("orders");
+        assertEquals(3, orders.getEntries());
+        assertEquals(1.0 / ChannelStatistics.RATE_WINDOW_SECONDS, orders.getEntriesPerSecond(), 1e-9);
+    }
+
+    @Test
+    void consumerLag_ShouldUseHighWatermarkAndCommittedOffsets() {
+        when(logStorage.getConsumerOffsets("orders")).thenReturn(Map.of("billing", 4L));
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 10)));
+
+        List<ConsumerLag> consumers = statistics.getConsumers("orders");
+
+        assertEquals(1, consumers.size());
+        assertEquals("billing", consumers.get(0).getConsumerId());
+        assertEquals(10, consumers.get(0).getHighWatermark());
+        assertEquals(6, consumers.get(0).getLag());
+        verify(logStorage, never()).getLastLogId(anyString());
+    }
+
+    @Test
+    void highWatermark_ShouldBeReadFromStorageOnceForStreamsNotWrittenSinceStartup() {
+        when(logStorage.getLastLogId("audit")).thenReturn(42L);
+
+        assertEquals(42, statistics.getHighWatermark("audit"));
+        channelNotifier.signalStored(List.of(entry("audit", LogLevel.INFO, 43)));
+        assertEquals(43, statistics.getHighWatermark("audit"));
+
+        verify(logStorage, times(1)).getLastLogId("audit");
+    }
+
+    @Test
+    void channelList_ShouldIncludeStoredChannelsWithoutWrites() {
+        when(logStorage.getChannels()).thenReturn(List.of("audit", "orders"));
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 1)));
+
+        List<ChannelStats> channels = statistics.getChannels();
+
+        assertEquals(List.of("audit", "orders"), channels.stream().map(ChannelStats::getChannel).toList());
+        assertEquals(0, channels.get(0).getEntries());
+        assertEquals(1, channels.get(1).getEntries());
+    }
+
+    private static LogEntry entry(String channel, LogLevel level, long id) {
+        LogEntry logEntry = new LogEntry(channel, level, "message " + id);
+        logEntry.setId(id);
+        return logEntry;
+    }
+}
@@ -0,0 +1,119 @@
+package com.logpilot.server.stats;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.core.storage.LogStorage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OffsetTrackingLogStorageTest {
+
+    private final LogStorage delegate = mock(LogStorage.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ConsumerPositions positions = new ConsumerPositions(now::get);
+    private final OffsetTrackingLogStorage storage = new OffsetTrackingLogStorage(delegate, positions);
+
+    @Test
+    void autoCommitRetrieve_ShouldMoveCommittedOffsetAndReadPosition() {
+        LogEntry last = entry(7, LocalDateTime.of(2026, 1, 1, 12, 0));
+        when(delegate.retrieve("orders", "billing", 10)).thenReturn(List.of(entry(6, null), last));
+
+        assertEquals(2, storage.retrieve("orders", "billing", 10).size());
+
+        ConsumerPositions.Position position = positions.of("orders").get("billing");
+        assertEquals(7, position.getCommitted());
+        assertEquals(last.getTimestamp(), position.getReadTimestamp());
+        assertEquals(2, position.getFetched());
+    }
+
+    @Test
+    void manualCommit_ShouldOnlyMoveCommittedOffsetOnCommit() {
+        when(delegate.retrieve("orders", "billing", 10, false)).thenReturn(List.of(entry(3, null)));
+
+        storage.retrieve("orders", "billing", 10, false);
+        assertEquals(0, positions.of("orders").get("billing").getCommitted());
+
+        storage.commitOffset("orders", "billing", 3);
+        assertEquals(3, positions.of("orders").get("billing").getCommitted());
+        verify(delegate).commitOffset("orders", "billing", 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrievePages_ShouldOnlyCountPagesTheSinkAccepted() {
+        when(delegate.retrievePages(eq("orders"), eq("billing"), eq(4), eq(true), eq(2), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<LogEntry>> sink = invocation.getArgument(5);
+                    sink.accept(List.of(entry(1, null), entry(2, null)));
+                    sink.accept(List.of(entry(3, null), entry(4, null)));
+                    return 4;
+                });
+        List<List<LogEntry>> pages = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> storage.retrievePages("orders", "billing", 4, true, 2, page -> {
+            if (!pages.isEmpty()) {
+                throw new IllegalStateException("client gone");
+            }
+            pages.add(page);
+        }));
+
+        assertEquals(2, positions.of("orders").get("billing").getCommitted());
+        assertEquals(2, positions.of("orders").get("billing").getFetched());
+    }
+
+    @Test
+    void seek_ShouldTakeTheOffsetTheBackendSettledOn() {
+        when(delegate.getConsumerOffset("orders", "billing")).thenReturn(42L);
+
+        storage.seekToEnd("orders", "billing");
+
+        verify(delegate).seekToEnd("orders", "billing");
+        assertEquals(42, positions.of("orders").get("billing").getCommitted());
+    }
+
+    @Test
+    void seed_ShouldLoadStoredOffsetsOnceAndKeepNewerPositions() {
+        positions.committed("orders", "billing", 9);
+
+        positions.seed("orders", Map.of("billing", 5L, "audit", 2L));
+        positions.seed("orders", Map.of("late", 1L));
+
+        assertFalse(positions.needsSeed("orders"));
+        assertEquals(Map.of("billing", 9L, "audit", 2L), committedOffsets("orders"));
+    }
+
+    @Test
+    void idleConsumers_ShouldBeEvicted() {
+        positions.committed("orders", "billing", 1);
+        now.addAndGet(10_000);
+        positions.committed("orders", "audit", 1);
+
+        assertEquals(1, positions.evictIdle(5_000));
+        assertEquals(Map.of("audit", 1L), committedOffsets("orders"));
+    }
+
+    private Map<String, Long> committedOffsets(String stream) {
+        Map<String, Long> offsets = new HashMap<>();
+        positions.of(stream).forEach((consumerId, position) -> offsets.put(consumerId, position.getCommitted()));
+        return offsets;
+    }
+
+    private static LogEntry entry(long id, LocalDateTime timestamp) {
+        LogEntry logEntry = new LogEntry("orders", LogLevel.INFO, "message " + id);
+        logEntry.setId(id);
+        if (timestamp != null) {
+            logEntry.setTimestamp(timestamp);
+        }
+        return logEntry;
+    }
+}
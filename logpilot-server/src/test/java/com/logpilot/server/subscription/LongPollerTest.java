@@ -0,0 +1,137 @@
+package com.logpilot.server.subscription;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongPollerTest {
+
+    private ChannelNotifier channelNotifier;
+    private LongPoller longPoller;
+
+    @BeforeEach
+    void setUp() {
+        channelNotifier = new ChannelNotifier();
+        longPoller = new LongPoller(channelNotifier, 30000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        longPoller.shutdown();
+    }
+
+    @Test
+    void await_WithoutWait_ShouldFetchImmediately() {
+        AtomicInteger readyChecks = new AtomicInteger();
+
+        CompletableFuture<List<String>> result = longPoller.await("orders", 0, () -> {
+            readyChecks.incrementAndGet();
+            return false;
+        }, () -> List.of("a"));
+
+        assertTrue(result.isDone());
+        assertEquals(List.of("a"), result.join());
+        assertEquals(0, readyChecks.get());
+    }
+
+    @Test
+    void await_WhenAlreadyReady_ShouldCompleteWithoutParking() {
+        CompletableFuture<List<String>> result = longPoller.await("orders", 10000, () -> true, () -> List.of("a"));
+
+        assertTrue(result.isDone());
+        assertEquals(0, channelNotifier.getListenerCount("orders"));
+    }
+
+    @Test
+    void await_WhenSignalledAndReady_ShouldCompleteBeforeTimeout() throws Exception {
+        AtomicBoolean stored = new AtomicBoolean();
+
+        CompletableFuture<List<String>> result = longPoller.await("orders", 10000, stored::get,
+                () -> List.of("new"));
+        assertFalse(result.isDone());
+        assertEquals(1, channelNotifier.getListenerCount("orders"));
+
+        stored.set(true);
+        channelNotifier.signal("orders");
+
+        assertEquals(List.of("new"), result.get(2, TimeUnit.SECONDS));
+        assertEquals(0, channelNotifier.getListenerCount("orders"));
+    }
+
+    @Test
+    void await_WhenSignalledButNotReady_ShouldKeepWaiting() throws Exception {
+        CompletableFuture<List<String>> result = longPoller.await("orders", 200, () -> false, List::of);
+
+        channelNotifier.signal("orders");
+        Thread.sleep(50);
+
+        assertFalse(result.isDone());
+        assertEquals(List.of(), result.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void await_WhenNothingArrives_ShouldCompleteAtTimeout() throws Exception {
+        long start = System.nanoTime();
+
+        CompletableFuture<List<String>> result = longPoller.await("orders", 100, () -> false, List::of);
+
+        assertEquals(List.of(), result.get(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+        assertEquals(0, channelNotifier.getListenerCount("orders"));
+    }
+
+    @Test
+    void await_SlowFetchAtTimeout_ShouldNotDelayOtherTimeouts() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<String>> slow = longPoller.await("orders", 50, () -> false, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("slow");
+        });
+        long start = System.nanoTime();
+
+        CompletableFuture<List<String>> other = longPoller.await("payments", 100, () -> false, List::of);
+
+        assertEquals(List.of(), other.get(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals(List.of("slow"), slow.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void await_ShouldWakeOnAnyPartitionOfTheChannel() throws Exception {
+        AtomicBoolean stored = new AtomicBoolean();
+
+        CompletableFuture<List<String>> result = longPoller.await("orders#2", 10000, stored::get,
+                () -> List.of("partitioned"));
+
+        stored.set(true);
+        channelNotifier.signal("orders");
+
+        assertEquals(List.of("partitioned"), result.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void await_WhenFetchFails_ShouldCompleteExceptionally() {
+        CompletableFuture<List<String>> result = longPoller.await("orders", 10000, () -> true, () -> {
+            throw new IllegalStateException("storage down");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
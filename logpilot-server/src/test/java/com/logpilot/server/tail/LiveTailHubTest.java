@@ -0,0 +1,220 @@
+package com.logpilot.server.tail;
+
+import com.logpilot.core.model.LogEntry;
+import com.logpilot.core.model.LogLevel;
+import com.logpilot.server.subscription.ChannelNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveTailHubTest {
+
+    private ChannelNotifier channelNotifier;
+    private LiveTailHub liveTailHub;
+
+    @BeforeEach
+    void setUp() {
+        channelNotifier = new ChannelNotifier();
+        liveTailHub = new LiveTailHub(channelNotifier, 1000, 10000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveTailHub.shutdown();
+    }
+
+    @Test
+    void subscribe_ManySubscribers_ShouldShareOneBroadcast() {
+        liveTailHub.subscribe("orders", TailFilter.all(), new RecordingSink());
+        liveTailHub.subscribe("orders", TailFilter.all(), new RecordingSink());
+
+        assertEquals(2, liveTailHub.getSubscriberCount("orders"));
+        assertEquals(1, channelNotifier.getEntryListenerCount("orders"));
+    }
+
+    @Test
+    void signalStored_ShouldFanOutEntriesToEverySubscriber() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        liveTailHub.subscribe("orders", TailFilter.all(), first);
+        liveTailHub.subscribe("orders", TailFilter.all(), second);
+
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 1L), entry("payments", LogLevel.INFO, 2L)));
+
+        awaitTrue(() -> first.received.size() == 1 && second.received.size() == 1);
+        assertEquals(1L, first.received.get(0).getId());
+        assertEquals(1L, second.received.get(0).getId());
+    }
+
+    @Test
+    void signalStored_ShouldApplyLevelAndMetaFilters() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        liveTailHub.subscribe("orders",
+                TailFilter.fromParameters(Map.of("level", "warn", "meta.region", "eu")), sink);
+
+        LogEntry match = entry("orders", LogLevel.ERROR, 1L);
+        match.setMeta(Map.of("region", "eu"));
+        LogEntry lowLevel = entry("orders", LogLevel.INFO, 2L);
+        lowLevel.setMeta(Map.of("region", "eu"));
+        LogEntry otherRegion = entry("orders", LogLevel.WARN, 3L);
+        otherRegion.setMeta(Map.of("region", "us"));
+        channelNotifier.signalStored(List.of(match, lowLevel, otherRegion, entry("orders", LogLevel.ERROR, 4L)));
+
+        awaitTrue(() -> sink.received.size() == 1);
+        Thread.sleep(50);
+        assertEquals(1, sink.received.size());
+        assertEquals(1L, sink.received.get(0).getId());
+    }
+
+    @Test
+    void signalStored_ShouldDeliverEntriesOfEveryPartition() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        liveTailHub.subscribe("orders", TailFilter.all(), sink);
+
+        LogEntry partitioned = entry("orders#3", LogLevel.INFO, 7L);
+        channelNotifier.signalStored(List.of(partitioned));
+
+        awaitTrue(() -> sink.received.size() == 1);
+    }
+
+    @Test
+    void close_LastSubscriber_ShouldUnregisterBroadcast() throws Exception {
+        AutoCloseable first = liveTailHub.subscribe("orders", TailFilter.all(), new RecordingSink());
+        AutoCloseable second = liveTailHub.subscribe("orders", TailFilter.all(), new RecordingSink());
+
+        first.close();
+        assertEquals(1, channelNotifier.getEntryListenerCount("orders"));
+        second.close();
+
+        assertEquals(0, liveTailHub.getSubscriberCount("orders"));
+        assertEquals(0, channelNotifier.getEntryListenerCount("orders"));
+    }
+
+    @Test
+    void signalStored_WithOneDeliveryThread_ShouldServeEverySubscriberInFull() throws Exception {
+        liveTailHub.shutdown();
+        liveTailHub = new LiveTailHub(channelNotifier, 1000, 10000, 1);
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        liveTailHub.subscribe("orders", TailFilter.all(), first);
+        liveTailHub.subscribe("orders", TailFilter.all(), second);
+
+        // 한 번의 드레인 한도를 넘는 양이라 스레드를 양보하고 다시 예약되어야 합니다.
+        // More than one drain may send, so each subscriber has to yield and reschedule.
+        List<LogEntry> logEntries = new ArrayList<>();
+        for (long id = 1; id <= 600; id++) {
+            logEntries.add(entry("orders", LogLevel.INFO, id));
+        }
+        channelNotifier.signalStored(logEntries);
+
+        awaitTrue(() -> first.received.size() == 600 && second.received.size() == 600);
+        assertEquals(0, first.dropped.get() + second.dropped.get());
+    }
+
+    @Test
+    void slowSubscriber_ShouldDropOverflowAndReportCount() throws Exception {
+        liveTailHub.shutdown();
+        liveTailHub = new LiveTailHub(channelNotifier, 2, 10000);
+        RecordingSink sink = new RecordingSink();
+        sink.blocked = new CountDownLatch(1);
+        liveTailHub.subscribe("orders", TailFilter.all(), sink);
+
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 1L)));
+        awaitTrue(() -> sink.sending.getCount() == 0);
+        // 첫 엔트리 전송이 막힌 동안 버퍼(2)를 넘는 엔트리는 버려집니다.
+        // While the first send is stuck, entries beyond the buffer (2) are dropped.
+        for (long id = 2; id <= 6; id++) {
+            channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, id)));
+        }
+        sink.blocked.countDown();
+
+        awaitTrue(() -> sink.received.size() == 3 && sink.dropped.get() == 3);
+        assertEquals(List.of(1L, 2L, 3L), sink.received.stream().map(LogEntry::getId).toList());
+    }
+
+    @Test
+    void slowSubscriber_WithoutProgress_ShouldBeDisconnected() throws Exception {
+        liveTailHub.shutdown();
+        liveTailHub = new LiveTailHub(channelNotifier, 1, 0);
+        RecordingSink sink = new RecordingSink();
+        sink.blocked = new CountDownLatch(1);
+        liveTailHub.subscribe("orders", TailFilter.all(), sink);
+
+        channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, 1L)));
+        awaitTrue(() -> sink.sending.getCount() == 0);
+        for (long id = 2; id <= 5; id++) {
+            channelNotifier.signalStored(List.of(entry("orders", LogLevel.INFO, id)));
+            Thread.sleep(2);
+        }
+
+        assertEquals(0, liveTailHub.getSubscriberCount("orders"));
+        assertEquals(0, channelNotifier.getEntryListenerCount("orders"));
+        sink.blocked.countDown();
+        awaitTrue(() -> sink.closeReason != null);
+    }
+
+    @Test
+    void fromParameters_WithUnknownLevel_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> TailFilter.fromParameters(Map.of("level", "LOUD")));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private LogEntry entry(String channel, LogLevel level, Long id) {
+        LogEntry logEntry = new LogEntry(channel, level, "message " + id);
+        logEntry.setId(id);
+        return logEntry;
+    }
+
+    private static class RecordingSink implements TailSink {
+
+        private final List<LogEntry> received = new CopyOnWriteArrayList<>();
+        private final AtomicLong dropped = new AtomicLong();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch blocked;
+        private volatile String closeReason;
+
+        @Override
+        public void send(LogEntry logEntry) throws IOException {
+            sending.countDown();
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(logEntry);
+        }
+
+        @Override
+        public void sendDropped(long count) {
+            dropped.addAndGet(count);
+        }
+
+        @Override
+        public void close(String reason) {
+            closeReason = reason;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# 한 머신에서 샤딩된 LogPilot 노드 3개를 실행합니다.
+# Runs three sharded LogPilot nodes on one machine.
+
+# 프로젝트 루트 디렉토리로 이동
+cd "$(dirname "$0")/.."
+
+JAR=$(ls logpilot-server/build/libs/logpilot-server-*.jar 2>/dev/null | grep -v plain | head -n 1)
+if [ -z "$JAR" ]; then
+    echo "❌ 서버 JAR를 찾을 수 없습니다. 먼저 ./gradlew :logpilot-server:bootJar 를 실행하세요."
+    exit 1
+fi
+
+CLUSTER_DIR=./data/cluster
+# 노드 간 전달을 인증하는 키입니다. 모든 노드가 같은 값을 씁니다.
+CLUSTER_KEY=${LOGPILOT_CLUSTER_KEY:-$(head -c 24 /dev/urandom | base64 | tr -d '/+=')}
+NODES_FILE=$CLUSTER_DIR/nodes.json
+mkdir -p $CLUSTER_DIR
+
+# 모든 노드가 같은 노드 파일을 공유합니다.
+cat > $NODES_FILE <<JSON
+{
+  "node-1": { "grpcAddress": "localhost:50051", "restAddress": "http://localhost:8080" },
+  "node-2": { "grpcAddress": "localhost:50052", "restAddress": "http://localhost:8090" },
+  "node-3": { "grpcAddress": "localhost:50053", "restAddress": "http://localhost:8100" }
+}
+JSON
+
+start_node() {
+    local id=$1 http=$2 grpc=$3 mgmt=$4
+    echo "🚀 Starting node-$id (REST :$http, gRPC :$grpc)"
+    LOGPILOT_CLUSTER_ENABLED=true \
+    LOGPILOT_NODE_ID=node-$id \
+    LOGPILOT_CLUSTER_NODES_FILE=$NODES_FILE \
+    LOGPILOT_CLUSTER_KEY=$CLUSTER_KEY \
+    LOGPILOT_HTTP_PORT=$http \
+    LOGPILOT_GRPC_PORT=$grpc \
+    LOGPILOT_MANAGEMENT_PORT=$mgmt \
+    LOGPILOT_SQLITE_PATH=$CLUSTER_DIR/node-$id.db \
+    LOGPILOT_STORAGE_DIR=$CLUSTER_DIR/node-$id-logs \
+    LOGPILOT_CHANNEL_REGISTRY_PATH=$CLUSTER_DIR/node-$id-channels.json \
+    java -jar "$JAR" > $CLUSTER_DIR/node-$id.out 2>&1 &
+    echo $! > $CLUSTER_DIR/node-$id.pid
+}
+
+start_node 1 8080 50051 8081
+start_node 2 8090 50052 8091
+start_node 3 8100 50053 8101
+
+echo "✅ 노드 3개가 실행되었습니다. 로그: $CLUSTER_DIR/node-*.out"
+echo "   종료: kill \$(cat $CLUSTER_DIR/node-*.pid)"